@@ -0,0 +1,331 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import com.teachingaid.engine.AhoCorasickAutomaton;
+import com.teachingaid.engine.AhoCorasickSearchCursor;
+import com.teachingaid.engine.MatchListener;
+import com.teachingaid.ui.BackgroundTask;
+import com.teachingaid.ui.StringVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick Multi-Pattern String Search with step-by-step visualization
+ * Finds every occurrence of every pattern in one pass, following trie edges and failure links
+ */
+public class AhoCorasickStringSearch {
+    
+    // Texts shorter than this are repeated for the throughput comparison
+    private static final int THROUGHPUT_TEXT_LENGTH = 1 << 18;
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private String text;
+    private String[] patterns;
+    private StringVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in ms
+    
+    // Aho-Corasick state variables
+    private AhoCorasickAutomaton automaton;
+    private boolean automatonBuilt = false;
+    // State a failure link is followed from
+    private int missState = 0;
+    
+    // Step engine driving the matching phase
+    private AhoCorasickSearchCursor cursor;
+    private boolean stepPending = false;
+    // Incremented by every run, so that a throughput measurement finishing late does not
+    // overwrite the text of a newer run
+    private int metricsRun = 0;
+    
+    public void visualizeSearch(String text, String[] patterns, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        this.text = text;
+        this.patterns = patterns.clone();
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.automatonBuilt = false;
+        this.automaton = new AhoCorasickAutomaton(this.patterns);
+        this.cursor = new AhoCorasickSearchCursor(text, automaton);
+        this.stepPending = false;
+        this.missState = 0;
+        this.metricsRun++;
+        
+        // Reset visualization
+        visualPane.resetHighlights();
+        visualPane.setInstructionText("Starting Aho-Corasick Search for " + patterns.length + " pattern(s): " +
+                                      String.join(", ", patterns));
+        
+        // Build the automaton first
+        buildAutomaton();
+    }
+    
+    private void buildAutomaton() {
+        Platform.runLater(() -> {
+            visualizationPane.setInstructionText("Building the trie of all patterns and its failure links...");
+        });
+        
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> {
+            Platform.runLater(() -> {
+                visualizationPane.showAutomaton(automaton);
+                visualizationPane.highlightState(0);
+                visualizationPane.setInstructionText(String.format(
+                    "Automaton built: %d states, %d distinct characters, %d bytes of transitions. Now scanning the text...",
+                    automaton.stateCount(), automaton.alphabetSize(), automaton.getMemoryBytes()));
+            });
+            
+            automatonBuilt = true;
+            
+            PauseTransition matchingTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 2L)));
+            matchingTransition.setOnFinished(e2 -> performAhoCorasickStep());
+            matchingTransition.play();
+        });
+        startTransition.play();
+    }
+    
+    private void performAhoCorasickStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // No pattern occurs
+                Platform.runLater(() -> {
+                    visualizationPane.highlightState(cursor.getState());
+                    visualizationPane.markAsNotFound();
+                    appendThroughput("No pattern occurs in the text!");
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                // Text scanned, every occurrence is marked
+                int firstPos = cursor.getResult();
+                int matches = cursor.getMatchCount();
+                Platform.runLater(() -> {
+                    appendThroughput(String.format(
+                        "Text scanned once: %d occurrence(s) found, the first to end starts at index %d.",
+                        matches, firstPos));
+                    onComplete.accept(firstPos);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex(), cursor.getAux());
+                return;
+            case SHIFT:
+                followFailureLink(cursor.getIndex(), cursor.getAux());
+                return;
+            default:
+                readCharacter(cursor.getIndex(), cursor.getAux(), cursor.getComparison() == 0);
+        }
+    }
+    
+    private void readCharacter(int textIndex, int state, boolean edge) {
+        currentStep++;
+        if (!edge) {
+            missState = state;
+        }
+        
+        Platform.runLater(() -> {
+            String readDesc = edge
+                ? String.format("Step %d: text[%d]='%c' continues the trie to state %d (\"%s\")",
+                                currentStep, textIndex, text.charAt(textIndex), state, automaton.stateString(state))
+                : String.format(state == 0
+                                    ? "Step %d: text[%d]='%c' starts no pattern, staying at the root"
+                                    : "Step %d: text[%d]='%c' has no trie edge from state %d",
+                                currentStep, textIndex, text.charAt(textIndex), state);
+            visualizationPane.highlightComparison(textIndex, -1, readDesc);
+            visualizationPane.highlightState(state);
+        });
+        
+        PauseTransition readTransition = new PauseTransition(Duration.millis(animationDelay));
+        readTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performAhoCorasickStep();
+        });
+        readTransition.play();
+    }
+    
+    private void followFailureLink(int candidateStart, int failureState) {
+        int fromState = missState;
+        missState = failureState;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            String failureDesc = failureState == 0
+                ? String.format("Failure link of state %d leads back to the root", fromState)
+                : String.format("Failure link of state %d leads to state %d: \"%s\" may still start a pattern at index %d",
+                                fromState, failureState, automaton.stateString(failureState), candidateStart);
+            visualizationPane.setInstructionText(failureDesc);
+            visualizationPane.highlightState(failureState);
+            visualizationPane.highlightFailureLink(fromState);
+        });
+        
+        PauseTransition failureTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+        failureTransition.setOnFinished(e -> performAhoCorasickStep());
+        failureTransition.play();
+    }
+    
+    private void showMatch(int start, int patternIndex) {
+        String found = automaton.getPattern(patternIndex);
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, found.length());
+            visualizationPane.setInstructionText(String.format("Pattern %d \"%s\" found at index %d! Searching on...",
+                                                               patternIndex, found, start));
+        });
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performAhoCorasickStep());
+        matchTransition.play();
+    }
+    
+    /**
+     * Shows the outcome at once and adds the throughput comparison when the background
+     * measurement finishes
+     */
+    private void appendThroughput(String outcome) {
+        visualizationPane.setInstructionText(outcome + " Timing the automaton against one KMP pass per pattern...");
+        // Repeat short texts so the timing covers more than the timer's resolution
+        StringBuilder sample = new StringBuilder(text);
+        while (sample.length() > 0 && sample.length() < THROUGHPUT_TEXT_LENGTH) {
+            sample.append(text);
+        }
+        AhoCorasickAutomaton timed = automaton;
+        int run = metricsRun;
+        BackgroundTask.start("aho-corasick-timing", () -> timed.measureThroughput(sample),
+            throughput -> {
+                if (run == metricsRun) {
+                    visualizationPane.setInstructionText(outcome + " " + throughput);
+                }
+            },
+            error -> {
+                if (run == metricsRun) {
+                    visualizationPane.setInstructionText(outcome + " Timing failed: " + error.getMessage());
+                }
+            });
+    }
+    
+    /**
+     * Counts the occurrences of all patterns in one pass; unlike the single-pattern searches
+     * this returns a count, not the index of a match
+     * @return Number of occurrences of all patterns in the text
+     */
+    public static int ahoCorasickCount(String text, String... patterns) {
+        return new AhoCorasickAutomaton(patterns).countMatches(text);
+    }
+    
+    /**
+     * Reports every occurrence of the automaton's patterns in one pass
+     * @param automaton Automaton built once for the patterns and reused for any number of texts
+     * @param listener Receives each occurrence, in the order the occurrences end
+     * @return Number of occurrences
+     */
+    public static int ahoCorasickCount(String text, AhoCorasickAutomaton automaton, MatchListener listener) {
+        return automaton.search(text, listener);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Aho-Corasick Multi-Pattern String Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Aho-Corasick builds one automaton from all patterns and finds every occurrence " +
+               "of every pattern in a single pass over the text, instead of one pass per pattern.\n\n" +
+               "Time Complexity:\n" +
+               "• Building: O(total pattern length × alphabet)\n" +
+               "• Searching: O(n + number of occurrences), whatever the number of patterns\n\n" +
+               "Space Complexity: O(total pattern length × alphabet) - one flat transition table\n\n" +
+               "Key Features:\n" +
+               "• A trie of the patterns, completed with failure links\n" +
+               "• Output links jump straight to shorter patterns ending at the same position\n" +
+               "• Never moves backwards in the text\n\n" +
+               "Algorithm Steps:\n" +
+               "1. Insert every pattern into a trie\n" +
+               "2. Breadth-first, link each state to the longest proper suffix that is also a trie state\n" +
+               "3. Read the text one character at a time, following trie edges or failure links\n" +
+               "4. Report the patterns of the state reached and of its output links\n\n" +
+               "Use Cases:\n" +
+               "• Keyword and virus signature scanning\n" +
+               "• Dictionary matching and content filters\n" +
+               "• fgrep with many patterns\n\n" +
+               "Enter several patterns separated by commas.";
+    }
+    
+    /**
+     * @return Automaton of the current or latest visualized run
+     */
+    public AhoCorasickAutomaton getAutomaton() {
+        return automaton;
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            if (!automatonBuilt) {
+                buildAutomaton();
+            } else {
+                performAhoCorasickStep();
+            }
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        automatonBuilt = false;
+        automaton = null;
+        cursor = null;
+        stepPending = false;
+        missState = 0;
+        metricsRun++;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(200, Math.min(3000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
@@ -4,9 +4,26 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.BatchBinarySearch;
+import com.teachingaid.engine.BlockedBloomFilter;
+import com.teachingaid.engine.BoundSearch;
+import com.teachingaid.engine.EliasFanoIntArray;
+import com.teachingaid.engine.FrontCodedStringDictionary;
+import com.teachingaid.engine.IndexRange;
+import com.teachingaid.engine.InterleavedSearch;
+import com.teachingaid.engine.MicroTimer;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchCursor;
+import com.teachingaid.engine.SearchTrace;
 import com.teachingaid.ui.ArrayVisualizationPane;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Binary Search Algorithm with step-by-step visualization
@@ -22,8 +39,7 @@ public class BinarySearch {
     private boolean isPaused = false;
     private boolean isStopped = false;
     private int currentStep = 0;
-    private int[] searchArray;
-    private int targetValue;
+    private ArrayProbe probe;
     private ArrayVisualizationPane visualizationPane;
     private Consumer<Integer> onComplete;
     
@@ -33,6 +49,10 @@ public class BinarySearch {
     // Binary search state variables
     private int left, right, mid;
     
+    // Step engine driving the animation
+    private SearchCursor cursor;
+    private boolean stepPending = false;
+    
     /**
      * Visualizes the binary search algorithm
      * @param array The sorted array to search in
@@ -42,8 +62,38 @@ public class BinarySearch {
      */
     public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
                                Consumer<Integer> completionCallback) {
-        this.searchArray = array.clone();
-        this.targetValue = target;
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(long[] array, long target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(double[] array, double target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(short[] array, short target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(char[] array, char target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the binary search algorithm over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
         this.visualizationPane = visualPane;
         this.onComplete = completionCallback;
         this.currentStep = 0;
@@ -52,11 +102,13 @@ public class BinarySearch {
         
         // Initialize binary search variables
         this.left = 0;
-        this.right = array.length - 1;
+        this.right = probe.length() - 1;
+        this.cursor = SearchAlgorithms.BINARY.open(probe);
+        this.stepPending = false;
         
         // Reset visualization
         visualizationPane.resetHighlights();
-        visualizationPane.setInstructionText("Starting Binary Search for " + target + " in sorted array");
+        visualizationPane.setInstructionText("Starting Binary Search for " + probe.target() + " in sorted array");
         
         // Start the search animation
         performBinarySearchStep();
@@ -67,24 +119,70 @@ public class BinarySearch {
             return;
         }
         
-        if (left > right) {
-            // Search completed - not found
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Search completed - not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                // Found the element!
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(mid);
+                    onComplete.accept(mid);
+                });
+                return;
+            case NARROW_RANGE:
+                showNewRange();
+                return;
+            default:
+                showComparison();
+        }
+    }
+    
+    private void showNewRange() {
+        left = cursor.getIndex();
+        right = cursor.getAux();
+        stepPending = false;
+        
+        if (currentStep == 0) {
+            // Initial range, nothing has been compared yet
+            performBinarySearchStep();
             return;
         }
         
-        // Calculate middle index
-        mid = left + (right - left) / 2;
+        Platform.runLater(() -> {
+            String nextStepDesc = probe.compareAt(mid) > 0
+                ? String.format("Target %s < %s, searching left half. New range: [%d, %d]",
+                                probe.target(), probe.valueAt(mid), left, right)
+                : String.format("Target %s > %s, searching right half. New range: [%d, %d]",
+                                probe.target(), probe.valueAt(mid), left, right);
+            visualizationPane.setInstructionText(nextStepDesc);
+        });
+        
+        // Continue search in the remaining half
+        PauseTransition nextStepTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+        nextStepTransition.setOnFinished(e -> performBinarySearchStep());
+        nextStepTransition.play();
+    }
+    
+    private void showComparison() {
+        mid = cursor.getIndex();
         currentStep++;
         
         // Show the current search range
         Platform.runLater(() -> {
             String stepDescription = String.format(
-                "Step %d: Searching in range [%d, %d], middle at index %d (value: %d)",
-                currentStep, left, right, mid, searchArray[mid]
+                "Step %d: Searching in range [%d, %d], middle at index %d (value: %s)",
+                currentStep, left, right, mid, probe.valueAt(mid)
             );
             
             visualizationPane.highlightRange(left, right, mid, stepDescription);
@@ -98,13 +196,13 @@ public class BinarySearch {
             // Compare middle element with target
             Platform.runLater(() -> {
                 String compareDescription = String.format(
-                    "Comparing middle element %d with target %d: %s",
-                    searchArray[mid], targetValue,
-                    getComparisonResult(searchArray[mid], targetValue)
+                    "Comparing middle element %s with target %s: %s",
+                    probe.valueAt(mid), probe.target(),
+                    getComparisonResult(mid)
                 );
                 
                 Color compareColor = COMPARING_COLOR;
-                if (searchArray[mid] == targetValue) {
+                if (probe.compareAt(mid) == 0) {
                     compareColor = FOUND_COLOR;
                 }
                 
@@ -115,60 +213,22 @@ public class BinarySearch {
             PauseTransition compareTransition = new PauseTransition(Duration.millis(animationDelay));
             compareTransition.setOnFinished(e2 -> {
                 if (isStopped || isPaused) return;
-                
-                if (searchArray[mid] == targetValue) {
-                    // Found the element!
-                    Platform.runLater(() -> {
-                        visualizationPane.markAsFound(mid);
-                        onComplete.accept(mid);
-                    });
-                } else if (searchArray[mid] > targetValue) {
-                    // Target is in left half
-                    right = mid - 1;
-                    
-                    Platform.runLater(() -> {
-                        String nextStepDesc = String.format(
-                            "Target %d < %d, searching left half. New range: [%d, %d]",
-                            targetValue, searchArray[mid], left, right
-                        );
-                        visualizationPane.setInstructionText(nextStepDesc);
-                    });
-                    
-                    // Continue search in left half
-                    PauseTransition nextStepTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                    nextStepTransition.setOnFinished(e3 -> performBinarySearchStep());
-                    nextStepTransition.play();
-                    
-                } else {
-                    // Target is in right half
-                    left = mid + 1;
-                    
-                    Platform.runLater(() -> {
-                        String nextStepDesc = String.format(
-                            "Target %d > %d, searching right half. New range: [%d, %d]",
-                            targetValue, searchArray[mid], left, right
-                        );
-                        visualizationPane.setInstructionText(nextStepDesc);
-                    });
-                    
-                    // Continue search in right half
-                    PauseTransition nextStepTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                    nextStepTransition.setOnFinished(e3 -> performBinarySearchStep());
-                    nextStepTransition.play();
-                }
+                stepPending = false;
+                performBinarySearchStep();
             });
             compareTransition.play();
         });
         rangeTransition.play();
     }
     
-    private String getComparisonResult(int midValue, int target) {
-        if (midValue == target) {
+    private String getComparisonResult(int mid) {
+        int comparison = probe.compareAt(mid);
+        if (comparison == 0) {
             return "MATCH FOUND!";
-        } else if (midValue > target) {
-            return String.format("%d > %d, search LEFT half", midValue, target);
+        } else if (comparison > 0) {
+            return String.format("%s > %s, search LEFT half", probe.valueAt(mid), probe.target());
         } else {
-            return String.format("%d < %d, search RIGHT half", midValue, target);
+            return String.format("%s < %s, search RIGHT half", probe.valueAt(mid), probe.target());
         }
     }
     
@@ -197,6 +257,313 @@ public class BinarySearch {
         return -1;
     }
     
+    /**
+     * Binary search behind a Bloom filter: keys the filter rules out return -1 at once
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param filter Filter built over the same array, e.g. with {@link BlockedBloomFilter#of(int[], double)}
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int binarySearch(int[] array, int target, BlockedBloomFilter filter) {
+        return filter.screen(target) ? binarySearch(array, target) : -1;
+    }
+    
+    /**
+     * Binary search over Elias-Fano compressed keys; only the probed keys are decoded
+     * @param keys The compressed sorted keys
+     * @param target The value to search for
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int binarySearch(EliasFanoIntArray keys, int target) {
+        return keys.binarySearch(target);
+    }
+    
+    /**
+     * Compresses the keys with Elias-Fano coding and times lookups on them against the raw array
+     * @param sortedArray The sorted array to search in
+     * @param lookups Number of lookups timed per variant; targets are drawn from the array
+     * @return Size of the compressed keys and average nanoseconds per lookup
+     */
+    public static CompressedLookupTimes measureCompressedLookupTimes(int[] sortedArray, int lookups) {
+        long start = System.nanoTime();
+        EliasFanoIntArray keys = new EliasFanoIntArray(sortedArray);
+        long buildNanos = System.nanoTime() - start;
+        if (sortedArray.length == 0 || lookups <= 0) {
+            return new CompressedLookupTimes(keys.bitsPerElement(), buildNanos, 0, 0, 0, 0, 0);
+        }
+        int[] targets = new int[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            targets[i] = sortedArray[random.nextInt(sortedArray.length)];
+        }
+        return new CompressedLookupTimes(keys.bitsPerElement(), buildNanos,
+                                         lookupNanos(targets, target -> binarySearch(sortedArray, target)),
+                                         lookupNanos(targets, keys::binarySearch),
+                                         lookupNanos(targets, target -> ExponentialSearch.exponentialSearch(sortedArray, target)),
+                                         lookupNanos(targets, keys::exponentialSearch),
+                                         lookupNanos(targets, keys::indexOf));
+    }
+    
+    // Nanoseconds per target of one lookup each
+    private static double lookupNanos(int[] targets, IntUnaryOperator lookup) {
+        return MicroTimer.perOperation(MicroTimer.DEFAULT_ROUNDS, targets.length, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += lookup.applyAsInt(target);
+            }
+            return sum;
+        });
+    }
+    
+    /**
+     * Performs binary search on a sorted long array without boxing
+     */
+    public static int binarySearch(long[] array, long target) {
+        int left = 0;
+        int right = array.length - 1;
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            
+            if (array[mid] == target) {
+                return mid;
+            } else if (array[mid] > target) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Performs binary search on a sorted double array without boxing;
+     * elements are ordered as by {@link Double#compare}, so -0.0 sorts before 0.0 and NaN last
+     */
+    public static int binarySearch(double[] array, double target) {
+        int left = 0;
+        int right = array.length - 1;
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int comparison = Double.compare(array[mid], target);
+            
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison > 0) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Performs binary search on a sorted short array without boxing
+     */
+    public static int binarySearch(short[] array, short target) {
+        int left = 0;
+        int right = array.length - 1;
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            
+            if (array[mid] == target) {
+                return mid;
+            } else if (array[mid] > target) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Performs binary search on a sorted char array without boxing
+     */
+    public static int binarySearch(char[] array, char target) {
+        int left = 0;
+        int right = array.length - 1;
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            
+            if (array[mid] == target) {
+                return mid;
+            } else if (array[mid] > target) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Performs binary search on a sorted object array
+     * @param array The array to search in, sorted by the comparator
+     * @param target The value to search for
+     * @param comparator The order of the array
+     * @return The index of the target element, or -1 if not found
+     */
+    public static <T> int binarySearch(T[] array, T target, Comparator<? super T> comparator) {
+        return binarySearch(array, target, Function.identity(), comparator);
+    }
+    
+    /**
+     * Performs binary search on records sorted by a key, e.g. people by name, without building a record to compare with
+     * @param array The records to search in, sorted by their key
+     * @param key The key to search for
+     * @param keyExtractor Reads the key of a record
+     * @param comparator The order of the keys
+     * @return The index of a record with that key, or -1 if not found
+     */
+    public static <T, K> int binarySearch(T[] array, K key, Function<? super T, ? extends K> keyExtractor,
+                                          Comparator<? super K> comparator) {
+        int left = 0;
+        int right = array.length - 1;
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int comparison = comparator.compare(keyExtractor.apply(array[mid]), key);
+            
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison > 0) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Binary search over a front-coded dictionary: the bucket headers are compared in place and
+     * only one bucket is decoded
+     * @param dictionary The front-coded sorted words
+     * @param target The word to search for
+     * @return The index of the word's first occurrence, or -1 if not found
+     */
+    public static int binarySearch(FrontCodedStringDictionary dictionary, String target) {
+        return dictionary.indexOf(target);
+    }
+    
+    /**
+     * Performs many binary searches against the same sorted array in one call
+     * Ascending targets are answered by a galloping sweep, other orders by interleaved searches
+     * @param array The sorted array to search in
+     * @param targets The values to search for
+     * @param results Receives the index of each target's first occurrence, or -1 if not found
+     */
+    public static void binarySearch(int[] array, int[] targets, int[] results) {
+        BatchBinarySearch.indexOf(array, targets, results);
+    }
+    
+    /**
+     * Batched binary search with an explicit number of searches advancing in lockstep,
+     * whatever the order of the targets
+     * @param groupSize Searches in flight, from 1 to {@link InterleavedSearch#MAX_GROUP_SIZE};
+     *                  {@link InterleavedSearch#calibratedGroupSize} measures the best one
+     */
+    public static void binarySearch(int[] array, int[] targets, int[] results, int groupSize) {
+        InterleavedSearch.binarySearch(array, targets, results, groupSize);
+    }
+    
+    /**
+     * Times the batched binary search against one {@link #binarySearch(int[], int)} call per target,
+     * once with ascending targets (answered by the sweep) and once in random order (interleaved)
+     * @param sortedArray The sorted array to search in
+     * @param lookups Number of lookups timed per variant; targets are drawn from the array
+     * @return Average nanoseconds per lookup of the four runs
+     */
+    public static BatchLookupTimes measureBatchLookupTimes(int[] sortedArray, int lookups) {
+        if (sortedArray.length == 0 || lookups <= 0) {
+            return new BatchLookupTimes(0, 0, 0, 0);
+        }
+        int[] randomTargets = new int[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            randomTargets[i] = sortedArray[random.nextInt(sortedArray.length)];
+        }
+        int[] sortedTargets = randomTargets.clone();
+        Arrays.sort(sortedTargets);
+        int[] results = new int[lookups];
+        return new BatchLookupTimes(lookupNanos(sortedTargets, target -> binarySearch(sortedArray, target)), batchNanos(sortedArray, sortedTargets, results),
+                                    lookupNanos(randomTargets, target -> binarySearch(sortedArray, target)), batchNanos(sortedArray, randomTargets, results));
+    }
+    
+    // Nanoseconds per target of one batched call for all of them
+    private static double batchNanos(int[] sortedArray, int[] targets, int[] results) {
+        return MicroTimer.perOperation(MicroTimer.DEFAULT_ROUNDS, targets.length, () -> {
+            binarySearch(sortedArray, targets, results);
+            return results[targets.length - 1];
+        });
+    }
+    
+    /**
+     * Binary search for the lower bound of a target
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return Position of the first element not less than the target, or array.length if there is none
+     */
+    public static int lowerBound(int[] array, int target) {
+        return BoundSearch.binaryLowerBound(array, target);
+    }
+    
+    /**
+     * @return Position of the first element greater than the target, or array.length if there is none
+     */
+    public static int upperBound(int[] array, int target) {
+        return BoundSearch.binary(array).upperBound(target);
+    }
+    
+    /**
+     * Finds all occurrences of the target with two boundary searches instead of a scan outwards from a match
+     * @return The occurrences as [from, to); empty, at the target's insertion point, if there are none
+     */
+    public static IndexRange equalRange(int[] array, int target) {
+        return BoundSearch.binary(array).equalRange(target);
+    }
+    
+    /**
+     * @return Number of elements between low and high, both inclusive
+     */
+    public static int countInRange(int[] array, int low, int high) {
+        return BoundSearch.binary(array).countInRange(low, high);
+    }
+    
+    /**
+     * Lower bounds of many targets in one call
+     * @param results Receives the lower bound of every target
+     */
+    public static void lowerBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.binary(array).lowerBound(targets, results);
+    }
+    
+    /**
+     * Upper bounds of many targets in one call
+     * @param results Receives the upper bound of every target
+     */
+    public static void upperBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.binary(array).upperBound(targets, results);
+    }
+    
+    /**
+     * Counts of many inclusive ranges [lows[q], highs[q]] in one call
+     * @param counts Receives the number of elements in every range
+     */
+    public static void countInRange(int[] array, int[] lows, int[] highs, int[] counts) {
+        BoundSearch.binary(array).countInRange(lows, highs, counts);
+    }
+    
     /**
      * Checks if an array is sorted in ascending order
      * @param array The array to check
@@ -211,6 +578,54 @@ public class BinarySearch {
         return true;
     }
     
+    public static boolean isSorted(long[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i-1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public static boolean isSorted(double[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (Double.compare(array[i], array[i-1]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public static boolean isSorted(short[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i-1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public static boolean isSorted(char[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i-1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Checks if an object array is sorted by the comparator
+     */
+    public static <T> boolean isSorted(T[] array, Comparator<? super T> comparator) {
+        for (int i = 1; i < array.length; i++) {
+            if (comparator.compare(array[i], array[i-1]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /**
      * Gets detailed information about binary search algorithm
      * @return Algorithm information string
@@ -244,46 +659,22 @@ public class BinarySearch {
     }
     
     /**
-     * Gets the step-by-step trace of binary search
-     * @param array The sorted array to search in
+     * Records the step-by-step trace of binary search
+     * @param array The array to search in
      * @param target The value to search for
-     * @return Array of step descriptions
+     * @return Compact trace, rendered to text only for the steps that are shown
      */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.BINARY, array, target);
+    }
+    
+    /**
+     * Gets the step-by-step trace of binary search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(int[], int)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(int[] array, int target) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting Binary Search for value " + target);
-        steps.add("Array must be sorted: " + java.util.Arrays.toString(array));
-        
-        int left = 0;
-        int right = array.length - 1;
-        int stepNum = 1;
-        
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            
-            steps.add(String.format("Step %d: Range [%d, %d], Middle index %d = %d", 
-                     stepNum, left, right, mid, array[mid]));
-            
-            if (array[mid] == target) {
-                steps.add(String.format("Found! Target %d found at index %d", target, mid));
-                break;
-            } else if (array[mid] > target) {
-                steps.add(String.format("%d > %d, search left half", array[mid], target));
-                right = mid - 1;
-            } else {
-                steps.add(String.format("%d < %d, search right half", array[mid], target));
-                left = mid + 1;
-            }
-            
-            stepNum++;
-        }
-        
-        if (binarySearch(array, target) == -1) {
-            steps.add("Search completed. Target not found in array.");
-        }
-        
-        return steps.toArray(new String[0]);
+        return traceSearch(array, target).toStrings();
     }
     
     /**
@@ -328,7 +719,9 @@ public class BinarySearch {
         isStopped = false;
         isPaused = false;
         left = 0;
-        right = searchArray != null ? searchArray.length - 1 : 0;
+        right = probe != null ? probe.length() - 1 : 0;
+        cursor = null;
+        stepPending = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
@@ -345,4 +738,129 @@ public class BinarySearch {
     public int getAnimationDelay() {
         return animationDelay;
     }
+    
+    /**
+     * Result of {@link #measureCompressedLookupTimes(int[], int)}
+     */
+    public static final class CompressedLookupTimes {
+        private final double bitsPerElement;
+        private final long buildNanos;
+        private final double rawBinaryNanos;
+        private final double compressedBinaryNanos;
+        private final double rawExponentialNanos;
+        private final double compressedExponentialNanos;
+        private final double successorNanos;
+        
+        CompressedLookupTimes(double bitsPerElement, long buildNanos, double rawBinaryNanos, double compressedBinaryNanos,
+                              double rawExponentialNanos, double compressedExponentialNanos, double successorNanos) {
+            this.bitsPerElement = bitsPerElement;
+            this.buildNanos = buildNanos;
+            this.rawBinaryNanos = rawBinaryNanos;
+            this.compressedBinaryNanos = compressedBinaryNanos;
+            this.rawExponentialNanos = rawExponentialNanos;
+            this.compressedExponentialNanos = compressedExponentialNanos;
+            this.successorNanos = successorNanos;
+        }
+        
+        /**
+         * @return Bits per key of the compressed array, against 32 for the raw one
+         */
+        public double getBitsPerElement() {
+            return bitsPerElement;
+        }
+        
+        public long getBuildNanos() {
+            return buildNanos;
+        }
+        
+        public double getRawBinaryNanos() {
+            return rawBinaryNanos;
+        }
+        
+        public double getCompressedBinaryNanos() {
+            return compressedBinaryNanos;
+        }
+        
+        public double getRawExponentialNanos() {
+            return rawExponentialNanos;
+        }
+        
+        public double getCompressedExponentialNanos() {
+            return compressedExponentialNanos;
+        }
+        
+        /**
+         * @return Lookup through the compressed array's own successor search
+         */
+        public double getSuccessorNanos() {
+            return successorNanos;
+        }
+    }
+    
+    /**
+     * Result of {@link #measureBatchLookupTimes(int[], int)}, in nanoseconds per lookup
+     */
+    public static final class BatchLookupTimes {
+        private final double sortedLoopNanos;
+        private final double sortedBatchNanos;
+        private final double randomLoopNanos;
+        private final double randomBatchNanos;
+        
+        BatchLookupTimes(double sortedLoopNanos, double sortedBatchNanos, double randomLoopNanos, double randomBatchNanos) {
+            this.sortedLoopNanos = sortedLoopNanos;
+            this.sortedBatchNanos = sortedBatchNanos;
+            this.randomLoopNanos = randomLoopNanos;
+            this.randomBatchNanos = randomBatchNanos;
+        }
+        
+        /**
+         * @return Ascending targets, one binary search each
+         */
+        public double getSortedLoopNanos() {
+            return sortedLoopNanos;
+        }
+        
+        /**
+         * @return Ascending targets, answered by the batch call's galloping sweep
+         */
+        public double getSortedBatchNanos() {
+            return sortedBatchNanos;
+        }
+        
+        /**
+         * @return Targets in random order, one binary search each
+         */
+        public double getRandomLoopNanos() {
+            return randomLoopNanos;
+        }
+        
+        /**
+         * @return Targets in random order, answered by the batch call's interleaved searches
+         */
+        public double getRandomBatchNanos() {
+            return randomBatchNanos;
+        }
+        
+        /**
+         * @return How many times faster the batch call answers ascending targets
+         */
+        public double getSortedSpeedup() {
+            return sortedBatchNanos > 0 ? sortedLoopNanos / sortedBatchNanos : 1;
+        }
+        
+        /**
+         * @return How many times faster the batch call answers targets in random order
+         */
+        public double getRandomSpeedup() {
+            return randomBatchNanos > 0 ? randomLoopNanos / randomBatchNanos : 1;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Batch vs one search per target: sorted targets %.1f ns vs %.1f (%.2fx), " +
+                                 "random targets %.1f ns vs %.1f (%.2fx)",
+                                 sortedBatchNanos, sortedLoopNanos, getSortedSpeedup(),
+                                 randomBatchNanos, randomLoopNanos, getRandomSpeedup());
+        }
+    }
 }
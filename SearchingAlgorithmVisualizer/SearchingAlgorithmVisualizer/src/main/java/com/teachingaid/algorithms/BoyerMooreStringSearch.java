@@ -4,15 +4,20 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.BadCharacterTable;
+import com.teachingaid.engine.BoyerMooreSearchCursor;
+import com.teachingaid.engine.MatchIterator;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
 import com.teachingaid.ui.StringVisualizationPane;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * Boyer-Moore String Search Algorithm with step-by-step visualization
- * Uses Bad Character Rule for efficient pattern matching
+ * Uses the Bad Character and Good Suffix Rules, with Galil's rule when finding every occurrence
  */
 public class BoyerMooreStringSearch {
     
@@ -35,11 +40,29 @@ public class BoyerMooreStringSearch {
     private int animationDelay = 1000; // base delay in ms
     
     // Boyer-Moore state variables
-    private Map<Character, Integer> badCharTable;
+    private BadCharacterTable badCharTable;
     private int textIndex = 0;
+    private int mismatchIndex = 0;
     private boolean tableBuilt = false;
     
-    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane, 
+    // Step engine driving the matching phase
+    private BoyerMooreSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Occurrences wanted, and whether the next shift follows a reported one
+    private MatchMode matchMode = MatchMode.FIRST;
+    private boolean afterMatch = false;
+    
+    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(text, pattern, MatchMode.FIRST, visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the search; unless the mode is FIRST it goes on after every occurrence and
+     * keeps all of them highlighted
+     */
+    public void visualizeSearch(String text, String pattern, MatchMode mode, StringVisualizationPane visualPane,
                                Consumer<Integer> completionCallback) {
         this.text = text;
         this.pattern = pattern;
@@ -50,6 +73,10 @@ public class BoyerMooreStringSearch {
         this.isPaused = false;
         this.textIndex = pattern.length() - 1; // Start from the end of pattern
         this.tableBuilt = false;
+        this.cursor = new BoyerMooreSearchCursor(text, pattern, mode);
+        this.stepPending = false;
+        this.matchMode = mode;
+        this.afterMatch = false;
         
         // Reset visualization
         visualPane.resetHighlights();
@@ -60,24 +87,24 @@ public class BoyerMooreStringSearch {
     }
     
     private void buildBadCharacterTable() {
-        badCharTable = new HashMap<>();
-        
         Platform.runLater(() -> {
-            visualizationPane.setInstructionText("Building Bad Character Table for pattern: " + pattern);
+            visualizationPane.setInstructionText("Building Bad Character and Good Suffix Tables for pattern: " + pattern);
         });
         
         PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
         startTransition.setOnFinished(e -> {
-            // Build the table
-            for (int i = 0; i < pattern.length() - 1; i++) {
-                badCharTable.put(pattern.charAt(i), pattern.length() - 1 - i);
-            }
+            // The engine already built the table, show it
+            badCharTable = cursor.getBadCharacterTable();
+            int[] goodSuffixTable = cursor.getGoodSuffixTable();
             
             Platform.runLater(() -> {
-                StringBuilder tableInfo = new StringBuilder("Bad Character Table built:\n");
-                for (Map.Entry<Character, Integer> entry : badCharTable.entrySet()) {
+                StringBuilder tableInfo = new StringBuilder("Bad Character Table built (last position of each character):\n");
+                for (Map.Entry<Character, Integer> entry : badCharTable.toMap().entrySet()) {
                     tableInfo.append(entry.getKey()).append(" -> ").append(entry.getValue()).append("\n");
                 }
+                tableInfo.append("Good Suffix Table below: shift after a mismatch at each pattern position\n");
+                visualizationPane.showPatternTable("Good Suffix Table (shift after a mismatch at each position):",
+                                                   "Shift:", goodSuffixTable, pattern);
                 visualizationPane.setInstructionText(tableInfo.toString() + "Now starting pattern matching...");
             });
             
@@ -95,156 +122,231 @@ public class BoyerMooreStringSearch {
             return;
         }
         
-        // Check if we've gone beyond the text
-        if (textIndex >= text.length()) {
-            // Pattern not found
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
-            return;
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
         }
         
-        currentStep++;
-        int startPos = textIndex - pattern.length() + 1;
-        
-        Platform.runLater(() -> {
-            String stepDesc = String.format("Step %d: Comparing pattern from right to left at position %d", 
-                                          currentStep, startPos);
-            visualizationPane.setInstructionText(stepDesc);
-        });
-        
-        // Compare pattern from right to left
-        compareFromRight(startPos);
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Pattern not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                if (matchMode.isAll()) {
+                    // Every occurrence is already highlighted
+                    int occurrences = cursor.getMatchCount();
+                    int firstPos = cursor.getResult();
+                    Platform.runLater(() -> {
+                        visualizationPane.setInstructionText(String.format(
+                            "Search complete: %d occurrence(s) found, the first at index %d.",
+                            occurrences, firstPos));
+                        onComplete.accept(firstPos);
+                    });
+                    return;
+                }
+                // Complete match found!
+                int startPos = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(startPos);
+                    onComplete.accept(startPos);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex());
+                return;
+            case SHIFT:
+                showSkip(cursor.getIndex(), cursor.getAux());
+                return;
+            default:
+                compareCharacter(cursor.getIndex(), cursor.getAux());
+        }
     }
     
-    private void compareFromRight(int startPos) {
-        int patternIndex = pattern.length() - 1;
-        int currentTextPos = startPos + patternIndex;
+    private void compareCharacter(int currentTextPos, int patternIndex) {
+        // A comparison of the last pattern character starts a new alignment
+        boolean firstComparison = patternIndex == pattern.length() - 1;
+        if (firstComparison) {
+            currentStep++;
+            textIndex = currentTextPos;
+        }
+        mismatchIndex = patternIndex;
         
         Platform.runLater(() -> {
-            String compareDesc = String.format("Comparing text[%d]='%c' with pattern[%d]='%c'", 
-                                             currentTextPos, text.charAt(currentTextPos),
-                                             patternIndex, pattern.charAt(patternIndex));
+            String compareDesc = String.format(
+                firstComparison ? "Step %d: Comparing text[%d]='%c' with pattern[%d]='%c'"
+                                : "Step %d: Continue matching: text[%d]='%c' with pattern[%d]='%c'",
+                currentStep, currentTextPos, text.charAt(currentTextPos),
+                patternIndex, pattern.charAt(patternIndex));
             visualizationPane.highlightComparison(currentTextPos, patternIndex, compareDesc);
         });
         
-        PauseTransition comparisonTransition = new PauseTransition(Duration.millis(animationDelay));
+        long delay = firstComparison ? animationDelay : Math.max(200, animationDelay / 2);
+        PauseTransition comparisonTransition = new PauseTransition(Duration.millis(delay));
         comparisonTransition.setOnFinished(e -> {
             if (isStopped || isPaused) return;
-            
-            if (text.charAt(currentTextPos) == pattern.charAt(patternIndex)) {
-                // Character matches, check if we've matched the entire pattern
-                if (patternIndex == 0) {
-                    // Complete match found!
-                    Platform.runLater(() -> {
-                        visualizationPane.markAsFound(startPos);
-                        onComplete.accept(startPos);
-                    });
-                } else {
-                    // Continue matching from right to left
-                    continueMatching(startPos, patternIndex - 1);
-                }
-            } else {
-                // Mismatch - use bad character rule
-                char badChar = text.charAt(currentTextPos);
-                int skip = badCharTable.getOrDefault(badChar, pattern.length());
-                
-                Platform.runLater(() -> {
-                    String mismatchDesc = String.format("Mismatch! Bad character '%c' - skipping %d positions", 
-                                                      badChar, skip);
-                    visualizationPane.setInstructionText(mismatchDesc);
-                });
-                
-                textIndex += skip;
-                
-                PauseTransition skipTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
-                skipTransition.setOnFinished(e2 -> performBoyerMooreSearchStep());
-                skipTransition.play();
-            }
+            stepPending = false;
+            performBoyerMooreSearchStep();
         });
         comparisonTransition.play();
     }
     
-    private void continueMatching(int startPos, int patternIndex) {
-        if (patternIndex < 0) {
-            // Complete match found!
+    private void showSkip(int newPosition, int skip) {
+        if (afterMatch) {
+            // Shift after a reported occurrence: by the period, or past the occurrence
+            afterMatch = false;
+            stepPending = false;
+            int verified = cursor.getVerified();
+            
             Platform.runLater(() -> {
-                visualizationPane.markAsFound(startPos);
-                onComplete.accept(startPos);
+                visualizationPane.setInstructionText(verified > 0
+                    ? String.format("Occurrence done: moving by the pattern's period, %d positions. Galil's rule: " +
+                                    "pattern[0..%d] is known to match and will not be compared again", skip, verified - 1)
+                    : String.format("Occurrence done: moving past it by %d positions", skip));
             });
+            
+            textIndex = newPosition + pattern.length() - 1;
+            
+            PauseTransition resumeTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+            resumeTransition.setOnFinished(e -> performBoyerMooreSearchStep());
+            resumeTransition.play();
             return;
         }
         
-        int currentTextPos = startPos + patternIndex;
+        // Mismatch - the larger of the two rules decided the skip
+        int patternIndex = mismatchIndex;
+        char badChar = text.charAt(newPosition - skip + patternIndex);
+        boolean goodSuffix = cursor.getShiftRule() == BoyerMooreSearchCursor.ShiftRule.GOOD_SUFFIX;
+        int badCharacterShift = cursor.getBadCharacterShift();
+        int goodSuffixShift = cursor.getGoodSuffixShift();
+        stepPending = false;
         
         Platform.runLater(() -> {
-            String compareDesc = String.format("Continue matching: text[%d]='%c' with pattern[%d]='%c'", 
-                                             currentTextPos, text.charAt(currentTextPos),
-                                             patternIndex, pattern.charAt(patternIndex));
-            visualizationPane.highlightComparison(currentTextPos, patternIndex, compareDesc);
+            String mismatchDesc = String.format(
+                "Mismatch at pattern[%d] on bad character '%c': bad character rule shifts %s, good suffix rule shifts %d " +
+                "- %s rule skips %d positions",
+                patternIndex, badChar, badCharacterShift > 0 ? String.valueOf(badCharacterShift) : "nothing",
+                goodSuffixShift, goodSuffix ? "good suffix" : "bad character", skip);
+            visualizationPane.setInstructionText(mismatchDesc);
+            if (goodSuffix) {
+                visualizationPane.highlightTableEntry(patternIndex);
+            }
         });
         
-        PauseTransition comparisonTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-        comparisonTransition.setOnFinished(e -> {
-            if (isStopped || isPaused) return;
-            
-            if (text.charAt(currentTextPos) == pattern.charAt(patternIndex)) {
-                // Match continues
-                continueMatching(startPos, patternIndex - 1);
-            } else {
-                // Mismatch during continued matching
-                char badChar = text.charAt(startPos + pattern.length() - 1); // Use rightmost character
-                int skip = badCharTable.getOrDefault(badChar, pattern.length());
-                
-                Platform.runLater(() -> {
-                    String mismatchDesc = String.format("Mismatch during matching! Skipping %d positions", skip);
-                    visualizationPane.setInstructionText(mismatchDesc);
-                });
-                
-                textIndex += skip;
-                
-                PauseTransition skipTransition = new PauseTransition(Duration.millis(animationDelay));
-                skipTransition.setOnFinished(e2 -> performBoyerMooreSearchStep());
-                skipTransition.play();
-            }
+        textIndex = newPosition + pattern.length() - 1;
+        
+        PauseTransition skipTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+        skipTransition.setOnFinished(e -> performBoyerMooreSearchStep());
+        skipTransition.play();
+    }
+    
+    private void showMatch(int start) {
+        // The engine keeps its state and searches on after reporting the occurrence
+        int occurrence = cursor.getMatchCount();
+        afterMatch = true;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, pattern.length());
+            visualizationPane.setInstructionText(String.format("Occurrence %d found at index %d! Searching on for %s...",
+                occurrence, start, matchMode == MatchMode.OVERLAPPING ? "overlapping occurrences" : "the next occurrence"));
         });
-        comparisonTransition.play();
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performBoyerMooreSearchStep());
+        matchTransition.play();
     }
     
     public static int boyerMooreSearch(String text, String pattern) {
-        if (pattern.isEmpty()) return 0;
-        
-        // Build bad character table
-        Map<Character, Integer> badCharTable = new HashMap<>();
-        for (int i = 0; i < pattern.length() - 1; i++) {
-            badCharTable.put(pattern.charAt(i), pattern.length() - 1 - i);
-        }
+        return boyerMooreSearch(text, pattern, 0);
+    }
+    
+    /**
+     * Finds the first occurrence at or after a position with both rules
+     * @return Start of the occurrence, or -1 if there is none
+     */
+    public static int boyerMooreSearch(String text, String pattern, int fromIndex) {
+        int m = pattern.length();
+        int n = text.length();
+        int position = Math.max(0, fromIndex);
+        if (m == 0) return Math.min(position, n);
         
-        int textIndex = pattern.length() - 1;
+        BadCharacterTable badCharTable = BadCharacterTable.of(pattern);
+        int[] goodSuffixTable = BoyerMooreSearchCursor.buildGoodSuffixTable(pattern);
         
-        while (textIndex < text.length()) {
-            int startPos = textIndex - pattern.length() + 1;
-            int patternIndex = pattern.length() - 1;
-            
+        while (position <= n - m) {
             // Compare from right to left
-            while (patternIndex >= 0 && text.charAt(startPos + patternIndex) == pattern.charAt(patternIndex)) {
+            int patternIndex = m - 1;
+            while (patternIndex >= 0 && text.charAt(position + patternIndex) == pattern.charAt(patternIndex)) {
                 patternIndex--;
             }
             
             if (patternIndex < 0) {
-                return startPos; // Pattern found
+                return position; // Pattern found
             }
             
-            // Bad character rule
-            char badChar = text.charAt(textIndex);
-            int skip = badCharTable.getOrDefault(badChar, pattern.length());
-            textIndex += skip;
+            int badCharacterShift = patternIndex - badCharTable.lastIndexOf(text.charAt(position + patternIndex));
+            position += Math.max(badCharacterShift, goodSuffixTable[patternIndex]);
         }
         
         return -1;
     }
     
+    /**
+     * Finds every occurrence, overlapping ones included, in O(n + m) comparisons
+     * @return Start of every occurrence in ascending order
+     */
+    public static int[] boyerMooreSearchAll(String text, String pattern) {
+        return boyerMooreMatches(text, pattern, true).toArray();
+    }
+    
+    /**
+     * Finds every occurrence in one pass. After an overlapping match the pattern moves by its
+     * period, and Galil's rule carries over to the next alignment that the m - period characters
+     * overlapping the match are known to match again, so they are not compared.
+     * @param overlapping Whether an occurrence may start inside the previous one
+     * @return Starts of the occurrences in ascending order, searched for as they are consumed
+     */
+    public static MatchIterator boyerMooreMatches(String text, String pattern, boolean overlapping) {
+        int m = pattern.length();
+        BadCharacterTable badCharTable = BadCharacterTable.of(pattern);
+        int[] goodSuffixTable = BoyerMooreSearchCursor.buildGoodSuffixTable(pattern);
+        int period = goodSuffixTable[m];
+        return new MatchIterator() {
+            private int position = 0;
+            // Pattern positions below this one are known to match at the current alignment
+            private int verified = 0;
+            
+            @Override
+            protected int findNext() {
+                if (m == 0) {
+                    return position <= text.length() ? position++ : -1;
+                }
+                while (position <= text.length() - m) {
+                    int patternIndex = m - 1;
+                    while (patternIndex >= verified && text.charAt(position + patternIndex) == pattern.charAt(patternIndex)) {
+                        patternIndex--;
+                    }
+                    
+                    if (patternIndex < verified) {
+                        int start = position;
+                        position += overlapping ? period : m;
+                        verified = overlapping ? m - period : 0;
+                        return start;
+                    }
+                    int badCharacterShift = patternIndex - badCharTable.lastIndexOf(text.charAt(position + patternIndex));
+                    position += Math.max(badCharacterShift, goodSuffixTable[patternIndex]);
+                    verified = 0;
+                }
+                return -1;
+            }
+        };
+    }
+    
     public static String getAlgorithmInfo() {
         return "Boyer-Moore String Search Algorithm:\n\n" +
                "Description:\n" +
@@ -253,18 +355,20 @@ public class BoyerMooreStringSearch {
                "Time Complexity:\n" +
                "• Best case: O(n/m) - sublinear when pattern doesn't occur\n" +
                "• Average case: O(n)\n" +
-               "• Worst case: O(n × m) - rare, when pattern and text have many repetitions\n\n" +
-               "Space Complexity: O(σ) where σ is alphabet size\n\n" +
+               "• Worst case: O(n + m) - the good suffix rule bounds the first search, " +
+               "Galil's rule the search for every occurrence\n\n" +
+               "Space Complexity: O(m) - the bad character table only holds the pattern's characters\n\n" +
                "Key Features:\n" +
                "• Compares pattern from right to left\n" +
-               "• Uses Bad Character Rule for skipping\n" +
-               "• Can be sublinear in best case\n" +
-               "• Preprocessing creates lookup table\n\n" +
+               "• Bad Character Rule: line the mismatched text character up with its last occurrence in the pattern\n" +
+               "• Good Suffix Rule: line the matched suffix up with its next occurrence in the pattern\n" +
+               "• Galil's Rule: after a match, skip the part that overlaps the previous occurrence\n" +
+               "• Can be sublinear in best case\n\n" +
                "Algorithm Steps:\n" +
-               "1. Preprocess pattern to create bad character table\n" +
+               "1. Preprocess pattern into bad character and good suffix tables\n" +
                "2. Align pattern with text from left\n" +
                "3. Compare from rightmost character of pattern\n" +
-               "4. On mismatch, use bad character rule to skip\n\n" +
+               "4. On mismatch, shift by the larger of the two rules\n\n" +
                "Use Cases:\n" +
                "• Text editors (find/replace)\n" +
                "• Large document searching\n" +
@@ -272,55 +376,23 @@ public class BoyerMooreStringSearch {
                "• Network packet inspection";
     }
     
+    /**
+     * Records the step-by-step trace of Boyer-Moore search
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(String text, String pattern) {
+        return SearchTrace.of(SearchAlgorithms.BOYER_MOORE, text, pattern);
+    }
+    
+    /**
+     * Gets the step-by-step trace of Boyer-Moore search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(String, String)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(String text, String pattern) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting Boyer-Moore Search for pattern \"" + pattern + "\" in text \"" + text + "\"");
-        
-        // Build bad character table trace
-        Map<Character, Integer> badCharTable = new HashMap<>();
-        for (int i = 0; i < pattern.length() - 1; i++) {
-            badCharTable.put(pattern.charAt(i), pattern.length() - 1 - i);
-        }
-        steps.add("Bad Character Table: " + badCharTable.toString());
-        
-        int textIndex = pattern.length() - 1;
-        int stepNum = 1;
-        
-        while (textIndex < text.length()) {
-            int startPos = textIndex - pattern.length() + 1;
-            steps.add(String.format("Try position %d:", startPos));
-            
-            int patternIndex = pattern.length() - 1;
-            boolean foundMismatch = false;
-            
-            // Compare from right to left
-            while (patternIndex >= 0) {
-                steps.add(String.format("Step %d: Compare text[%d]='%c' with pattern[%d]='%c'", 
-                         stepNum++, startPos + patternIndex, text.charAt(startPos + patternIndex), 
-                         patternIndex, pattern.charAt(patternIndex)));
-                
-                if (text.charAt(startPos + patternIndex) == pattern.charAt(patternIndex)) {
-                    steps.add("Match! Continue...");
-                    patternIndex--;
-                } else {
-                    foundMismatch = true;
-                    char badChar = text.charAt(textIndex);
-                    int skip = badCharTable.getOrDefault(badChar, pattern.length());
-                    steps.add(String.format("Mismatch! Bad character '%c' - skip %d positions", badChar, skip));
-                    textIndex += skip;
-                    break;
-                }
-            }
-            
-            if (!foundMismatch) {
-                steps.add(String.format("Pattern found at index %d!", startPos));
-                return steps.toArray(new String[0]);
-            }
-        }
-        
-        steps.add("Pattern not found in text");
-        return steps.toArray(new String[0]);
+        return traceSearch(text, pattern).toStrings();
     }
     
     public void pause() {
@@ -350,6 +422,9 @@ public class BoyerMooreStringSearch {
         textIndex = 0;
         tableBuilt = false;
         badCharTable = null;
+        cursor = null;
+        stepPending = false;
+        afterMatch = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
@@ -0,0 +1,438 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.CrackerIndex;
+import com.teachingaid.engine.CrackingSearchCursor;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Cracking Search with step-by-step visualization
+ * Every search partitions the piece of the array its target falls into, so the array is shown
+ * in its cracked order: the pieces get smaller with every search and later searches read less.
+ * The cracked array is kept between searches until another array is searched.
+ */
+public class CrackingSearch {
+    
+    private final Color SMALLER_COLOR = Color.web("#9C27B0");
+    private final Color LARGER_COLOR = Color.web("#FF5722");
+    private final Color SWAP_COLOR = Color.web("#2196F3");
+    private final Color FOUND_COLOR = Color.web("#4CAF50");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private int target;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // Cracked copy of the array the last searches ran on, and what they cost
+    private int[] source;
+    private CrackerIndex index;
+    private CumulativeCosts costs;
+    
+    // Step engine driving the animation
+    private CrackingSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    /**
+     * Visualizes a cracking search; searches on the same array keep cracking the same index
+     * @param array The array to search in, in any order
+     * @param target The value to search for
+     * @param visualPane The visualization pane, which is switched to the cracked order
+     * @param completionCallback Callback with the index of the target in the original array
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        if (index == null || array != source) {
+            source = array;
+            index = new CrackerIndex(array);
+            costs = new CumulativeCosts(array.length);
+        }
+        this.target = target;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new CrackingSearchCursor(index, target);
+        this.stepPending = false;
+        
+        // Show the array the way earlier searches left it
+        visualizationPane.setArray(index.toArray());
+        visualizationPane.showPieces(index.pieceBoundaries(), 0, 0, String.format(
+            "Starting Cracking Search for %d - search %d on this array, which earlier searches have cracked into %d piece(s)",
+            target, index.getQueryCount() + 1, index.pieceCount()));
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performCrackingStep());
+        startTransition.play();
+    }
+    
+    private void performCrackingStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                recordCosts();
+                Platform.runLater(() -> {
+                    visualizationPane.showPieces(index.pieceBoundaries(), cursor.getFirstPosition(),
+                                                 cursor.getFirstPosition(), "");
+                    visualizationPane.markAsNotFound();
+                    visualizationPane.setInstructionText(String.format(
+                        "✗ Element not found: no key equals %d, so the piece between the two cracks is empty. %s",
+                        target, describeCosts()));
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int foundIndex = cursor.getResult();
+                int position = cursor.getFirstPosition();
+                recordCosts();
+                Platform.runLater(() -> {
+                    visualizationPane.showPieces(index.pieceBoundaries(), position, cursor.getEndPosition(), "");
+                    visualizationPane.markAsFound(position);
+                    visualizationPane.setInstructionText(String.format(
+                        "✓ Element found at position %d of the cracked array, index %d of the original array. %s",
+                        position, foundIndex, describeCosts()));
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                showPiece();
+                break;
+            case SWAP:
+                showSwap();
+                break;
+            default:
+                showComparison();
+        }
+    }
+    
+    private void showPiece() {
+        int from = cursor.getIndex();
+        int to = cursor.getAux();
+        boolean upper = cursor.getFirstPosition() >= 0;
+        currentStep++;
+        
+        Platform.runLater(() -> visualizationPane.showPieces(index.pieceBoundaries(), from, to + 1, String.format(
+            "Step %d: The cracker index narrows the search to positions [%d, %d], %d of %d keys; " +
+            "partitioning them into keys %s %d and the rest",
+            currentStep, from, to, to - from + 1, index.size(), upper ? "up to" : "below", target)));
+        
+        scheduleNextStep();
+    }
+    
+    private void showComparison() {
+        int position = cursor.getAux();
+        int comparison = cursor.getComparison();
+        boolean upper = cursor.getFirstPosition() >= 0;
+        // The first crack keeps keys below the target on the left, the second also keeps equal ones
+        boolean left = comparison < 0 || (comparison == 0 && upper);
+        currentStep++;
+        
+        Platform.runLater(() -> visualizationPane.highlightElement(position,
+            comparison == 0 ? FOUND_COLOR : left ? SMALLER_COLOR : LARGER_COLOR, String.format(
+            "Step %d: Position %d holds %d, %s %d: it belongs on the %s side",
+            currentStep, position, index.keyAt(position),
+            comparison == 0 ? "equal to" : comparison < 0 ? "smaller than" : "larger than",
+            target, left ? "left" : "right")));
+        
+        scheduleNextStep();
+    }
+    
+    private void showSwap() {
+        int left = cursor.getIndex();
+        int right = cursor.getAux();
+        currentStep++;
+        
+        Platform.runLater(() -> {
+            visualizationPane.swapElements(left, right);
+            visualizationPane.highlightElement(left, SWAP_COLOR, "");
+            visualizationPane.highlightElement(right, SWAP_COLOR, String.format(
+                "Step %d: Swapping positions %d and %d, so that %d moves left and %d moves right",
+                currentStep, left, right, index.keyAt(left), index.keyAt(right)));
+        });
+        
+        scheduleNextStep();
+    }
+    
+    private void scheduleNextStep() {
+        PauseTransition stepTransition = new PauseTransition(Duration.millis(animationDelay));
+        stepTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performCrackingStep();
+        });
+        stepTransition.play();
+    }
+    
+    private void recordCosts() {
+        costs.add(cursor.getTouchedCount(), scanCost(source, target), BinarySearch.getMaxComparisons(source.length));
+    }
+    
+    private String describeCosts() {
+        int last = costs.size() - 1;
+        return String.format("This search read %d key(s); %d piece(s) now. After %d search(es): cracking %d, " +
+                             "always scanning %d, sorting first %d key reads",
+                             costs.getCracking()[last] - (last == 0 ? 0 : costs.getCracking()[last - 1]),
+                             index.pieceCount(), costs.size(), costs.getCrackingTotal(),
+                             costs.getScanningTotal(), costs.getSortFirstTotal());
+    }
+    
+    // Comparisons a linear scan makes for the target
+    private static long scanCost(int[] array, int target) {
+        int found = LinearSearch.linearSearch(array, target);
+        return found >= 0 ? found + 1 : array.length;
+    }
+    
+    // Comparisons a comparison sort needs, roughly n log2 n
+    private static long sortCost(int size) {
+        return size < 2 ? 0 : (long) Math.ceil(size * Math.log(size) / Math.log(2));
+    }
+    
+    /**
+     * Answers a single lookup with a fresh cracker index, which costs one scan of the array
+     * @param array The array to search in, in any order
+     * @param target The value to search for
+     * @return The index of one occurrence, or -1 if not found
+     */
+    public static int crackingSearch(int[] array, int target) {
+        return new CrackerIndex(array).indexOf(target);
+    }
+    
+    /**
+     * Looks up a target in an index shared by a series of lookups, cracking it further
+     * @return The index of one occurrence in the array the index was built from, or -1 if not found
+     */
+    public static int crackingSearch(CrackerIndex index, int target) {
+        return index.indexOf(target);
+    }
+    
+    /**
+     * Runs a series of lookups through one cracker index and counts the keys each reads,
+     * against scanning the array for every lookup and against sorting it before the first
+     * @param array The array to search in, in any order
+     * @param queries The values searched for, in order
+     * @return Cumulative key reads of the three strategies after each lookup
+     */
+    public static CumulativeCosts simulateCosts(int[] array, int[] queries) {
+        CrackerIndex index = new CrackerIndex(array);
+        CumulativeCosts costs = new CumulativeCosts(array.length);
+        long binaryCost = BinarySearch.getMaxComparisons(array.length);
+        for (int query : queries) {
+            long before = index.getTouchedCount();
+            index.indexOf(query);
+            costs.add(index.getTouchedCount() - before, scanCost(array, query), binaryCost);
+        }
+        return costs;
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Cracking Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Database cracking builds an index as a side effect of the searches. " +
+               "A search for x partitions only the piece of the array that can hold x, like one step of " +
+               "quicksort, into keys below x, keys equal to x and keys above it. A small cracker index " +
+               "remembers where each piece starts, so the next search only reads its own piece.\n\n" +
+               "Prerequisites:\n" +
+               "• None - the array may be in any order\n" +
+               "• The array is reordered in place; original indices are remembered\n\n" +
+               "Time Complexity:\n" +
+               "• First search: O(n), one pass like a linear scan\n" +
+               "• Later searches: O(size of the piece), shrinking towards O(log n)\n" +
+               "• Repeated key: O(log p) for p pieces, no keys read\n\n" +
+               "Space Complexity: O(n) - a copy of the keys and their original positions\n\n" +
+               "Advantages:\n" +
+               "• No up-front sort: the first search costs no more than a scan\n" +
+               "• Only the parts of the array that are searched get organized\n\n" +
+               "Disadvantages:\n" +
+               "• Every search writes to the array\n" +
+               "• Early searches cost more than a search in an already sorted array\n\n" +
+               "Use Cases:\n" +
+               "• Many searches on data that was never sorted\n" +
+               "• Workloads that only ever search part of the key range";
+    }
+    
+    /**
+     * Records the step-by-step trace of the first cracking search on an array
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.CRACKING, array, target);
+    }
+    
+    /**
+     * @return Costs of the searches on the current array so far, or null before the first search
+     */
+    public CumulativeCosts getCosts() {
+        return costs;
+    }
+    
+    /**
+     * @return The cracked index of the current array, or null before the first search
+     */
+    public CrackerIndex getCrackerIndex() {
+        return index;
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performCrackingStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Forgets the cracked index, so that the next search starts from the original order again
+     */
+    public void clearIndex() {
+        source = null;
+        index = null;
+        costs = null;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+    
+    /**
+     * Key reads of cracking, scanning and sorting first, summed over a series of searches
+     */
+    public static final class CumulativeCosts {
+        private long[] cracking = new long[16];
+        private long[] scanning = new long[16];
+        private long[] sortFirst = new long[16];
+        private int size = 0;
+        private final long sortCost;
+        
+        CumulativeCosts(int arraySize) {
+            this.sortCost = sortCost(arraySize);
+        }
+        
+        void add(long crackingCost, long scanCost, long binaryCost) {
+            if (size == cracking.length) {
+                cracking = Arrays.copyOf(cracking, size * 2);
+                scanning = Arrays.copyOf(scanning, size * 2);
+                sortFirst = Arrays.copyOf(sortFirst, size * 2);
+            }
+            cracking[size] = (size == 0 ? 0 : cracking[size - 1]) + crackingCost;
+            scanning[size] = (size == 0 ? 0 : scanning[size - 1]) + scanCost;
+            sortFirst[size] = (size == 0 ? 0 : sortFirst[size - 1]) + binaryCost;
+            size++;
+        }
+        
+        /**
+         * @return Number of searches
+         */
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * @return Keys read by cracking, summed up to each search
+         */
+        public long[] getCracking() {
+            return Arrays.copyOf(cracking, size);
+        }
+        
+        /**
+         * @return Keys read by scanning the whole array for every search, summed up to each search
+         */
+        public long[] getScanning() {
+            return Arrays.copyOf(scanning, size);
+        }
+        
+        /**
+         * @return Keys read by sorting before the first search and then binary searching,
+         *         summed up to each search
+         */
+        public long[] getSortFirst() {
+            long[] totals = Arrays.copyOf(sortFirst, size);
+            for (int q = 0; q < size; q++) {
+                totals[q] += sortCost;
+            }
+            return totals;
+        }
+        
+        public long getCrackingTotal() {
+            return size == 0 ? 0 : cracking[size - 1];
+        }
+        
+        public long getScanningTotal() {
+            return size == 0 ? 0 : scanning[size - 1];
+        }
+        
+        public long getSortFirstTotal() {
+            return size == 0 ? 0 : sortFirst[size - 1] + sortCost;
+        }
+        
+        /**
+         * @return Comparisons the sort before the first search is counted as, n log2 n
+         */
+        public long getSortCost() {
+            return sortCost;
+        }
+    }
+}
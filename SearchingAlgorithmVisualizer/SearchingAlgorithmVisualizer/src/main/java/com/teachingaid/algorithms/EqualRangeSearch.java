@@ -0,0 +1,295 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.EqualRangeSearchCursor;
+import com.teachingaid.engine.IndexRange;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * Equal Range Search with step-by-step visualization
+ * Animates the two boundary searches that find every occurrence of the target:
+ * the lower-bound search for the first occurrence, then the upper-bound search for the end
+ */
+public class EqualRangeSearch {
+    
+    private final Color LOWER_COLOR = Color.web("#9C27B0");
+    private final Color UPPER_COLOR = Color.web("#FF5722");
+    private final Color OCCURRENCE_COLOR = Color.web("#4CAF50");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // Current range of the boundary search being shown
+    private int left, right;
+    private boolean upperAnnounced = false;
+    
+    // Step engine driving the animation
+    private EqualRangeSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    /**
+     * Visualizes both boundary searches
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback with the first occurrence, or -1
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes both boundary searches over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback with the first occurrence, or -1
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new EqualRangeSearchCursor(probe);
+        this.stepPending = false;
+        this.upperAnnounced = false;
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText("Starting Equal Range Search for " + probe.target() +
+                                             " - first a lower-bound search for the first occurrence");
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performEqualRangeStep());
+        startTransition.play();
+    }
+    
+    private void performEqualRangeStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                int insertion = cursor.getLowerBound();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    visualizationPane.setInstructionText(String.format(
+                        "✗ Element not found - both bounds are index %d, where it would be inserted (%d comparisons)",
+                        insertion, cursor.getComparisonCount()));
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int first = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.setInstructionText(String.format(
+                        "✓ %d occurrence(s) of %s at indices [%d, %d], counted with %d comparisons",
+                        cursor.getCount(), probe.target(), first, cursor.getUpperBound() - 1,
+                        cursor.getComparisonCount()));
+                    onComplete.accept(first);
+                });
+                return;
+            case NARROW_RANGE:
+                showRange();
+                return;
+            default:
+                showComparison();
+        }
+    }
+    
+    private void showRange() {
+        left = cursor.getIndex();
+        right = cursor.getAux();
+        
+        if (cursor.getUpperBound() >= 0) {
+            // Both bounds are known: every element between them equals the target
+            int from = left;
+            int to = right;
+            currentStep++;
+            Platform.runLater(() -> visualizationPane.highlightBand(from, to + 1, OCCURRENCE_COLOR, String.format(
+                "Step %d: Lower bound %d and upper bound %d enclose all %d occurrences",
+                currentStep, from, to + 1, to - from + 1)));
+            pauseThenContinue(animationDelay);
+            return;
+        }
+        
+        if (cursor.isSearchingUpper() && !upperAnnounced) {
+            upperAnnounced = true;
+            int lowerBound = cursor.getLowerBound();
+            int from = left;
+            int to = right;
+            currentStep++;
+            Platform.runLater(() -> {
+                visualizationPane.highlightRange(from, to, -1, "");
+                visualizationPane.highlightElement(lowerBound, LOWER_COLOR, String.format(
+                    "Step %d: Lower bound found at index %d. The upper-bound search only needs [%d, %d]",
+                    currentStep, lowerBound, from, to));
+            });
+            pauseThenContinue(animationDelay);
+            return;
+        }
+        
+        // The range is shown together with the next comparison
+        stepPending = false;
+        performEqualRangeStep();
+    }
+    
+    private void showComparison() {
+        int mid = cursor.getIndex();
+        int comparison = cursor.getComparison();
+        boolean upper = cursor.getAux() == 1;
+        currentStep++;
+        
+        Platform.runLater(() -> visualizationPane.highlightRange(left, right, mid, String.format(
+            "Step %d: %s search in range [%d, %d], middle at index %d (value: %s)",
+            currentStep, upper ? "Upper-bound" : "Lower-bound", left, right, mid, probe.valueAt(mid))));
+        
+        PauseTransition rangeTransition = new PauseTransition(Duration.millis(animationDelay));
+        rangeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            
+            Platform.runLater(() -> {
+                String outcome;
+                if (upper) {
+                    outcome = comparison <= 0
+                        ? String.format("%s <= %s: the occurrences end further RIGHT", probe.valueAt(mid), probe.target())
+                        : String.format("%s > %s: the occurrences end here or further LEFT", probe.valueAt(mid), probe.target());
+                } else {
+                    outcome = comparison < 0
+                        ? String.format("%s < %s: the first occurrence is further RIGHT", probe.valueAt(mid), probe.target())
+                        : String.format("%s >= %s: the first occurrence is here or further LEFT", probe.valueAt(mid), probe.target());
+                }
+                visualizationPane.highlightElement(mid, upper ? UPPER_COLOR : LOWER_COLOR, outcome);
+            });
+            pauseThenContinue(animationDelay);
+        });
+        rangeTransition.play();
+    }
+    
+    private void pauseThenContinue(int delay) {
+        PauseTransition transition = new PauseTransition(Duration.millis(delay));
+        transition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performEqualRangeStep();
+        });
+        transition.play();
+    }
+    
+    /**
+     * Finds all occurrences of the target without visualization
+     * @return The occurrences as [from, to); empty, at the target's insertion point, if there are none
+     */
+    public static IndexRange equalRange(int[] array, int target) {
+        return BinarySearch.equalRange(array, target);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Equal Range Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Finds every occurrence of the target in a sorted array with two binary searches. " +
+               "The lower-bound search finds the first element not less than the target, the " +
+               "upper-bound search the first element greater than it. Everything in between equals the target.\n\n" +
+               "Prerequisites:\n" +
+               "• Array must be sorted in ascending order\n\n" +
+               "Time Complexity:\n" +
+               "• O(log n), however many duplicates there are\n\n" +
+               "Space Complexity: O(1)\n\n" +
+               "Advantages:\n" +
+               "• Counting occurrences never scans them\n" +
+               "• The same two bounds answer range counts: upperBound(high) - lowerBound(low)\n" +
+               "• An absent target still yields its insertion point\n\n" +
+               "Disadvantages:\n" +
+               "• Always runs both searches to the end, even when the target is met halfway\n\n" +
+               "Use Cases:\n" +
+               "• Counting and range queries on data with many duplicates\n" +
+               "• Finding where to insert into a sorted array";
+    }
+    
+    /**
+     * Records the step-by-step trace of an equal-range search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.EQUAL_RANGE, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performEqualRangeStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
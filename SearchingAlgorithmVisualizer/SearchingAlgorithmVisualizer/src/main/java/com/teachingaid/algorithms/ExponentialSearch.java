@@ -4,9 +4,20 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.BlockedBloomFilter;
+import com.teachingaid.engine.BoundSearch;
+import com.teachingaid.engine.EliasFanoIntArray;
+import com.teachingaid.engine.ExponentialSearchCursor;
+import com.teachingaid.engine.IndexRange;
+import com.teachingaid.engine.InterleavedSearch;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
 import com.teachingaid.ui.ArrayVisualizationPane;
 
+import java.util.Comparator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Exponential Search Algorithm with step-by-step visualization
@@ -24,8 +35,7 @@ public class ExponentialSearch {
     private boolean isPaused = false;
     private boolean isStopped = false;
     private int currentStep = 0;
-    private int[] searchArray;
-    private int targetValue;
+    private ArrayProbe probe;
     private ArrayVisualizationPane visualizationPane;
     private Consumer<Integer> onComplete;
     
@@ -37,10 +47,44 @@ public class ExponentialSearch {
     private boolean foundRange = false;
     private int left, right, mid;
     
+    // Step engine driving the animation
+    private ExponentialSearchCursor cursor;
+    private boolean stepPending = false;
+    
     public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
                                Consumer<Integer> completionCallback) {
-        this.searchArray = array.clone();
-        this.targetValue = target;
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(long[] array, long target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(double[] array, double target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(short[] array, short target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(char[] array, char target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes exponential search over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
         this.visualizationPane = visualPane;
         this.onComplete = completionCallback;
         this.currentStep = 0;
@@ -48,19 +92,12 @@ public class ExponentialSearch {
         this.isPaused = false;
         this.bound = 1;
         this.foundRange = false;
+        this.cursor = new ExponentialSearchCursor(probe);
+        this.stepPending = false;
         
         // Reset visualization
         visualizationPane.resetHighlights();
-        visualizationPane.setInstructionText("Starting Exponential Search for " + target);
-        
-        // Check if first element is the target
-        if (searchArray[0] == target) {
-            Platform.runLater(() -> {
-                visualizationPane.markAsFound(0);
-                onComplete.accept(0);
-            });
-            return;
-        }
+        visualizationPane.setInstructionText("Starting Exponential Search for " + probe.target());
         
         // Start the exponential phase
         performExponentialStep();
@@ -71,94 +108,137 @@ public class ExponentialSearch {
             return;
         }
         
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                // Found!
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                if (!foundRange) {
+                    showRangeFound();
+                } else {
+                    showNewRange();
+                }
+                return;
+            default:
+                if (!foundRange) {
+                    exponentialStep(cursor.getIndex(), cursor.getComparison());
+                } else {
+                    performBinarySearchStep(cursor.getIndex());
+                }
+        }
+    }
+    
+    private void exponentialStep(int index, int comparison) {
+        // Phase 1: Find the range exponentially
         currentStep++;
+        bound = Math.max(1, index);
         
-        if (!foundRange) {
-            // Phase 1: Find the range exponentially
-            int index = Math.min(bound, searchArray.length - 1);
+        Platform.runLater(() -> {
+            String stepDescription = String.format(
+                "Step %d: Exponential phase - checking index %d (bound: %d, value: %s)",
+                currentStep, index, bound, probe.valueAt(index)
+            );
             
-            Platform.runLater(() -> {
-                String stepDescription = String.format(
-                    "Step %d: Exponential phase - checking index %d (bound: %d, value: %d)",
-                    currentStep, index, bound, searchArray[index]
-                );
-                
-                visualizationPane.highlightElement(index, EXPONENTIAL_COLOR, stepDescription);
-            });
+            visualizationPane.highlightElement(index, EXPONENTIAL_COLOR, stepDescription);
+        });
+        
+        PauseTransition expTransition = new PauseTransition(Duration.millis(animationDelay));
+        expTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
             
-            PauseTransition expTransition = new PauseTransition(Duration.millis(animationDelay));
-            expTransition.setOnFinished(e -> {
-                if (isStopped || isPaused) return;
+            if (comparison < 0) {
+                // Double the bound
+                int nextBound = cursor.getBound();
+                Platform.runLater(() -> {
+                    String nextStepDesc = String.format(
+                        "Value %s < target %s, doubling bound from %d to %d",
+                        probe.valueAt(index), probe.target(), index, nextBound
+                    );
+                    visualizationPane.setInstructionText(nextStepDesc);
+                });
                 
-                if (bound < searchArray.length && searchArray[bound] < targetValue) {
-                    // Double the bound
-                    Platform.runLater(() -> {
-                        String nextStepDesc = String.format(
-                            "Value %d < target %d, doubling bound from %d to %d",
-                            searchArray[Math.min(bound, searchArray.length - 1)], targetValue, bound, bound * 2
-                        );
-                        visualizationPane.setInstructionText(nextStepDesc);
-                    });
-                    
-                    bound *= 2;
-                    
-                    PauseTransition nextExpTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                    nextExpTransition.setOnFinished(e2 -> performExponentialStep());
-                    nextExpTransition.play();
-                    
-                } else {
-                    // Found the range
-                    foundRange = true;
-                    left = bound / 2;
-                    right = Math.min(bound, searchArray.length - 1);
-                    
-                    Platform.runLater(() -> {
-                        String rangeFoundDesc = String.format(
-                            "Range found! Binary search from index %d to %d",
-                            left, right
-                        );
-                        visualizationPane.setInstructionText(rangeFoundDesc);
-                        
-                        // Highlight the range
-                        for (int i = left; i <= right; i++) {
-                            visualizationPane.highlightElement(i, RANGE_COLOR, "Search range");
-                        }
-                    });
-                    
-                    PauseTransition rangeTransition = new PauseTransition(Duration.millis(animationDelay));
-                    rangeTransition.setOnFinished(e2 -> performBinarySearchStep());
-                    rangeTransition.play();
-                }
-            });
-            expTransition.play();
+                PauseTransition nextExpTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+                nextExpTransition.setOnFinished(e2 -> performExponentialStep());
+                nextExpTransition.play();
             
-        } else {
-            // This shouldn't be reached as we switch to binary search
-            performBinarySearchStep();
-        }
+            } else {
+                performExponentialStep();
+            }
+        });
+        expTransition.play();
     }
     
-    private void performBinarySearchStep() {
-        if (isStopped || isPaused) {
-            return;
-        }
+    private void showRangeFound() {
+        // Found the range
+        foundRange = true;
+        left = cursor.getIndex();
+        right = cursor.getAux();
+        stepPending = false;
         
-        if (left > right) {
-            // Not found
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
-            return;
-        }
+        Platform.runLater(() -> {
+            String rangeFoundDesc = String.format(
+                "Range found! Binary search from index %d to %d",
+                left, right
+            );
+            visualizationPane.setInstructionText(rangeFoundDesc);
+            
+            // Highlight the range
+            for (int i = left; i <= right; i++) {
+                visualizationPane.highlightElement(i, RANGE_COLOR, "Search range");
+            }
+        });
+        
+        PauseTransition rangeTransition = new PauseTransition(Duration.millis(animationDelay));
+        rangeTransition.setOnFinished(e -> performExponentialStep());
+        rangeTransition.play();
+    }
+    
+    private void showNewRange() {
+        left = cursor.getIndex();
+        right = cursor.getAux();
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            String nextStepDesc = probe.compareAt(mid) > 0
+                ? String.format("Target %s < %s, searching left half. New range: [%d, %d]",
+                                probe.target(), probe.valueAt(mid), left, right)
+                : String.format("Target %s > %s, searching right half. New range: [%d, %d]",
+                                probe.target(), probe.valueAt(mid), left, right);
+            visualizationPane.setInstructionText(nextStepDesc);
+        });
         
-        mid = left + (right - left) / 2;
+        PauseTransition nextBinaryTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+        nextBinaryTransition.setOnFinished(e -> performExponentialStep());
+        nextBinaryTransition.play();
+    }
+    
+    private void performBinarySearchStep(int middle) {
+        mid = middle;
         currentStep++;
         
         Platform.runLater(() -> {
             String stepDescription = String.format(
-                "Binary search step %d: Range [%d, %d], middle at index %d (value: %d)",
-                currentStep, left, right, mid, searchArray[mid]
+                "Binary search step %d: Range [%d, %d], middle at index %d (value: %s)",
+                currentStep, left, right, mid, probe.valueAt(mid)
             );
             
             // Show the current range with different colors
@@ -178,46 +258,8 @@ public class ExponentialSearch {
         PauseTransition binaryTransition = new PauseTransition(Duration.millis(animationDelay));
         binaryTransition.setOnFinished(e -> {
             if (isStopped || isPaused) return;
-            
-            if (searchArray[mid] == targetValue) {
-                // Found!
-                Platform.runLater(() -> {
-                    visualizationPane.markAsFound(mid);
-                    onComplete.accept(mid);
-                });
-                
-            } else if (searchArray[mid] > targetValue) {
-                // Search left half
-                right = mid - 1;
-                
-                Platform.runLater(() -> {
-                    String nextStepDesc = String.format(
-                        "Target %d < %d, searching left half. New range: [%d, %d]",
-                        targetValue, searchArray[mid], left, right
-                    );
-                    visualizationPane.setInstructionText(nextStepDesc);
-                });
-                
-                PauseTransition nextBinaryTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                nextBinaryTransition.setOnFinished(e2 -> performBinarySearchStep());
-                nextBinaryTransition.play();
-                
-            } else {
-                // Search right half
-                left = mid + 1;
-                
-                Platform.runLater(() -> {
-                    String nextStepDesc = String.format(
-                        "Target %d > %d, searching right half. New range: [%d, %d]",
-                        targetValue, searchArray[mid], left, right
-                    );
-                    visualizationPane.setInstructionText(nextStepDesc);
-                });
-                
-                PauseTransition nextBinaryTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                nextBinaryTransition.setOnFinished(e2 -> performBinarySearchStep());
-                nextBinaryTransition.play();
-            }
+            stepPending = false;
+            performExponentialStep();
         });
         binaryTransition.play();
     }
@@ -240,6 +282,51 @@ public class ExponentialSearch {
         return binarySearch(array, target, left, right);
     }
     
+    /**
+     * Exponential search behind a Bloom filter: keys the filter rules out return -1 at once
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param filter Filter built over the same array, e.g. with {@link BlockedBloomFilter#of(int[], double)}
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int exponentialSearch(int[] array, int target, BlockedBloomFilter filter) {
+        return filter.screen(target) ? exponentialSearch(array, target) : -1;
+    }
+    
+    /**
+     * Performs many exponential searches against the same sorted array in one call, keeping
+     * a calibrated number of them in flight so their cache misses overlap.
+     * The group size is the one {@link InterleavedSearch#calibratedGroupSize} measured for
+     * this kernel, or {@link InterleavedSearch#DEFAULT_GROUP_SIZE} until it has been calibrated;
+     * the lookup itself never calibrates. Calibrate ahead of time, off the UI thread, or pass
+     * a fixed group size to the overload that takes one.
+     * @param array The sorted array to search in
+     * @param targets The values to search for
+     * @param results Receives the index of each target's first occurrence, or -1 if not found
+     */
+    public static void exponentialSearch(int[] array, int[] targets, int[] results) {
+        InterleavedSearch.exponentialSearch(array, targets, results);
+    }
+    
+    /**
+     * Batched exponential search with an explicit number of searches in flight
+     * @param groupSize Searches in flight, from 1 to {@link InterleavedSearch#MAX_GROUP_SIZE};
+     *                  {@link InterleavedSearch#calibratedGroupSize} measures the best one
+     */
+    public static void exponentialSearch(int[] array, int[] targets, int[] results, int groupSize) {
+        InterleavedSearch.exponentialSearch(array, targets, results, groupSize);
+    }
+    
+    /**
+     * Exponential search over Elias-Fano compressed keys; only the probed keys are decoded
+     * @param keys The compressed sorted keys
+     * @param target The value to search for
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int exponentialSearch(EliasFanoIntArray keys, int target) {
+        return keys.exponentialSearch(target);
+    }
+    
     private static int binarySearch(int[] array, int target, int left, int right) {
         while (left <= right) {
             int mid = left + (right - left) / 2;
@@ -255,6 +342,182 @@ public class ExponentialSearch {
         return -1;
     }
     
+    /**
+     * Performs exponential search on a sorted long array without boxing
+     */
+    public static int exponentialSearch(long[] array, long target) {
+        return exponentialSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs exponential search on a sorted double array without boxing;
+     * elements are ordered as by {@link Double#compare}, so -0.0 sorts before 0.0 and NaN last
+     */
+    public static int exponentialSearch(double[] array, double target) {
+        return exponentialSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs exponential search on a sorted short array without boxing
+     */
+    public static int exponentialSearch(short[] array, short target) {
+        return exponentialSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs exponential search on a sorted char array without boxing
+     */
+    public static int exponentialSearch(char[] array, char target) {
+        return exponentialSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Exponential search kernel shared by the primitive overloads
+     * @return The index of an element equal to the probe's target, or -1 if not found
+     */
+    private static int exponentialSearch(ArrayProbe probe) {
+        int n = probe.length();
+        if (n == 0) {
+            return -1;
+        }
+        if (probe.compareAt(0) == 0) {
+            return 0;
+        }
+        
+        // Find range for binary search; stop doubling at n so the bound cannot overflow
+        int bound = 1;
+        while (bound < n && probe.compareAt(bound) < 0) {
+            bound = bound >= n / 2 ? n : bound * 2;
+        }
+        
+        // Binary search in the found range
+        int left = bound / 2;
+        int right = Math.min(bound, n - 1);
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int comparison = probe.compareAt(mid);
+            
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison > 0) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Performs exponential search on a sorted object array
+     * @param array The array to search in, sorted by the comparator
+     * @param target The value to search for
+     * @param comparator The order of the array
+     * @return The index of the target element, or -1 if not found
+     */
+    public static <T> int exponentialSearch(T[] array, T target, Comparator<? super T> comparator) {
+        return exponentialSearch(array, target, Function.identity(), comparator);
+    }
+    
+    /**
+     * Performs exponential search on records sorted by a key
+     * @param array The records to search in, sorted by their key
+     * @param key The key to search for
+     * @param keyExtractor Reads the key of a record
+     * @param comparator The order of the keys
+     * @return The index of a record with that key, or -1 if not found
+     */
+    public static <T, K> int exponentialSearch(T[] array, K key, Function<? super T, ? extends K> keyExtractor,
+                                               Comparator<? super K> comparator) {
+        if (array.length == 0) {
+            return -1;
+        }
+        if (comparator.compare(keyExtractor.apply(array[0]), key) == 0) {
+            return 0;
+        }
+        
+        // Find range for binary search
+        int bound = 1;
+        while (bound < array.length && comparator.compare(keyExtractor.apply(array[bound]), key) < 0) {
+            bound = bound >= array.length / 2 ? array.length : bound * 2;
+        }
+        
+        // Binary search in the found range
+        int left = bound / 2;
+        int right = Math.min(bound, array.length - 1);
+        
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int comparison = comparator.compare(keyExtractor.apply(array[mid]), key);
+            
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison > 0) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Exponential search for the lower bound of a target
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return Position of the first element not less than the target, or array.length if there is none
+     */
+    public static int lowerBound(int[] array, int target) {
+        return BoundSearch.exponentialLowerBound(array, target);
+    }
+    
+    /**
+     * @return Position of the first element greater than the target, or array.length if there is none
+     */
+    public static int upperBound(int[] array, int target) {
+        return BoundSearch.exponential(array).upperBound(target);
+    }
+    
+    /**
+     * Finds all occurrences of the target with two boundary searches instead of a scan outwards from a match
+     * @return The occurrences as [from, to); empty, at the target's insertion point, if there are none
+     */
+    public static IndexRange equalRange(int[] array, int target) {
+        return BoundSearch.exponential(array).equalRange(target);
+    }
+    
+    /**
+     * @return Number of elements between low and high, both inclusive
+     */
+    public static int countInRange(int[] array, int low, int high) {
+        return BoundSearch.exponential(array).countInRange(low, high);
+    }
+    
+    /**
+     * Lower bounds of many targets in one call
+     * @param results Receives the lower bound of every target
+     */
+    public static void lowerBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.exponential(array).lowerBound(targets, results);
+    }
+    
+    /**
+     * Upper bounds of many targets in one call
+     * @param results Receives the upper bound of every target
+     */
+    public static void upperBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.exponential(array).upperBound(targets, results);
+    }
+    
+    /**
+     * Counts of many inclusive ranges [lows[q], highs[q]] in one call
+     * @param counts Receives the number of elements in every range
+     */
+    public static void countInRange(int[] array, int[] lows, int[] highs, int[] counts) {
+        BoundSearch.exponential(array).countInRange(lows, highs, counts);
+    }
+    
     public static String getAlgorithmInfo() {
         return "Exponential Search Algorithm:\n\n" +
                "Description:\n" +
@@ -279,53 +542,23 @@ public class ExponentialSearch {
                "• Target likely to be near the beginning";
     }
     
+    /**
+     * Records the step-by-step trace of exponential search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.EXPONENTIAL, array, target);
+    }
+    
+    /**
+     * Gets the step-by-step trace of exponential search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(int[], int)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(int[] array, int target) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting Exponential Search for value " + target);
-        
-        if (array[0] == target) {
-            steps.add("Found! Target found at index 0");
-            return steps.toArray(new String[0]);
-        }
-        
-        // Find range
-        int bound = 1;
-        int stepNum = 1;
-        
-        while (bound < array.length && array[bound] < target) {
-            steps.add(String.format("Step %d: Check bound %d, value %d < %d, double bound", 
-                     stepNum++, bound, array[bound], target));
-            bound *= 2;
-        }
-        
-        int left = bound / 2;
-        int right = Math.min(bound, array.length - 1);
-        steps.add(String.format("Range found: [%d, %d], starting binary search", left, right));
-        
-        // Binary search trace
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            steps.add(String.format("Binary search: Range [%d, %d], middle %d = %d", 
-                     left, right, mid, array[mid]));
-            
-            if (array[mid] == target) {
-                steps.add(String.format("Found! Target %d found at index %d", target, mid));
-                break;
-            } else if (array[mid] > target) {
-                steps.add(String.format("%d > %d, search left half", array[mid], target));
-                right = mid - 1;
-            } else {
-                steps.add(String.format("%d < %d, search right half", array[mid], target));
-                left = mid + 1;
-            }
-        }
-        
-        if (left > right) {
-            steps.add("Target not found in array");
-        }
-        
-        return steps.toArray(new String[0]);
+        return traceSearch(array, target).toStrings();
     }
     
     public void pause() {
@@ -335,11 +568,7 @@ public class ExponentialSearch {
     public void resume() {
         if (isPaused) {
             isPaused = false;
-            if (!foundRange) {
-                performExponentialStep();
-            } else {
-                performBinarySearchStep();
-            }
+            performExponentialStep();
         }
     }
     
@@ -354,6 +583,8 @@ public class ExponentialSearch {
         isPaused = false;
         bound = 1;
         foundRange = false;
+        cursor = null;
+        stepPending = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
@@ -0,0 +1,257 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.EytzingerIndex;
+import com.teachingaid.engine.EytzingerSearchCursor;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.engine.StepType;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * Eytzinger (breadth-first layout) Search with step-by-step visualization
+ * Shows the branch-free descent on the sorted array: every visited node is
+ * highlighted at its sorted position so the path through the implicit tree stays visible
+ */
+public class EytzingerSearch {
+    
+    private final Color NODE_COLOR = Color.web("#2196F3");
+    private final Color LEFT_TURN_COLOR = Color.web("#9C27B0");
+    private final Color RIGHT_TURN_COLOR = Color.web("#FF5722");
+    private final Color CANDIDATE_COLOR = Color.web("#4CAF50");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // Step engine driving the animation
+    private EytzingerSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    /**
+     * Visualizes the Eytzinger descent
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the Eytzinger descent over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new EytzingerSearchCursor(probe);
+        this.stepPending = false;
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText("Starting Eytzinger Search for " + probe.target() +
+                                             " - the sorted array is walked as an implicit tree rooted at node 1");
+        
+        // Start the search animation
+        performEytzingerStep();
+    }
+    
+    private void performEytzingerStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        if (cursor.getType() == StepType.NOT_FOUND) {
+            int lowerBound = cursor.getLowerBound();
+            Platform.runLater(() -> {
+                visualizationPane.markAsNotFound();
+                if (lowerBound >= 0) {
+                    visualizationPane.setInstructionText(String.format(
+                        "✗ Element not found - the first larger element is at index %d", lowerBound));
+                }
+                onComplete.accept(-1);
+            });
+            return;
+        }
+        
+        if (cursor.getType() == StepType.FOUND) {
+            int foundIndex = cursor.getResult();
+            Platform.runLater(() -> {
+                visualizationPane.markAsFound(foundIndex);
+                onComplete.accept(foundIndex);
+            });
+            return;
+        }
+        
+        showComparison(cursor.getIndex(), cursor.getAux(), cursor.getComparison());
+    }
+    
+    private void showComparison(int position, int node, int comparison) {
+        currentStep++;
+        
+        Platform.runLater(() -> {
+            String stepDescription = String.format(
+                "Step %d: Visiting tree node %d (level %d), stored at sorted index %d (value: %s)",
+                currentStep, node, 31 - Integer.numberOfLeadingZeros(node), position, probe.valueAt(position)
+            );
+            visualizationPane.highlightElement(position, NODE_COLOR, stepDescription);
+        });
+        
+        PauseTransition nodeTransition = new PauseTransition(Duration.millis(animationDelay));
+        nodeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            
+            // No early exit on a match: the descent always continues to a leaf
+            Platform.runLater(() -> {
+                String turnDescription = comparison < 0
+                    ? String.format("%s < %s, go right to node %d",
+                                    probe.valueAt(position), probe.target(), 2 * node + 1)
+                    : String.format("%s >= %s, remember index %d as candidate and go left to node %d",
+                                    probe.valueAt(position), probe.target(), position, 2 * node);
+                Color turnColor = comparison < 0 ? RIGHT_TURN_COLOR
+                                : comparison == 0 ? CANDIDATE_COLOR : LEFT_TURN_COLOR;
+                visualizationPane.highlightElement(position, turnColor, turnDescription);
+            });
+            
+            PauseTransition turnTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+            turnTransition.setOnFinished(e2 -> {
+                if (isStopped || isPaused) return;
+                stepPending = false;
+                performEytzingerStep();
+            });
+            turnTransition.play();
+        });
+        nodeTransition.play();
+    }
+    
+    /**
+     * Builds an Eytzinger index once and answers a single lookup with it
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return The sorted index of the target element, or -1 if not found
+     */
+    public static int eytzingerSearch(int[] array, int target) {
+        return new EytzingerIndex(array).indexOf(target);
+    }
+    
+    /**
+     * Looks up a target in a prebuilt index; build it once with {@link EytzingerIndex#EytzingerIndex(int[])}
+     * @return The sorted index of the target element, or -1 if not found
+     */
+    public static int eytzingerSearch(EytzingerIndex index, int target) {
+        return index.indexOf(target);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Eytzinger Search Algorithm:\n\n" +
+               "Description:\n" +
+               "The sorted array is copied once into breadth-first (Eytzinger) order: the root is " +
+               "stored first, then both nodes of the next level, and so on. Node k has its children " +
+               "at 2k and 2k+1, so a lookup walks down a single path with no branches to mispredict.\n\n" +
+               "Prerequisites:\n" +
+               "• Array must be sorted in ascending order\n" +
+               "• One O(n) rearrangement before the first lookup\n\n" +
+               "Time Complexity:\n" +
+               "• Every lookup: O(log n) - the descent always reaches a leaf\n\n" +
+               "Space Complexity: O(n) for the rearranged copy; sorted positions are computed from the tree shape\n\n" +
+               "Advantages:\n" +
+               "• Branch-free loop, no mispredictions\n" +
+               "• The first levels of the tree share a few cache lines\n" +
+               "• Nodes four levels down are contiguous, which helps prefetching\n\n" +
+               "Disadvantages:\n" +
+               "• Extra memory and a build step\n" +
+               "• No early exit when the target is met halfway\n\n" +
+               "Use Cases:\n" +
+               "• Many lookups against large, rarely changing sorted data\n" +
+               "• In-memory indexes and lookup tables";
+    }
+    
+    /**
+     * Records the step-by-step trace of Eytzinger search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.EYTZINGER, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performEytzingerStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
@@ -0,0 +1,464 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.HashIndexSearchCursor;
+import com.teachingaid.engine.IntHashIndex;
+import com.teachingaid.engine.MicroTimer;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+import com.teachingaid.ui.BackgroundTask;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Hash Index Search with step-by-step visualization
+ * An open-addressing hash table is built over the array once; a lookup then follows the probe
+ * sequence from the target's home slot, and each probed slot is shown as the element it points to
+ */
+public class HashIndexSearch {
+    
+    private final Color PROBE_COLOR = Color.web("#9C27B0");
+    private final Color FOUND_COLOR = Color.web("#4CAF50");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    private IntHashIndex.Probing probing = IntHashIndex.Probing.ROBIN_HOOD;
+    private int[] keys;
+    
+    // Step engine driving the animation
+    private HashIndexSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Costs of the last array and probing timed, measured off the JavaFX thread and reused
+    // while the same keys are searched again with the same probing
+    private int[] timedKeys;
+    private IntHashIndex.Probing timedProbing;
+    private CostComparison costs;
+    // Incremented by every run, so that a measurement finishing late does not overwrite
+    // the text of a newer run
+    private int metricsRun = 0;
+    
+    /**
+     * Visualizes a hash index lookup
+     * @param array The array to search in, in any order
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        int[] values = array.clone();
+        visualizeSearch(ArrayProbe.of(values, target), visualPane, completionCallback);
+        // Only int keys can be timed against sorting and the int[] searches
+        this.keys = values;
+    }
+    
+    /**
+     * Visualizes a hash index lookup over any numeric element type
+     * @param probe The elements and the target
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.keys = null;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new HashIndexSearchCursor(probe, probing);
+        this.stepPending = false;
+        this.metricsRun++;
+        
+        IntHashIndex table = cursor.getTable();
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText(String.format(
+            "Starting Hash Index Search for %s - %s table built in %.1f µs: %d key(s) in %d slots, load factor %.2f, %s",
+            probe.target(), probing == IntHashIndex.Probing.ROBIN_HOOD ? "Robin Hood" : "linear probing",
+            table.getBuildNanos() / 1000.0, table.size(), table.capacity(), table.loadFactor(),
+            formatHistogram(table.probeLengthHistogram())));
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performHashStep());
+        startTransition.play();
+    }
+    
+    private void performHashStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                IntHashIndex table = cursor.getTable();
+                int slot = cursor.getSlot();
+                String reason = table.positionAt(slot) < 0
+                    ? String.format("slot %d is empty", slot)
+                    : String.format("slot %d holds a key only %d slot(s) from home, closer than the %d probed so far",
+                                    slot, table.distance(slot), cursor.getDistance());
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    appendMetrics("✗ Element not found: " + reason);
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    appendMetrics(String.format("✓ Element found at index %d after %d probe(s)!",
+                                                foundIndex, cursor.getComparisonCount()));
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            default:
+                showProbe();
+        }
+    }
+    
+    private void showProbe() {
+        int position = cursor.getIndex();
+        int slot = cursor.getAux();
+        int comparison = cursor.getComparison();
+        int distance = cursor.getDistance() - (comparison == 0 ? 0 : 1);
+        currentStep++;
+        
+        // Earlier probes stay highlighted, so the whole probe sequence is visible
+        Platform.runLater(() -> {
+            String where = distance == 0
+                ? String.format("home slot %d", slot)
+                : String.format("slot %d (home %d + %d)", slot, cursor.getHomeSlot(), distance);
+            visualizationPane.highlightElement(position, comparison == 0 ? FOUND_COLOR : PROBE_COLOR, String.format(
+                "Step %d: Probing %s, which points to array[%d] = %s: %s",
+                currentStep, where, position, probe.valueAt(position),
+                comparison == 0 ? "it matches the target!" : "not the target, moving to the next slot"));
+        });
+        
+        PauseTransition probeTransition = new PauseTransition(Duration.millis(animationDelay));
+        probeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performHashStep();
+        });
+        probeTransition.play();
+    }
+    
+    private void appendMetrics(String outcome) {
+        int[] values = keys;
+        if (values == null) {
+            visualizationPane.setInstructionText(outcome);
+            return;
+        }
+        IntHashIndex.Probing timed = probing;
+        if (costs != null && timedProbing == timed && Arrays.equals(timedKeys, values)) {
+            showMetrics(outcome, costs);
+            return;
+        }
+        visualizationPane.setInstructionText(outcome + "  Timing the hash index against sorting and scanning in the background...");
+        int run = metricsRun;
+        BackgroundTask.start("hash-index-timing",
+            () -> measureCosts(values, timed, 20_000),
+            measured -> {
+                timedKeys = values;
+                timedProbing = timed;
+                costs = measured;
+                if (run == metricsRun) {
+                    showMetrics(outcome, measured);
+                }
+            },
+            error -> {
+                if (run == metricsRun) {
+                    visualizationPane.setInstructionText(outcome + "  Timing failed: " + error.getMessage());
+                }
+            });
+    }
+    
+    private void showMetrics(String outcome, CostComparison costs) {
+        visualizationPane.setInstructionText(String.format(
+            "%s  Hash: built in %.0f ns, %.1f ns/lookup. Sort + Binary: %.0f ns + %.1f ns/lookup. Linear: %.1f ns/lookup. " +
+            "Hashing beats scanning %s and sorting %s",
+            outcome, costs.getHashBuildNanos(), costs.getHashLookupNanos(), costs.getSortNanos(),
+            costs.getBinaryLookupNanos(), costs.getLinearLookupNanos(),
+            describeBreakEven(costs.getLookupsToBeatScanning()), describeBreakEven(costs.getLookupsToBeatSorting())));
+    }
+    
+    private static String describeBreakEven(long lookups) {
+        return lookups < 0 ? "never" : lookups == 0 ? "from the first lookup" : "after " + lookups + " lookup(s)";
+    }
+    
+    /**
+     * Builds a hash index and answers a single lookup with it
+     * @param array The array to search in, in any order
+     * @param target The value to search for
+     * @return The index of the first occurrence, or -1 if not found
+     */
+    public static int hashIndexSearch(int[] array, int target) {
+        return IntHashIndex.build(array).indexOf(target);
+    }
+    
+    /**
+     * Looks up a target in a prebuilt table; build it once with {@link IntHashIndex#build(int[])}
+     * @return The index of the first occurrence, or -1 if not found
+     */
+    public static int hashIndexSearch(IntHashIndex index, int target) {
+        return index.indexOf(target);
+    }
+    
+    /**
+     * Measures what it costs to build a hash index and to sort for binary search, and the
+     * average lookup time of both against a linear scan
+     * @param array The array to search in, in any order
+     * @param probing How the hash table resolves collisions
+     * @param lookups Number of lookups timed per algorithm; targets are drawn from the array
+     * @return One-time and per-lookup costs in nanoseconds
+     */
+    public static CostComparison measureCosts(int[] array, IntHashIndex.Probing probing, int lookups) {
+        if (array.length == 0 || lookups <= 0) {
+            return new CostComparison(0, 0, 0, 0, 0);
+        }
+        int[] targets = new int[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            targets[i] = array[random.nextInt(array.length)];
+        }
+        
+        int rounds = MicroTimer.DEFAULT_ROUNDS;
+        double build = MicroTimer.bestOf(rounds, () -> IntHashIndex.build(array, probing).size());
+        double sort = MicroTimer.bestOf(rounds, array::clone, copy -> {
+            Arrays.sort(copy);
+            return copy[0];
+        });
+        IntHashIndex index = IntHashIndex.build(array, probing);
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+        double hashLookup = MicroTimer.perOperation(rounds, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += index.indexOf(target);
+            }
+            return sum;
+        });
+        double binaryLookup = MicroTimer.perOperation(rounds, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += BinarySearch.binarySearch(sorted, target);
+            }
+            return sum;
+        });
+        double linearLookup = MicroTimer.perOperation(rounds, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += LinearSearch.linearSearch(array, target);
+            }
+            return sum;
+        });
+        return new CostComparison(build, sort, hashLookup, binaryLookup, linearLookup);
+    }
+    
+    /**
+     * Formats a probe-length histogram, e.g. "probe lengths 1×12, 2×3"
+     */
+    public static String formatHistogram(int[] histogram) {
+        StringBuilder text = new StringBuilder("probe lengths ");
+        for (int k = 0; k < histogram.length; k++) {
+            if (histogram[k] > 0) {
+                if (text.length() > "probe lengths ".length()) {
+                    text.append(", ");
+                }
+                text.append(k + 1).append('×').append(histogram[k]);
+            }
+        }
+        return histogram.length == 0 ? "no keys" : text.toString();
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Hash Index Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Builds an open-addressing hash table that maps every value to its first index. " +
+               "A value's home slot is computed from its bits; on a collision the next slot is tried. " +
+               "With Robin Hood probing an entry far from home takes the slot of one closer to home, " +
+               "which keeps probe sequences short and lets a miss stop early.\n\n" +
+               "Prerequisites:\n" +
+               "• None - the array may be in any order\n" +
+               "• One O(n) build before the first lookup\n\n" +
+               "Time Complexity:\n" +
+               "• Build: O(n) expected\n" +
+               "• Lookup: O(1) expected, O(n) if every key collides\n\n" +
+               "Space Complexity: O(n) - two int arrays, at most 75% full\n\n" +
+               "Advantages:\n" +
+               "• Constant-time lookups without sorting\n" +
+               "• Primitive int keys: no boxing and no pointers to chase\n\n" +
+               "Disadvantages:\n" +
+               "• No order: cannot answer range or nearest-value queries\n" +
+               "• The build only pays off after enough lookups\n\n" +
+               "Use Cases:\n" +
+               "• Many membership or position lookups in unsorted data\n" +
+               "• Deciding between scanning, sorting and hashing";
+    }
+    
+    /**
+     * Records the step-by-step trace of a hash index lookup
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.HASH_INDEX, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performHashStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        metricsRun++;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets how the table built for the visualization resolves collisions
+     */
+    public void setProbing(IntHashIndex.Probing probing) {
+        this.probing = probing;
+    }
+    
+    public IntHashIndex.Probing getProbing() {
+        return probing;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+    
+    /**
+     * Result of {@link #measureCosts(int[], IntHashIndex.Probing, int)}
+     */
+    public static final class CostComparison {
+        private final double hashBuildNanos;
+        private final double sortNanos;
+        private final double hashLookupNanos;
+        private final double binaryLookupNanos;
+        private final double linearLookupNanos;
+        
+        CostComparison(double hashBuildNanos, double sortNanos, double hashLookupNanos,
+                       double binaryLookupNanos, double linearLookupNanos) {
+            this.hashBuildNanos = hashBuildNanos;
+            this.sortNanos = sortNanos;
+            this.hashLookupNanos = hashLookupNanos;
+            this.binaryLookupNanos = binaryLookupNanos;
+            this.linearLookupNanos = linearLookupNanos;
+        }
+        
+        public double getHashBuildNanos() {
+            return hashBuildNanos;
+        }
+        
+        public double getSortNanos() {
+            return sortNanos;
+        }
+        
+        public double getHashLookupNanos() {
+            return hashLookupNanos;
+        }
+        
+        public double getBinaryLookupNanos() {
+            return binaryLookupNanos;
+        }
+        
+        public double getLinearLookupNanos() {
+            return linearLookupNanos;
+        }
+        
+        /**
+         * @return Lookups after which building the table costs less than scanning for each one,
+         *         or -1 if it never does
+         */
+        public long getLookupsToBeatScanning() {
+            return breakEven(hashBuildNanos, hashLookupNanos, 0, linearLookupNanos);
+        }
+        
+        /**
+         * @return Lookups after which building the table costs less than sorting for binary search,
+         *         or -1 if it never does
+         */
+        public long getLookupsToBeatSorting() {
+            return breakEven(hashBuildNanos, hashLookupNanos, sortNanos, binaryLookupNanos);
+        }
+        
+        // Smallest number of lookups at which the first strategy's total is not above the second's
+        private static long breakEven(double build, double lookup, double otherBuild, double otherLookup) {
+            if (build <= otherBuild) {
+                return lookup <= otherLookup ? 0 : -1;
+            }
+            if (lookup >= otherLookup) {
+                return -1;
+            }
+            return (long) Math.ceil((build - otherBuild) / (otherLookup - lookup));
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.BadCharacterTable;
+import com.teachingaid.engine.HorspoolSearchCursor;
+import com.teachingaid.engine.MatchIterator;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.engine.ShiftStatistics;
+import com.teachingaid.ui.StringVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * Boyer-Moore-Horspool String Search with step-by-step visualization
+ * Shifts by the text character under the last pattern position, whatever mismatched
+ */
+public class HorspoolStringSearch {
+    
+    private final Color PATTERN_COLOR = Color.web("#3498DB");
+    private final Color TEXT_COLOR = Color.web("#2ECC71");
+    private final Color MATCH_COLOR = Color.web("#E74C3C");
+    private final Color MISMATCH_COLOR = Color.web("#F39C12");
+    private final Color FOUND_COLOR = Color.web("#27AE60");
+    private final Color SKIP_COLOR = Color.web("#9B59B6");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private String text;
+    private String pattern;
+    private StringVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in ms
+    
+    // Horspool state variables
+    private BadCharacterTable shiftTable;
+    private boolean tableBuilt = false;
+    private final ShiftStatistics statistics = new ShiftStatistics();
+    
+    // Step engine driving the matching phase
+    private HorspoolSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Occurrences wanted, and whether the next shift follows a reported one
+    private MatchMode matchMode = MatchMode.FIRST;
+    private boolean afterMatch = false;
+    
+    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(text, pattern, MatchMode.FIRST, visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the search; unless the mode is FIRST it goes on after every occurrence and
+     * keeps all of them highlighted
+     */
+    public void visualizeSearch(String text, String pattern, MatchMode mode, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        this.text = text;
+        this.pattern = pattern;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.tableBuilt = false;
+        this.cursor = new HorspoolSearchCursor(text, pattern, mode);
+        this.stepPending = false;
+        this.matchMode = mode;
+        this.afterMatch = false;
+        statistics.reset();
+        
+        // Reset visualization
+        visualPane.resetHighlights();
+        visualPane.setInstructionText("Starting Horspool String Search for pattern \"" + pattern + "\" in text");
+        
+        // Build the shift table first
+        buildShiftTable();
+    }
+    
+    private void buildShiftTable() {
+        Platform.runLater(() -> {
+            visualizationPane.setInstructionText("Building Horspool Shift Table for pattern: " + pattern);
+        });
+        
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> {
+            // The engine already built the table, show it
+            shiftTable = cursor.getShiftTable();
+            int[] shifts = new int[pattern.length()];
+            for (int i = 0; i < shifts.length; i++) {
+                shifts[i] = HorspoolSearchCursor.shift(pattern, shiftTable, pattern.charAt(i));
+            }
+            
+            Platform.runLater(() -> {
+                visualizationPane.showPatternTable("Shift Table (shift when this character is under the last pattern position):",
+                                                   "Shift:", shifts, pattern);
+                visualizationPane.setInstructionText("Shift Table built from pattern[0.." + (pattern.length() - 2) + "]; " +
+                    "any other character shifts " + pattern.length() + ". Now starting pattern matching...");
+            });
+            
+            tableBuilt = true;
+            
+            PauseTransition matchingTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 2L)));
+            matchingTransition.setOnFinished(e2 -> performHorspoolSearchStep());
+            matchingTransition.play();
+        });
+        startTransition.play();
+    }
+    
+    private void performHorspoolSearchStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            statistics.onStep(cursor);
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Pattern not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    visualizationPane.setInstructionText("Pattern not found in text! " + statistics);
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                if (matchMode.isAll()) {
+                    // Every occurrence is already highlighted
+                    int occurrences = cursor.getMatchCount();
+                    int firstPos = cursor.getResult();
+                    Platform.runLater(() -> {
+                        visualizationPane.setInstructionText(String.format(
+                            "Search complete: %d occurrence(s) found, the first at index %d. %s",
+                            occurrences, firstPos, statistics));
+                        onComplete.accept(firstPos);
+                    });
+                    return;
+                }
+                // Complete match found!
+                int startPos = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(startPos);
+                    visualizationPane.setInstructionText("Pattern found at index " + startPos + "! " + statistics);
+                    onComplete.accept(startPos);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex());
+                return;
+            case SHIFT:
+                showSkip(cursor.getIndex(), cursor.getAux());
+                return;
+            default:
+                compareCharacter(cursor.getIndex(), cursor.getAux());
+        }
+    }
+    
+    private void compareCharacter(int currentTextPos, int patternIndex) {
+        // A comparison of the last pattern character starts a new alignment
+        boolean firstComparison = patternIndex == pattern.length() - 1;
+        if (firstComparison) {
+            currentStep++;
+        }
+        
+        Platform.runLater(() -> {
+            String compareDesc = String.format(
+                firstComparison ? "Step %d: Comparing text[%d]='%c' with pattern[%d]='%c'"
+                                : "Step %d: Continue matching: text[%d]='%c' with pattern[%d]='%c'",
+                currentStep, currentTextPos, text.charAt(currentTextPos),
+                patternIndex, pattern.charAt(patternIndex));
+            visualizationPane.highlightComparison(currentTextPos, patternIndex, compareDesc);
+        });
+        
+        long delay = firstComparison ? animationDelay : Math.max(200, animationDelay / 2);
+        PauseTransition comparisonTransition = new PauseTransition(Duration.millis(delay));
+        comparisonTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performHorspoolSearchStep();
+        });
+        comparisonTransition.play();
+    }
+    
+    private void showSkip(int newPosition, int skip) {
+        if (afterMatch) {
+            // Shift after a reported occurrence
+            afterMatch = false;
+            stepPending = false;
+            boolean tableShift = matchMode == MatchMode.OVERLAPPING;
+            char shiftChar = tableShift ? text.charAt(newPosition - skip + pattern.length() - 1) : ' ';
+            
+            Platform.runLater(() -> {
+                visualizationPane.setInstructionText(tableShift
+                    ? String.format("Occurrence done: text character '%c' under the last pattern position decides the shift - skipping %d positions, " +
+                                    "which can never pass over an occurrence", shiftChar, skip)
+                    : String.format("Occurrence done: moving on by %d positions", skip));
+            });
+            
+            PauseTransition resumeTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+            resumeTransition.setOnFinished(e -> performHorspoolSearchStep());
+            resumeTransition.play();
+            return;
+        }
+        
+        // Mismatch - the character under the last pattern position decides the skip
+        char lastChar = text.charAt(newPosition - skip + pattern.length() - 1);
+        int occurrence = shiftTable.lastIndexOf(lastChar);
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            String mismatchDesc = occurrence >= 0
+                ? String.format("Mismatch! Text character '%c' under the last pattern position occurs at pattern[%d] - skipping %d positions",
+                                lastChar, occurrence, skip)
+                : String.format("Mismatch! Text character '%c' under the last pattern position is not in pattern[0..%d] - skipping %d positions",
+                                lastChar, pattern.length() - 2, skip);
+            visualizationPane.setInstructionText(mismatchDesc);
+            if (occurrence >= 0) {
+                visualizationPane.highlightTableEntry(occurrence);
+            }
+        });
+        
+        PauseTransition skipTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+        skipTransition.setOnFinished(e -> performHorspoolSearchStep());
+        skipTransition.play();
+    }
+    
+    private void showMatch(int start) {
+        // The engine keeps its state and searches on after reporting the occurrence
+        int occurrence = cursor.getMatchCount();
+        afterMatch = true;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, pattern.length());
+            visualizationPane.setInstructionText(String.format("Occurrence %d found at index %d! Searching on for %s...",
+                occurrence, start, matchMode == MatchMode.OVERLAPPING ? "overlapping occurrences" : "the next occurrence"));
+        });
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performHorspoolSearchStep());
+        matchTransition.play();
+    }
+    
+    public static int horspoolSearch(String text, String pattern) {
+        return horspoolSearch(text, pattern, HorspoolSearchCursor.buildShiftTable(pattern), 0, null);
+    }
+    
+    /**
+     * Horspool search that allocates nothing, for patterns searched many times
+     * @param shiftTable Table from {@link HorspoolSearchCursor#buildShiftTable(String)} for the same pattern
+     * @param fromIndex First text position the pattern may start at
+     * @param statistics Receives every shift, or null
+     * @return Start of the first occurrence at or after fromIndex, or -1 if there is none
+     */
+    public static int horspoolSearch(String text, String pattern, BadCharacterTable shiftTable, int fromIndex,
+                                     ShiftStatistics statistics) {
+        int m = pattern.length();
+        int n = text.length();
+        int position = Math.max(0, fromIndex);
+        if (m == 0) return Math.min(position, n);
+        
+        char last = pattern.charAt(m - 1);
+        while (position <= n - m) {
+            char c = text.charAt(position + m - 1);
+            if (c == last) {
+                // Compare the rest from right to left
+                int patternIndex = m - 2;
+                while (patternIndex >= 0 && text.charAt(position + patternIndex) == pattern.charAt(patternIndex)) {
+                    patternIndex--;
+                }
+                if (patternIndex < 0) {
+                    return position; // Pattern found
+                }
+            }
+            
+            int shift = m - 1 - shiftTable.lastIndexOf(c);
+            if (statistics != null) {
+                statistics.record(shift);
+            }
+            position += shift;
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Finds every occurrence by resuming the search after each one with the table's shift for the
+     * character under the last pattern position, which can never skip an occurrence
+     * @param overlapping Whether an occurrence may start inside the previous one
+     * @return Starts of the occurrences in ascending order, searched for as they are consumed
+     */
+    public static MatchIterator horspoolMatches(String text, String pattern, boolean overlapping) {
+        int m = pattern.length();
+        BadCharacterTable shiftTable = HorspoolSearchCursor.buildShiftTable(pattern);
+        return new MatchIterator() {
+            private int position = 0;
+            
+            @Override
+            protected int findNext() {
+                if (position > text.length()) {
+                    return -1;
+                }
+                int start = horspoolSearch(text, pattern, shiftTable, position, null);
+                if (start < 0) {
+                    position = text.length() + 1;
+                    return -1;
+                }
+                position = start + (overlapping && m > 0 ? HorspoolSearchCursor.shift(pattern, shiftTable, text.charAt(start + m - 1)) : Math.max(1, m));
+                return start;
+            }
+        };
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Boyer-Moore-Horspool String Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Horspool simplifies Boyer-Moore to a single table: whatever character mismatched, " +
+               "the shift is decided by the text character under the last pattern position.\n\n" +
+               "Time Complexity:\n" +
+               "• Best case: O(n/m) - most windows are skipped after one comparison\n" +
+               "• Average case: O(n) with a small constant, often sublinear\n" +
+               "• Worst case: O(n × m)\n\n" +
+               "Space Complexity: O(m) - the shift table only holds the pattern's characters\n\n" +
+               "Key Features:\n" +
+               "• Compares pattern from right to left\n" +
+               "• One shift table, no good suffix rule\n" +
+               "• Very fast for short patterns on large texts\n\n" +
+               "Algorithm Steps:\n" +
+               "1. For every character of pattern[0..m-2], store m - 1 - its last position\n" +
+               "2. Compare the window from its rightmost character\n" +
+               "3. On mismatch, shift by the table entry of the text character under the last position\n" +
+               "4. Characters not in the table shift the whole pattern length\n\n" +
+               "Use Cases:\n" +
+               "• Find in editors and command line tools\n" +
+               "• Short patterns over large alphabets\n" +
+               "• Searching large logs";
+    }
+    
+    /**
+     * Records the step-by-step trace of Horspool search
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(String text, String pattern) {
+        return SearchTrace.of(SearchAlgorithms.HORSPOOL, text, pattern);
+    }
+    
+    /**
+     * @return Shifts of the current or latest visualized run
+     */
+    public ShiftStatistics getShiftStatistics() {
+        return statistics;
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            if (!tableBuilt) {
+                buildShiftTable();
+            } else {
+                performHorspoolSearchStep();
+            }
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        tableBuilt = false;
+        shiftTable = null;
+        cursor = null;
+        stepPending = false;
+        afterMatch = false;
+        statistics.reset();
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(200, Math.min(3000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
@@ -0,0 +1,446 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.InterpolationSearchCursor;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchEngine;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Interpolation Search with step-by-step visualization
+ * Each probe is placed where the target would be if the keys were evenly spaced; when the
+ * keys turn out to be skewed the search falls back to binary steps
+ */
+public class InterpolationSearch {
+    
+    private final Color FOUND_COLOR = Color.web("#4CAF50");
+    private final Color COMPARING_COLOR = Color.web("#FFC107");
+    private final Color SEQUENTIAL_COLOR = Color.web("#2196F3");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // Current search range
+    private int left, right;
+    
+    // Step engine driving the animation
+    private InterpolationSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    /**
+     * Visualizes interpolation search
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes interpolation search over any numeric element type
+     * @param probe The sorted elements and the target
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new InterpolationSearchCursor(probe);
+        this.stepPending = false;
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText("Starting Interpolation Search for " + probe.target() +
+                                             " - each probe is placed by the values at the range ends");
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performInterpolationStep());
+        startTransition.play();
+    }
+    
+    private void performInterpolationStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    visualizationPane.setInstructionText("✗ Element not found in the array  " + probeSummary());
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    visualizationPane.setInstructionText("✓ Element found at index " + foundIndex + "!  " + probeSummary());
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                // The range is shown together with the probe made in it
+                left = cursor.getIndex();
+                right = cursor.getAux();
+                stepPending = false;
+                performInterpolationStep();
+                return;
+            default:
+                showProbe();
+        }
+    }
+    
+    private void showProbe() {
+        int position = cursor.getIndex();
+        int kind = cursor.getAux();
+        int comparison = cursor.getComparison();
+        int low = left;
+        int high = right;
+        currentStep++;
+        
+        Platform.runLater(() -> {
+            if (kind == InterpolationSearchCursor.INTERPOLATION) {
+                visualizationPane.highlightPrediction(position, low, high, String.format(
+                    "Step %d: Interpolating in [%d, %d]: %d + (%s - %s) × (%d - %d) / (%s - %s) ≈ index %d",
+                    currentStep, low, high, low, probe.target(), probe.valueAt(low), high, low,
+                    probe.valueAt(high), probe.valueAt(low), position));
+            } else if (kind == InterpolationSearchCursor.BINARY) {
+                visualizationPane.highlightRange(low, high, position, String.format(
+                    "Step %d: %s - binary step to the middle of [%d, %d], index %d",
+                    currentStep, cursor.isSkewed() ? "Keys are skewed" : "Last interpolation did not halve the range",
+                    low, high, position));
+            } else {
+                visualizationPane.highlightRange(low, high, -1, "");
+                visualizationPane.highlightElement(position, SEQUENTIAL_COLOR, String.format(
+                    "Step %d: Only %d element(s) left in [%d, %d] - scanning index %d",
+                    currentStep, high - low + 1, low, high, position));
+            }
+        });
+        
+        PauseTransition probeTransition = new PauseTransition(Duration.millis(animationDelay));
+        probeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            
+            Platform.runLater(() -> {
+                String outcome;
+                if (comparison == 0) {
+                    outcome = String.format("%s = %s: target found at index %d", probe.valueAt(position), probe.target(), position);
+                } else if (comparison > 0) {
+                    outcome = String.format("%s > %s: the target can only be further LEFT", probe.valueAt(position), probe.target());
+                } else {
+                    outcome = String.format("%s < %s: the target can only be further RIGHT", probe.valueAt(position), probe.target());
+                }
+                visualizationPane.highlightElement(position, comparison == 0 ? FOUND_COLOR : COMPARING_COLOR, outcome);
+            });
+            
+            PauseTransition continueTransition = new PauseTransition(Duration.millis(animationDelay / 2));
+            continueTransition.setOnFinished(ev -> {
+                if (isStopped || isPaused) return;
+                stepPending = false;
+                performInterpolationStep();
+            });
+            continueTransition.play();
+        });
+        probeTransition.play();
+    }
+    
+    private String probeSummary() {
+        return String.format("Probes: %d interpolation, %d binary, %d sequential%s",
+                             cursor.getProbeCount(InterpolationSearchCursor.INTERPOLATION),
+                             cursor.getProbeCount(InterpolationSearchCursor.BINARY),
+                             cursor.getProbeCount(InterpolationSearchCursor.SEQUENTIAL),
+                             cursor.isSkewed() ? " - skewed keys detected, binary fallback used" : "");
+    }
+    
+    /**
+     * Performs adaptive interpolation search without visualization.
+     * An interpolation probe that leaves more than half of the range is followed by a binary
+     * probe, and after {@link InterpolationSearchCursor#SKEW_LIMIT} of them only binary probes
+     * are made, so skewed keys cost O(log n) instead of O(n)
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int interpolationSearch(int[] array, int target) {
+        int low = 0;
+        int high = array.length - 1;
+        boolean binaryNext = false;
+        int poorProbes = 0;
+        
+        while (high - low + 1 > InterpolationSearchCursor.SEQUENTIAL_THRESHOLD) {
+            int size = high - low + 1;
+            boolean interpolating = !binaryNext && poorProbes < InterpolationSearchCursor.SKEW_LIMIT;
+            int position = interpolating ? interpolate(array, low, high, target) : low + (high - low) / 2;
+            int value = array[position];
+            if (value == target) {
+                return position;
+            }
+            if (value > target) {
+                high = position - 1;
+            } else {
+                low = position + 1;
+            }
+            binaryNext = interpolating && high - low + 1 > size / 2;
+            if (binaryNext) {
+                poorProbes++;
+            }
+        }
+        
+        for (int i = low; i <= high && array[i] <= target; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Interpolation-sequential search: a single interpolation probe, then a sequential walk
+     * towards the target. The walk gives up after about √n elements and binary-searches
+     * whatever is left, so a bad guess costs O(√n + log n)
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int interpolationSequentialSearch(int[] array, int target) {
+        int n = array.length;
+        if (n == 0) {
+            return -1;
+        }
+        int position = interpolate(array, 0, n - 1, target);
+        int limit = Math.max(1, (int) Math.sqrt(n));
+        
+        if (array[position] < target) {
+            int i = position + 1;
+            int end = (int) Math.min(n, (long) i + limit);
+            while (i < end && array[i] < target) {
+                i++;
+            }
+            if (i < end || i == n) {
+                return i < n && array[i] == target ? i : -1;
+            }
+            int found = Arrays.binarySearch(array, i, n, target);
+            return found >= 0 ? found : -1;
+        }
+        
+        int i = position;
+        int end = Math.max(-1, position - limit);
+        while (i > end && array[i] > target) {
+            i--;
+        }
+        if (i > end || i < 0) {
+            return i >= 0 && array[i] == target ? i : -1;
+        }
+        int found = Arrays.binarySearch(array, 0, i + 1, target);
+        return found >= 0 ? found : -1;
+    }
+    
+    /**
+     * Position the target would have in array[low..high] if the keys were evenly spaced
+     */
+    private static int interpolate(int[] array, int low, int high, int target) {
+        int lowKey = array[low];
+        int highKey = array[high];
+        if (target <= lowKey) {
+            return low;
+        }
+        if (target >= highKey) {
+            return high;
+        }
+        // Differences of two ints only fit a long; their product with the range would not
+        double fraction = (double) ((long) target - lowKey) / ((long) highKey - lowKey);
+        return low + (int) (fraction * (high - low));
+    }
+    
+    /**
+     * Runs the step engine to count the probes of each kind a search makes
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return Probe counts and whether the keys were found to be skewed
+     */
+    public static ProbeCounts countProbes(int[] array, int target) {
+        InterpolationSearchCursor counter = new InterpolationSearchCursor(ArrayProbe.of(array, target));
+        SearchEngine.run(counter);
+        return new ProbeCounts(counter.getProbeCount(InterpolationSearchCursor.INTERPOLATION),
+                               counter.getProbeCount(InterpolationSearchCursor.BINARY),
+                               counter.getProbeCount(InterpolationSearchCursor.SEQUENTIAL),
+                               counter.isSkewed());
+    }
+    
+    /**
+     * Expected probes on uniformly distributed keys, log₂(log₂ n) rounded up
+     * @param arraySize The size of the array
+     */
+    public static int getExpectedProbes(int arraySize) {
+        if (arraySize <= 2) {
+            return 1;
+        }
+        return (int) Math.ceil(Math.log(Math.log(arraySize) / Math.log(2)) / Math.log(2));
+    }
+    
+    /**
+     * Worst-case probes: two probes halve the range until the final sequential scan
+     * @param arraySize The size of the array
+     */
+    public static int getMaxProbes(int arraySize) {
+        return 2 * BinarySearch.getMaxComparisons(Math.max(1, arraySize)) + InterpolationSearchCursor.SEQUENTIAL_THRESHOLD;
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Interpolation Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Improves on binary search for evenly spaced keys. Instead of the middle, each probe is " +
+               "placed where the target would be if the values between the range ends grew linearly, " +
+               "much like opening a dictionary near the right letter. Probes that do not at least halve " +
+               "the range are followed by a binary step; repeated ones switch to binary search for good.\n\n" +
+               "Prerequisites:\n" +
+               "• Array must be sorted in ascending order\n" +
+               "• Numeric keys, so that distances between values can be measured\n\n" +
+               "Time Complexity:\n" +
+               "• Best Case: O(1) - first probe hits the target\n" +
+               "• Average Case: O(log log n) - uniformly distributed keys\n" +
+               "• Worst Case: O(log n) - skewed keys, thanks to the binary fallback (O(n) without it)\n\n" +
+               "Space Complexity: O(1)\n\n" +
+               "Advantages:\n" +
+               "• A handful of probes even on millions of uniform keys\n" +
+               "• No extra structure to build\n\n" +
+               "Disadvantages:\n" +
+               "• Each probe costs a division\n" +
+               "• Exponential or clustered keys mislead the guesses\n\n" +
+               "Use Cases:\n" +
+               "• Sequential IDs, timestamps and other evenly spaced keys\n" +
+               "• Large sorted tables where every probe is a slow read";
+    }
+    
+    /**
+     * Records the step-by-step trace of an interpolation search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.INTERPOLATION, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performInterpolationStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+    
+    /**
+     * Result of {@link #countProbes(int[], int)}
+     */
+    public static final class ProbeCounts {
+        private final int interpolation;
+        private final int binary;
+        private final int sequential;
+        private final boolean skewed;
+        
+        ProbeCounts(int interpolation, int binary, int sequential, boolean skewed) {
+            this.interpolation = interpolation;
+            this.binary = binary;
+            this.sequential = sequential;
+            this.skewed = skewed;
+        }
+        
+        public int getInterpolation() {
+            return interpolation;
+        }
+        
+        public int getBinary() {
+            return binary;
+        }
+        
+        public int getSequential() {
+            return sequential;
+        }
+        
+        public int getTotal() {
+            return interpolation + binary + sequential;
+        }
+        
+        /**
+         * @return true if the search gave up interpolating and finished with binary probes
+         */
+        public boolean isSkewed() {
+            return skewed;
+        }
+    }
+}
@@ -4,9 +4,19 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.BlockedBloomFilter;
+import com.teachingaid.engine.BoundSearch;
+import com.teachingaid.engine.IndexRange;
+import com.teachingaid.engine.InterleavedSearch;
+import com.teachingaid.engine.JumpSearchCursor;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
 import com.teachingaid.ui.ArrayVisualizationPane;
 
+import java.util.Comparator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Jump Search Algorithm with step-by-step visualization
@@ -22,8 +32,7 @@ public class JumpSearch {
     private boolean isPaused = false;
     private boolean isStopped = false;
     private int currentStep = 0;
-    private int[] searchArray;
-    private int targetValue;
+    private ArrayProbe probe;
     private ArrayVisualizationPane visualizationPane;
     private Consumer<Integer> onComplete;
     
@@ -35,24 +44,61 @@ public class JumpSearch {
     private int prev = 0;
     private int jumpIndex = 0;
     
+    // Step engine driving the animation
+    private JumpSearchCursor cursor;
+    private boolean stepPending = false;
+    
     public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
                                Consumer<Integer> completionCallback) {
-        this.searchArray = array.clone();
-        this.targetValue = target;
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(long[] array, long target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(double[] array, double target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(short[] array, short target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(char[] array, char target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes jump search over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
         this.visualizationPane = visualPane;
         this.onComplete = completionCallback;
         this.currentStep = 0;
         this.isStopped = false;
         this.isPaused = false;
         
-        // Calculate optimal jump size
-        this.jumpSize = (int) Math.sqrt(array.length);
+        this.cursor = new JumpSearchCursor(probe);
+        
+        // Optimal jump size is chosen by the engine
+        this.jumpSize = cursor.getJumpSize();
         this.prev = 0;
         this.jumpIndex = 0;
+        this.stepPending = false;
         
         // Reset visualization
         visualizationPane.resetHighlights();
-        visualizationPane.setInstructionText("Starting Jump Search for " + target + " with jump size " + jumpSize);
+        visualizationPane.setInstructionText("Starting Jump Search for " + probe.target() + " with jump size " + jumpSize);
         
         // Start the search animation
         performJumpSearchStep();
@@ -63,105 +109,115 @@ public class JumpSearch {
             return;
         }
         
-        currentStep++;
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
         
-        // Phase 1: Jump through blocks
-        if (jumpIndex < searchArray.length) {
-            // Highlight current jump position
-            Platform.runLater(() -> {
-                String stepDescription = String.format(
-                    "Step %d: Jumping to index %d (value: %d), comparing with target %d",
-                    currentStep, jumpIndex, searchArray[jumpIndex], targetValue
-                );
-                
-                visualizationPane.highlightElement(jumpIndex, JUMP_COLOR, stepDescription);
-            });
-            
-            PauseTransition jumpTransition = new PauseTransition(Duration.millis(animationDelay));
-            jumpTransition.setOnFinished(e -> {
-                if (isStopped || isPaused) return;
-                
-                if (searchArray[jumpIndex] < targetValue) {
-                    // Continue jumping
-                    prev = jumpIndex;
-                    jumpIndex = Math.min(jumpIndex + jumpSize, searchArray.length - 1);
-                    
-                    Platform.runLater(() -> {
-                        String nextStepDesc = String.format(
-                            "Value %d < target %d, continue jumping. Previous: %d, Next jump: %d",
-                            searchArray[prev], targetValue, prev, jumpIndex
-                        );
-                        visualizationPane.setInstructionText(nextStepDesc);
-                    });
-                    
-                    PauseTransition nextJumpTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                    nextJumpTransition.setOnFinished(e2 -> performJumpSearchStep());
-                    nextJumpTransition.play();
-                    
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Not found in the array
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                // Found!
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                performLinearSearchInBlock(cursor.getIndex(), cursor.getAux());
+                return;
+            default:
+                if (cursor.isScanning()) {
+                    linearSearchStep(cursor.getIndex(), cursor.getComparison());
                 } else {
-                    // Found the block, start linear search
-                    Platform.runLater(() -> {
-                        String blockFoundDesc = String.format(
-                            "Found block! Value %d >= target %d. Linear search from %d to %d",
-                            searchArray[jumpIndex], targetValue, prev, jumpIndex
-                        );
-                        visualizationPane.setInstructionText(blockFoundDesc);
-                    });
-                    
-                    PauseTransition blockTransition = new PauseTransition(Duration.millis(animationDelay));
-                    blockTransition.setOnFinished(e2 -> performLinearSearchInBlock());
-                    blockTransition.play();
+                    jumpStep(cursor.getIndex(), cursor.getComparison());
                 }
-            });
-            jumpTransition.play();
+        }
+    }
+    
+    private void jumpStep(int index, int comparison) {
+        currentStep++;
+        jumpIndex = index;
+        
+        // Highlight current jump position
+        Platform.runLater(() -> {
+            String stepDescription = String.format(
+                "Step %d: Jumping to index %d (value: %s), comparing with target %s",
+                currentStep, jumpIndex, probe.valueAt(jumpIndex), probe.target()
+            );
+            
+            visualizationPane.highlightElement(jumpIndex, JUMP_COLOR, stepDescription);
+        });
+        
+        PauseTransition jumpTransition = new PauseTransition(Duration.millis(animationDelay));
+        jumpTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
             
-        } else {
-            // Reached end, search in last block
-            Platform.runLater(() -> {
-                String endBlockDesc = String.format(
-                    "Reached end of array. Linear search from %d to %d",
-                    prev, searchArray.length - 1
-                );
-                visualizationPane.setInstructionText(endBlockDesc);
-            });
+            if (comparison < 0) {
+                // Continue jumping
+                prev = cursor.getBlockStart();
+                
+                Platform.runLater(() -> {
+                    String nextStepDesc = String.format(
+                        "Value %s < target %s, continue jumping. Next block starts at index %d",
+                        probe.valueAt(jumpIndex), probe.target(), prev
+                    );
+                    visualizationPane.setInstructionText(nextStepDesc);
+                });
+                
+                PauseTransition nextJumpTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+                nextJumpTransition.setOnFinished(e2 -> performJumpSearchStep());
+                nextJumpTransition.play();
             
-            PauseTransition endTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-            endTransition.setOnFinished(e -> performLinearSearchInBlock());
-            endTransition.play();
-        }
+            } else {
+                // Found the block, start linear search
+                Platform.runLater(() -> {
+                    String blockFoundDesc = String.format(
+                        "Found block! Value %s >= target %s. Linear search from %d to %d",
+                        probe.valueAt(jumpIndex), probe.target(), cursor.getBlockStart(), jumpIndex
+                    );
+                    visualizationPane.setInstructionText(blockFoundDesc);
+                });
+                
+                PauseTransition blockTransition = new PauseTransition(Duration.millis(animationDelay));
+                blockTransition.setOnFinished(e2 -> performJumpSearchStep());
+                blockTransition.play();
+            }
+        });
+        jumpTransition.play();
     }
     
-    private void performLinearSearchInBlock() {
+    private void performLinearSearchInBlock(int blockStart, int blockEnd) {
+        prev = blockStart;
+        jumpIndex = blockEnd;
+        stepPending = false;
+        
         // Highlight the block we're searching in
         Platform.runLater(() -> {
-            for (int i = prev; i <= Math.min(jumpIndex, searchArray.length - 1); i++) {
+            for (int i = blockStart; i <= blockEnd; i++) {
                 visualizationPane.highlightElement(i, BLOCK_COLOR, "Searching in this block");
             }
         });
         
         PauseTransition blockHighlightTransition = new PauseTransition(Duration.millis(animationDelay));
-        blockHighlightTransition.setOnFinished(e -> linearSearchStep(prev));
+        blockHighlightTransition.setOnFinished(e -> performJumpSearchStep());
         blockHighlightTransition.play();
     }
     
-    private void linearSearchStep(int currentIndex) {
-        if (isStopped || isPaused) {
-            return;
-        }
-        
-        if (currentIndex > Math.min(jumpIndex, searchArray.length - 1)) {
-            // Not found in this block
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
-            return;
-        }
-        
+    private void linearSearchStep(int currentIndex, int comparison) {
         Platform.runLater(() -> {
             String linearStepDesc = String.format(
-                "Linear search: Checking index %d (value: %d) vs target %d",
-                currentIndex, searchArray[currentIndex], targetValue
+                "Linear search: Checking index %d (value: %s) vs target %s",
+                currentIndex, probe.valueAt(currentIndex), probe.target()
             );
             visualizationPane.highlightElement(currentIndex, LINEAR_COLOR, linearStepDesc);
         });
@@ -169,17 +225,15 @@ public class JumpSearch {
         PauseTransition linearTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
         linearTransition.setOnFinished(e -> {
             if (isStopped || isPaused) return;
+            stepPending = false;
             
-            if (searchArray[currentIndex] == targetValue) {
+            if (comparison == 0) {
                 // Found!
-                Platform.runLater(() -> {
-                    visualizationPane.markAsFound(currentIndex);
-                    onComplete.accept(currentIndex);
-                });
-                } else {
-                    // Continue linear search
-                    PauseTransition nextLinearTransition = new PauseTransition(Duration.millis(Math.max(150, animationDelay / 3)));
-                nextLinearTransition.setOnFinished(e2 -> linearSearchStep(currentIndex + 1));
+                performJumpSearchStep();
+            } else {
+                // Continue linear search
+                PauseTransition nextLinearTransition = new PauseTransition(Duration.millis(Math.max(150, animationDelay / 3)));
+                nextLinearTransition.setOnFinished(e2 -> performJumpSearchStep());
                 nextLinearTransition.play();
             }
         });
@@ -218,6 +272,208 @@ public class JumpSearch {
         return -1;
     }
     
+    /**
+     * Jump search behind a Bloom filter: keys the filter rules out return -1 at once
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param filter Filter built over the same array, e.g. with {@link BlockedBloomFilter#of(int[], double)}
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int jumpSearch(int[] array, int target, BlockedBloomFilter filter) {
+        return filter.screen(target) ? jumpSearch(array, target) : -1;
+    }
+    
+    /**
+     * Performs many jump searches against the same sorted array in one call, keeping a
+     * calibrated number of them in flight so their cache misses overlap.
+     * The group size is the one {@link InterleavedSearch#calibratedGroupSize} measured for
+     * this kernel, or {@link InterleavedSearch#DEFAULT_GROUP_SIZE} until it has been calibrated;
+     * the lookup itself never calibrates. Calibrate ahead of time, off the UI thread, or pass
+     * a fixed group size to the overload that takes one.
+     * @param array The sorted array to search in
+     * @param targets The values to search for
+     * @param results Receives the index of each target's first occurrence, or -1 if not found
+     */
+    public static void jumpSearch(int[] array, int[] targets, int[] results) {
+        InterleavedSearch.jumpSearch(array, targets, results);
+    }
+    
+    /**
+     * Batched jump search with an explicit number of searches in flight
+     * @param groupSize Searches in flight, from 1 to {@link InterleavedSearch#MAX_GROUP_SIZE};
+     *                  {@link InterleavedSearch#calibratedGroupSize} measures the best one
+     */
+    public static void jumpSearch(int[] array, int[] targets, int[] results, int groupSize) {
+        InterleavedSearch.jumpSearch(array, targets, results, groupSize);
+    }
+    
+    /**
+     * Performs jump search on a sorted long array without boxing
+     */
+    public static int jumpSearch(long[] array, long target) {
+        return jumpSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs jump search on a sorted double array without boxing;
+     * elements are ordered as by {@link Double#compare}, so -0.0 sorts before 0.0 and NaN last
+     */
+    public static int jumpSearch(double[] array, double target) {
+        return jumpSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs jump search on a sorted short array without boxing
+     */
+    public static int jumpSearch(short[] array, short target) {
+        return jumpSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Performs jump search on a sorted char array without boxing
+     */
+    public static int jumpSearch(char[] array, char target) {
+        return jumpSearch(ArrayProbe.of(array, target));
+    }
+    
+    /**
+     * Jump search kernel shared by the primitive overloads
+     * @return The index of the first element equal to the probe's target, or -1 if not found
+     */
+    private static int jumpSearch(ArrayProbe probe) {
+        int n = probe.length();
+        if (n == 0) {
+            return -1;
+        }
+        int step = (int) Math.sqrt(n);
+        int jump = step;
+        int prev = 0;
+        
+        // Jump through blocks
+        while (probe.compareAt(Math.min(jump, n) - 1) < 0) {
+            prev = jump;
+            jump += step;
+            if (prev >= n) {
+                return -1;
+            }
+        }
+        
+        // Linear search in the identified block
+        while (probe.compareAt(prev) < 0) {
+            prev++;
+            if (prev == Math.min(jump, n)) {
+                return -1;
+            }
+        }
+        
+        return probe.compareAt(prev) == 0 ? prev : -1;
+    }
+    
+    /**
+     * Performs jump search on a sorted object array
+     * @param array The array to search in, sorted by the comparator
+     * @param target The value to search for
+     * @param comparator The order of the array
+     * @return The index of the target element, or -1 if not found
+     */
+    public static <T> int jumpSearch(T[] array, T target, Comparator<? super T> comparator) {
+        return jumpSearch(array, target, Function.identity(), comparator);
+    }
+    
+    /**
+     * Performs jump search on records sorted by a key
+     * @param array The records to search in, sorted by their key
+     * @param key The key to search for
+     * @param keyExtractor Reads the key of a record
+     * @param comparator The order of the keys
+     * @return The index of the first record with that key, or -1 if not found
+     */
+    public static <T, K> int jumpSearch(T[] array, K key, Function<? super T, ? extends K> keyExtractor,
+                                        Comparator<? super K> comparator) {
+        int n = array.length;
+        if (n == 0) {
+            return -1;
+        }
+        int step = (int) Math.sqrt(n);
+        int jump = step;
+        int prev = 0;
+        
+        // Jump through blocks
+        while (comparator.compare(keyExtractor.apply(array[Math.min(jump, n) - 1]), key) < 0) {
+            prev = jump;
+            jump += step;
+            if (prev >= n) {
+                return -1;
+            }
+        }
+        
+        // Linear search in the identified block
+        while (comparator.compare(keyExtractor.apply(array[prev]), key) < 0) {
+            prev++;
+            if (prev == Math.min(jump, n)) {
+                return -1;
+            }
+        }
+        
+        return comparator.compare(keyExtractor.apply(array[prev]), key) == 0 ? prev : -1;
+    }
+    
+    /**
+     * Jump search for the lower bound of a target
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return Position of the first element not less than the target, or array.length if there is none
+     */
+    public static int lowerBound(int[] array, int target) {
+        return BoundSearch.jumpLowerBound(array, target);
+    }
+    
+    /**
+     * @return Position of the first element greater than the target, or array.length if there is none
+     */
+    public static int upperBound(int[] array, int target) {
+        return BoundSearch.jump(array).upperBound(target);
+    }
+    
+    /**
+     * Finds all occurrences of the target with two boundary searches instead of a scan outwards from a match
+     * @return The occurrences as [from, to); empty, at the target's insertion point, if there are none
+     */
+    public static IndexRange equalRange(int[] array, int target) {
+        return BoundSearch.jump(array).equalRange(target);
+    }
+    
+    /**
+     * @return Number of elements between low and high, both inclusive
+     */
+    public static int countInRange(int[] array, int low, int high) {
+        return BoundSearch.jump(array).countInRange(low, high);
+    }
+    
+    /**
+     * Lower bounds of many targets in one call
+     * @param results Receives the lower bound of every target
+     */
+    public static void lowerBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.jump(array).lowerBound(targets, results);
+    }
+    
+    /**
+     * Upper bounds of many targets in one call
+     * @param results Receives the upper bound of every target
+     */
+    public static void upperBound(int[] array, int[] targets, int[] results) {
+        BoundSearch.jump(array).upperBound(targets, results);
+    }
+    
+    /**
+     * Counts of many inclusive ranges [lows[q], highs[q]] in one call
+     * @param counts Receives the number of elements in every range
+     */
+    public static void countInRange(int[] array, int[] lows, int[] highs, int[] counts) {
+        BoundSearch.jump(array).countInRange(lows, highs, counts);
+    }
+    
     public static String getAlgorithmInfo() {
         return "Jump Search Algorithm:\n\n" +
                "Description:\n" +
@@ -239,48 +495,23 @@ public class JumpSearch {
                "• Large sorted datasets with uniform distribution";
     }
     
+    /**
+     * Records the step-by-step trace of jump search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.JUMP, array, target);
+    }
+    
+    /**
+     * Gets the step-by-step trace of jump search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(int[], int)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(int[] array, int target) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        int n = array.length;
-        int jump = (int) Math.sqrt(n);
-        int prev = 0;
-        
-        steps.add("Starting Jump Search for value " + target);
-        steps.add("Array size: " + n + ", Optimal jump size: " + jump);
-        
-        int stepNum = 1;
-        
-        // Jump phase
-        while (array[Math.min(jump, n) - 1] < target) {
-            steps.add(String.format("Step %d: Jump to index %d, value %d < %d, continue jumping", 
-                     stepNum++, Math.min(jump, n) - 1, array[Math.min(jump, n) - 1], target));
-            prev = jump;
-            jump += (int) Math.sqrt(n);
-            if (prev >= n) {
-                steps.add("Reached end of array, target not found");
-                return steps.toArray(new String[0]);
-            }
-        }
-        
-        steps.add(String.format("Found block: Linear search from index %d to %d", prev, Math.min(jump, n) - 1));
-        
-        // Linear search phase
-        while (array[prev] < target) {
-            steps.add(String.format("Linear search: index %d, value %d < %d", prev, array[prev], target));
-            prev++;
-            if (prev == Math.min(jump, n)) {
-                steps.add("Block exhausted, target not found");
-                return steps.toArray(new String[0]);
-            }
-        }
-        
-        if (array[prev] == target) {
-            steps.add(String.format("Found! Target %d found at index %d", target, prev));
-        } else {
-            steps.add("Target not found in array");
-        }
-        
-        return steps.toArray(new String[0]);
+        return traceSearch(array, target).toStrings();
     }
     
     public void pause() {
@@ -305,6 +536,8 @@ public class JumpSearch {
         isPaused = false;
         prev = 0;
         jumpIndex = 0;
+        cursor = null;
+        stepPending = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
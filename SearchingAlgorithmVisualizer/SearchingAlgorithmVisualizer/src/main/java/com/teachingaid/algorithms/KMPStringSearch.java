@@ -4,9 +4,21 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.KMPSearchCursor;
+import com.teachingaid.engine.MatchIterator;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.engine.StreamingKMPMatcher;
 import com.teachingaid.ui.StringVisualizationPane;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Knuth-Morris-Pratt String Search Algorithm with step-by-step visualization
@@ -38,7 +50,24 @@ public class KMPStringSearch {
     private int textIndex = 0;
     private int patternIndex = 0;
     
-    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane, 
+    // Step engine driving the matching phase
+    private KMPSearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Occurrences wanted, and whether the next shift follows a reported one
+    private MatchMode matchMode = MatchMode.FIRST;
+    private boolean afterMatch = false;
+    
+    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(text, pattern, MatchMode.FIRST, visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the search; unless the mode is FIRST it goes on after every occurrence and
+     * keeps all of them highlighted
+     */
+    public void visualizeSearch(String text, String pattern, MatchMode mode, StringVisualizationPane visualPane,
                                Consumer<Integer> completionCallback) {
         this.text = text;
         this.pattern = pattern;
@@ -50,6 +79,10 @@ public class KMPStringSearch {
         this.failureFunctionBuilt = false;
         this.textIndex = 0;
         this.patternIndex = 0;
+        this.cursor = new KMPSearchCursor(text, pattern, mode);
+        this.stepPending = false;
+        this.matchMode = mode;
+        this.afterMatch = false;
         
         // Reset visualization
         visualPane.resetHighlights();
@@ -130,7 +163,7 @@ public class KMPStringSearch {
                 PauseTransition matchTransition = new PauseTransition(Duration.millis(800));
                 matchTransition.setOnFinished(e2 -> buildFailureFunctionStep(currentI + 1, newJ));
                 matchTransition.play();
-                
+            
             } else {
                 // Mismatch
                 if (currentJ != 0) {
@@ -144,7 +177,7 @@ public class KMPStringSearch {
                     PauseTransition mismatchTransition = new PauseTransition(Duration.millis(800));
                     mismatchTransition.setOnFinished(e2 -> buildFailureFunctionStep(currentI, newJ));
                     mismatchTransition.play();
-                    
+                
                 } else {
                     failure[currentI] = 0;
                     Platform.runLater(() -> {
@@ -166,15 +199,54 @@ public class KMPStringSearch {
             return;
         }
         
-        if (textIndex >= text.length()) {
-            // Pattern not found
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
-            return;
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
         }
         
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Pattern not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                if (matchMode.isAll()) {
+                    // Every occurrence is already highlighted
+                    int occurrences = cursor.getMatchCount();
+                    int firstPos = cursor.getResult();
+                    Platform.runLater(() -> {
+                        visualizationPane.setInstructionText(String.format(
+                            "Search complete: %d occurrence(s) found, the first at index %d.",
+                            occurrences, firstPos));
+                        onComplete.accept(firstPos);
+                    });
+                    return;
+                }
+                // Pattern found!
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex());
+                return;
+            case SHIFT:
+                showShift();
+                return;
+            default:
+                showComparison(cursor.getIndex(), cursor.getAux(), cursor.getComparison() == 0);
+        }
+    }
+    
+    private void showComparison(int comparedTextIndex, int comparedPatternIndex, boolean match) {
+        textIndex = comparedTextIndex;
+        patternIndex = comparedPatternIndex;
         currentStep++;
         
         Platform.runLater(() -> {
@@ -187,62 +259,99 @@ public class KMPStringSearch {
         PauseTransition comparisonTransition = new PauseTransition(Duration.millis(animationDelay));
         comparisonTransition.setOnFinished(e -> {
             if (isStopped || isPaused) return;
+            stepPending = false;
             
-            if (text.charAt(textIndex) == pattern.charAt(patternIndex)) {
-                // Match
-                textIndex++;
-                patternIndex++;
-                
-                if (patternIndex == pattern.length()) {
-                    // Pattern found!
-                    int foundIndex = textIndex - pattern.length();
-                    Platform.runLater(() -> {
-                        visualizationPane.markAsFound(foundIndex);
-                        onComplete.accept(foundIndex);
-                    });
-                } else {
-                    Platform.runLater(() -> {
-                        String matchDesc = String.format("Match! Continue comparing... (%d/%d)", 
-                                                        patternIndex, pattern.length());
-                        visualizationPane.setInstructionText(matchDesc);
-                    });
-                    
-                    PauseTransition matchTransition = new PauseTransition(Duration.millis(600));
-                    matchTransition.setOnFinished(e2 -> performKMPSearchStep());
-                    matchTransition.play();
-                }
-                
+            if (!match) {
+                // Mismatch, the engine reports the resulting shift next
+                performKMPSearchStep();
+            } else if (patternIndex + 1 == pattern.length()) {
+                // Last character matched, the engine reports the match next
+                performKMPSearchStep();
             } else {
-                // Mismatch
-                if (patternIndex != 0) {
-                    Platform.runLater(() -> {
-                        String mismatchDesc = String.format("Mismatch! Using failure[%d] = %d to skip", 
-                                                          patternIndex - 1, failure[patternIndex - 1]);
-                        visualizationPane.setInstructionText(mismatchDesc);
-                        visualizationPane.highlightFailureUse(patternIndex - 1, failure[patternIndex - 1]);
-                    });
-                    
-                    patternIndex = failure[patternIndex - 1];
-                    
-                    PauseTransition mismatchTransition = new PauseTransition(Duration.millis(1000));
-                    mismatchTransition.setOnFinished(e2 -> performKMPSearchStep());
-                    mismatchTransition.play();
-                    
-                } else {
-                    textIndex++;
-                    Platform.runLater(() -> {
-                        visualizationPane.setInstructionText("No partial match, move to next character");
-                    });
-                    
-                    PauseTransition nextTransition = new PauseTransition(Duration.millis(600));
-                    nextTransition.setOnFinished(e2 -> performKMPSearchStep());
-                    nextTransition.play();
-                }
+                Platform.runLater(() -> {
+                    String matchDesc = String.format("Match! Continue comparing... (%d/%d)", 
+                                                    patternIndex + 1, pattern.length());
+                    visualizationPane.setInstructionText(matchDesc);
+                });
+                
+                PauseTransition matchTransition = new PauseTransition(Duration.millis(600));
+                matchTransition.setOnFinished(e2 -> performKMPSearchStep());
+                matchTransition.play();
             }
         });
         comparisonTransition.play();
     }
     
+    private void showShift() {
+        stepPending = false;
+        
+        if (afterMatch) {
+            // The failure state carries over: the longest border of the pattern stays matched
+            afterMatch = false;
+            int lastIndex = pattern.length() - 1;
+            boolean overlapping = matchMode == MatchMode.OVERLAPPING;
+            Platform.runLater(() -> {
+                if (overlapping) {
+                    visualizationPane.setInstructionText(String.format(
+                        "Resuming with failure[%d] = %d: those characters already match the next candidate",
+                        lastIndex, failure[lastIndex]));
+                    visualizationPane.highlightFailureUse(lastIndex, failure[lastIndex]);
+                } else {
+                    visualizationPane.setInstructionText("Resuming right after the occurrence");
+                }
+            });
+            
+            PauseTransition resumeTransition = new PauseTransition(Duration.millis(1000));
+            resumeTransition.setOnFinished(e -> performKMPSearchStep());
+            resumeTransition.play();
+            patternIndex = cursor.getPatternIndex();
+            return;
+        }
+        
+        if (patternIndex != 0) {
+            // Mismatch after a partial match: the failure function decides where to resume
+            int failureIndex = patternIndex - 1;
+            Platform.runLater(() -> {
+                String mismatchDesc = String.format("Mismatch! Using failure[%d] = %d to skip", 
+                                                  failureIndex, failure[failureIndex]);
+                visualizationPane.setInstructionText(mismatchDesc);
+                visualizationPane.highlightFailureUse(failureIndex, failure[failureIndex]);
+            });
+            
+            PauseTransition mismatchTransition = new PauseTransition(Duration.millis(1000));
+            mismatchTransition.setOnFinished(e -> performKMPSearchStep());
+            mismatchTransition.play();
+        
+        } else {
+            Platform.runLater(() -> {
+                visualizationPane.setInstructionText("No partial match, move to next character");
+            });
+            
+            PauseTransition nextTransition = new PauseTransition(Duration.millis(600));
+            nextTransition.setOnFinished(e -> performKMPSearchStep());
+            nextTransition.play();
+        }
+        
+        patternIndex = cursor.getPatternIndex();
+    }
+    
+    private void showMatch(int start) {
+        // The engine keeps its state and searches on after reporting the occurrence
+        int occurrence = cursor.getMatchCount();
+        afterMatch = true;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, pattern.length());
+            visualizationPane.setInstructionText(String.format("Occurrence %d found at index %d! Searching on for %s...",
+                occurrence, start, matchMode == MatchMode.OVERLAPPING ? "overlapping occurrences" : "the next occurrence"));
+        });
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performKMPSearchStep());
+        matchTransition.play();
+    }
+    
     public static int kmpSearch(String text, String pattern) {
         if (pattern.isEmpty()) return 0;
         
@@ -272,30 +381,61 @@ public class KMPStringSearch {
         return -1;
     }
     
-    private static int[] buildFailureFunction(String pattern) {
-        int[] failure = new int[pattern.length()];
-        if (pattern.length() == 0) return failure;
-        
-        failure[0] = 0;
-        int i = 1;
-        int j = 0;
-        
-        while (i < pattern.length()) {
-            if (pattern.charAt(i) == pattern.charAt(j)) {
-                failure[i] = j + 1;
-                i++;
-                j++;
-            } else {
-                if (j != 0) {
-                    j = failure[j - 1];
-                } else {
-                    failure[i] = 0;
-                    i++;
+    /**
+     * Finds every occurrence in one pass: the failure state carries over from one occurrence
+     * to the next, so no text character is read again
+     * @param overlapping Whether an occurrence may start inside the previous one
+     * @return Starts of the occurrences in ascending order, searched for as they are consumed
+     */
+    public static MatchIterator kmpMatches(String text, String pattern, boolean overlapping) {
+        int[] failure = buildFailureFunction(pattern);
+        int m = pattern.length();
+        return new MatchIterator() {
+            private int textIndex = 0;
+            private int patternIndex = 0;
+            
+            @Override
+            protected int findNext() {
+                if (m == 0) {
+                    return textIndex <= text.length() ? textIndex++ : -1;
                 }
+                while (textIndex < text.length()) {
+                    if (text.charAt(textIndex) == pattern.charAt(patternIndex)) {
+                        textIndex++;
+                        patternIndex++;
+                        
+                        if (patternIndex == m) {
+                            // Keep the longest border matched, or start over after the occurrence
+                            patternIndex = overlapping ? failure[m - 1] : 0;
+                            return textIndex - m;
+                        }
+                    } else if (patternIndex != 0) {
+                        patternIndex = failure[patternIndex - 1];
+                    } else {
+                        textIndex++;
+                    }
+                }
+                return -1;
             }
+        };
+    }
+    
+    /**
+     * Finds every occurrence in a UTF-8 file of any size, reading it in chunks of
+     * {@link StreamingKMPMatcher#DEFAULT_BUFFER_SIZE} bytes so memory stays constant
+     * @param listener Receives the byte offset of every occurrence, in ascending order
+     * @return Number of occurrences
+     */
+    public static long kmpSearchFile(Path file, String pattern, LongConsumer listener) throws IOException {
+        StreamingKMPMatcher matcher = new StreamingKMPMatcher(pattern, StandardCharsets.UTF_8, false,
+                                                              StreamingKMPMatcher.DEFAULT_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return matcher.search(channel, listener);
         }
-        
-        return failure;
+    }
+    
+    private static int[] buildFailureFunction(String pattern) {
+        return KMPSearchCursor.buildFailureFunction(pattern);
     }
     
     public static String getAlgorithmInfo() {
@@ -324,49 +464,23 @@ public class KMPStringSearch {
                "• Compiler design (lexical analysis)";
     }
     
+    /**
+     * Records the step-by-step trace of KMP search
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(String text, String pattern) {
+        return SearchTrace.of(SearchAlgorithms.KMP, text, pattern);
+    }
+    
+    /**
+     * Gets the step-by-step trace of KMP search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(String, String)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(String text, String pattern) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting KMP Search for pattern \"" + pattern + "\" in text \"" + text + "\"");
-        
-        // Build failure function trace
-        int[] failure = buildFailureFunction(pattern);
-        steps.add("Failure function: " + java.util.Arrays.toString(failure));
-        
-        int textIndex = 0;
-        int patternIndex = 0;
-        int stepNum = 1;
-        
-        while (textIndex < text.length()) {
-            steps.add(String.format("Step %d: Compare text[%d]='%c' with pattern[%d]='%c'", 
-                     stepNum++, textIndex, text.charAt(textIndex), patternIndex, pattern.charAt(patternIndex)));
-            
-            if (text.charAt(textIndex) == pattern.charAt(patternIndex)) {
-                steps.add("Match! Advance both pointers");
-                textIndex++;
-                patternIndex++;
-                
-                if (patternIndex == pattern.length()) {
-                    int foundIndex = textIndex - pattern.length();
-                    steps.add(String.format("Pattern found at index %d!", foundIndex));
-                    break;
-                }
-            } else {
-                if (patternIndex != 0) {
-                    steps.add(String.format("Mismatch! Use failure[%d] = %d", patternIndex - 1, failure[patternIndex - 1]));
-                    patternIndex = failure[patternIndex - 1];
-                } else {
-                    steps.add("No partial match, advance text pointer");
-                    textIndex++;
-                }
-            }
-        }
-        
-        if (textIndex >= text.length() && patternIndex != pattern.length()) {
-            steps.add("Pattern not found in text");
-        }
-        
-        return steps.toArray(new String[0]);
+        return traceSearch(text, pattern).toStrings();
     }
     
     public void pause() {
@@ -398,6 +512,9 @@ public class KMPStringSearch {
         textIndex = 0;
         patternIndex = 0;
         failure = null;
+        cursor = null;
+        stepPending = false;
+        afterMatch = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
@@ -0,0 +1,446 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.LearnedIndexSearchCursor;
+import com.teachingaid.engine.MicroTimer;
+import com.teachingaid.engine.PiecewiseLinearModel;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+import com.teachingaid.ui.BackgroundTask;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Learned Index Search with step-by-step visualization
+ * A piecewise-linear model predicts where the target should be; the prediction and its
+ * error band are overlaid on the array before the band is searched
+ */
+public class LearnedIndexSearch {
+    
+    private final Color EDGE_COLOR = Color.web("#E91E63");
+    private final Color FOUND_COLOR = Color.web("#4CAF50");
+    private final Color COMPARING_COLOR = Color.web("#FFC107");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // Small arrays need a tight error bound for the band to show anything
+    private int epsilon = 1;
+    private int[] sortedKeys;
+    
+    // Step engine driving the animation
+    private LearnedIndexSearchCursor cursor;
+    private boolean stepPending = false;
+    // Last range drawn, so that the bounded search does not redraw the band it starts from
+    private int shownLow = -1;
+    private int shownHigh = -1;
+    
+    // Lookup times of the last array timed, measured off the JavaFX thread and reused while
+    // the same keys are searched again
+    private int[] timedKeys;
+    private LookupTimes lookupTimes;
+    // Incremented by every run, so that a measurement finishing late does not overwrite
+    // the text of a newer run
+    private int metricsRun = 0;
+    
+    /**
+     * Visualizes the learned index lookup
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        int[] keys = array.clone();
+        visualizeSearch(ArrayProbe.of(keys, target), visualPane, completionCallback);
+        // Only int keys can be timed against the int[] searches
+        this.sortedKeys = keys;
+    }
+    
+    /**
+     * Visualizes the learned index lookup over any numeric element type
+     * @param probe The sorted elements and the target
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.sortedKeys = null;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        PiecewiseLinearModel model = PiecewiseLinearModel.train(probe, epsilon);
+        this.cursor = new LearnedIndexSearchCursor(probe, model);
+        this.stepPending = false;
+        this.shownLow = -1;
+        this.shownHigh = -1;
+        this.metricsRun++;
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText(String.format(
+            "Starting Learned Index Search for %s - model trained in %.1f µs: %d segment(s), error bound ±%d",
+            probe.target(), model.getBuildNanos() / 1000.0, model.getSegmentCount(), model.getEpsilon()));
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performLearnedStep());
+        startTransition.play();
+    }
+    
+    private void performLearnedStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    appendMetrics("✗ Element not found in the array");
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    appendMetrics("✓ Element found at index " + foundIndex + "!");
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                showRange();
+                return;
+            default:
+                showComparison();
+        }
+    }
+    
+    private void showRange() {
+        int low = cursor.getIndex();
+        int high = cursor.getAux();
+        boolean prediction = !cursor.isSearchingWindow();
+        if (low == shownLow && high == shownHigh) {
+            // The bounded search opens with the band that is already shown
+            stepPending = false;
+            performLearnedStep();
+            return;
+        }
+        currentStep++;
+        shownLow = low;
+        shownHigh = high;
+        
+        Platform.runLater(() -> {
+            if (prediction) {
+                PiecewiseLinearModel model = cursor.getModel();
+                int segment = cursor.getSegment();
+                visualizationPane.highlightPrediction(cursor.getPredicted(), low, high, String.format(
+                    "Step %d: Segment %d (from index %d, slope %.3f) predicts index %d; the target must be in the error band [%d, %d]",
+                    currentStep, segment, model.getSegmentStart(segment), model.getSegmentSlope(segment),
+                    cursor.getPredicted(), low, high));
+            } else {
+                visualizationPane.highlightRange(low, high, -1, String.format(
+                    "Step %d: Search range is now [%d, %d]", currentStep, low, high));
+            }
+        });
+        
+        PauseTransition rangeTransition = new PauseTransition(Duration.millis(animationDelay));
+        rangeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performLearnedStep();
+        });
+        rangeTransition.play();
+    }
+    
+    private void showComparison() {
+        int index = cursor.getIndex();
+        int comparison = cursor.getComparison();
+        boolean edge = !cursor.isSearchingWindow();
+        currentStep++;
+        
+        Platform.runLater(() -> {
+            String description;
+            if (comparison == 0) {
+                description = String.format("Step %d: array[%d] = %s matches the target!",
+                                            currentStep, index, probe.valueAt(index));
+            } else if (edge) {
+                description = String.format("Step %d: Checking band edge array[%d] = %s against %s: %s",
+                                            currentStep, index, probe.valueAt(index), probe.target(),
+                                            edgeOutcome(index, comparison));
+            } else {
+                description = String.format("Step %d: Comparing array[%d] = %s with target %s: search %s",
+                                            currentStep, index, probe.valueAt(index), probe.target(),
+                                            comparison > 0 ? "LEFT" : "RIGHT");
+            }
+            visualizationPane.highlightElement(index, comparison == 0 ? FOUND_COLOR
+                                                      : edge ? EDGE_COLOR : COMPARING_COLOR, description);
+        });
+        
+        PauseTransition compareTransition = new PauseTransition(Duration.millis(animationDelay));
+        compareTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performLearnedStep();
+        });
+        compareTransition.play();
+    }
+    
+    private String edgeOutcome(int index, int comparison) {
+        // Left edges and their gallop lie before the prediction, right edges after it
+        if (index < cursor.getPredicted()) {
+            return comparison < 0 ? "the target is not left of the band" : "the target lies left of the band, widening";
+        }
+        return comparison > 0 ? "the target is not right of the band" : "the target lies right of the band, widening";
+    }
+    
+    private void appendMetrics(String outcome) {
+        int[] keys = sortedKeys;
+        if (keys == null) {
+            visualizationPane.setInstructionText(outcome);
+            return;
+        }
+        if (lookupTimes != null && Arrays.equals(timedKeys, keys)) {
+            showMetrics(outcome, lookupTimes);
+            return;
+        }
+        visualizationPane.setInstructionText(outcome + "  Timing lookups in the background...");
+        int run = metricsRun;
+        BackgroundTask.start("learned-index-timing",
+            () -> measureLookupTimes(keys, PiecewiseLinearModel.DEFAULT_EPSILON, 20_000),
+            times -> {
+                timedKeys = keys;
+                lookupTimes = times;
+                if (run == metricsRun) {
+                    showMetrics(outcome, times);
+                }
+            },
+            error -> {
+                if (run == metricsRun) {
+                    visualizationPane.setInstructionText(outcome + "  Timing failed: " + error.getMessage());
+                }
+            });
+    }
+    
+    private void showMetrics(String outcome, LookupTimes times) {
+        visualizationPane.setInstructionText(String.format(
+            "%s  Per lookup: learned %.1f ns, binary %.1f ns, exponential %.1f ns (model built in %d ns)",
+            outcome, times.getLearnedNanos(), times.getBinaryNanos(), times.getExponentialNanos(), times.getBuildNanos()));
+    }
+    
+    /**
+     * Trains a model and answers a single lookup with it
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int learnedIndexSearch(int[] array, int target) {
+        return PiecewiseLinearModel.train(array, PiecewiseLinearModel.DEFAULT_EPSILON).indexOf(array, target);
+    }
+    
+    /**
+     * Looks up a target with a prebuilt model; train it once with {@link PiecewiseLinearModel#train(int[], int)}
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int learnedIndexSearch(PiecewiseLinearModel model, int[] array, int target) {
+        return model.indexOf(array, target);
+    }
+    
+    /**
+     * Measures the average lookup time of the learned index against binary and exponential search
+     * @param sortedArray The sorted array to search in
+     * @param epsilon Error bound of the trained model
+     * @param lookups Number of lookups timed per algorithm; targets are drawn from the array
+     * @return Build time and average nanoseconds per lookup
+     */
+    public static LookupTimes measureLookupTimes(int[] sortedArray, int epsilon, int lookups) {
+        PiecewiseLinearModel model = PiecewiseLinearModel.train(sortedArray, epsilon);
+        if (sortedArray.length == 0 || lookups <= 0) {
+            return new LookupTimes(model.getBuildNanos(), 0, 0, 0);
+        }
+        int[] targets = new int[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            targets[i] = sortedArray[random.nextInt(sortedArray.length)];
+        }
+        
+        double learned = MicroTimer.perOperation(MicroTimer.DEFAULT_ROUNDS, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += model.indexOf(sortedArray, target);
+            }
+            return sum;
+        });
+        double binary = MicroTimer.perOperation(MicroTimer.DEFAULT_ROUNDS, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += BinarySearch.binarySearch(sortedArray, target);
+            }
+            return sum;
+        });
+        double exponential = MicroTimer.perOperation(MicroTimer.DEFAULT_ROUNDS, lookups, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += ExponentialSearch.exponentialSearch(sortedArray, target);
+            }
+            return sum;
+        });
+        return new LookupTimes(model.getBuildNanos(), learned, binary, exponential);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Learned Index Search Algorithm:\n\n" +
+               "Description:\n" +
+               "A model learns where each key sits in the sorted array. The keys are split into " +
+               "segments, each approximated by a straight line that is never more than ε positions off. " +
+               "A lookup evaluates the line for the target and only searches the small error band around the prediction.\n\n" +
+               "Prerequisites:\n" +
+               "• Array must be sorted in ascending order\n" +
+               "• One O(n) training pass before the first lookup\n\n" +
+               "Time Complexity:\n" +
+               "• Training: O(n)\n" +
+               "• Lookup: O(log s) to pick one of s segments + O(log ε) inside the band\n\n" +
+               "Space Complexity: O(s) - a start key, position and slope per segment\n\n" +
+               "Advantages:\n" +
+               "• Smooth key distributions need very few segments\n" +
+               "• The final search touches only a few cache lines\n" +
+               "• Far smaller than a B-tree over the same keys\n\n" +
+               "Disadvantages:\n" +
+               "• Irregular keys need many segments\n" +
+               "• The model must be retrained when the keys change\n\n" +
+               "Use Cases:\n" +
+               "• Read-mostly indexes over large sorted key sets\n" +
+               "• Timestamps, IDs and other near-linear keys";
+    }
+    
+    /**
+     * Records the step-by-step trace of a learned index lookup
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.LEARNED_INDEX, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performLearnedStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        metricsRun++;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the error bound of the model trained for the visualization
+     */
+    public void setEpsilon(int epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+    }
+    
+    public int getEpsilon() {
+        return epsilon;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+    
+    /**
+     * Result of {@link #measureLookupTimes(int[], int, int)}
+     */
+    public static final class LookupTimes {
+        private final long buildNanos;
+        private final double learnedNanos;
+        private final double binaryNanos;
+        private final double exponentialNanos;
+        
+        LookupTimes(long buildNanos, double learnedNanos, double binaryNanos, double exponentialNanos) {
+            this.buildNanos = buildNanos;
+            this.learnedNanos = learnedNanos;
+            this.binaryNanos = binaryNanos;
+            this.exponentialNanos = exponentialNanos;
+        }
+        
+        public long getBuildNanos() {
+            return buildNanos;
+        }
+        
+        public double getLearnedNanos() {
+            return learnedNanos;
+        }
+        
+        public double getBinaryNanos() {
+            return binaryNanos;
+        }
+        
+        public double getExponentialNanos() {
+            return exponentialNanos;
+        }
+    }
+}
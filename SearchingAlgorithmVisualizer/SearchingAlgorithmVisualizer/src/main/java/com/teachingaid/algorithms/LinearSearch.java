@@ -5,6 +5,13 @@ import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.BlockedBloomFilter;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchCursor;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.engine.StepType;
+import com.teachingaid.engine.VectorizedLinearSearch;
 import com.teachingaid.ui.ArrayVisualizationPane;
 
 import java.util.function.Consumer;
@@ -22,11 +29,14 @@ public class LinearSearch {
     private boolean isPaused = false;
     private boolean isStopped = false;
     private int currentStep = 0;
-    private int[] searchArray;
-    private int targetValue;
+    private ArrayProbe probe;
     private ArrayVisualizationPane visualizationPane;
     private Consumer<Integer> onComplete;
     
+    // Step engine driving the animation
+    private SearchCursor cursor;
+    private boolean stepPending = false;
+    
     // Animation timing control
     private int animationDelay = 800; // Default delay in milliseconds
     
@@ -39,17 +49,49 @@ public class LinearSearch {
      */
     public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
                                Consumer<Integer> completionCallback) {
-        this.searchArray = array.clone();
-        this.targetValue = target;
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(long[] array, long target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(double[] array, double target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(short[] array, short target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    public void visualizeSearch(char[] array, char target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the linear search algorithm over any element type
+     * @param probe The elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
         this.visualizationPane = visualPane;
         this.onComplete = completionCallback;
         this.currentStep = 0;
         this.isStopped = false;
         this.isPaused = false;
+        this.cursor = SearchAlgorithms.LINEAR.open(probe);
+        this.stepPending = false;
         
         // Reset visualization
         visualizationPane.resetHighlights();
-        visualizationPane.setInstructionText("Starting Linear Search for " + target);
+        visualizationPane.setInstructionText("Starting Linear Search for " + probe.target());
         
         // Start the search animation
         performLinearSearchStep();
@@ -60,7 +102,13 @@ public class LinearSearch {
             return;
         }
         
-        if (currentStep >= searchArray.length) {
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        if (cursor.getType() == StepType.NOT_FOUND) {
             // Search completed - not found
             Platform.runLater(() -> {
                 visualizationPane.markAsNotFound();
@@ -69,11 +117,24 @@ public class LinearSearch {
             return;
         }
         
+        if (cursor.getType() == StepType.FOUND) {
+            // Found the element!
+            int foundIndex = cursor.getResult();
+            Platform.runLater(() -> {
+                visualizationPane.markAsFound(foundIndex);
+                onComplete.accept(foundIndex);
+            });
+            return;
+        }
+        
+        currentStep = cursor.getIndex();
+        boolean match = cursor.getComparison() == 0;
+        
         // Highlight current element
         Platform.runLater(() -> {
             String stepDescription = String.format(
-                "Step %d: Examining element at index %d (value: %d)",
-                currentStep + 1, currentStep, searchArray[currentStep]
+                "Step %d: Examining element at index %d (value: %s)",
+                currentStep + 1, currentStep, probe.valueAt(currentStep)
             );
             
             visualizationPane.highlightElement(currentStep, CURRENT_COLOR, stepDescription);
@@ -87,12 +148,12 @@ public class LinearSearch {
             // Compare with target
             Platform.runLater(() -> {
                 String compareDescription = String.format(
-                    "Comparing %d with target %d: %s",
-                    searchArray[currentStep], targetValue,
-                    searchArray[currentStep] == targetValue ? "MATCH!" : "No match"
+                    "Comparing %s with target %s: %s",
+                    probe.valueAt(currentStep), probe.target(),
+                    match ? "MATCH!" : "No match"
                 );
                 
-                Color compareColor = searchArray[currentStep] == targetValue ? FOUND_COLOR : COMPARING_COLOR;
+                Color compareColor = match ? FOUND_COLOR : COMPARING_COLOR;
                 visualizationPane.highlightElement(currentStep, compareColor, compareDescription);
             });
             
@@ -100,17 +161,11 @@ public class LinearSearch {
             PauseTransition compareTransition = new PauseTransition(Duration.millis(animationDelay + 200));
             compareTransition.setOnFinished(e2 -> {
                 if (isStopped || isPaused) return;
+                stepPending = false;
                 
-                if (searchArray[currentStep] == targetValue) {
-                    // Found the element!
-                    Platform.runLater(() -> {
-                        visualizationPane.markAsFound(currentStep);
-                        onComplete.accept(currentStep);
-                    });
+                if (match) {
+                    performLinearSearchStep();
                 } else {
-                    // Continue to next element
-                    currentStep++;
-                    
                     // Add a small delay before next step
                     PauseTransition nextStepTransition = new PauseTransition(Duration.millis(animationDelay / 2));
                     nextStepTransition.setOnFinished(e3 -> performLinearSearchStep());
@@ -137,6 +192,78 @@ public class LinearSearch {
         return -1;
     }
     
+    /**
+     * Linear search behind a Bloom filter: keys the filter rules out return -1 at once
+     * @param array The array to search in
+     * @param target The value to search for
+     * @param filter Filter built over the same array, e.g. with {@link BlockedBloomFilter#of(int[], double)}
+     * @return The index of the target element, or -1 if not found
+     */
+    public static int linearSearch(int[] array, int target, BlockedBloomFilter filter) {
+        return filter.screen(target) ? linearSearch(array, target) : -1;
+    }
+    
+    /**
+     * Performs linear search a full SIMD vector at a time (falls back to the scalar loop
+     * when the JVM runs without the jdk.incubator.vector module)
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return The index of the first matching element, or -1 if not found
+     */
+    public static int linearSearchSimd(int[] array, int target) {
+        return VectorizedLinearSearch.indexOf(array, target);
+    }
+    
+    /**
+     * Performs linear search on a long array without boxing
+     */
+    public static int linearSearch(long[] array, long target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Performs linear search on a double array without boxing; equality is that of
+     * {@link Double#compare}, so NaN matches NaN and -0.0 does not match 0.0
+     */
+    public static int linearSearch(double[] array, double target) {
+        long targetBits = Double.doubleToLongBits(target);
+        for (int i = 0; i < array.length; i++) {
+            if (Double.doubleToLongBits(array[i]) == targetBits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Performs linear search on a short array without boxing
+     */
+    public static int linearSearch(short[] array, short target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Performs linear search on a char array without boxing
+     */
+    public static int linearSearch(char[] array, char target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     /**
      * Gets detailed information about linear search algorithm
      * @return Algorithm information string
@@ -165,32 +292,22 @@ public class LinearSearch {
     }
     
     /**
-     * Gets the step-by-step trace of linear search
+     * Records the step-by-step trace of linear search
      * @param array The array to search in
      * @param target The value to search for
-     * @return Array of step descriptions
+     * @return Compact trace, rendered to text only for the steps that are shown
      */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.LINEAR, array, target);
+    }
+    
+    /**
+     * Gets the step-by-step trace of linear search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(int[], int)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(int[] array, int target) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting Linear Search for value " + target);
-        
-        for (int i = 0; i < array.length; i++) {
-            steps.add(String.format("Step %d: Check array[%d] = %d", i + 1, i, array[i]));
-            
-            if (array[i] == target) {
-                steps.add(String.format("Found! Target %d found at index %d", target, i));
-                break;
-            } else {
-                steps.add(String.format("%d ≠ %d, continue searching", array[i], target));
-            }
-        }
-        
-        if (linearSearch(array, target) == -1) {
-            steps.add("Search completed. Target not found in array.");
-        }
-        
-        return steps.toArray(new String[0]);
+        return traceSearch(array, target).toStrings();
     }
     
     public void pause() {
@@ -225,6 +342,8 @@ public class LinearSearch {
         currentStep = 0;
         isStopped = false;
         isPaused = false;
+        cursor = null;
+        stepPending = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
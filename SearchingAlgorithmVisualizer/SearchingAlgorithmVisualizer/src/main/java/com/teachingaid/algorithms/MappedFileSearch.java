@@ -0,0 +1,237 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import com.teachingaid.engine.MappedIntArray;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Binary, Jump and Exponential Search over a memory-mapped key file
+ * The file can be far larger than anything the pane can draw, so the search runs on the
+ * mapped keys first and every probe is then replayed as a small window of keys around it
+ */
+public class MappedFileSearch {
+    
+    /**
+     * Number of keys shown around each probe
+     */
+    public static final int WINDOW_SIZE = 15;
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Long> onComplete;
+    private MappedIntArray keys;
+    private String algorithmName;
+    private int targetValue;
+    
+    // Animation timing control
+    private int animationDelay = 800; // Default delay in milliseconds
+    
+    // Probes recorded during the real run as (index, low, high) triples, replayed one per step
+    private long[] probes = new long[48];
+    private int probeCount = 0;
+    private long result = -1;
+    
+    /**
+     * Visualizes a search over mapped keys
+     * @param keys The mapped sorted keys
+     * @param algorithm "Binary Search", "Jump Search" or "Exponential Search"
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback with the position found, or -1
+     */
+    public void visualizeSearch(MappedIntArray keys, String algorithm, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Long> completionCallback) {
+        this.keys = keys;
+        this.algorithmName = algorithm;
+        this.targetValue = target;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        
+        probeCount = 0;
+        this.result = search(keys, algorithm, target, this);
+        
+        visualizationPane.setInstructionText(String.format(
+            "Starting %s for %d in %s (%d keys, mapped, not loaded)",
+            algorithm, target, keys.getFile().getFileName(), keys.length()));
+        
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performProbeStep());
+        startTransition.play();
+    }
+    
+    private void recordProbe(long index, long low, long high) {
+        if (3 * probeCount + 3 > probes.length) {
+            probes = Arrays.copyOf(probes, probes.length * 2);
+        }
+        probes[3 * probeCount] = index;
+        probes[3 * probeCount + 1] = low;
+        probes[3 * probeCount + 2] = high;
+        probeCount++;
+    }
+    
+    private void performProbeStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        if (currentStep >= probeCount) {
+            long foundIndex = result;
+            Platform.runLater(() -> {
+                if (foundIndex >= 0) {
+                    long start = showWindowAround(foundIndex);
+                    visualizationPane.markAsFound((int) (foundIndex - start));
+                    visualizationPane.setInstructionText("✓ Element found at index " + foundIndex + "!");
+                } else {
+                    visualizationPane.markAsNotFound();
+                }
+                onComplete.accept(foundIndex);
+            });
+            return;
+        }
+        
+        long index = probes[3 * currentStep];
+        long low = probes[3 * currentStep + 1];
+        long high = probes[3 * currentStep + 2];
+        int value = keys.get(index);
+        Platform.runLater(() -> {
+            long start = showWindowAround(index);
+            String description = String.format(
+                "Step %d: Checking index %d (value %d) against target %d, range [%d, %d]",
+                currentStep + 1, index, value, targetValue, low, high);
+            // Boundaries outside the window fall off the edges of the display
+            visualizationPane.highlightRange((int) Math.max(-1, low - start),
+                                             (int) Math.min(WINDOW_SIZE, high - start),
+                                             (int) (index - start), description);
+        });
+        
+        PauseTransition probeTransition = new PauseTransition(Duration.millis(animationDelay));
+        probeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            currentStep++;
+            performProbeStep();
+        });
+        probeTransition.play();
+    }
+    
+    /**
+     * Shows the keys around a position
+     * @return Position of the first key shown
+     */
+    private long showWindowAround(long index) {
+        long n = keys.length();
+        long start = Math.max(0, Math.min(index - WINDOW_SIZE / 2, n - WINDOW_SIZE));
+        visualizationPane.showWindow(start, keys.copy(start, (int) Math.min(WINDOW_SIZE, n)));
+        return start;
+    }
+    
+    /**
+     * Runs one of the supported searches on mapped keys without visualization
+     * @return The position of the target, or -1 if not found
+     */
+    public static long search(MappedIntArray keys, String algorithm, int target) {
+        return search(keys, algorithm, target, null);
+    }
+    
+    private static long search(MappedIntArray keys, String algorithm, int target, MappedFileSearch recorder) {
+        switch (algorithm) {
+            case "Binary Search":
+                return keys.binarySearch(target, recorder == null ? null : recorder::recordProbe);
+            case "Jump Search":
+                return keys.jumpSearch(target, recorder == null ? null : recorder::recordProbe);
+            case "Exponential Search":
+                return keys.exponentialSearch(target, recorder == null ? null : recorder::recordProbe);
+            default:
+                throw new IllegalArgumentException(algorithm + " cannot search a memory-mapped key file");
+        }
+    }
+    
+    /**
+     * @return true for the algorithms that can run on a memory-mapped key file
+     */
+    public static boolean supports(String algorithm) {
+        return "Binary Search".equals(algorithm) || "Jump Search".equals(algorithm)
+               || "Exponential Search".equals(algorithm);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Searching a Memory-Mapped Key File:\n\n" +
+               "Description:\n" +
+               "The sorted keys stay in a file that is mapped into memory instead of being read into an array. " +
+               "The search reads keys straight from the operating system's page cache, " +
+               "so only the pages it probes are ever loaded.\n\n" +
+               "Supported Algorithms:\n" +
+               "• Binary Search: O(log n) probes\n" +
+               "• Jump Search: O(√n) probes\n" +
+               "• Exponential Search: O(log i) probes for a key at position i\n\n" +
+               "Advantages:\n" +
+               "• Opens multi-gigabyte files almost instantly\n" +
+               "• No copy of the data on the Java heap\n" +
+               "• Repeated searches hit pages that are already cached\n\n" +
+               "Disadvantages:\n" +
+               "• The first probes of a cold file wait for the disk\n" +
+               "• The file must already be sorted; it is not checked\n\n" +
+               "Use Cases:\n" +
+               "• Lookups in large on-disk indexes and sorted logs";
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performProbeStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        probeCount = 0;
+        result = -1;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay The delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
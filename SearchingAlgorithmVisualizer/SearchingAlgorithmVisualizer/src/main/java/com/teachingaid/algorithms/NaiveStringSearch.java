@@ -4,6 +4,11 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.teachingaid.engine.MatchIterator;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchCursor;
+import com.teachingaid.engine.SearchTrace;
 import com.teachingaid.ui.StringVisualizationPane;
 
 import java.util.function.Consumer;
@@ -35,7 +40,24 @@ public class NaiveStringSearch {
     private int textIndex = 0;
     private int patternIndex = 0;
     
-    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane, 
+    // Step engine driving the animation
+    private SearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Occurrences wanted, and whether the next shift follows a reported one
+    private MatchMode matchMode = MatchMode.FIRST;
+    private boolean afterMatch = false;
+    
+    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(text, pattern, MatchMode.FIRST, visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the search; unless the mode is FIRST it goes on after every occurrence and
+     * keeps all of them highlighted
+     */
+    public void visualizeSearch(String text, String pattern, MatchMode mode, StringVisualizationPane visualPane,
                                Consumer<Integer> completionCallback) {
         this.text = text;
         this.pattern = pattern;
@@ -46,6 +68,10 @@ public class NaiveStringSearch {
         this.isPaused = false;
         this.textIndex = 0;
         this.patternIndex = 0;
+        this.cursor = SearchAlgorithms.NAIVE.open(text, pattern, mode);
+        this.stepPending = false;
+        this.matchMode = mode;
+        this.afterMatch = false;
         
         // Reset visualization
         visualPane.resetHighlights();
@@ -62,16 +88,52 @@ public class NaiveStringSearch {
             return;
         }
         
-        // Check if we've reached the end of possible starting positions
-        if (textIndex > text.length() - pattern.length()) {
-            // Pattern not found
-            Platform.runLater(() -> {
-                visualizationPane.markAsNotFound();
-                onComplete.accept(-1);
-            });
-            return;
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
         }
         
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Pattern not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                if (matchMode.isAll()) {
+                    // Every occurrence is already highlighted
+                    int occurrences = cursor.getMatchCount();
+                    int firstPos = cursor.getResult();
+                    Platform.runLater(() -> {
+                        visualizationPane.setInstructionText(String.format(
+                            "Search complete: %d occurrence(s) found, the first at index %d.",
+                            occurrences, firstPos));
+                        onComplete.accept(firstPos);
+                    });
+                    return;
+                }
+                // Complete pattern found!
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(textIndex);
+                    onComplete.accept(textIndex);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex());
+                return;
+            case SHIFT:
+                showShift(cursor.getIndex());
+                return;
+            default:
+                showComparison(cursor.getAux(), cursor.getComparison() == 0);
+        }
+    }
+    
+    private void showComparison(int comparedIndex, boolean match) {
+        patternIndex = comparedIndex;
         currentStep++;
         
         Platform.runLater(() -> {
@@ -85,17 +147,14 @@ public class NaiveStringSearch {
         PauseTransition comparisonTransition = new PauseTransition(Duration.millis(animationDelay));
         comparisonTransition.setOnFinished(e -> {
             if (isStopped || isPaused) return;
+            stepPending = false;
             
-            if (text.charAt(textIndex + patternIndex) == pattern.charAt(patternIndex)) {
+            if (match) {
                 // Match found for current character
                 patternIndex++;
                 
                 if (patternIndex == pattern.length()) {
-                    // Complete pattern found!
-                    Platform.runLater(() -> {
-                        visualizationPane.markAsFound(textIndex);
-                        onComplete.accept(textIndex);
-                    });
+                    performNaiveSearchStep();
                 } else {
                     Platform.runLater(() -> {
                         String matchDesc = String.format("Character match! Continue comparing... (%d/%d)", 
@@ -107,26 +166,51 @@ public class NaiveStringSearch {
                     matchTransition.setOnFinished(e2 -> performNaiveSearchStep());
                     matchTransition.play();
                 }
-                
+            
             } else {
-                // Mismatch - move to next position in text
-                Platform.runLater(() -> {
-                    String mismatchDesc = String.format("Mismatch! Moving to next starting position (%d -> %d)", 
-                                                      textIndex, textIndex + 1);
-                    visualizationPane.setInstructionText(mismatchDesc);
-                });
-                
-                textIndex++;
-                patternIndex = 0;
-                
-                PauseTransition mismatchTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
-                mismatchTransition.setOnFinished(e2 -> performNaiveSearchStep());
-                mismatchTransition.play();
+                performNaiveSearchStep();
             }
         });
         comparisonTransition.play();
     }
     
+    private void showShift(int newPosition) {
+        // Mismatch, or a reported occurrence - move to the next starting position
+        boolean resuming = afterMatch;
+        afterMatch = false;
+        Platform.runLater(() -> {
+            String mismatchDesc = String.format(resuming ? "Occurrence done! Moving to next starting position (%d -> %d)"
+                                                         : "Mismatch! Moving to next starting position (%d -> %d)", 
+                                              textIndex, newPosition);
+            visualizationPane.setInstructionText(mismatchDesc);
+        });
+        
+        textIndex = newPosition;
+        patternIndex = 0;
+        stepPending = false;
+        
+        PauseTransition mismatchTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+        mismatchTransition.setOnFinished(e -> performNaiveSearchStep());
+        mismatchTransition.play();
+    }
+    
+    private void showMatch(int start) {
+        // The engine keeps its state and searches on after reporting the occurrence
+        int occurrence = cursor.getMatchCount();
+        afterMatch = true;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, pattern.length());
+            visualizationPane.setInstructionText(String.format("Occurrence %d found at index %d! Searching on for %s...",
+                occurrence, start, matchMode == MatchMode.OVERLAPPING ? "overlapping occurrences" : "the next occurrence"));
+        });
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performNaiveSearchStep());
+        matchTransition.play();
+    }
+    
     public static int naiveSearch(String text, String pattern) {
         if (pattern.isEmpty()) return 0;
         
@@ -142,6 +226,34 @@ public class NaiveStringSearch {
         return -1;
     }
     
+    /**
+     * Finds every occurrence, moving one position (overlapping) or past the occurrence after each
+     * @return Starts of the occurrences in ascending order, searched for as they are consumed
+     */
+    public static MatchIterator naiveMatches(String text, String pattern, boolean overlapping) {
+        int m = pattern.length();
+        return new MatchIterator() {
+            private int position = 0;
+            
+            @Override
+            protected int findNext() {
+                while (position <= text.length() - m) {
+                    int j = 0;
+                    while (j < m && text.charAt(position + j) == pattern.charAt(j)) {
+                        j++;
+                    }
+                    if (j == m) {
+                        int start = position;
+                        position += overlapping ? 1 : Math.max(1, m);
+                        return start;
+                    }
+                    position++;
+                }
+                return -1;
+            }
+        };
+    }
+    
     public static String getAlgorithmInfo() {
         return "Naive (Brute Force) String Search Algorithm:\n\n" +
                "Description:\n" +
@@ -169,37 +281,23 @@ public class NaiveStringSearch {
                "• When simplicity is preferred over efficiency";
     }
     
+    /**
+     * Records the step-by-step trace of naive string search
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(String text, String pattern) {
+        return SearchTrace.of(SearchAlgorithms.NAIVE, text, pattern);
+    }
+    
+    /**
+     * Gets the step-by-step trace of naive string search as text
+     * @deprecated Renders every step eagerly; use {@link #traceSearch(String, String)} and describe only the steps shown
+     */
+    @Deprecated
     public static String[] getSearchTrace(String text, String pattern) {
-        java.util.List<String> steps = new java.util.ArrayList<>();
-        
-        steps.add("Starting Naive Search for pattern \"" + pattern + "\" in text \"" + text + "\"");
-        
-        int stepNum = 1;
-        for (int i = 0; i <= text.length() - pattern.length(); i++) {
-            steps.add(String.format("Try position %d:", i));
-            
-            int j = 0;
-            while (j < pattern.length()) {
-                steps.add(String.format("Step %d: Compare text[%d]='%c' with pattern[%d]='%c'", 
-                         stepNum++, i + j, text.charAt(i + j), j, pattern.charAt(j)));
-                
-                if (text.charAt(i + j) == pattern.charAt(j)) {
-                    steps.add("Match! Continue...");
-                    j++;
-                } else {
-                    steps.add("Mismatch! Try next position");
-                    break;
-                }
-            }
-            
-            if (j == pattern.length()) {
-                steps.add(String.format("Pattern found at index %d!", i));
-                return steps.toArray(new String[0]);
-            }
-        }
-        
-        steps.add("Pattern not found in text");
-        return steps.toArray(new String[0]);
+        return traceSearch(text, pattern).toStrings();
     }
     
     public void pause() {
@@ -224,6 +322,9 @@ public class NaiveStringSearch {
         isPaused = false;
         textIndex = 0;
         patternIndex = 0;
+        cursor = null;
+        stepPending = false;
+        afterMatch = false;
         if (visualizationPane != null) {
             visualizationPane.resetHighlights();
         }
@@ -0,0 +1,266 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ChunkListener;
+import com.teachingaid.engine.ForkJoinLinearSearch;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Fork/Join Parallel Linear Search with chunk-by-chunk visualization
+ * The search really runs on the pool first; its chunks are then replayed as coloured
+ * bands, one colour per worker thread, with cancelled chunks greyed out
+ */
+public class ParallelLinearSearch {
+    
+    private final Color[] WORKER_COLORS = {
+        Color.web("#2196F3"), Color.web("#FF9800"), Color.web("#9C27B0"), Color.web("#009688"),
+        Color.web("#E91E63"), Color.web("#795548"), Color.web("#3F51B5"), Color.web("#CDDC39")
+    };
+    private final Color CALLER_COLOR = Color.web("#607D8B");
+    private final Color FOUND_COLOR = Color.web("#4CAF50");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 800; // Default delay in milliseconds
+    
+    // Parallel search configuration, chunkSize 0 picks one from the array size
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int chunkSize = 0;
+    
+    // Chunks recorded during the real run, replayed one per step
+    private final List<ChunkEvent> events = new ArrayList<>();
+    private int result = -1;
+    
+    /**
+     * Visualizes the parallel linear search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        
+        int threshold = chunkSize > 0 ? chunkSize
+                      : Math.max(1, (array.length + 2 * pool.getParallelism() - 1) / (2 * pool.getParallelism()));
+        events.clear();
+        this.result = ForkJoinLinearSearch.indexOf(array.clone(), target, pool, threshold, new ChunkListener() {
+            @Override
+            public void onChunkScanned(int worker, int from, int to, int match) {
+                synchronized (events) {
+                    events.add(new ChunkEvent(worker, from, to, match, false));
+                }
+            }
+            
+            @Override
+            public void onChunkCancelled(int from, int to) {
+                synchronized (events) {
+                    events.add(new ChunkEvent(-1, from, to, -1, true));
+                }
+            }
+        });
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText(String.format(
+            "Starting Parallel Linear Search for %d: %d worker(s), chunks of up to %d elements",
+            target, pool.getParallelism(), threshold));
+        
+        // Replay the chunks
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performChunkStep());
+        startTransition.play();
+    }
+    
+    private void performChunkStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        if (currentStep >= events.size()) {
+            int foundIndex = result;
+            Platform.runLater(() -> {
+                if (foundIndex >= 0) {
+                    visualizationPane.markAsFound(foundIndex);
+                } else {
+                    visualizationPane.markAsNotFound();
+                }
+                onComplete.accept(foundIndex);
+            });
+            return;
+        }
+        
+        ChunkEvent event = events.get(currentStep);
+        Platform.runLater(() -> {
+            if (event.cancelled) {
+                visualizationPane.dimBand(event.from, event.to, String.format(
+                    "Step %d: Chunk [%d, %d) cancelled - a match to its left already wins",
+                    currentStep + 1, event.from, event.to));
+            } else {
+                String worker = event.worker >= 0 ? "Worker " + event.worker : "Calling thread";
+                String description = event.match >= 0
+                    ? String.format("Step %d: %s scanned chunk [%d, %d) and found a match at index %d",
+                                    currentStep + 1, worker, event.from, event.to, event.match)
+                    : String.format("Step %d: %s scanned chunk [%d, %d), no match",
+                                    currentStep + 1, worker, event.from, event.to);
+                visualizationPane.highlightBand(event.from, event.to, workerColor(event.worker), description);
+                if (event.match >= 0) {
+                    visualizationPane.highlightElement(event.match, FOUND_COLOR, description);
+                }
+            }
+        });
+        
+        PauseTransition chunkTransition = new PauseTransition(Duration.millis(animationDelay));
+        chunkTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            currentStep++;
+            performChunkStep();
+        });
+        chunkTransition.play();
+    }
+    
+    private Color workerColor(int worker) {
+        return worker >= 0 ? WORKER_COLORS[worker % WORKER_COLORS.length] : CALLER_COLOR;
+    }
+    
+    /**
+     * Performs parallel linear search on the common pool without visualization
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return The lowest index of the target element, or -1 if not found
+     */
+    public static int parallelLinearSearch(int[] array, int target) {
+        return ForkJoinLinearSearch.indexOf(array, target);
+    }
+    
+    /**
+     * Performs parallel linear search without visualization
+     * @param pool The pool that scans the chunks
+     * @param threshold Largest chunk a worker scans without splitting it further
+     * @return The lowest index of the target element, or -1 if not found
+     */
+    public static int parallelLinearSearch(int[] array, int target, ForkJoinPool pool, int threshold) {
+        return ForkJoinLinearSearch.indexOf(array, target, pool, threshold);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Parallel Linear Search Algorithm (Fork/Join):\n\n" +
+               "Description:\n" +
+               "The array is split in halves until the pieces are small enough to fit in a core's cache. " +
+               "Worker threads scan the chunks in parallel and the lowest matching index wins; " +
+               "chunks to the right of a known match are cancelled.\n\n" +
+               "Time Complexity:\n" +
+               "• Work: O(n) comparisons, like linear search\n" +
+               "• Elapsed: about O(n / p) with p workers\n\n" +
+               "Space Complexity: O(log n) for the split tasks\n\n" +
+               "Advantages:\n" +
+               "• Works on unsorted arrays too big to sort\n" +
+               "• Scales with the number of cores\n" +
+               "• Early cancellation skips work after a match\n\n" +
+               "Disadvantages:\n" +
+               "• Task overhead outweighs the gain on small arrays\n" +
+               "• Bound by memory bandwidth on very large arrays\n\n" +
+               "Use Cases:\n" +
+               "• One-off lookups in multi-million element unsorted data\n" +
+               "• Log and telemetry scans";
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performChunkStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        events.clear();
+        result = -1;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the pool that runs the visualized search
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Sets the largest chunk a worker scans without splitting it; 0 picks two chunks per worker
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(0, chunkSize);
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay The delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+    
+    private static final class ChunkEvent {
+        final int worker;
+        final int from;
+        final int to;
+        final int match;
+        final boolean cancelled;
+        
+        ChunkEvent(int worker, int from, int to, int match, boolean cancelled) {
+            this.worker = worker;
+            this.from = from;
+            this.to = to;
+            this.match = match;
+            this.cancelled = cancelled;
+        }
+    }
+}
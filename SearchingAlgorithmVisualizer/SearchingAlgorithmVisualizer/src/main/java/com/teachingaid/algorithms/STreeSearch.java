@@ -0,0 +1,317 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.STreeIndex;
+import com.teachingaid.engine.STreeSearchCursor;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.ui.ArrayVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * S-Tree (static B+ tree) Search with node-level visualization
+ * Every step shows a whole node: its keys split into the ones smaller than the target and
+ * the rest, inside the range of the subtree below it, then the descent into the chosen child
+ */
+public class STreeSearch {
+    
+    private final Color BOUND_COLOR = Color.web("#FF5722");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private ArrayProbe probe;
+    private ArrayVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in milliseconds
+    
+    // The real index uses 16 keys per node; small arrays need smaller nodes to show more than one level
+    private int keysPerNode = 4;
+    
+    // Step engine driving the animation
+    private STreeSearchCursor cursor;
+    private boolean stepPending = false;
+    // Range of the subtree below the current node
+    private int rangeLow;
+    private int rangeHigh;
+    
+    /**
+     * Visualizes the S-tree descent
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(int[] array, int target, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(ArrayProbe.of(array.clone(), target), visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the S-tree descent over any element type
+     * @param probe The sorted elements and the target, compared without boxing
+     * @param visualPane The visualization pane
+     * @param completionCallback Callback when search is complete
+     */
+    public void visualizeSearch(ArrayProbe probe, ArrayVisualizationPane visualPane, 
+                               Consumer<Integer> completionCallback) {
+        this.probe = probe;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.cursor = new STreeSearchCursor(probe, keysPerNode);
+        this.stepPending = false;
+        this.rangeLow = 0;
+        this.rangeHigh = probe.length() - 1;
+        
+        // Reset visualization
+        visualizationPane.resetHighlights();
+        visualizationPane.setInstructionText(String.format(
+            "Starting S-Tree Search for %s - %d levels of nodes with %d keys each, the leaves are the sorted array",
+            probe.target(), cursor.getHeight(), keysPerNode));
+        
+        // Start the search animation
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> performSTreeStep());
+        startTransition.play();
+    }
+    
+    private void performSTreeStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                long lowerBound = cursor.getLowerBound();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    if (lowerBound < probe.length()) {
+                        visualizationPane.setInstructionText(String.format(
+                            "✗ Element not found - the first larger element is at index %d", lowerBound));
+                    }
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                int foundIndex = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(foundIndex);
+                    onComplete.accept(foundIndex);
+                });
+                return;
+            case NARROW_RANGE:
+                showDescent();
+                return;
+            default:
+                if (cursor.getAux() < 0) {
+                    showBoundCheck();
+                } else {
+                    showNode();
+                }
+        }
+    }
+    
+    private void showNode() {
+        // The engine compares every key of the node; they are shown together, as the real lookup ranks them at once
+        int[] keys = cursor.getNodePositions();
+        int level = cursor.getLevel();
+        int node = cursor.getNode();
+        boolean leaf = level == cursor.getHeight() - 1;
+        for (int k = 1; k < keys.length; k++) {
+            cursor.next();
+        }
+        int smaller = cursor.getRank();
+        int low = rangeLow;
+        int high = rangeHigh;
+        currentStep++;
+        
+        StringBuilder values = new StringBuilder();
+        for (int k = 0; k < keys.length; k++) {
+            values.append(k == 0 ? "" : ", ").append(probe.valueAt(keys[k]));
+        }
+        String outcome = leaf
+            ? String.format("the first key not smaller is at index %d", cursor.getLowerBound())
+            : String.format("descend into child %d of the node", smaller);
+        String description = String.format(
+            "Step %d: Level %d, node %d holds [%s]: %d of them are smaller than %s, %s",
+            currentStep, level, node, values, smaller, probe.target(), outcome);
+        Platform.runLater(() -> visualizationPane.highlightNode(low, high, keys, smaller, description));
+        
+        PauseTransition nodeTransition = new PauseTransition(Duration.millis(animationDelay));
+        nodeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performSTreeStep();
+        });
+        nodeTransition.play();
+    }
+    
+    private void showDescent() {
+        rangeLow = cursor.getIndex();
+        rangeHigh = cursor.getAux();
+        int low = rangeLow;
+        int high = rangeHigh;
+        int level = cursor.getLevel();
+        currentStep++;
+        
+        Platform.runLater(() -> visualizationPane.highlightRange(low, high, -1, String.format(
+            "Step %d: Moving down to level %d - only the subtree over indices [%d, %d] is left",
+            currentStep, level, low, high)));
+        
+        PauseTransition rangeTransition = new PauseTransition(Duration.millis(Math.max(200, animationDelay / 2)));
+        rangeTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performSTreeStep();
+        });
+        rangeTransition.play();
+    }
+    
+    private void showBoundCheck() {
+        int index = cursor.getIndex();
+        currentStep++;
+        
+        Platform.runLater(() -> visualizationPane.highlightElement(index, BOUND_COLOR, String.format(
+            "Step %d: Every key of the leaf was smaller, so the lower bound is the next leaf's first key array[%d] = %s",
+            currentStep, index, probe.valueAt(index))));
+        
+        PauseTransition boundTransition = new PauseTransition(Duration.millis(animationDelay));
+        boundTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performSTreeStep();
+        });
+        boundTransition.play();
+    }
+    
+    /**
+     * Builds an S-tree once and answers a single lookup with it
+     * @param array The sorted array to search in
+     * @param target The value to search for
+     * @return The index of the first element equal to the target, or -1 if not found
+     */
+    public static int sTreeSearch(int[] array, int target) {
+        return new STreeIndex(array).indexOf(target);
+    }
+    
+    /**
+     * Looks up a target in a prebuilt tree; build it once with {@link STreeIndex#STreeIndex(int[])}
+     * @return The index of the first element equal to the target, or -1 if not found
+     */
+    public static int sTreeSearch(STreeIndex index, int target) {
+        return index.indexOf(target);
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "S-Tree Search Algorithm:\n\n" +
+               "Description:\n" +
+               "A static B+ tree whose nodes each hold 16 keys, exactly one 64-byte cache line. " +
+               "The leaves are the sorted array itself; the nodes above store the first key of each " +
+               "child. Children are found by arithmetic, so there are no pointers. A lookup ranks the " +
+               "target among a node's keys with branch-free (or SIMD) compares and descends into that child.\n\n" +
+               "Prerequisites:\n" +
+               "• Array must be sorted in ascending order\n" +
+               "• One O(n) build before the first lookup\n\n" +
+               "Time Complexity:\n" +
+               "• Every lookup: O(log₁₇ n) nodes of 16 compares each\n\n" +
+               "Space Complexity: O(n/16) for the internal nodes on top of the keys\n\n" +
+               "Advantages:\n" +
+               "• One cache miss per level - 6 for 16 million keys instead of 24\n" +
+               "• No branches to mispredict inside a node\n" +
+               "• Returns the first occurrence of duplicate keys\n\n" +
+               "Disadvantages:\n" +
+               "• Must be rebuilt when the keys change\n" +
+               "• More compares than binary search, traded for fewer memory accesses\n\n" +
+               "Use Cases:\n" +
+               "• Large read-only indexes and lookup tables\n" +
+               "• Database and search engine dictionaries";
+    }
+    
+    /**
+     * Records the step-by-step trace of S-tree search
+     * @param array The array to search in
+     * @param target The value to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(int[] array, int target) {
+        return SearchTrace.of(SearchAlgorithms.S_TREE, array, target);
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            performSTreeStep();
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    public int getCurrentStep() {
+        return currentStep;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        cursor = null;
+        stepPending = false;
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    /**
+     * Sets the node size used by the visualization
+     */
+    public void setKeysPerNode(int keysPerNode) {
+        this.keysPerNode = Math.max(1, Math.min(STreeIndex.NODE_KEYS, keysPerNode));
+    }
+    
+    public int getKeysPerNode() {
+        return keysPerNode;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     * @param delay delay in milliseconds (100-2000ms recommended)
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(100, Math.min(2000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
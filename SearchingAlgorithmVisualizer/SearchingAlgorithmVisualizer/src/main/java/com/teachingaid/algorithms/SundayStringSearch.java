@@ -0,0 +1,427 @@
+package com.teachingaid.algorithms;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import com.teachingaid.engine.BadCharacterTable;
+import com.teachingaid.engine.MatchIterator;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchTrace;
+import com.teachingaid.engine.ShiftStatistics;
+import com.teachingaid.engine.SundaySearchCursor;
+import com.teachingaid.ui.StringVisualizationPane;
+
+import java.util.function.Consumer;
+
+/**
+ * Sunday's Quick Search with step-by-step visualization
+ * Shifts by the text character just past the window, which is always part of the next one
+ */
+public class SundayStringSearch {
+    
+    private final Color PATTERN_COLOR = Color.web("#3498DB");
+    private final Color TEXT_COLOR = Color.web("#2ECC71");
+    private final Color MATCH_COLOR = Color.web("#E74C3C");
+    private final Color MISMATCH_COLOR = Color.web("#F39C12");
+    private final Color FOUND_COLOR = Color.web("#27AE60");
+    private final Color SKIP_COLOR = Color.web("#9B59B6");
+    
+    private boolean isPaused = false;
+    private boolean isStopped = false;
+    private int currentStep = 0;
+    private String text;
+    private String pattern;
+    private StringVisualizationPane visualizationPane;
+    private Consumer<Integer> onComplete;
+    
+    // Animation timing control
+    private int animationDelay = 1000; // base delay in ms
+    
+    // Sunday state variables
+    private BadCharacterTable shiftTable;
+    private boolean tableBuilt = false;
+    private final ShiftStatistics statistics = new ShiftStatistics();
+    
+    // Step engine driving the matching phase
+    private SundaySearchCursor cursor;
+    private boolean stepPending = false;
+    
+    // Occurrences wanted, and whether the next shift follows a reported one
+    private MatchMode matchMode = MatchMode.FIRST;
+    private boolean afterMatch = false;
+    
+    public void visualizeSearch(String text, String pattern, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        visualizeSearch(text, pattern, MatchMode.FIRST, visualPane, completionCallback);
+    }
+    
+    /**
+     * Visualizes the search; unless the mode is FIRST it goes on after every occurrence and
+     * keeps all of them highlighted
+     */
+    public void visualizeSearch(String text, String pattern, MatchMode mode, StringVisualizationPane visualPane,
+                               Consumer<Integer> completionCallback) {
+        this.text = text;
+        this.pattern = pattern;
+        this.visualizationPane = visualPane;
+        this.onComplete = completionCallback;
+        this.currentStep = 0;
+        this.isStopped = false;
+        this.isPaused = false;
+        this.tableBuilt = false;
+        this.cursor = new SundaySearchCursor(text, pattern, mode);
+        this.stepPending = false;
+        this.matchMode = mode;
+        this.afterMatch = false;
+        statistics.reset();
+        
+        // Reset visualization
+        visualPane.resetHighlights();
+        visualPane.setInstructionText("Starting Sunday (Quick) Search for pattern \"" + pattern + "\" in text");
+        
+        // Build the shift table first
+        buildShiftTable();
+    }
+    
+    private void buildShiftTable() {
+        Platform.runLater(() -> {
+            visualizationPane.setInstructionText("Building Sunday Shift Table for pattern: " + pattern);
+        });
+        
+        PauseTransition startTransition = new PauseTransition(Duration.millis(animationDelay));
+        startTransition.setOnFinished(e -> {
+            // The engine already built the table, show it
+            shiftTable = cursor.getShiftTable();
+            int[] shifts = new int[pattern.length()];
+            for (int i = 0; i < shifts.length; i++) {
+                shifts[i] = SundaySearchCursor.shift(pattern, shiftTable, pattern.charAt(i));
+            }
+            
+            Platform.runLater(() -> {
+                visualizationPane.showPatternTable("Shift Table (shift when this character follows the window):",
+                                                   "Shift:", shifts, pattern);
+                visualizationPane.setInstructionText("Shift Table built from the whole pattern; any other character shifts " +
+                    (pattern.length() + 1) + ". Now starting pattern matching...");
+            });
+            
+            tableBuilt = true;
+            
+            PauseTransition matchingTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 2L)));
+            matchingTransition.setOnFinished(e2 -> performSundaySearchStep());
+            matchingTransition.play();
+        });
+        startTransition.play();
+    }
+    
+    private void performSundaySearchStep() {
+        if (isStopped || isPaused) {
+            return;
+        }
+        
+        // Only advance the engine once the previous step has been fully shown
+        if (!stepPending) {
+            cursor.next();
+            statistics.onStep(cursor);
+            stepPending = true;
+        }
+        
+        switch (cursor.getType()) {
+            case NOT_FOUND:
+                // Pattern not found
+                Platform.runLater(() -> {
+                    visualizationPane.markAsNotFound();
+                    visualizationPane.setInstructionText("Pattern not found in text! " + statistics);
+                    onComplete.accept(-1);
+                });
+                return;
+            case FOUND:
+                if (matchMode.isAll()) {
+                    // Every occurrence is already highlighted
+                    int occurrences = cursor.getMatchCount();
+                    int firstPos = cursor.getResult();
+                    Platform.runLater(() -> {
+                        visualizationPane.setInstructionText(String.format(
+                            "Search complete: %d occurrence(s) found, the first at index %d. %s",
+                            occurrences, firstPos, statistics));
+                        onComplete.accept(firstPos);
+                    });
+                    return;
+                }
+                // Complete match found!
+                int startPos = cursor.getResult();
+                Platform.runLater(() -> {
+                    visualizationPane.markAsFound(startPos);
+                    visualizationPane.setInstructionText("Pattern found at index " + startPos + "! " + statistics);
+                    onComplete.accept(startPos);
+                });
+                return;
+            case MATCH:
+                showMatch(cursor.getIndex());
+                return;
+            case SHIFT:
+                showSkip(cursor.getIndex(), cursor.getAux());
+                return;
+            default:
+                compareCharacter(cursor.getIndex(), cursor.getAux());
+        }
+    }
+    
+    private void compareCharacter(int currentTextPos, int patternIndex) {
+        // A comparison of the first pattern character starts a new alignment
+        boolean firstComparison = patternIndex == 0;
+        if (firstComparison) {
+            currentStep++;
+        }
+        
+        Platform.runLater(() -> {
+            String compareDesc = String.format(
+                firstComparison ? "Step %d: Comparing text[%d]='%c' with pattern[%d]='%c'"
+                                : "Step %d: Continue matching: text[%d]='%c' with pattern[%d]='%c'",
+                currentStep, currentTextPos, text.charAt(currentTextPos),
+                patternIndex, pattern.charAt(patternIndex));
+            visualizationPane.highlightComparison(currentTextPos, patternIndex, compareDesc);
+        });
+        
+        long delay = firstComparison ? animationDelay : Math.max(200, animationDelay / 2);
+        PauseTransition comparisonTransition = new PauseTransition(Duration.millis(delay));
+        comparisonTransition.setOnFinished(e -> {
+            if (isStopped || isPaused) return;
+            stepPending = false;
+            performSundaySearchStep();
+        });
+        comparisonTransition.play();
+    }
+    
+    private void showSkip(int newPosition, int skip) {
+        if (afterMatch) {
+            // Shift after a reported occurrence
+            afterMatch = false;
+            stepPending = false;
+            boolean tableShift = matchMode == MatchMode.OVERLAPPING && newPosition - skip + pattern.length() < text.length();
+            char shiftChar = tableShift ? text.charAt(newPosition - skip + pattern.length()) : ' ';
+            
+            Platform.runLater(() -> {
+                visualizationPane.setInstructionText(tableShift
+                    ? String.format("Occurrence done: text character '%c' just after the occurrence decides the shift - skipping %d positions, " +
+                                    "which can never pass over an occurrence", shiftChar, skip)
+                    : String.format("Occurrence done: moving on by %d positions", skip));
+            });
+            
+            PauseTransition resumeTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+            resumeTransition.setOnFinished(e -> performSundaySearchStep());
+            resumeTransition.play();
+            return;
+        }
+        
+        // Mismatch - the character just past the window decides the skip
+        char nextChar = text.charAt(newPosition - skip + pattern.length());
+        int occurrence = shiftTable.lastIndexOf(nextChar);
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            String mismatchDesc = occurrence >= 0
+                ? String.format("Mismatch! Text character '%c' after the window occurs at pattern[%d] - skipping %d positions",
+                                nextChar, occurrence, skip)
+                : String.format("Mismatch! Text character '%c' after the window is not in the pattern - skipping %d positions",
+                                nextChar, skip);
+            visualizationPane.setInstructionText(mismatchDesc);
+            if (occurrence >= 0) {
+                visualizationPane.highlightTableEntry(occurrence);
+            }
+        });
+        
+        PauseTransition skipTransition = new PauseTransition(Duration.millis(Math.max(300, animationDelay * 6L / 5L)));
+        skipTransition.setOnFinished(e -> performSundaySearchStep());
+        skipTransition.play();
+    }
+    
+    private void showMatch(int start) {
+        // The engine keeps its state and searches on after reporting the occurrence
+        int occurrence = cursor.getMatchCount();
+        afterMatch = true;
+        stepPending = false;
+        
+        Platform.runLater(() -> {
+            visualizationPane.markMatch(start, pattern.length());
+            visualizationPane.setInstructionText(String.format("Occurrence %d found at index %d! Searching on for %s...",
+                occurrence, start, matchMode == MatchMode.OVERLAPPING ? "overlapping occurrences" : "the next occurrence"));
+        });
+        
+        PauseTransition matchTransition = new PauseTransition(Duration.millis(Math.max(400, animationDelay * 3L / 2L)));
+        matchTransition.setOnFinished(e -> performSundaySearchStep());
+        matchTransition.play();
+    }
+    
+    public static int sundaySearch(String text, String pattern) {
+        return sundaySearch(text, pattern, BadCharacterTable.of(pattern), 0, null);
+    }
+    
+    /**
+     * Quick Search that allocates nothing, for patterns searched many times
+     * @param shiftTable {@link BadCharacterTable#of(String)} of the same pattern
+     * @param fromIndex First text position the pattern may start at
+     * @param statistics Receives every shift, or null
+     * @return Start of the first occurrence at or after fromIndex, or -1 if there is none
+     */
+    public static int sundaySearch(String text, String pattern, BadCharacterTable shiftTable, int fromIndex,
+                                   ShiftStatistics statistics) {
+        int m = pattern.length();
+        int n = text.length();
+        int position = Math.max(0, fromIndex);
+        if (m == 0) return Math.min(position, n);
+        
+        while (position <= n - m) {
+            // Compare from left to right
+            int patternIndex = 0;
+            while (patternIndex < m && text.charAt(position + patternIndex) == pattern.charAt(patternIndex)) {
+                patternIndex++;
+            }
+            if (patternIndex == m) {
+                return position; // Pattern found
+            }
+            if (position + m == n) {
+                break; // No character after the window
+            }
+            
+            int shift = m - shiftTable.lastIndexOf(text.charAt(position + m));
+            if (statistics != null) {
+                statistics.record(shift);
+            }
+            position += shift;
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Finds every occurrence by resuming the search after each one with the table's shift for the
+     * character just past the occurrence, which can never skip one
+     * @param overlapping Whether an occurrence may start inside the previous one
+     * @return Starts of the occurrences in ascending order, searched for as they are consumed
+     */
+    public static MatchIterator sundayMatches(String text, String pattern, boolean overlapping) {
+        int m = pattern.length();
+        BadCharacterTable shiftTable = BadCharacterTable.of(pattern);
+        return new MatchIterator() {
+            private int position = 0;
+            
+            @Override
+            protected int findNext() {
+                if (position > text.length()) {
+                    return -1;
+                }
+                int start = sundaySearch(text, pattern, shiftTable, position, null);
+                if (start < 0) {
+                    position = text.length() + 1;
+                    return -1;
+                }
+                position = start + (overlapping && m > 0 ? sundayShift(text, pattern, shiftTable, start) : Math.max(1, m));
+                return start;
+            }
+        };
+    }
+    
+    private static int sundayShift(String text, String pattern, BadCharacterTable shiftTable, int start) {
+        int next = start + pattern.length();
+        // At the end of the text there is no next character, and no room for another occurrence
+        return next < text.length() ? SundaySearchCursor.shift(pattern, shiftTable, text.charAt(next)) : 1;
+    }
+    
+    public static String getAlgorithmInfo() {
+        return "Sunday (Quick Search) String Search Algorithm:\n\n" +
+               "Description:\n" +
+               "Quick Search looks one character further than Horspool: after a mismatch the character " +
+               "just past the window must take part in the next window, so it decides the shift.\n\n" +
+               "Time Complexity:\n" +
+               "• Best case: O(n/(m+1)) - shifts can be one longer than the pattern\n" +
+               "• Average case: O(n) with a small constant, often sublinear\n" +
+               "• Worst case: O(n × m)\n\n" +
+               "Space Complexity: O(m) - the shift table only holds the pattern's characters\n\n" +
+               "Key Features:\n" +
+               "• Compares the window in any order, here left to right\n" +
+               "• One shift table over the whole pattern\n" +
+               "• Longest average shifts of the Boyer-Moore family on short patterns\n\n" +
+               "Algorithm Steps:\n" +
+               "1. For every pattern character, store m - its last position\n" +
+               "2. Compare the window with the text\n" +
+               "3. On mismatch, shift by the table entry of the character after the window\n" +
+               "4. Characters not in the pattern shift m + 1 positions\n\n" +
+               "Use Cases:\n" +
+               "• Short patterns on large texts\n" +
+               "• Large alphabets such as natural language\n" +
+               "• Simple, fast library search routines";
+    }
+    
+    /**
+     * Records the step-by-step trace of Sunday search
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Compact trace, rendered to text only for the steps that are shown
+     */
+    public static SearchTrace traceSearch(String text, String pattern) {
+        return SearchTrace.of(SearchAlgorithms.SUNDAY, text, pattern);
+    }
+    
+    /**
+     * @return Shifts of the current or latest visualized run
+     */
+    public ShiftStatistics getShiftStatistics() {
+        return statistics;
+    }
+    
+    public void pause() {
+        isPaused = true;
+    }
+    
+    public void resume() {
+        if (isPaused) {
+            isPaused = false;
+            if (!tableBuilt) {
+                buildShiftTable();
+            } else {
+                performSundaySearchStep();
+            }
+        }
+    }
+    
+    public void stop() {
+        isStopped = true;
+        isPaused = false;
+    }
+    
+    public void reset() {
+        currentStep = 0;
+        isStopped = false;
+        isPaused = false;
+        tableBuilt = false;
+        shiftTable = null;
+        cursor = null;
+        stepPending = false;
+        afterMatch = false;
+        statistics.reset();
+        if (visualizationPane != null) {
+            visualizationPane.resetHighlights();
+        }
+    }
+    
+    public boolean isPaused() {
+        return isPaused;
+    }
+    
+    public boolean isStopped() {
+        return isStopped;
+    }
+    
+    /**
+     * Sets the animation delay for visualization speed control
+     */
+    public void setAnimationDelay(int delay) {
+        this.animationDelay = Math.max(200, Math.min(3000, delay));
+    }
+    
+    public int getAnimationDelay() {
+        return animationDelay;
+    }
+}
@@ -0,0 +1,385 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of many patterns in a single pass over a text.
+ * The patterns' distinct characters are numbered 0..σ-1 and the trie of the patterns is completed
+ * into a deterministic automaton whose transitions live in one flat int array of states × σ
+ * entries, so every text character costs one table read whatever the number of patterns;
+ * characters no pattern contains lead back to the root. Each state has an output link to the
+ * nearest state on its failure path that ends a pattern, so reporting the matches of a position
+ * only visits states that produce one.
+ * Duplicate patterns are reported under the index of their first occurrence.
+ */
+public final class AhoCorasickAutomaton {
+
+    private final String[] patterns;
+    // Symbol of a character: its position in the string of distinct pattern characters
+    private final BadCharacterTable alphabet;
+    private final String symbols;
+    private final int alphabetSize;
+    private final int stateCount;
+    // transitions[state * alphabetSize + symbol]: next state of the completed automaton
+    private final int[] transitions;
+    private final int[] failure;
+    // Pattern that ends exactly at a state, -1 if none
+    private final int[] patternAt;
+    // Next state on the failure path with a pattern, -1 if none
+    private final int[] outputLink;
+    private final int[] depth;
+    private final int[] parent;
+    // Character on the trie edge into a state
+    private final char[] edgeChars;
+
+    /**
+     * Builds the automaton in O(total pattern length × σ)
+     * @param patterns Non-empty patterns; the array is copied
+     * @throws IllegalArgumentException If a pattern is empty
+     */
+    public AhoCorasickAutomaton(String... patterns) {
+        this.patterns = patterns.clone();
+        long totalLength = 0;
+        boolean[] seen = new boolean[Character.MAX_VALUE + 1];
+        StringBuilder distinct = new StringBuilder();
+        for (int p = 0; p < this.patterns.length; p++) {
+            String pattern = this.patterns[p];
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Pattern " + p + " is empty");
+            }
+            totalLength += pattern.length();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (!seen[c]) {
+                    seen[c] = true;
+                    distinct.append(c);
+                }
+            }
+        }
+        this.symbols = distinct.toString();
+        this.alphabet = BadCharacterTable.of(symbols);
+        this.alphabetSize = Math.max(1, symbols.length());
+        if ((totalLength + 1) * alphabetSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many pattern characters for one automaton: " + totalLength);
+        }
+
+        // The trie: 0 marks a missing edge, since no edge leads back to the root
+        int capacity = (int) totalLength + 1;
+        int[] next = new int[capacity * alphabetSize];
+        int[] patternEnds = new int[capacity];
+        int[] depths = new int[capacity];
+        int[] parents = new int[capacity];
+        char[] edges = new char[capacity];
+        Arrays.fill(patternEnds, -1);
+        parents[0] = -1;
+        int states = 1;
+        for (int p = 0; p < this.patterns.length; p++) {
+            String pattern = this.patterns[p];
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * alphabetSize + alphabet.lastIndexOf(pattern.charAt(i));
+                if (next[slot] == 0) {
+                    next[slot] = states;
+                    depths[states] = depths[state] + 1;
+                    parents[states] = state;
+                    edges[states] = pattern.charAt(i);
+                    states++;
+                }
+                state = next[slot];
+            }
+            if (patternEnds[state] < 0) {
+                patternEnds[state] = p;
+            }
+        }
+
+        // Breadth first, every state's failure state is complete before the state itself
+        int[] failures = new int[states];
+        int[] outputs = new int[states];
+        Arrays.fill(outputs, -1);
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int state = queue[head++];
+            int row = state * alphabetSize;
+            int failureRow = failures[state] * alphabetSize;
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = next[row + symbol];
+                if (child != 0) {
+                    int childFailure = state == 0 ? 0 : next[failureRow + symbol];
+                    failures[child] = childFailure;
+                    outputs[child] = patternEnds[childFailure] >= 0 ? childFailure : outputs[childFailure];
+                    queue[tail++] = child;
+                } else if (state != 0) {
+                    next[row + symbol] = next[failureRow + symbol];
+                }
+            }
+        }
+
+        this.stateCount = states;
+        this.transitions = Arrays.copyOf(next, states * alphabetSize);
+        this.failure = failures;
+        this.patternAt = Arrays.copyOf(patternEnds, states);
+        this.outputLink = outputs;
+        this.depth = Arrays.copyOf(depths, states);
+        this.parent = Arrays.copyOf(parents, states);
+        this.edgeChars = Arrays.copyOf(edges, states);
+    }
+
+    /**
+     * Reports every occurrence of every pattern, overlapping ones included, in one pass
+     * @return Number of occurrences
+     */
+    public int search(CharSequence text, MatchListener listener) {
+        int count = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = nextState(state, text.charAt(i));
+            int output = patternAt[state] >= 0 ? state : outputLink[state];
+            while (output >= 0) {
+                int pattern = patternAt[output];
+                listener.onMatch(pattern, i - patterns[pattern].length() + 1);
+                count++;
+                output = outputLink[output];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same pass as {@link #search}, only counting
+     * @return Number of occurrences of all patterns, overlapping ones included
+     */
+    public int countMatches(CharSequence text) {
+        int count = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = alphabet.lastIndexOf(text.charAt(i));
+            state = symbol < 0 ? 0 : transitions[state * alphabetSize + symbol];
+            for (int output = patternAt[state] >= 0 ? state : outputLink[state]; output >= 0; output = outputLink[output]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return State of the completed automaton after reading a character
+     */
+    public int nextState(int state, char c) {
+        int symbol = alphabet.lastIndexOf(c);
+        return symbol < 0 ? 0 : transitions[state * alphabetSize + symbol];
+    }
+
+    /**
+     * @return Child of a state in the trie along a character, or -1 when the trie has no such edge
+     */
+    public int trieChild(int state, char c) {
+        int next = nextState(state, c);
+        // A completed transition leads to a state no deeper than this one, never to a child
+        return next != 0 && parent[next] == state ? next : -1;
+    }
+
+    /**
+     * @return State for the longest proper suffix of this state's string that is also in the trie
+     */
+    public int failure(int state) {
+        return failure[state];
+    }
+
+    /**
+     * @return Pattern that ends exactly at a state, or -1
+     */
+    public int patternAt(int state) {
+        return patternAt[state];
+    }
+
+    /**
+     * @return Nearest state on the failure path that ends a pattern, or -1
+     */
+    public int outputLink(int state) {
+        return outputLink[state];
+    }
+
+    /**
+     * @return Length of the string a state stands for
+     */
+    public int depth(int state) {
+        return depth[state];
+    }
+
+    /**
+     * @return Parent of a state in the trie, -1 for the root
+     */
+    public int parent(int state) {
+        return parent[state];
+    }
+
+    /**
+     * @return Character on the trie edge into a state; the root has none
+     */
+    public char edgeChar(int state) {
+        return edgeChars[state];
+    }
+
+    /**
+     * @return String a state stands for, e.g. to label it
+     */
+    public String stateString(int state) {
+        char[] chars = new char[depth[state]];
+        for (int s = state; s > 0; s = parent[s]) {
+            chars[depth[s] - 1] = edgeChar(s);
+        }
+        return new String(chars);
+    }
+
+    public int stateCount() {
+        return stateCount;
+    }
+
+    public int alphabetSize() {
+        return symbols.length();
+    }
+
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    public String getPattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * @return Approximate heap footprint of the automaton's tables
+     */
+    public long getMemoryBytes() {
+        return 4L * transitions.length + 22L * stateCount + alphabet.getMemoryBytes();
+    }
+
+    /**
+     * Times one automaton pass over a text against one KMP pass per pattern, the fastest of three rounds
+     * @return Elapsed times of both and the occurrences each found
+     */
+    public Throughput measureThroughput(CharSequence text) {
+        int[][] failures = new int[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            failures[p] = KMPSearchCursor.buildFailureFunction(patterns[p]);
+        }
+        double automatonNanos = MicroTimer.bestOf(MicroTimer.DEFAULT_ROUNDS, () -> countMatches(text));
+        double singleNanos = MicroTimer.bestOf(MicroTimer.DEFAULT_ROUNDS, () -> countOccurrences(text, failures));
+        return new Throughput(patterns.length, text.length(), automatonNanos, singleNanos,
+                              countMatches(text), countOccurrences(text, failures));
+    }
+
+    // One KMP pass per pattern
+    private int countOccurrences(CharSequence text, int[][] failures) {
+        int count = 0;
+        for (int p = 0; p < patterns.length; p++) {
+            count += countOccurrences(text, patterns[p], failures[p]);
+        }
+        return count;
+    }
+
+    // KMP over the whole text, continuing after every match
+    private static int countOccurrences(CharSequence text, String pattern, int[] failure) {
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (j > 0 && c != pattern.charAt(j)) {
+                j = failure[j - 1];
+            }
+            if (c == pattern.charAt(j)) {
+                j++;
+            }
+            if (j == pattern.length()) {
+                count++;
+                j = failure[j - 1];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Result of {@link #measureThroughput(CharSequence)}
+     */
+    public static final class Throughput {
+        private final int patternCount;
+        private final int textLength;
+        private final double automatonNanos;
+        private final double singlePatternNanos;
+        private final int automatonMatches;
+        private final int singlePatternMatches;
+
+        Throughput(int patternCount, int textLength, double automatonNanos, double singlePatternNanos,
+                   int automatonMatches, int singlePatternMatches) {
+            this.patternCount = patternCount;
+            this.textLength = textLength;
+            this.automatonNanos = automatonNanos;
+            this.singlePatternNanos = singlePatternNanos;
+            this.automatonMatches = automatonMatches;
+            this.singlePatternMatches = singlePatternMatches;
+        }
+
+        public int getPatternCount() {
+            return patternCount;
+        }
+
+        public int getTextLength() {
+            return textLength;
+        }
+
+        /**
+         * @return Nanoseconds of the single automaton pass
+         */
+        public double getAutomatonNanos() {
+            return automatonNanos;
+        }
+
+        /**
+         * @return Nanoseconds of all KMP passes together
+         */
+        public double getSinglePatternNanos() {
+            return singlePatternNanos;
+        }
+
+        public int getAutomatonMatches() {
+            return automatonMatches;
+        }
+
+        public int getSinglePatternMatches() {
+            return singlePatternMatches;
+        }
+
+        /**
+         * @return Text characters per microsecond of the automaton, i.e. millions per second
+         */
+        public double getAutomatonCharsPerMicrosecond() {
+            return automatonNanos > 0 ? textLength * 1000.0 / automatonNanos : 0;
+        }
+
+        /**
+         * @return Text characters per microsecond of the KMP passes, counting the text once
+         */
+        public double getSinglePatternCharsPerMicrosecond() {
+            return singlePatternNanos > 0 ? textLength * 1000.0 / singlePatternNanos : 0;
+        }
+
+        /**
+         * @return How many times faster the automaton scans the text
+         */
+        public double getSpeedup() {
+            return automatonNanos > 0 ? singlePatternNanos / automatonNanos : 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d pattern(s) over %d chars: one automaton pass %.2f ms (%.0f M chars/s, %d matches), " +
+                                 "%d KMP passes %.2f ms (%.0f M chars/s, %d matches), %.1fx",
+                                 patternCount, textLength, automatonNanos / 1e6, getAutomatonCharsPerMicrosecond(),
+                                 automatonMatches, patternCount, singlePatternNanos / 1e6,
+                                 getSinglePatternCharsPerMicrosecond(), singlePatternMatches, getSpeedup());
+        }
+    }
+}
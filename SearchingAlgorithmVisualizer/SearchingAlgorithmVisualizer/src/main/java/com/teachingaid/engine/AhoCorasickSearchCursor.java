@@ -0,0 +1,74 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Aho-Corasick, walking the trie with failure links the way the automaton was
+ * defined rather than through its completed transitions.
+ * A COMPARE reads text[index] in a state: aux is the trie child taken on a match (comparison 0),
+ * or the current state when it has no edge for the character (comparison 1). A SHIFT follows the
+ * failure link of the current state: index is where the shortened candidate now starts in the
+ * text and aux is the failure state. Every occurrence is reported as a MATCH whose index is its
+ * start and aux the pattern. At the end of the text the search finishes as found at the start
+ * of the first occurrence reported, the one that ended first.
+ */
+public class AhoCorasickSearchCursor extends SearchCursor {
+
+    private final String text;
+    private final AhoCorasickAutomaton automaton;
+    private int textIndex = 0;
+    private int state = 0;
+    // Next state whose pattern is still to be reported for the character just read, -1 if none
+    private int output = -1;
+    private boolean failurePending = false;
+
+    public AhoCorasickSearchCursor(String text, AhoCorasickAutomaton automaton) {
+        this.text = text;
+        this.automaton = automaton;
+    }
+
+    @Override
+    protected void advance() {
+        if (output >= 0) {
+            int pattern = automaton.patternAt(output);
+            int start = textIndex - automaton.getPattern(pattern).length();
+            match(start, pattern);
+            output = automaton.outputLink(output);
+            return;
+        }
+        if (failurePending) {
+            failurePending = false;
+            state = automaton.failure(state);
+            emit(StepType.SHIFT, textIndex - automaton.depth(state), state, 0);
+            return;
+        }
+        if (textIndex >= text.length()) {
+            finishMatches();
+            return;
+        }
+
+        int child = automaton.trieChild(state, text.charAt(textIndex));
+        if (child >= 0) {
+            emit(StepType.COMPARE, textIndex, child, 0);
+            state = child;
+            textIndex++;
+            output = automaton.patternAt(state) >= 0 ? state : automaton.outputLink(state);
+        } else {
+            emit(StepType.COMPARE, textIndex, state, 1);
+            if (state == 0) {
+                textIndex++;
+            } else {
+                failurePending = true;
+            }
+        }
+    }
+
+    /**
+     * @return State the automaton is in
+     */
+    public int getState() {
+        return state;
+    }
+
+    public AhoCorasickAutomaton getAutomaton() {
+        return automaton;
+    }
+}
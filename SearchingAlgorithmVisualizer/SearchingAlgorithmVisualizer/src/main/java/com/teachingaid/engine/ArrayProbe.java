@@ -0,0 +1,252 @@
+package com.teachingaid.engine;
+
+import java.util.Comparator;
+
+/**
+ * Read-only view of a searched sequence together with the target being looked for.
+ * Cursors only ever ask how an element compares with the target, which keeps them
+ * independent of the element type and of where the elements are stored.
+ */
+public interface ArrayProbe {
+
+    int length();
+
+    /**
+     * @return Negative, zero or positive as element {@code index} is less than, equal to or greater than the target
+     */
+    int compareAt(int index);
+
+    /**
+     * Display text of an element, only used when rendering steps
+     */
+    String valueAt(int index);
+
+    /**
+     * Display text of the target, only used when rendering steps
+     */
+    String target();
+
+    /**
+     * Numeric value of an element, for searches that model or interpolate the key distribution.
+     * Exact for int, short and char elements; long elements above 2^53 are rounded.
+     */
+    double keyAt(int index);
+
+    /**
+     * Numeric value of the target, see {@link #keyAt(int)}
+     */
+    double targetKey();
+
+    static ArrayProbe of(int[] array, int target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Integer.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return array[index];
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    static ArrayProbe of(long[] array, long target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Long.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return array[index];
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    /**
+     * Elements are ordered as by {@link Double#compare}: -0.0 sorts before 0.0,
+     * and NaN sorts above positive infinity and is equal to itself
+     */
+    static ArrayProbe of(double[] array, double target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Double.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return array[index];
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    static ArrayProbe of(short[] array, short target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Short.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return array[index];
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    static ArrayProbe of(char[] array, char target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Character.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return array[index];
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    /**
+     * Elements are ordered by the comparator. Objects have no numeric key, so the searches
+     * that interpolate or model the key distribution cannot run on this probe:
+     * {@link #keyAt(int)} and {@link #targetKey()} throw UnsupportedOperationException.
+     */
+    static <T> ArrayProbe of(T[] array, T target, Comparator<? super T> comparator) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return comparator.compare(array[index], target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(array[index]);
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                throw new UnsupportedOperationException("Objects have no numeric key");
+            }
+
+            @Override
+            public double targetKey() {
+                throw new UnsupportedOperationException("Objects have no numeric key");
+            }
+        };
+    }
+}
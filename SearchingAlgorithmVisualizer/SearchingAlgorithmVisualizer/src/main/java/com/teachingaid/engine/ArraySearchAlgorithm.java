@@ -0,0 +1,50 @@
+package com.teachingaid.engine;
+
+/**
+ * A search algorithm over an indexed sequence of keys
+ */
+public interface ArraySearchAlgorithm extends SearchAlgorithm {
+
+    SearchCursor open(ArrayProbe probe);
+
+    /**
+     * @return true if every key and the target must be int values. Such an algorithm rejects
+     *         long and double arrays outright, and a probe whose elements are not all ints when
+     *         it is opened, both with an IllegalArgumentException.
+     */
+    default boolean requiresIntKeys() {
+        return false;
+    }
+
+    default SearchCursor open(int[] array, int target) {
+        return open(ArrayProbe.of(array, target));
+    }
+
+    /**
+     * @throws IllegalArgumentException If the algorithm {@link #requiresIntKeys() requires int keys}
+     */
+    default SearchCursor open(long[] array, long target) {
+        if (requiresIntKeys()) {
+            throw new IllegalArgumentException(getName() + " needs int keys, not long");
+        }
+        return open(ArrayProbe.of(array, target));
+    }
+
+    /**
+     * @throws IllegalArgumentException If the algorithm {@link #requiresIntKeys() requires int keys}
+     */
+    default SearchCursor open(double[] array, double target) {
+        if (requiresIntKeys()) {
+            throw new IllegalArgumentException(getName() + " needs int keys, not double");
+        }
+        return open(ArrayProbe.of(array, target));
+    }
+
+    default SearchCursor open(short[] array, short target) {
+        return open(ArrayProbe.of(array, target));
+    }
+
+    default SearchCursor open(char[] array, char target) {
+        return open(ArrayProbe.of(array, target));
+    }
+}
@@ -0,0 +1,145 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Cheap statistics of an int array for {@link SearchPlanner}: size, ascending runs and
+ * the value range from one pass, and the share of duplicates and how evenly the values
+ * are spread from a sorted sample of at most {@link #SAMPLE_SIZE} elements. A sorted array is
+ * sampled at evenly spaced positions, which are exact quantiles; an unsorted one at random.
+ */
+public final class ArrayStatistics {
+
+    /**
+     * Largest number of elements sampled; smaller arrays are sampled whole
+     */
+    public static final int SAMPLE_SIZE = 1024;
+
+    private final int size;
+    private final int runCount;
+    private final int min;
+    private final int max;
+    private final double duplicateRatio;
+    private final double nonUniformity;
+    private final double samplingError;
+
+    private ArrayStatistics(int size, int runCount, int min, int max, double duplicateRatio, double nonUniformity,
+                            double samplingError) {
+        this.size = size;
+        this.runCount = runCount;
+        this.min = min;
+        this.max = max;
+        this.duplicateRatio = duplicateRatio;
+        this.nonUniformity = nonUniformity;
+        this.samplingError = samplingError;
+    }
+
+    /**
+     * Gathers the statistics in one pass plus a sort of the sample
+     */
+    public static ArrayStatistics of(int[] array) {
+        int n = array.length;
+        if (n == 0) {
+            return new ArrayStatistics(0, 0, 0, 0, 0, 0, 0);
+        }
+        int runs = 1;
+        int min = array[0];
+        int max = array[0];
+        for (int i = 1; i < n; i++) {
+            int value = array[i];
+            if (value < array[i - 1]) {
+                runs++;
+            }
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        int[] sample;
+        double samplingError = 0;
+        if (n <= SAMPLE_SIZE) {
+            sample = array.clone();
+        } else if (runs == 1) {
+            sample = new int[SAMPLE_SIZE];
+            for (int k = 0; k < SAMPLE_SIZE; k++) {
+                sample[k] = array[(int) ((long) k * (n - 1) / (SAMPLE_SIZE - 1))];
+            }
+        } else {
+            sample = new int[SAMPLE_SIZE];
+            Random random = new Random(n);
+            for (int k = 0; k < SAMPLE_SIZE; k++) {
+                sample[k] = array[random.nextInt(n)];
+            }
+            // Kolmogorov-Smirnov bound at 95%: random samples of even values deviate up to this much
+            samplingError = 1.36 / Math.sqrt(SAMPLE_SIZE);
+        }
+        Arrays.sort(sample);
+        int duplicates = 0;
+        double deviation = 0;
+        double range = (double) max - min;
+        for (int k = 0; k < sample.length; k++) {
+            if (k > 0 && sample[k] == sample[k - 1]) {
+                duplicates++;
+            }
+            // Where the k-th sample value would be if the values were spread evenly over [min, max]
+            if (range > 0 && sample.length > 1) {
+                double expected = min + range * k / (sample.length - 1);
+                deviation = Math.max(deviation, Math.abs(sample[k] - expected) / range);
+            }
+        }
+        return new ArrayStatistics(n, runs, min, max, (double) duplicates / sample.length, deviation, samplingError);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Number of maximal ascending runs, 1 for a sorted array
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public boolean isSorted() {
+        return runCount <= 1;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return Share of the sampled elements equal to another sampled element, 0 when all are distinct
+     */
+    public double getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    /**
+     * @return Largest gap between a sampled quantile and where an even spread over [min, max]
+     *         would put it, as a fraction of the range: 0 for evenly spaced values, near 1 for heavy skew
+     */
+    public double getNonUniformity() {
+        return nonUniformity;
+    }
+
+    /**
+     * @return How much non-uniformity a random sample shows for evenly spread values, 0 when
+     *         the sample holds exact quantiles
+     */
+    public double getSamplingError() {
+        return samplingError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d element(s), %s, values %d..%d, %.0f%% duplicates, non-uniformity %.2f",
+                             size, isSorted() ? "sorted" : runCount + " ascending runs", min, max,
+                             duplicateRatio * 100, nonUniformity);
+    }
+}
@@ -0,0 +1,173 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last position of every character of a pattern, without boxing. When all pattern characters
+ * are below {@link #DENSE_LIMIT} the positions live in a dense int array indexed by the
+ * character; otherwise in a small open-addressing table of parallel char and int arrays, sized
+ * by the number of distinct characters rather than by the 65536 UTF-16 code units. Characters
+ * that are not in the pattern look up as -1 either way.
+ */
+public final class BadCharacterTable {
+
+    /**
+     * Patterns whose characters are all below this get a dense table of at most this many ints
+     */
+    public static final int DENSE_LIMIT = 256;
+
+    private static final int FIBONACCI = 0x9E3779B9;
+
+    // Dense layout, null when hashed
+    private final int[] dense;
+    // Hashed layout: a slot is empty when its position is -1
+    private final char[] keys;
+    private final int[] positions;
+    private final int mask;
+    private final int shift;
+    private final int size;
+
+    private BadCharacterTable(int[] dense, char[] keys, int[] positions, int size) {
+        this.dense = dense;
+        this.keys = keys;
+        this.positions = positions;
+        this.mask = positions == null ? 0 : positions.length - 1;
+        this.shift = positions == null ? 0 : 32 - Integer.numberOfTrailingZeros(positions.length);
+        this.size = size;
+    }
+
+    /**
+     * Builds the table over the whole pattern
+     */
+    public static BadCharacterTable of(String pattern) {
+        return of(pattern, pattern.length());
+    }
+
+    /**
+     * Builds the table over pattern[0..end), e.g. without the last character as Horspool's shift needs
+     */
+    public static BadCharacterTable of(String pattern, int end) {
+        if (end < 0 || end > pattern.length()) {
+            throw new IndexOutOfBoundsException("End " + end + " out of bounds for pattern of length " + pattern.length());
+        }
+        char max = 0;
+        for (int i = 0; i < end; i++) {
+            max = (char) Math.max(max, pattern.charAt(i));
+        }
+        if (max < DENSE_LIMIT) {
+            int[] dense = new int[end == 0 ? 0 : max + 1];
+            Arrays.fill(dense, -1);
+            int size = 0;
+            for (int i = 0; i < end; i++) {
+                if (dense[pattern.charAt(i)] < 0) {
+                    size++;
+                }
+                dense[pattern.charAt(i)] = i;
+            }
+            return new BadCharacterTable(dense, null, null, size);
+        }
+
+        // At most half full, so probes stay short
+        int capacity = 2;
+        while (capacity < 2 * end) {
+            capacity <<= 1;
+        }
+        char[] keys = new char[capacity];
+        int[] positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        BadCharacterTable table = new BadCharacterTable(null, keys, positions, 0);
+        int size = 0;
+        for (int i = 0; i < end; i++) {
+            char c = pattern.charAt(i);
+            int slot = table.homeSlot(c);
+            while (positions[slot] >= 0 && keys[slot] != c) {
+                slot = (slot + 1) & table.mask;
+            }
+            if (positions[slot] < 0) {
+                size++;
+            }
+            keys[slot] = c;
+            positions[slot] = i;
+        }
+        return new BadCharacterTable(null, keys, positions, size);
+    }
+
+    /**
+     * @return Last position of the character in the pattern, or -1 if it does not occur
+     */
+    public int lastIndexOf(char c) {
+        if (dense != null) {
+            return c < dense.length ? dense[c] : -1;
+        }
+        int slot = homeSlot(c);
+        while (true) {
+            int position = positions[slot];
+            if (position < 0 || keys[slot] == c) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int homeSlot(char c) {
+        return (c * FIBONACCI) >>> shift;
+    }
+
+    /**
+     * @return Whether the table is a dense array rather than a hash table
+     */
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    /**
+     * @return Number of distinct characters
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Approximate heap footprint of the table's arrays
+     */
+    public long getMemoryBytes() {
+        return dense != null ? 4L * dense.length : 6L * positions.length;
+    }
+
+    /**
+     * @return Every character with its last position, in order of position, for display
+     */
+    public Map<Character, Integer> toMap() {
+        int[] order = new int[size];
+        char[] chars = new char[size];
+        int count = 0;
+        if (dense != null) {
+            for (int c = 0; c < dense.length; c++) {
+                if (dense[c] >= 0) {
+                    order[count] = dense[c];
+                    chars[count++] = (char) c;
+                }
+            }
+        } else {
+            for (int slot = 0; slot < positions.length; slot++) {
+                if (positions[slot] >= 0) {
+                    order[count] = positions[slot];
+                    chars[count++] = keys[slot];
+                }
+            }
+        }
+        // Positions are distinct, so they sort the characters on their own
+        long[] packed = new long[count];
+        for (int k = 0; k < count; k++) {
+            packed[k] = (long) order[k] << 16 | chars[k];
+        }
+        Arrays.sort(packed);
+        Map<Character, Integer> map = new LinkedHashMap<>();
+        for (long entry : packed) {
+            map.put((char) entry, (int) (entry >>> 16));
+        }
+        return map;
+    }
+}
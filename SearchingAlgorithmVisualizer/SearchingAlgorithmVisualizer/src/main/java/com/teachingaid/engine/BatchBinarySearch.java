@@ -0,0 +1,201 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Looks up many targets in one sorted int array per call.
+ * Sorted targets are answered by a single forward sweep that gallops from the previous
+ * answer, so the array is read roughly once. Unsorted targets are searched in groups whose
+ * branch-free descents advance in lockstep; the loads of one group are independent, so the
+ * CPU overlaps their cache misses instead of waiting for each search in turn.
+ */
+public final class BatchBinarySearch {
+
+    /**
+     * Searches advanced together by the interleaved loop; enough to cover the
+     * memory latency without spilling the per-search state out of registers and L1
+     */
+    public static final int GROUP_SIZE = 16;
+
+    private BatchBinarySearch() {
+    }
+
+    /**
+     * Picks the sweep when the targets are ascending and the interleaved search otherwise
+     * @param sortedArray Keys in ascending order
+     * @param targets Values to look up
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void indexOf(int[] sortedArray, int[] targets, int[] results) {
+        lowerBound(sortedArray, targets, results);
+        toIndices(sortedArray, targets, results);
+    }
+
+    /**
+     * Batched lower bound, by sweep or interleaved search like {@link #indexOf}
+     * @param results Receives, for every target, the position of the first key not less than it
+     *                (the array length if there is none)
+     */
+    public static void lowerBound(int[] sortedArray, int[] targets, int[] results) {
+        bounds(sortedArray, targets, results, false);
+    }
+
+    /**
+     * Batched upper bound, by sweep or interleaved search like {@link #indexOf}
+     * @param results Receives, for every target, the position of the first key greater than it
+     *                (the array length if there is none)
+     */
+    public static void upperBound(int[] sortedArray, int[] targets, int[] results) {
+        bounds(sortedArray, targets, results, true);
+    }
+
+    private static void bounds(int[] sortedArray, int[] targets, int[] results, boolean upper) {
+        checkResults(targets, results);
+        if (isAscending(targets)) {
+            sweepBounds(sortedArray, targets, results, upper);
+        } else {
+            interleavedBounds(sortedArray, targets, results, upper);
+        }
+    }
+
+    /**
+     * Merge-style sweep for ascending targets: each lookup gallops forward from the
+     * previous answer, costing O(log d) for a distance d instead of O(log n)
+     * @param targets Values to look up, in ascending order
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void sweep(int[] sortedArray, int[] targets, int[] results) {
+        checkResults(targets, results);
+        sweepBounds(sortedArray, targets, results, false);
+        toIndices(sortedArray, targets, results);
+    }
+
+    private static void sweepBounds(int[] sortedArray, int[] targets, int[] results, boolean upper) {
+        int n = sortedArray.length;
+        int from = 0;
+        for (int t = 0; t < targets.length; t++) {
+            int target = targets[t];
+            if (t > 0 && target < targets[t - 1]) {
+                throw new IllegalArgumentException("Targets are not in ascending order at index " + t);
+            }
+            from = gallop(sortedArray, target, from, n, upper);
+            results[t] = from;
+        }
+    }
+
+    /**
+     * Interleaved search for targets in any order, {@link #GROUP_SIZE} at a time
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void interleaved(int[] sortedArray, int[] targets, int[] results) {
+        interleaved(sortedArray, targets, results, GROUP_SIZE);
+    }
+
+    /**
+     * Interleaved search for targets in any order, groupSize at a time
+     * @param groupSize Searches advanced together, from 1 to {@link InterleavedSearch#MAX_GROUP_SIZE}
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void interleaved(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        checkResults(targets, results);
+        InterleavedSearch.checkGroupSize(groupSize);
+        interleavedBounds(sortedArray, targets, results, false, groupSize);
+        toIndices(sortedArray, targets, results);
+    }
+
+    private static void interleavedBounds(int[] sortedArray, int[] targets, int[] results, boolean upper) {
+        interleavedBounds(sortedArray, targets, results, upper, GROUP_SIZE);
+    }
+
+    private static void interleavedBounds(int[] sortedArray, int[] targets, int[] results, boolean upper,
+                                          int groupSize) {
+        int n = sortedArray.length;
+        if (n == 0) {
+            Arrays.fill(results, 0, targets.length, 0);
+            return;
+        }
+        int[] base = new int[groupSize];
+        for (int start = 0; start < targets.length; start += groupSize) {
+            int count = Math.min(groupSize, targets.length - start);
+            Arrays.fill(base, 0, count, 0);
+            // Every search over the same length takes the same number of halvings,
+            // so one shared loop counter drives the whole group
+            for (int length = n; length > 1; ) {
+                int half = length >>> 1;
+                for (int j = 0; j < count; j++) {
+                    int b = base[j];
+                    base[j] = before(sortedArray[b + half - 1], targets[start + j], upper) ? b + half : b;
+                }
+                length -= half;
+            }
+            // The descent stops on the last candidate, which may itself still sort before the target
+            for (int j = 0; j < count; j++) {
+                int b = base[j];
+                results[start + j] = before(sortedArray[b], targets[start + j], upper) ? b + 1 : b;
+            }
+        }
+    }
+
+    /**
+     * First position in [from, n) whose key does not sort before the target, found by
+     * doubling the step from {@code from} and then bisecting the last step
+     * @param upper true to treat keys equal to the target as sorting before it (upper bound)
+     */
+    static int gallop(int[] sortedArray, int target, int from, int n, boolean upper) {
+        if (from >= n || !before(sortedArray[from], target, upper)) {
+            return from;
+        }
+        // Invariant: sortedArray[below] sorts before the target
+        int below = from;
+        int step = 1;
+        while (step < n - below && before(sortedArray[below + step], target, upper)) {
+            below += step;
+            step <<= 1;
+        }
+        int low = below + 1;
+        int high = step < n - below ? below + step : n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (before(sortedArray[mid], target, upper)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lower bounds ask for keys less than the target, upper bounds for keys less than or equal to it
+     */
+    private static boolean before(int key, int target, boolean upper) {
+        return upper ? key <= target : key < target;
+    }
+
+    /**
+     * Turns lower bounds into the index of the target, or -1 where the bound holds another key
+     */
+    static void toIndices(int[] sortedArray, int[] targets, int[] results) {
+        int n = sortedArray.length;
+        for (int t = 0; t < targets.length; t++) {
+            int position = results[t];
+            results[t] = position < n && sortedArray[position] == targets[t] ? position : -1;
+        }
+    }
+
+    private static boolean isAscending(int[] targets) {
+        for (int i = 1; i < targets.length; i++) {
+            if (targets[i] < targets[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void checkResults(int[] targets, int[] results) {
+        if (results.length < targets.length) {
+            throw new IllegalArgumentException("Results array holds " + results.length
+                                               + " entries but there are " + targets.length + " targets");
+        }
+    }
+}
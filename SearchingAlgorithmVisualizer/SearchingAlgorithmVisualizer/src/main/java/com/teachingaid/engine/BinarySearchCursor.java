@@ -0,0 +1,66 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for binary search.
+ * Emits NARROW_RANGE for every candidate range [low, high] followed by a COMPARE of its middle element.
+ */
+public class BinarySearchCursor extends SearchCursor {
+
+    protected final ArrayProbe probe;
+    protected int low;
+    protected int high;
+    private boolean rangePending = true;
+    private int match = -1;
+
+    public BinarySearchCursor(ArrayProbe probe) {
+        this(probe, 0, probe.length() - 1);
+    }
+
+    /**
+     * Restricts the search to the inclusive range [low, high]
+     */
+    public BinarySearchCursor(ArrayProbe probe, int low, int high) {
+        this.probe = probe;
+        this.low = low;
+        this.high = high;
+    }
+
+    @Override
+    protected void advance() {
+        if (match >= 0) {
+            found(match);
+            return;
+        }
+        if (rangePending) {
+            if (low > high) {
+                notFound();
+                return;
+            }
+            emit(StepType.NARROW_RANGE, low, high, 0);
+            rangePending = false;
+            return;
+        }
+
+        int mid = low + (high - low) / 2;
+        int comparison = probe.compareAt(mid);
+        emit(StepType.COMPARE, mid, -1, comparison);
+
+        if (comparison == 0) {
+            match = mid;
+        } else if (comparison > 0) {
+            high = mid - 1;
+            rangePending = true;
+        } else {
+            low = mid + 1;
+            rangePending = true;
+        }
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    public int getHigh() {
+        return high;
+    }
+}
@@ -0,0 +1,180 @@
+package com.teachingaid.engine;
+
+/**
+ * Blocked Bloom filter over int keys, used to turn away lookups for keys that are certainly
+ * absent before any search runs. Each key sets all of its bits inside a single 512-bit block,
+ * one cache line, so a query costs one cache miss however many hash functions are used.
+ * Because some blocks receive more keys than others, the filter is less accurate than a classic
+ * Bloom filter of the same size; it is sized with the false-positive rate of the blocked layout.
+ */
+public final class BlockedBloomFilter {
+
+    /**
+     * False-positive rate used when none is given
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / 64;
+    // Every bit position is the top 9 bits of the hash after one more multiplication, so each
+    // depends on all 64 bits of the hash rather than on a 9-bit slice of it
+    private static final long BIT_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final int BIT_SHIFT = 64 - 9;
+
+    private final long[] words;
+    private final int blockCount;
+    private final int hashCount;
+    private final double falsePositiveRate;
+    private int keyCount = 0;
+    private long filteredCount = 0;
+    private long passedCount = 0;
+
+    /**
+     * Creates an empty filter
+     * @param expectedKeys Number of keys that will be added
+     * @param falsePositiveRate Target probability that an absent key passes, in (0, 1)
+     */
+    public BlockedBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        // Start from the size a classic Bloom filter needs and grow until the blocks reach the rate too
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        while (expectedFalsePositiveRate(bitsPerKey, optimalHashCount(bitsPerKey)) > falsePositiveRate) {
+            bitsPerKey += 0.5;
+        }
+        long bits = (long) Math.ceil(Math.max(1, expectedKeys) * bitsPerKey);
+        this.blockCount = (int) Math.min(Integer.MAX_VALUE / BLOCK_WORDS, (bits + BLOCK_BITS - 1) / BLOCK_BITS);
+        this.words = new long[blockCount * BLOCK_WORDS];
+        this.hashCount = optimalHashCount(bitsPerKey);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    private static int optimalHashCount(double bitsPerKey) {
+        return (int) Math.max(1, Math.min(16, Math.round(bitsPerKey * Math.log(2))));
+    }
+
+    /**
+     * False-positive rate of a blocked filter: the number of keys in the block a query lands in
+     * is Poisson distributed, and that block behaves like a classic filter of 512 bits
+     * @param bitsPerKey Filter size divided by the number of keys
+     * @param hashCount Bits set per key
+     */
+    public static double expectedFalsePositiveRate(double bitsPerKey, int hashCount) {
+        double keysPerBlock = BLOCK_BITS / bitsPerKey;
+        double rate = 0;
+        // Poisson probability of i keys in the block, updated term by term
+        double probability = Math.exp(-keysPerBlock);
+        int limit = (int) (keysPerBlock + 10 * Math.sqrt(keysPerBlock) + 10);
+        for (int i = 0; i <= limit; i++) {
+            double bitSet = 1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double) hashCount * i);
+            rate += probability * Math.pow(bitSet, hashCount);
+            probability *= keysPerBlock / (i + 1);
+        }
+        return rate;
+    }
+
+    /**
+     * Builds a filter holding every value of an array
+     */
+    public static BlockedBloomFilter of(int[] keys, double falsePositiveRate) {
+        BlockedBloomFilter filter = new BlockedBloomFilter(keys.length, falsePositiveRate);
+        for (int key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    public void add(int key) {
+        long hash = mix(key);
+        int base = block(hash) * BLOCK_WORDS;
+        for (int i = 0; i < hashCount; i++) {
+            hash *= BIT_MULTIPLIER;
+            int bit = (int) (hash >>> BIT_SHIFT);
+            words[base + (bit >>> 6)] |= 1L << bit;
+        }
+        keyCount++;
+    }
+
+    /**
+     * @return false if the key was certainly never added; true if it may have been
+     */
+    public boolean mightContain(int key) {
+        long hash = mix(key);
+        int base = block(hash) * BLOCK_WORDS;
+        for (int i = 0; i < hashCount; i++) {
+            hash *= BIT_MULTIPLIER;
+            int bit = (int) (hash >>> BIT_SHIFT);
+            if ((words[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link #mightContain(int)} that also counts the query as filtered or passed through
+     */
+    public boolean screen(int key) {
+        if (mightContain(key)) {
+            passedCount++;
+            return true;
+        }
+        filteredCount++;
+        return false;
+    }
+
+    // Multiply-shift range reduction of the high bits
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blockCount) >>> 32);
+    }
+
+    private static long mix(int key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xD6E8FEB86659FD93L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * @return Queries screened out as certain misses
+     */
+    public long getFilteredCount() {
+        return filteredCount;
+    }
+
+    /**
+     * @return Queries let through to the search, including false positives
+     */
+    public long getPassedCount() {
+        return passedCount;
+    }
+
+    public void resetCounters() {
+        filteredCount = 0;
+        passedCount = 0;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * @return The false-positive rate the filter was sized for
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public double getBitsPerKey() {
+        return (double) words.length * 64 / Math.max(1, keyCount);
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,167 @@
+package com.teachingaid.engine;
+
+/**
+ * Lower-bound kernels of the sorted-array searches, and {@link SortedIntSearch} views that
+ * run them on an array without copying it. The views answer upper bounds, equal ranges
+ * and range counts from the same kernel; the binary view batches through
+ * {@link BatchBinarySearch} and the exponential view gallops on from the previous answer.
+ */
+public final class BoundSearch {
+
+    private BoundSearch() {
+    }
+
+    /**
+     * @return Position of the first key not less than the target, or the array length if there is none
+     */
+    public static int binaryLowerBound(int[] sortedArray, int target) {
+        return lowerBound(sortedArray, 0, sortedArray.length, target);
+    }
+
+    /**
+     * Exponential search for the lower bound: doubles the step from the front, then bisects the last step
+     * @return Position of the first key not less than the target, or the array length if there is none
+     */
+    public static int exponentialLowerBound(int[] sortedArray, int target) {
+        return BatchBinarySearch.gallop(sortedArray, target, 0, sortedArray.length, false);
+    }
+
+    /**
+     * Jump search for the lower bound: skips blocks of √n keys, then bisects the block
+     * @return Position of the first key not less than the target, or the array length if there is none
+     */
+    public static int jumpLowerBound(int[] sortedArray, int target) {
+        int n = sortedArray.length;
+        int step = Math.max(1, (int) Math.sqrt(n));
+        // Every key before low is less than the target
+        int low = 0;
+        while (step < n - low && sortedArray[low + step - 1] < target) {
+            low += step;
+        }
+        return lowerBound(sortedArray, low, low + Math.min(step, n - low), target);
+    }
+
+    /**
+     * Binary search for the lower bound within [from, to)
+     * @return Position of the first key in the range not less than the target, or to if there is none
+     */
+    static int lowerBound(int[] sortedArray, int from, int to, int target) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedArray[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param sortedArray Keys in ascending order; searched in place, not copied
+     */
+    public static SortedIntSearch binary(int[] sortedArray) {
+        return new ArrayView(sortedArray) {
+            @Override
+            public int lowerBound(int target) {
+                return binaryLowerBound(sortedArray, target);
+            }
+
+            @Override
+            public void lowerBound(int[] targets, int[] results) {
+                BatchBinarySearch.lowerBound(sortedArray, targets, results);
+            }
+
+            @Override
+            public void upperBound(int[] targets, int[] results) {
+                BatchBinarySearch.upperBound(sortedArray, targets, results);
+            }
+        };
+    }
+
+    /**
+     * @param sortedArray Keys in ascending order; searched in place, not copied
+     */
+    public static SortedIntSearch exponential(int[] sortedArray) {
+        return new ArrayView(sortedArray) {
+            @Override
+            public int lowerBound(int target) {
+                return exponentialLowerBound(sortedArray, target);
+            }
+
+            @Override
+            public void lowerBound(int[] targets, int[] results) {
+                gallopAll(sortedArray, targets, results, false);
+            }
+
+            @Override
+            public void upperBound(int[] targets, int[] results) {
+                gallopAll(sortedArray, targets, results, true);
+            }
+        };
+    }
+
+    /**
+     * @param sortedArray Keys in ascending order; searched in place, not copied
+     */
+    public static SortedIntSearch jump(int[] sortedArray) {
+        return new ArrayView(sortedArray) {
+            @Override
+            public int lowerBound(int target) {
+                return jumpLowerBound(sortedArray, target);
+            }
+        };
+    }
+
+    /**
+     * @param model Model trained on the same keys
+     * @param sortedArray Keys in ascending order; searched in place, not copied
+     */
+    public static SortedIntSearch learned(PiecewiseLinearModel model, int[] sortedArray) {
+        if (model.size() != sortedArray.length) {
+            throw new IllegalArgumentException("Model trained on " + model.size() + " keys, array holds " + sortedArray.length);
+        }
+        return new ArrayView(sortedArray) {
+            @Override
+            public int lowerBound(int target) {
+                return model.lowerBound(sortedArray, target);
+            }
+        };
+    }
+
+    /**
+     * Batched exponential search: a target not smaller than the one before gallops on from
+     * the previous answer, any other target starts again from the front
+     */
+    private static void gallopAll(int[] sortedArray, int[] targets, int[] results, boolean upper) {
+        if (results.length < targets.length) {
+            throw new IllegalArgumentException("Results array holds " + results.length
+                                               + " entries but there are " + targets.length + " targets");
+        }
+        int n = sortedArray.length;
+        int from = 0;
+        for (int t = 0; t < targets.length; t++) {
+            if (t > 0 && targets[t] < targets[t - 1]) {
+                from = 0;
+            }
+            from = BatchBinarySearch.gallop(sortedArray, targets[t], from, n, upper);
+            results[t] = from;
+        }
+    }
+
+    private abstract static class ArrayView implements SortedIntSearch {
+
+        final int[] sortedArray;
+
+        ArrayView(int[] sortedArray) {
+            this.sortedArray = sortedArray;
+        }
+
+        @Override
+        public int size() {
+            return sortedArray.length;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Boyer-Moore with the bad character and the good suffix rule.
+ * Characters are compared right to left; a SHIFT carries the new alignment and the skip distance,
+ * and {@link #getShiftRule()} tells which rule produced it. After a mismatch at pattern[j] the bad
+ * character rule moves the last occurrence of the text character left of j under it, the good
+ * suffix rule moves the rightmost other occurrence of the matched suffix, preceded by a different
+ * character, under it; the larger shift wins.
+ * When every occurrence is wanted, each one is reported as a MATCH. Overlapping occurrences are
+ * then found by moving the pattern by its period, and Galil's rule carries over that the first
+ * m - period characters are known to match, so they are not compared again.
+ */
+public class BoyerMooreSearchCursor extends SearchCursor {
+
+    /**
+     * Which rule decided a shift
+     */
+    public enum ShiftRule { BAD_CHARACTER, GOOD_SUFFIX, MATCH }
+
+    private final String text;
+    private final String pattern;
+    private final BadCharacterTable badCharTable;
+    private final int[] goodSuffixTable;
+    private final MatchMode mode;
+    private int position = 0;
+    private int patternIndex;
+    // Pattern positions below this one are known to match at the current alignment
+    private int verified = 0;
+    private int shift = 0;
+    private ShiftRule shiftRule;
+    private int badCharacterShift;
+    private int goodSuffixShift;
+
+    public BoyerMooreSearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public BoyerMooreSearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.badCharTable = BadCharacterTable.of(pattern);
+        this.goodSuffixTable = buildGoodSuffixTable(pattern);
+        this.mode = mode;
+        this.patternIndex = pattern.length() - 1;
+    }
+
+    @Override
+    protected void advance() {
+        if (patternIndex < verified) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(position);
+                return;
+            }
+            match(position, 0);
+            int period = goodSuffixTable[pattern.length()];
+            shiftRule = ShiftRule.MATCH;
+            shift = mode == MatchMode.OVERLAPPING ? period : pattern.length();
+            verified = mode == MatchMode.OVERLAPPING ? pattern.length() - period : 0;
+            position += shift;
+            patternIndex = pattern.length() - 1;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, position, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (position + pattern.length() > text.length()) {
+            finishMatches();
+            return;
+        }
+
+        int textIndex = position + patternIndex;
+        char c = text.charAt(textIndex);
+        boolean match = c == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            patternIndex--;
+        } else {
+            badCharacterShift = patternIndex - badCharTable.lastIndexOf(c);
+            goodSuffixShift = goodSuffixTable[patternIndex];
+            // Ties go to the bad character rule, the one that needs no matched suffix
+            shiftRule = badCharacterShift >= goodSuffixShift ? ShiftRule.BAD_CHARACTER : ShiftRule.GOOD_SUFFIX;
+            shift = Math.max(badCharacterShift, goodSuffixShift);
+            position += shift;
+            patternIndex = pattern.length() - 1;
+            verified = 0;
+        }
+    }
+
+    /**
+     * @return Rule that produced the latest shift, MATCH for a shift after an occurrence,
+     *         null before the first one
+     */
+    public ShiftRule getShiftRule() {
+        return shiftRule;
+    }
+
+    /**
+     * @return Shift the bad character rule proposed at the latest mismatch; 0 or less when the
+     *         character's last occurrence lies right of the mismatch
+     */
+    public int getBadCharacterShift() {
+        return badCharacterShift;
+    }
+
+    /**
+     * @return Shift the good suffix rule proposed at the latest mismatch
+     */
+    public int getGoodSuffixShift() {
+        return goodSuffixShift;
+    }
+
+    public BadCharacterTable getBadCharacterTable() {
+        return badCharTable;
+    }
+
+    public int[] getGoodSuffixTable() {
+        return goodSuffixTable.clone();
+    }
+
+    /**
+     * @return Pattern positions below this one are not compared at the current alignment,
+     *         since Galil's rule knows they match
+     */
+    public int getVerified() {
+        return verified;
+    }
+
+    /**
+     * Builds the (strong) good suffix table in O(m) from the borders of the pattern's suffixes
+     * @return m + 1 shifts: entry j for a mismatch at pattern[j] once pattern[j+1..m-1] matched,
+     *         entry m for a full match, which is the period of the pattern
+     */
+    public static int[] buildGoodSuffixTable(String pattern) {
+        int m = pattern.length();
+        // shift[j] and border[j] are for the suffix pattern[j..m-1]
+        int[] shift = new int[m + 1];
+        int[] border = new int[m + 1];
+        int i = m;
+        int j = m + 1;
+        border[i] = j;
+        while (i > 0) {
+            while (j <= m && pattern.charAt(i - 1) != pattern.charAt(j - 1)) {
+                if (shift[j] == 0) {
+                    shift[j] = j - i;
+                }
+                j = border[j];
+            }
+            i--;
+            j--;
+            border[i] = j;
+        }
+        // Suffixes without another occurrence shift to the widest border of the pattern that fits
+        j = border[0];
+        for (i = 0; i <= m; i++) {
+            if (shift[i] == 0) {
+                shift[i] = j;
+            }
+            if (i == j) {
+                j = border[j];
+            }
+        }
+
+        int[] table = new int[m + 1];
+        System.arraycopy(shift, 1, table, 0, m);
+        table[m] = shift[0];
+        return table;
+    }
+}
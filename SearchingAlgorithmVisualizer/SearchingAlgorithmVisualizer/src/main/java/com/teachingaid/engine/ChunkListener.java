@@ -0,0 +1,20 @@
+package com.teachingaid.engine;
+
+/**
+ * Receives the progress of a chunked parallel search.
+ * Called from the worker threads, so implementations must be thread-safe.
+ */
+public interface ChunkListener {
+
+    /**
+     * A worker finished scanning the elements in [from, to)
+     * @param worker Pool index of the worker thread, or -1 when the caller ran the chunk itself
+     * @param match Index of the first match in the chunk, or -1
+     */
+    void onChunkScanned(int worker, int from, int to, int match);
+
+    /**
+     * The elements in [from, to) were never scanned because a match was already known to their left
+     */
+    void onChunkCancelled(int from, int to);
+}
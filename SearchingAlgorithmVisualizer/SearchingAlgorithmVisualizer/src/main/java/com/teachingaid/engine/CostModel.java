@@ -0,0 +1,211 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Per-machine cost constants of the basic operations {@link SearchPlanner} builds its
+ * estimates from, in nanoseconds. {@link #calibrated()} measures them once on this machine
+ * with small benchmarks on {@link #CALIBRATION_SIZE} random keys: 1 MB, more than the
+ * first-level caches hold, and small enough that calibrating takes well under a second.
+ */
+public final class CostModel {
+
+    /**
+     * Number of keys the calibration runs on
+     */
+    public static final int CALIBRATION_SIZE = 1 << 18;
+
+    /**
+     * Typical values of a desktop machine, for callers that cannot spend time calibrating
+     */
+    public static final CostModel DEFAULTS = new CostModel(0.3, 0.08, 12, 5, 3, 6, 12, 25, 1.2);
+
+    private static CostModel calibrated;
+
+    private final double scanPerElement;
+    private final double parallelScanPerElement;
+    private final double probe;
+    private final double eytzingerProbe;
+    private final double layoutPerElement;
+    private final double sortPerComparison;
+    private final double hashBuildPerElement;
+    private final double hashLookup;
+    private final double crackPerElement;
+
+    /**
+     * @param scanPerElement Sequential scan, per element read
+     * @param parallelScanPerElement Fork/join scan of a large array, per element
+     * @param probe One step of a binary search: a random read and a branch
+     * @param eytzingerProbe One level of an Eytzinger descent
+     * @param layoutPerElement Laying sorted keys out in Eytzinger order, per element
+     * @param sortPerComparison Sorting, per n log2 n
+     * @param hashBuildPerElement Building a hash index, per element
+     * @param hashLookup One hash index lookup
+     * @param crackPerElement Cracking, per element partitioned
+     */
+    public CostModel(double scanPerElement, double parallelScanPerElement, double probe, double eytzingerProbe,
+                     double layoutPerElement, double sortPerComparison, double hashBuildPerElement, double hashLookup, double crackPerElement) {
+        this.scanPerElement = scanPerElement;
+        this.parallelScanPerElement = parallelScanPerElement;
+        this.probe = probe;
+        this.eytzingerProbe = eytzingerProbe;
+        this.layoutPerElement = layoutPerElement;
+        this.sortPerComparison = sortPerComparison;
+        this.hashBuildPerElement = hashBuildPerElement;
+        this.hashLookup = hashLookup;
+        this.crackPerElement = crackPerElement;
+    }
+
+    /**
+     * @return Constants measured on this machine; the first call runs the calibration on the
+     *         calling thread, which takes up to a second, so call it off the JavaFX thread
+     */
+    public static synchronized CostModel calibrated() {
+        if (calibrated == null) {
+            calibrated = calibrate(CALIBRATION_SIZE);
+        }
+        return calibrated;
+    }
+
+    /**
+     * Measures every constant on random keys; the fastest of three rounds is kept
+     * @param size Number of keys, at least 1024
+     */
+    public static CostModel calibrate(int size) {
+        int n = Math.max(1024, size);
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int lookups = 1 << 14;
+        int[] targets = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            targets[i] = keys[random.nextInt(n)];
+        }
+        double log2n = Math.log(n) / Math.log(2);
+        int scans = 8;
+        int rounds = MicroTimer.DEFAULT_ROUNDS;
+
+        double scanNanos = MicroTimer.bestOf(rounds, () -> {
+            long sum = 0;
+            for (int s = 0; s < scans; s++) {
+                // A missing key makes every scan read the whole array
+                sum += scan(keys, ~keys[0]);
+            }
+            return sum;
+        });
+        double parallelScanNanos = MicroTimer.bestOf(rounds, () -> {
+            long sum = 0;
+            for (int s = 0; s < scans; s++) {
+                sum += ForkJoinLinearSearch.indexOf(keys, ~keys[0]);
+            }
+            return sum;
+        });
+        double searchNanos = MicroTimer.bestOf(rounds, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += Arrays.binarySearch(sorted, target);
+            }
+            return sum;
+        });
+        double layoutNanos = MicroTimer.bestOf(rounds, () -> new EytzingerIndex(sorted).size());
+        EytzingerIndex eytzinger = new EytzingerIndex(sorted);
+        double descendNanos = MicroTimer.bestOf(rounds, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += eytzinger.indexOf(target);
+            }
+            return sum;
+        });
+        double sortNanos = MicroTimer.bestOf(rounds, keys::clone, copy -> {
+            Arrays.sort(copy);
+            return copy[0];
+        });
+        double hashBuildNanos = MicroTimer.bestOf(rounds, () -> IntHashIndex.build(keys).size());
+        IntHashIndex hash = IntHashIndex.build(keys);
+        double hashLookupNanos = MicroTimer.bestOf(rounds, () -> {
+            long sum = 0;
+            for (int target : targets) {
+                sum += hash.indexOf(target);
+            }
+            return sum;
+        });
+        // Every round cracks a fresh index; its constructor copies the keys and is not timed
+        double crackNanos = MicroTimer.bestOf(rounds, () -> new CrackerIndex(keys), cracker -> crack(cracker, targets));
+        CrackerIndex counted = new CrackerIndex(keys);
+        crack(counted, targets);
+
+        return new CostModel(scanNanos / scans / n, parallelScanNanos / scans / n,
+                             searchNanos / (lookups * log2n), descendNanos / (lookups * log2n),
+                             layoutNanos / n, sortNanos / (n * log2n), hashBuildNanos / n,
+                             hashLookupNanos / lookups, crackNanos / counted.getTouchedCount());
+    }
+
+    // The first queries on a fresh cracker index, which crack the most
+    private static long crack(CrackerIndex cracker, int[] targets) {
+        long sum = 0;
+        for (int q = 0; q < 64; q++) {
+            sum += cracker.indexOf(targets[q]);
+        }
+        return sum;
+    }
+
+    // The scalar loop Linear Search runs
+    private static int scan(int[] array, int target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getScanPerElement() {
+        return scanPerElement;
+    }
+
+    public double getParallelScanPerElement() {
+        return parallelScanPerElement;
+    }
+
+    public double getProbe() {
+        return probe;
+    }
+
+    public double getEytzingerProbe() {
+        return eytzingerProbe;
+    }
+
+    public double getLayoutPerElement() {
+        return layoutPerElement;
+    }
+
+    public double getSortPerComparison() {
+        return sortPerComparison;
+    }
+
+    public double getHashBuildPerElement() {
+        return hashBuildPerElement;
+    }
+
+    public double getHashLookup() {
+        return hashLookup;
+    }
+
+    public double getCrackPerElement() {
+        return crackPerElement;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("scan %.2f ns/element (parallel %.2f), binary probe %.1f ns, Eytzinger probe %.1f ns, " +
+                             "layout %.1f ns/element, sort %.1f ns per n log n, hash build %.1f ns/element, " +
+                             "hash lookup %.1f ns, crack %.2f ns/element",
+                             scanPerElement, parallelScanPerElement, probe, eytzingerProbe, layoutPerElement,
+                             sortPerComparison, hashBuildPerElement, hashLookup, crackPerElement);
+    }
+}
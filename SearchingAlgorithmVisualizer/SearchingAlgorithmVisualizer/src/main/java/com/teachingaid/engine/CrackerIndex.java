@@ -0,0 +1,191 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Adaptive index built as a side effect of the lookups themselves (database cracking).
+ * The keys are copied into a column that no query ever sorts. A lookup for x only partitions
+ * the piece of the column that can hold x, into the keys below x, the keys equal to x and the
+ * keys above, and remembers the two new piece boundaries. The first lookup scans the whole
+ * column like a linear search; every later one only touches the piece its key falls into,
+ * so the pieces, and the cost of a lookup, shrink as the queries come in.
+ */
+public final class CrackerIndex {
+
+    private final int[] column;
+    // Position in the source array of the key at each column position
+    private final int[] rows;
+    // Boundary k: positions before boundaryPositions[k] hold keys below boundaryKeys[k], the
+    // rest hold keys at or above it. Keys are long so that x + 1 never overflows.
+    private long[] boundaryKeys = new long[16];
+    private int[] boundaryPositions = new int[16];
+    private int boundaryCount = 0;
+    private int queryCount = 0;
+    private long touchedCount = 0;
+
+    /**
+     * @param array The keys, in any order; they are copied
+     */
+    public CrackerIndex(int[] array) {
+        this.column = array.clone();
+        this.rows = new int[array.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+    }
+
+    /**
+     * Looks up a key, cracking the column around it on the way
+     * @return Position in the source array of one occurrence of the key, or -1 if it is absent
+     */
+    public int indexOf(int key) {
+        queryCount++;
+        int from = crack(key);
+        int to = crack(key + 1L);
+        return from < to ? rows[from] : -1;
+    }
+
+    /**
+     * Partitions the piece holding the key, unless a boundary for it already exists
+     * @return Column position of the first key not below the given one
+     */
+    public int crack(long key) {
+        int boundary = findBoundary(key);
+        if (boundary >= 0) {
+            return boundaryPositions[boundary];
+        }
+        if (key > Integer.MAX_VALUE) {
+            return column.length;
+        }
+        if (key <= Integer.MIN_VALUE) {
+            return 0;
+        }
+        int insertAt = -boundary - 1;
+        int from = pieceStart(insertAt);
+        int to = pieceEnd(insertAt);
+        touchedCount += to - from;
+
+        // Two pointers close in from both ends of the piece, swapping keys on the wrong side
+        int i = from;
+        int j = to - 1;
+        while (i <= j) {
+            if (column[i] < key) {
+                i++;
+            } else if (column[j] >= key) {
+                j--;
+            } else {
+                swap(i, j);
+                i++;
+                j--;
+            }
+        }
+        insertBoundary(insertAt, key, i);
+        return i;
+    }
+
+    /**
+     * @return Index of the boundary for the key, or -(insertion point) - 1 if there is none
+     */
+    int findBoundary(long key) {
+        return Arrays.binarySearch(boundaryKeys, 0, boundaryCount, key);
+    }
+
+    // First position of the piece between boundaries insertAt - 1 and insertAt
+    int pieceStart(int insertAt) {
+        return insertAt == 0 ? 0 : boundaryPositions[insertAt - 1];
+    }
+
+    // Position just past that piece
+    int pieceEnd(int insertAt) {
+        return insertAt == boundaryCount ? column.length : boundaryPositions[insertAt];
+    }
+
+    void insertBoundary(int insertAt, long key, int position) {
+        if (boundaryCount == boundaryKeys.length) {
+            boundaryKeys = Arrays.copyOf(boundaryKeys, boundaryCount * 2);
+            boundaryPositions = Arrays.copyOf(boundaryPositions, boundaryCount * 2);
+        }
+        System.arraycopy(boundaryKeys, insertAt, boundaryKeys, insertAt + 1, boundaryCount - insertAt);
+        System.arraycopy(boundaryPositions, insertAt, boundaryPositions, insertAt + 1, boundaryCount - insertAt);
+        boundaryKeys[insertAt] = key;
+        boundaryPositions[insertAt] = position;
+        boundaryCount++;
+    }
+
+    void swap(int i, int j) {
+        int key = column[i];
+        column[i] = column[j];
+        column[j] = key;
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+
+    // Lookups driven step by step from a cursor account for their own work
+    void recordQuery(long touched) {
+        queryCount++;
+        touchedCount += touched;
+    }
+
+    public int size() {
+        return column.length;
+    }
+
+    /**
+     * @return Key at a position of the cracked column
+     */
+    public int keyAt(int position) {
+        return column[position];
+    }
+
+    /**
+     * @return Position in the source array of the key at a position of the cracked column
+     */
+    public int rowAt(int position) {
+        return rows[position];
+    }
+
+    /**
+     * @return The column in its current, partly partitioned order
+     */
+    public int[] toArray() {
+        return column.clone();
+    }
+
+    /**
+     * @return Column positions where a piece starts, ascending and without the leading 0;
+     *         a position shared by several boundaries appears once
+     */
+    public int[] pieceBoundaries() {
+        int[] positions = new int[boundaryCount];
+        int count = 0;
+        for (int k = 0; k < boundaryCount; k++) {
+            int position = boundaryPositions[k];
+            if (position > 0 && position < column.length && (count == 0 || positions[count - 1] != position)) {
+                positions[count++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * @return Number of non-empty pieces the column is split into
+     */
+    public int pieceCount() {
+        return column.length == 0 ? 0 : pieceBoundaries().length + 1;
+    }
+
+    /**
+     * @return Lookups answered so far
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * @return Keys read by all partitioning so far, the cost a linear scan would count as comparisons
+     */
+    public long getTouchedCount() {
+        return touchedCount;
+    }
+}
@@ -0,0 +1,188 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for a lookup in a {@link CrackerIndex}. The lookup cracks the column twice, at
+ * the target and just above it. Each crack that is not already a piece boundary is reported
+ * as a NARROW_RANGE of the piece being partitioned, then one COMPARE per key of that piece
+ * (index is the key's position in the source array, aux its position in the column) and a
+ * SWAP for every pair of keys exchanged (index and aux are column positions).
+ * The lookup is found when the keys equal to the target form a non-empty piece.
+ * Keys are ints: {@link SearchAlgorithms#CRACKING} refuses long and double arrays, and a probe
+ * is only accepted when all its elements and the target are int values.
+ */
+public class CrackingSearchCursor extends SearchCursor {
+
+    private final CrackerIndex index;
+    private final int target;
+    private long crackKey;
+    private boolean partitioning = false;
+    private int insertAt;
+    private int from;
+    private int i;
+    private int j;
+    private boolean leftStuck = false;
+    private boolean swapPending = false;
+    private int firstPosition = -1;
+    private int endPosition = -1;
+    private long touched = 0;
+
+    /**
+     * Looks up the probe's target in a fresh index, i.e. the first query on the array
+     * @throws IllegalArgumentException If an element or the target is not an int
+     */
+    public CrackingSearchCursor(ArrayProbe probe) {
+        this(new CrackerIndex(intKeys(probe)), intKey(probe.targetKey(), probe.target()));
+    }
+
+    /**
+     * Looks up a target in an index that earlier lookups may already have cracked
+     */
+    public CrackingSearchCursor(CrackerIndex index, int target) {
+        this.index = index;
+        this.target = target;
+        this.crackKey = target;
+    }
+
+    private static int[] intKeys(ArrayProbe probe) {
+        int[] keys = new int[probe.length()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = intKey(probe.keyAt(k), probe.valueAt(k));
+        }
+        return keys;
+    }
+
+    private static int intKey(double key, String text) {
+        int value = (int) key;
+        if (value != key) {
+            throw new IllegalArgumentException("Cracking needs int keys, got " + text);
+        }
+        return value;
+    }
+
+    @Override
+    protected void advance() {
+        while (true) {
+            if (!partitioning) {
+                if (crackKey > target + 1L) {
+                    finish();
+                    return;
+                }
+                if (startCrack()) {
+                    return;
+                }
+            } else if (i > j) {
+                index.insertBoundary(insertAt, crackKey, i);
+                completeCrack(i);
+            } else if (swapPending) {
+                index.swap(i, j);
+                emit(StepType.SWAP, i, j, 0);
+                i++;
+                j--;
+                swapPending = false;
+                return;
+            } else if (!leftStuck) {
+                int key = index.keyAt(i);
+                emit(StepType.COMPARE, index.rowAt(i), i, Integer.compare(key, target));
+                if (key < crackKey) {
+                    i++;
+                } else {
+                    leftStuck = true;
+                }
+                return;
+            } else if (j == i) {
+                // The key at i was already found to belong on the right
+                j--;
+            } else {
+                int key = index.keyAt(j);
+                emit(StepType.COMPARE, index.rowAt(j), j, Integer.compare(key, target));
+                if (key >= crackKey) {
+                    j--;
+                } else {
+                    swapPending = true;
+                    leftStuck = false;
+                }
+                return;
+            }
+        }
+    }
+
+    // Emits the piece to partition and returns true, or returns false if no partitioning is needed
+    private boolean startCrack() {
+        int boundary = index.findBoundary(crackKey);
+        if (boundary >= 0 || crackKey > Integer.MAX_VALUE || crackKey <= Integer.MIN_VALUE) {
+            // Nothing to partition: crack only reads the position off
+            completeCrack(index.crack(crackKey));
+            return false;
+        }
+        insertAt = -boundary - 1;
+        from = index.pieceStart(insertAt);
+        int to = index.pieceEnd(insertAt);
+        if (from == to) {
+            index.insertBoundary(insertAt, crackKey, from);
+            completeCrack(from);
+            return false;
+        }
+        touched += to - from;
+        i = from;
+        j = to - 1;
+        leftStuck = false;
+        swapPending = false;
+        partitioning = true;
+        emit(StepType.NARROW_RANGE, from, to - 1, 0);
+        return true;
+    }
+
+    private void completeCrack(int position) {
+        partitioning = false;
+        if (crackKey == target) {
+            firstPosition = position;
+        } else {
+            endPosition = position;
+        }
+        crackKey++;
+    }
+
+    private void finish() {
+        index.recordQuery(touched);
+        if (firstPosition < endPosition) {
+            found(index.rowAt(firstPosition));
+        } else {
+            notFound();
+        }
+    }
+
+    /**
+     * @return The index being cracked
+     */
+    public CrackerIndex getCrackerIndex() {
+        return index;
+    }
+
+    /**
+     * @return Column position of the first key not below the target, once the first crack is done
+     */
+    public int getFirstPosition() {
+        return firstPosition;
+    }
+
+    /**
+     * @return Column position just past the keys equal to the target, once both cracks are done
+     */
+    public int getEndPosition() {
+        return endPosition;
+    }
+
+    /**
+     * @return Column position of the piece being partitioned, or of the last one
+     */
+    public int getPieceStart() {
+        return from;
+    }
+
+    /**
+     * @return Keys this lookup has had to read so far
+     */
+    public long getTouchedCount() {
+        return touched;
+    }
+}
@@ -0,0 +1,342 @@
+package com.teachingaid.engine;
+
+/**
+ * Sorted int keys compressed with Elias-Fano coding, searchable without decompressing.
+ * Each key, taken relative to the smallest one, is split into l low bits, stored packed, and
+ * the remaining high bits, stored in unary: key i sets bit (high + i) of the upper bit vector.
+ * With l = floor(log2(range / n)) that takes at most 2 + l bits per key instead of 32.
+ * Every 256th one and every 256th zero of the upper bits is sampled, so {@link #get(int)} and
+ * {@link #successor(int)} jump close to their answer and only scan a few words from there.
+ */
+public final class EliasFanoIntArray implements SortedIntSearch {
+
+    private static final int SAMPLE_RATE = 256;
+
+    private final int size;
+    private final long min;
+    private final long max;
+    private final int lowBits;
+    private final long lowMask;
+    private final long[] lower;
+    private final long[] upper;
+    // Position in upper of one number k * SAMPLE_RATE, and of zero number k * SAMPLE_RATE
+    private final long[] oneSamples;
+    private final long[] zeroSamples;
+
+    /**
+     * Compresses sorted keys in O(n)
+     * @param sortedArray Keys in ascending order; the array is not kept
+     * @throws IllegalArgumentException If the keys are not sorted
+     */
+    public EliasFanoIntArray(int[] sortedArray) {
+        int n = sortedArray.length;
+        this.size = n;
+        this.min = n == 0 ? 0 : sortedArray[0];
+        this.max = n == 0 ? -1 : sortedArray[n - 1];
+        long range = max - min + 1;
+        this.lowBits = n == 0 || range <= n ? 0 : 63 - Long.numberOfLeadingZeros(range / n);
+        this.lowMask = (1L << lowBits) - 1;
+        this.lower = new long[(int) (((long) n * lowBits + 63) >>> 6)];
+        long zeros = n == 0 ? 0 : ((max - min) >>> lowBits) + 1;
+        long upperBits = n + zeros;
+        this.upper = new long[(int) ((upperBits + 63) >>> 6)];
+
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && sortedArray[i] < sortedArray[i - 1]) {
+                throw new IllegalArgumentException("Keys must be sorted; index " + i + " is smaller than the one before");
+            }
+            long value = sortedArray[i] - min;
+            setLower(i, value & lowMask);
+            long position = (value >>> lowBits) + i;
+            upper[(int) (position >>> 6)] |= 1L << position;
+        }
+
+        this.oneSamples = new long[(n + SAMPLE_RATE - 1) / SAMPLE_RATE];
+        this.zeroSamples = new long[(int) ((zeros + SAMPLE_RATE - 1) / SAMPLE_RATE)];
+        long ones = 0;
+        long zeroCount = 0;
+        for (long position = 0; position < upperBits; position++) {
+            if ((upper[(int) (position >>> 6)] & (1L << position)) != 0) {
+                if (ones % SAMPLE_RATE == 0) {
+                    oneSamples[(int) (ones / SAMPLE_RATE)] = position;
+                }
+                ones++;
+            } else {
+                if (zeroCount % SAMPLE_RATE == 0) {
+                    zeroSamples[(int) (zeroCount / SAMPLE_RATE)] = position;
+                }
+                zeroCount++;
+            }
+        }
+    }
+
+    private void setLower(int index, long bits) {
+        if (lowBits == 0) {
+            return;
+        }
+        long offset = (long) index * lowBits;
+        int word = (int) (offset >>> 6);
+        int shift = (int) (offset & 63);
+        lower[word] |= bits << shift;
+        if (shift + lowBits > 64) {
+            lower[word + 1] |= bits >>> (64 - shift);
+        }
+    }
+
+    private long getLower(int index) {
+        if (lowBits == 0) {
+            return 0;
+        }
+        long offset = (long) index * lowBits;
+        int word = (int) (offset >>> 6);
+        int shift = (int) (offset & 63);
+        long bits = lower[word] >>> shift;
+        if (shift + lowBits > 64) {
+            bits |= lower[word + 1] << (64 - shift);
+        }
+        return bits & lowMask;
+    }
+
+    /**
+     * @return Position in the upper bits of one number k (0-based)
+     */
+    private long selectOne(long k) {
+        long position = oneSamples[(int) (k / SAMPLE_RATE)];
+        long remaining = k % SAMPLE_RATE;
+        int word = (int) (position >>> 6);
+        // Ignore the bits before the sampled one
+        long bits = upper[word] & (-1L << position);
+        while (true) {
+            int count = Long.bitCount(bits);
+            if (remaining < count) {
+                return ((long) word << 6) + selectInWord(bits, (int) remaining);
+            }
+            remaining -= count;
+            bits = upper[++word];
+        }
+    }
+
+    /**
+     * @return Position in the upper bits of zero number k (0-based)
+     */
+    private long selectZero(long k) {
+        long position = zeroSamples[(int) (k / SAMPLE_RATE)];
+        long remaining = k % SAMPLE_RATE;
+        int word = (int) (position >>> 6);
+        long bits = ~upper[word] & (-1L << position);
+        while (true) {
+            int count = Long.bitCount(bits);
+            if (remaining < count) {
+                return ((long) word << 6) + selectInWord(bits, (int) remaining);
+            }
+            remaining -= count;
+            bits = ~upper[++word];
+        }
+    }
+
+    // Position of the r-th set bit of a word
+    private static int selectInWord(long bits, int r) {
+        for (int i = 0; i < r; i++) {
+            bits &= bits - 1;
+        }
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    private boolean upperBit(long position) {
+        return (upper[(int) (position >>> 6)] & (1L << position)) != 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Key at a sorted position, decoded from its high and low bits
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        long high = selectOne(index) - index;
+        return (int) (((high << lowBits) | getLower(index)) + min);
+    }
+
+    /**
+     * Finds the smallest key not less than x: the high bits of x pick a bucket of the upper bits
+     * in one select, then only the keys of that bucket are compared
+     * @return Position of that key (read it with {@link #get(int)}), or size() if every key is smaller
+     */
+    public int successor(int x) {
+        if (size == 0 || x <= min) {
+            return 0;
+        }
+        if (x > max) {
+            return size;
+        }
+        long value = x - min;
+        long high = value >>> lowBits;
+        long low = value & lowMask;
+        // Keys with smaller high bits all come before the zero that closes bucket high - 1
+        long position = high == 0 ? 0 : selectZero(high - 1) + 1;
+        int index = (int) (position - high);
+        while (upperBit(position)) {
+            if (getLower(index) >= low) {
+                return index;
+            }
+            position++;
+            index++;
+        }
+        // Bucket exhausted: the next key has larger high bits
+        return index;
+    }
+
+    @Override
+    public int lowerBound(int target) {
+        return successor(target);
+    }
+
+    public boolean contains(int x) {
+        int index = successor(x);
+        return index < size && get(index) == x;
+    }
+
+    /**
+     * @return Position of the first occurrence of x, or -1 if it is absent
+     */
+    public int indexOf(int x) {
+        int index = successor(x);
+        return index < size && get(index) == x ? index : -1;
+    }
+
+    /**
+     * Binary search that decodes every probed key from the compressed bits
+     * @return The index of the target element, or -1 if not found
+     */
+    public int binarySearch(int target) {
+        int left = 0;
+        int right = size - 1;
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int value = get(mid);
+            if (value == target) {
+                return mid;
+            }
+            if (value < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Exponential search that decodes every probed key from the compressed bits
+     * @return The index of the target element, or -1 if not found
+     */
+    public int exponentialSearch(int target) {
+        if (size == 0) {
+            return -1;
+        }
+        if (get(0) == target) {
+            return 0;
+        }
+        int bound = 1;
+        while (bound < size && get(bound) <= target) {
+            bound = bound >= size / 2 ? size : bound * 2;
+        }
+        int left = bound / 2;
+        int right = Math.min(bound, size - 1);
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int value = get(mid);
+            if (value == target) {
+                return mid;
+            }
+            if (value < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * View of the compressed keys for the step engines; each comparison decodes one key
+     */
+    public ArrayProbe probe(int target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return size;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return Integer.compare(get(index), target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return String.valueOf(get(index));
+            }
+
+            @Override
+            public String target() {
+                return String.valueOf(target);
+            }
+
+            @Override
+            public double keyAt(int index) {
+                return get(index);
+            }
+
+            @Override
+            public double targetKey() {
+                return target;
+            }
+        };
+    }
+
+    /**
+     * @return All keys, decompressed
+     */
+    public int[] toArray() {
+        int[] keys = new int[size];
+        int index = 0;
+        for (int word = 0; word < upper.length && index < size; word++) {
+            long bits = upper[word];
+            while (bits != 0) {
+                long position = ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+                long high = position - index;
+                keys[index] = (int) (((high << lowBits) | getLower(index)) + min);
+                index++;
+                bits &= bits - 1;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return Number of low bits stored per key
+     */
+    public int getLowBits() {
+        return lowBits;
+    }
+
+    /**
+     * @return Bytes used by the packed low bits, the upper bits and the select samples
+     */
+    public long sizeInBytes() {
+        return (long) (lower.length + upper.length + oneSamples.length + zeroSamples.length) * Long.BYTES;
+    }
+
+    /**
+     * @return Bits used per key, against 32 for an int[]
+     */
+    public double bitsPerElement() {
+        return size == 0 ? 0 : sizeInBytes() * 8.0 / size;
+    }
+}
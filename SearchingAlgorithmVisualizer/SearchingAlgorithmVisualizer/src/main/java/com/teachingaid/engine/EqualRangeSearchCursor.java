@@ -0,0 +1,121 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for an equal-range search: a binary search for the lower bound followed by one
+ * for the upper bound. Both keep a half-open range [low, high) and report it as NARROW_RANGE
+ * [low, high - 1]; COMPAREs carry 0 as aux during the lower-bound search and 1 during the
+ * upper-bound search. The upper-bound search starts from the lower bound and from the smallest
+ * key seen to be greater than the target. Once both bounds are known a last NARROW_RANGE shows
+ * all occurrences, then FOUND reports the first one.
+ */
+public class EqualRangeSearchCursor extends SearchCursor {
+
+    private final ArrayProbe probe;
+    private int low = 0;
+    private int high;
+    // Every key from here on is known to be greater than the target
+    private int upperLimit;
+    private boolean searchingUpper = false;
+    private boolean rangePending = true;
+    private int lowerBound = -1;
+    private int upperBound = -1;
+    private boolean occurrencesShown = false;
+
+    public EqualRangeSearchCursor(ArrayProbe probe) {
+        this.probe = probe;
+        this.high = probe.length();
+        this.upperLimit = probe.length();
+    }
+
+    @Override
+    protected void advance() {
+        if (upperBound >= 0) {
+            if (upperBound == lowerBound) {
+                notFound();
+            } else if (!occurrencesShown) {
+                occurrencesShown = true;
+                emit(StepType.NARROW_RANGE, lowerBound, upperBound - 1, 0);
+            } else {
+                found(lowerBound);
+            }
+            return;
+        }
+
+        if (rangePending) {
+            rangePending = false;
+            if (low < high) {
+                emit(StepType.NARROW_RANGE, low, high - 1, 0);
+                return;
+            }
+            if (!searchingUpper) {
+                lowerBound = low;
+                searchingUpper = true;
+                high = upperLimit;
+                rangePending = true;
+            } else {
+                upperBound = low;
+            }
+            if (low == high) {
+                // Nothing left between the lower bound and the first greater key
+                upperBound = low;
+            }
+            advance();
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        int comparison = probe.compareAt(mid);
+        emit(StepType.COMPARE, mid, searchingUpper ? 1 : 0, comparison);
+        if (searchingUpper ? comparison <= 0 : comparison < 0) {
+            low = mid + 1;
+        } else {
+            high = mid;
+            if (comparison > 0) {
+                upperLimit = Math.min(upperLimit, mid);
+            }
+        }
+        rangePending = true;
+    }
+
+    /**
+     * @return true once the lower bound is known and the upper bound is being searched
+     */
+    public boolean isSearchingUpper() {
+        return searchingUpper;
+    }
+
+    /**
+     * @return Position of the first key not less than the target, or -1 while it is being searched
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * @return Position of the first key greater than the target, or -1 while it is being searched
+     */
+    public int getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return Number of keys equal to the target, or -1 while either bound is being searched
+     */
+    public int getCount() {
+        return upperBound < 0 ? -1 : upperBound - lowerBound;
+    }
+
+    /**
+     * @return First position of the current range
+     */
+    public int getLow() {
+        return low;
+    }
+
+    /**
+     * @return Position just past the current range
+     */
+    public int getHigh() {
+        return high;
+    }
+}
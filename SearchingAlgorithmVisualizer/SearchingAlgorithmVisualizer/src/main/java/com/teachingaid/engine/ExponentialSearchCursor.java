@@ -0,0 +1,81 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for exponential search.
+ * The galloping phase emits a COMPARE per probed bound (1, 2, 4, ...), then the
+ * binary phase continues exactly like {@link BinarySearchCursor} inside the bracketed range.
+ */
+public class ExponentialSearchCursor extends BinarySearchCursor {
+
+    private boolean galloping = true;
+    private boolean firstChecked = false;
+    private boolean matchedFirst = false;
+    private int bound = 1;
+    private int previousBound = 0;
+
+    public ExponentialSearchCursor(ArrayProbe probe) {
+        super(probe, 0, -1);
+    }
+
+    @Override
+    protected void advance() {
+        if (galloping) {
+            gallop();
+        } else {
+            super.advance();
+        }
+    }
+
+    private void gallop() {
+        int n = probe.length();
+        if (matchedFirst) {
+            found(0);
+            return;
+        }
+        if (!firstChecked) {
+            if (n == 0) {
+                notFound();
+                return;
+            }
+            firstChecked = true;
+            int comparison = probe.compareAt(0);
+            emit(StepType.COMPARE, 0, -1, comparison);
+            matchedFirst = comparison == 0;
+            return;
+        }
+
+        if (bound < n) {
+            int comparison = probe.compareAt(bound);
+            emit(StepType.COMPARE, bound, -1, comparison);
+            if (comparison < 0) {
+                // Double without overflowing past the end of the sequence
+                previousBound = bound;
+                bound = bound > n / 2 ? n : bound * 2;
+                return;
+            }
+            bracket(n);
+            return;
+        }
+
+        // The bound ran past the end: the binary phase starts with its range announcement
+        bracket(n);
+        super.advance();
+    }
+
+    private void bracket(int n) {
+        galloping = false;
+        low = previousBound;
+        high = Math.min(bound, n - 1);
+    }
+
+    /**
+     * @return The current galloping bound
+     */
+    public int getBound() {
+        return bound;
+    }
+
+    public boolean isGalloping() {
+        return galloping;
+    }
+}
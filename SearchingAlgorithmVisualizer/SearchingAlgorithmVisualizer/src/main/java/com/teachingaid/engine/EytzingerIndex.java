@@ -0,0 +1,137 @@
+package com.teachingaid.engine;
+
+/**
+ * Sorted int keys rearranged into Eytzinger (breadth-first) order.
+ * Node k has its children at 2k and 2k + 1, so a lookup walks down one cache-friendly
+ * path without branching on the comparison, and the 16 nodes four levels below any node
+ * are stored next to each other, which keeps the hardware prefetcher ahead of the descent.
+ * Results are mapped back to sorted positions from the shape of the tree alone, so the
+ * index stores nothing but the rearranged keys.
+ */
+public final class EytzingerIndex implements SortedIntSearch {
+
+    /**
+     * Largest supported length; the descent computes 2k + 1 for every node k
+     */
+    public static final int MAX_LENGTH = (1 << 30) - 1;
+
+    // Slot 0 is unused so that the children of slot k are 2k and 2k + 1
+    private final int[] keys;
+    // Depth of the last, possibly partial, level of the tree (root at depth 0)
+    private final int height;
+
+    // Sorted positions fit in 30 bits, so bits 30 and 31 of a descent's low half are free
+    private static final int RANK_MASK = MAX_LENGTH;
+
+    /**
+     * Builds the index in O(n)
+     * @param sortedArray Keys in ascending order; the array is not kept
+     */
+    public EytzingerIndex(int[] sortedArray) {
+        int[] ranks = layout(sortedArray.length);
+        this.keys = new int[ranks.length];
+        for (int k = 1; k < ranks.length; k++) {
+            keys[k] = sortedArray[ranks[k]];
+        }
+        this.height = 31 - Integer.numberOfLeadingZeros(Math.max(1, sortedArray.length));
+    }
+
+    /**
+     * Computes the Eytzinger layout of n sorted elements
+     * @return Array of length n + 1 mapping every slot 1..n to the sorted position stored there
+     */
+    public static int[] layout(int n) {
+        if (n < 0 || n > MAX_LENGTH) {
+            throw new IllegalArgumentException("Unsupported length for an Eytzinger layout: " + n);
+        }
+        int[] ranks = new int[n + 1];
+        fill(ranks, 0, 1);
+        return ranks;
+    }
+
+    // In-order walk of the implicit tree hands out sorted positions 0..n-1
+    private static int fill(int[] ranks, int next, int k) {
+        if (k < ranks.length) {
+            next = fill(ranks, next, 2 * k);
+            ranks[k] = next++;
+            next = fill(ranks, next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    /**
+     * @return Sorted position of the first key that is not less than the target, or size() if there is none
+     */
+    @Override
+    public int lowerBound(int target) {
+        return (int) descend(target) & RANK_MASK;
+    }
+
+    /**
+     * @return Sorted position of the target (its first occurrence), or -1 if it is absent
+     */
+    public int indexOf(int target) {
+        long path = descend(target);
+        int k = (int) (path >>> 32);
+        // Undo the trailing right turns and the last left turn to land on the lower bound slot
+        int slot = k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        return slot != 0 && keys[slot] == target ? (int) path & RANK_MASK : -1;
+    }
+
+    /**
+     * Branch-free walk from the root until it falls off the tree
+     * @return Final slot in the high half, sorted position of the lower bound in the low 30 bits.
+     *         Bit 31 is the sign of the sum of the look-ahead loads: it is part of the result
+     *         only so that the JIT keeps those loads, and callers mask it off with RANK_MASK.
+     */
+    private long descend(int target) {
+        int[] keys = this.keys;
+        int n = keys.length - 1;
+        int k = 1;
+        int depth = 0;
+        int rank = 0;
+        int touched = 0;
+        while (k <= n) {
+            // Touch the block of 16 descendants four levels down while this level is compared
+            touched += keys[(int) Math.min(16L * k, n)];
+            // Go right exactly when keys[k] < target; the sign bit of the wide difference is that flag
+            int right = (int) (((long) keys[k] - target) >>> 63);
+            // Everything in the left subtree and the node itself sorts before the target
+            rank += right * (leftSubtreeSize(k, depth) + 1);
+            k = 2 * k + right;
+            depth++;
+        }
+        return ((long) k << 32) | rank | (touched & 0x80000000L);
+    }
+
+    /**
+     * Size of the left subtree of slot k at the given depth, from the shape of the tree alone:
+     * every level above the last one is full, and the last level fills up from the left
+     */
+    private int leftSubtreeSize(int k, int depth) {
+        int levelsBelow = height - depth - 1;
+        if (levelsBelow < 0) {
+            return 0;
+        }
+        int lastLevelWidth = 1 << levelsBelow;
+        long lastLevelStart = (long) (2 * k) << levelsBelow;
+        long onLastLevel = Math.max(0, Math.min(keys.length - lastLevelStart, lastLevelWidth));
+        return lastLevelWidth - 1 + (int) onLastLevel;
+    }
+
+    public boolean contains(int target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length - 1;
+    }
+
+    /**
+     * @return Key stored in slot k (1-based)
+     */
+    public int keyAt(int k) {
+        return keys[k];
+    }
+}
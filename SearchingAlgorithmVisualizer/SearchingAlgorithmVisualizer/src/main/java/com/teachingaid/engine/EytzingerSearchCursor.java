@@ -0,0 +1,58 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for the branch-free Eytzinger descent.
+ * Every COMPARE reports the sorted position of the visited node as index and its 1-based
+ * Eytzinger slot as aux. The descent never stops early on a match: it always walks down
+ * to a leaf and only then resolves the lower bound, exactly like {@link EytzingerIndex}.
+ */
+public class EytzingerSearchCursor extends SearchCursor {
+
+    private final ArrayProbe probe;
+    private final int[] ranks;
+    private int slot = 1;
+    private int lowerBoundSlot = 0;
+    private int lowerBoundComparison = 1;
+
+    public EytzingerSearchCursor(ArrayProbe probe) {
+        this.probe = probe;
+        this.ranks = EytzingerIndex.layout(probe.length());
+    }
+
+    @Override
+    protected void advance() {
+        if (slot < ranks.length) {
+            int comparison = probe.compareAt(ranks[slot]);
+            emit(StepType.COMPARE, ranks[slot], slot, comparison);
+            if (comparison < 0) {
+                slot = 2 * slot + 1;
+            } else {
+                // The last node where the descent turns left is the lower bound
+                lowerBoundSlot = slot;
+                lowerBoundComparison = comparison;
+                slot = 2 * slot;
+            }
+            return;
+        }
+
+        if (lowerBoundSlot != 0 && lowerBoundComparison == 0) {
+            found(ranks[lowerBoundSlot]);
+        } else {
+            notFound();
+        }
+    }
+
+    /**
+     * @return Slot (1-based) that the next comparison will visit
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @return Sorted position of the current lower bound candidate, or -1 while every node seen was smaller
+     */
+    public int getLowerBound() {
+        return lowerBoundSlot == 0 ? -1 : ranks[lowerBoundSlot];
+    }
+}
@@ -0,0 +1,134 @@
+package com.teachingaid.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel linear search for unsorted arrays on a {@link ForkJoinPool}.
+ * The array is split in halves down to chunks of at most {@code threshold} elements,
+ * each chunk is scanned with {@link VectorizedLinearSearch}, and the lowest matching
+ * index wins. Once a match is known, work to its right is cancelled: pending right halves
+ * are cancelled before they start, and chunks that already started return immediately.
+ */
+public final class ForkJoinLinearSearch {
+
+    /**
+     * 16K ints = 64 KB per chunk, about one L2 cache worth of data per worker
+     */
+    public static final int DEFAULT_THRESHOLD = 16 * 1024;
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private ForkJoinLinearSearch() {
+    }
+
+    /**
+     * Searches on the common pool with {@link #DEFAULT_THRESHOLD}
+     * @return Lowest index of an element equal to the target, or -1 if there is none
+     */
+    public static int indexOf(int[] array, int target) {
+        return indexOf(array, target, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, null);
+    }
+
+    /**
+     * @param pool Pool that runs the chunks
+     * @param threshold Largest chunk scanned without splitting further
+     * @return Lowest index of an element equal to the target, or -1 if there is none
+     */
+    public static int indexOf(int[] array, int target, ForkJoinPool pool, int threshold) {
+        return indexOf(array, target, pool, threshold, null);
+    }
+
+    /**
+     * @param listener Told about every scanned and cancelled chunk, may be null
+     * @return Lowest index of an element equal to the target, or -1 if there is none
+     */
+    public static int indexOf(int[] array, int target, ForkJoinPool pool, int threshold, ChunkListener listener) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        if (array.length <= threshold) {
+            // Not worth a trip through the pool
+            int match = VectorizedLinearSearch.indexOf(array, target);
+            if (listener != null && array.length > 0) {
+                listener.onChunkScanned(-1, 0, array.length, match);
+            }
+            return match;
+        }
+        AtomicInteger best = new AtomicInteger(NO_MATCH);
+        pool.invoke(new Chunk(array, target, 0, array.length, threshold, best, listener));
+        int match = best.get();
+        return match == NO_MATCH ? -1 : match;
+    }
+
+    // ForkJoinTask is Serializable, but chunks only ever live inside one search
+    private static final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int target;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final AtomicInteger best;
+        // Listeners are not serializable; a null listener is simply not notified
+        private final transient ChunkListener listener;
+
+        Chunk(int[] array, int target, int from, int to, int threshold, AtomicInteger best, ChunkListener listener) {
+            this.array = array;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.best = best;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (best.get() < from) {
+                cancelled(from, to);
+                return;
+            }
+
+            if (to - from <= threshold) {
+                int match = VectorizedLinearSearch.indexOf(array, target, from, to);
+                if (match >= 0) {
+                    best.accumulateAndGet(match, Math::min);
+                }
+                if (listener != null) {
+                    listener.onChunkScanned(workerIndex(), from, to, match);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            Chunk right = new Chunk(array, target, mid, to, threshold, best, listener);
+            right.fork();
+            new Chunk(array, target, from, mid, threshold, best, listener).compute();
+
+            // cancel() would also succeed on a right half a thief is already running, so only
+            // drop it while it still sits unstolen in this worker's queue
+            if (best.get() < mid && right.tryUnfork()) {
+                // Nothing on the right can beat a match on the left
+                cancelled(mid, to);
+                return;
+            }
+            right.join();
+        }
+
+        private void cancelled(int start, int end) {
+            if (listener != null) {
+                listener.onChunkCancelled(start, end);
+            }
+        }
+
+        private static int workerIndex() {
+            Thread thread = Thread.currentThread();
+            return thread instanceof ForkJoinWorkerThread ? ((ForkJoinWorkerThread) thread).getPoolIndex() : -1;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Sorted strings stored with front coding, searchable without building a String per word.
+ * The words are cut into buckets of {@link #getBucketSize()}; the first word of a bucket is
+ * stored whole, every other one as the length of the prefix it shares with the word before
+ * it plus the remaining suffix. All of it lives in one char array, lengths as variable-length
+ * numbers of 15 bits per char, so neighbouring words with long common prefixes cost little.
+ * A lookup binary-searches the bucket headers in place and then decodes one bucket into a
+ * scratch buffer, word after word, comparing each with the target.
+ * Words are ordered as by {@link String#compareTo}.
+ */
+public final class FrontCodedStringDictionary {
+
+    /**
+     * Words per bucket when none is given: larger buckets compress better but make a lookup
+     * decode more words
+     */
+    public static final int DEFAULT_BUCKET_SIZE = 16;
+
+    private final int size;
+    private final int bucketSize;
+    private final char[] data;
+    // Offset in data of the header word of every bucket
+    private final int[] bucketOffsets;
+    private final int maxLength;
+    private final long rawChars;
+
+    public FrontCodedStringDictionary(String[] sortedWords) {
+        this(sortedWords, DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * Front-codes sorted words in O(total length)
+     * @param sortedWords Words in ascending order; the array is not kept
+     * @param bucketSize Words per bucket, at least 1
+     * @throws IllegalArgumentException If the words are not sorted or the bucket size is below 1
+     */
+    public FrontCodedStringDictionary(String[] sortedWords, int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("Bucket size must be at least 1: " + bucketSize);
+        }
+        int n = sortedWords.length;
+        this.size = n;
+        this.bucketSize = bucketSize;
+        this.bucketOffsets = new int[(n + bucketSize - 1) / bucketSize];
+
+        // Sized for the worst case, every word with two lengths of up to three chars, then trimmed
+        long capacity = 0;
+        long raw = 0;
+        int longest = 0;
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && sortedWords[i].compareTo(sortedWords[i - 1]) < 0) {
+                throw new IllegalArgumentException("Words must be sorted; index " + i + " sorts before the one before");
+            }
+            int length = sortedWords[i].length();
+            raw += length;
+            capacity += length + 6;
+            longest = Math.max(longest, length);
+        }
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many characters to front-code: " + raw);
+        }
+        char[] buffer = new char[(int) capacity];
+        int offset = 0;
+        for (int i = 0; i < n; i++) {
+            String word = sortedWords[i];
+            if (i % bucketSize == 0) {
+                bucketOffsets[i / bucketSize] = offset;
+                offset = writeLength(buffer, offset, word.length());
+                word.getChars(0, word.length(), buffer, offset);
+                offset += word.length();
+            } else {
+                String previous = sortedWords[i - 1];
+                int shared = sharedPrefix(previous, word);
+                offset = writeLength(buffer, offset, shared);
+                offset = writeLength(buffer, offset, word.length() - shared);
+                word.getChars(shared, word.length(), buffer, offset);
+                offset += word.length() - shared;
+            }
+        }
+        this.data = Arrays.copyOf(buffer, offset);
+        this.maxLength = longest;
+        this.rawChars = raw;
+    }
+
+    private static int sharedPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int k = 0;
+        while (k < limit && a.charAt(k) == b.charAt(k)) {
+            k++;
+        }
+        return k;
+    }
+
+    // Low 15 bits per char, the top bit set on every char but the last
+    private static int writeLength(char[] buffer, int offset, int length) {
+        while (length >= 0x8000) {
+            buffer[offset++] = (char) (0x8000 | (length & 0x7FFF));
+            length >>>= 15;
+        }
+        buffer[offset++] = (char) length;
+        return offset;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBucketSize() {
+        return bucketSize;
+    }
+
+    public int bucketCount() {
+        return bucketOffsets.length;
+    }
+
+    /**
+     * @return Chars the dictionary stores, lengths included
+     */
+    public int getStoredChars() {
+        return data.length;
+    }
+
+    /**
+     * @return Total length of the words, what a String[] holds apart from object overhead
+     */
+    public long getRawChars() {
+        return rawChars;
+    }
+
+    /**
+     * @return Word at a sorted position, decoded from the start of its bucket
+     */
+    public String get(int index) {
+        checkIndex(index);
+        Decoder decoder = new Decoder(index / bucketSize);
+        for (int k = index % bucketSize; k > 0; k--) {
+            decoder.next();
+        }
+        return new String(decoder.word, 0, decoder.length);
+    }
+
+    /**
+     * @return Length of the prefix a word shares with the word before it, 0 for bucket headers
+     */
+    public int sharedPrefixLength(int index) {
+        checkIndex(index);
+        if (index % bucketSize == 0) {
+            return 0;
+        }
+        Decoder decoder = new Decoder(index / bucketSize);
+        for (int k = index % bucketSize; k > 1; k--) {
+            decoder.next();
+        }
+        return decoder.peekShared();
+    }
+
+    /**
+     * Finds the first word not less than the target: a binary search over the bucket headers,
+     * compared in place, then a scan of one bucket
+     * @return Position of that word, or size() if every word is smaller
+     */
+    public int lowerBound(String target) {
+        int bucket = lastBucketBefore(target);
+        if (bucket < 0) {
+            return 0;
+        }
+        Decoder decoder = new Decoder(bucket);
+        int end = Math.min(size, (bucket + 1) * bucketSize);
+        for (int index = bucket * bucketSize + 1; index < end; index++) {
+            decoder.next();
+            if (decoder.compareTo(target) >= 0) {
+                return index;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Same search as {@link #lowerBound(String)}, stopping at the first word not less than the target
+     * @return Position of the first occurrence of the word, or -1 if it is absent
+     */
+    public int indexOf(String target) {
+        int bucket = lastBucketBefore(target);
+        if (bucket < 0) {
+            return size > 0 && compareHeader(0, target) == 0 ? 0 : -1;
+        }
+        Decoder decoder = new Decoder(bucket);
+        int end = Math.min(size, (bucket + 1) * bucketSize);
+        for (int index = bucket * bucketSize + 1; index < end; index++) {
+            decoder.next();
+            int comparison = decoder.compareTo(target);
+            if (comparison >= 0) {
+                return comparison == 0 ? index : -1;
+            }
+        }
+        // Every word of the bucket is smaller; the target can only be the next header
+        return end < size && compareHeader(bucket + 1, target) == 0 ? end : -1;
+    }
+
+    /**
+     * @return The last bucket whose header sorts before the target, -1 if there is none; the
+     *         first word not less than the target is in that bucket or heads the next one
+     */
+    private int lastBucketBefore(String target) {
+        int low = 0;
+        int high = bucketOffsets.length - 1;
+        int bucket = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compareHeader(mid, target) < 0) {
+                bucket = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return bucket;
+    }
+
+    public boolean contains(String target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Compares the word at a position with the target without building a String
+     * @return Negative, zero or positive as the word sorts before, equal to or after the target
+     */
+    public int compareAt(int index, String target) {
+        checkIndex(index);
+        Decoder decoder = new Decoder(index / bucketSize);
+        for (int k = index % bucketSize; k > 0; k--) {
+            decoder.next();
+        }
+        return decoder.compareTo(target);
+    }
+
+    private int compareHeader(int bucket, String target) {
+        int offset = bucketOffsets[bucket];
+        int length = 0;
+        int shift = 0;
+        char c;
+        do {
+            c = data[offset++];
+            length |= (c & 0x7FFF) << shift;
+            shift += 15;
+        } while ((c & 0x8000) != 0);
+        int limit = Math.min(length, target.length());
+        for (int k = 0; k < limit; k++) {
+            int difference = data[offset + k] - target.charAt(k);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - target.length();
+    }
+
+    /**
+     * View of the dictionary for the step engines; each comparison decodes from the start of
+     * the word's bucket
+     */
+    public ArrayProbe probe(String target) {
+        return new ArrayProbe() {
+            @Override
+            public int length() {
+                return size;
+            }
+
+            @Override
+            public int compareAt(int index) {
+                return FrontCodedStringDictionary.this.compareAt(index, target);
+            }
+
+            @Override
+            public String valueAt(int index) {
+                return get(index);
+            }
+
+            @Override
+            public String target() {
+                return target;
+            }
+
+            @Override
+            public double keyAt(int index) {
+                throw new UnsupportedOperationException("Words have no numeric key");
+            }
+
+            @Override
+            public double targetKey() {
+                throw new UnsupportedOperationException("Words have no numeric key");
+            }
+        };
+    }
+
+    /**
+     * @return All words, decoded
+     */
+    public String[] toArray() {
+        String[] words = new String[size];
+        for (int bucket = 0; bucket < bucketOffsets.length; bucket++) {
+            Decoder decoder = new Decoder(bucket);
+            int start = bucket * bucketSize;
+            words[start] = new String(decoder.word, 0, decoder.length);
+            for (int index = start + 1; index < Math.min(size, start + bucketSize); index++) {
+                decoder.next();
+                words[index] = new String(decoder.word, 0, decoder.length);
+            }
+        }
+        return words;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " words");
+        }
+    }
+
+    /**
+     * Walks one bucket, keeping the current word in a buffer that each step overwrites from
+     * the shared prefix on
+     */
+    private final class Decoder {
+        private final char[] word = new char[maxLength];
+        private int length;
+        private int offset;
+
+        Decoder(int bucket) {
+            offset = bucketOffsets[bucket];
+            length = readLength();
+            System.arraycopy(data, offset, word, 0, length);
+            offset += length;
+        }
+
+        void next() {
+            int shared = readLength();
+            int suffix = readLength();
+            System.arraycopy(data, offset, word, shared, suffix);
+            offset += suffix;
+            length = shared + suffix;
+        }
+
+        int peekShared() {
+            int start = offset;
+            int shared = readLength();
+            offset = start;
+            return shared;
+        }
+
+        int compareTo(String target) {
+            int limit = Math.min(length, target.length());
+            for (int k = 0; k < limit; k++) {
+                int difference = word[k] - target.charAt(k);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length - target.length();
+        }
+
+        private int readLength() {
+            int value = 0;
+            int shift = 0;
+            char c;
+            do {
+                c = data[offset++];
+                value |= (c & 0x7FFF) << shift;
+                shift += 15;
+            } while ((c & 0x8000) != 0);
+            return value;
+        }
+    }
+}
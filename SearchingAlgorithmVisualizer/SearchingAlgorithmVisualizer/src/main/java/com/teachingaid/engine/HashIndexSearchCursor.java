@@ -0,0 +1,79 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for a lookup in an {@link IntHashIndex} built over the searched elements.
+ * Every occupied slot on the probe sequence is reported as a COMPARE of the element it points
+ * to, with the slot as aux. The lookup ends at a matching element, at an empty slot or, with
+ * Robin Hood probing, at an entry that sits closer to its home slot than the probe has travelled.
+ */
+public class HashIndexSearchCursor extends SearchCursor {
+
+    private final ArrayProbe probe;
+    private final IntHashIndex index;
+    private final int homeSlot;
+    private int slot;
+    private int distance = 0;
+    private int match = -1;
+
+    public HashIndexSearchCursor(ArrayProbe probe) {
+        this(probe, IntHashIndex.Probing.ROBIN_HOOD);
+    }
+
+    public HashIndexSearchCursor(ArrayProbe probe, IntHashIndex.Probing probing) {
+        this.probe = probe;
+        this.index = IntHashIndex.build(probe, probing);
+        this.homeSlot = index.homeSlot(IntHashIndex.hashKey(probe.targetKey()));
+        this.slot = homeSlot;
+    }
+
+    @Override
+    protected void advance() {
+        if (match >= 0) {
+            found(match);
+            return;
+        }
+        int position = index.positionAt(slot);
+        if (position < 0 || (index.getProbing() == IntHashIndex.Probing.ROBIN_HOOD
+                && index.distance(slot) < distance)) {
+            notFound();
+            return;
+        }
+
+        int comparison = probe.compareAt(position);
+        emit(StepType.COMPARE, position, slot, comparison);
+        if (comparison == 0) {
+            match = position;
+        } else {
+            slot = (slot + 1) & (index.capacity() - 1);
+            distance++;
+        }
+    }
+
+    /**
+     * @return The table the lookup runs in, built when the cursor was created
+     */
+    public IntHashIndex getTable() {
+        return index;
+    }
+
+    /**
+     * @return Slot the probe sequence started at
+     */
+    public int getHomeSlot() {
+        return homeSlot;
+    }
+
+    /**
+     * @return Slot the next step looks at; where the lookup stopped once it is finished
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @return Slots probed past the home slot
+     */
+    public int getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,88 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Boyer-Moore-Horspool.
+ * Characters are compared right to left; after any mismatch the pattern moves so that the text
+ * character under its last position lines up with that character's last occurrence in
+ * pattern[0..m-2], or past it when there is none. A SHIFT carries the new alignment and the skip distance.
+ * When every occurrence is wanted, each one is reported as a MATCH followed by the usual shift
+ * (overlapping), which can never skip an occurrence, or by a shift of the pattern length.
+ */
+public class HorspoolSearchCursor extends SearchCursor {
+
+    private final String text;
+    private final String pattern;
+    private final BadCharacterTable shiftTable;
+    private final MatchMode mode;
+    private int position = 0;
+    private int patternIndex;
+    private int shift = 0;
+
+    public HorspoolSearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public HorspoolSearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.shiftTable = buildShiftTable(pattern);
+        this.mode = mode;
+        this.patternIndex = pattern.length() - 1;
+    }
+
+    @Override
+    protected void advance() {
+        if (patternIndex < 0) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(position);
+                return;
+            }
+            match(position, 0);
+            shift = mode == MatchMode.OVERLAPPING
+                ? shift(pattern, shiftTable, text.charAt(position + pattern.length() - 1))
+                : pattern.length();
+            position += shift;
+            patternIndex = pattern.length() - 1;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, position, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (position + pattern.length() > text.length()) {
+            finishMatches();
+            return;
+        }
+
+        int textIndex = position + patternIndex;
+        boolean match = text.charAt(textIndex) == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            patternIndex--;
+        } else {
+            shift = shift(pattern, shiftTable, text.charAt(position + pattern.length() - 1));
+            position += shift;
+            patternIndex = pattern.length() - 1;
+        }
+    }
+
+    public BadCharacterTable getShiftTable() {
+        return shiftTable;
+    }
+
+    /**
+     * Builds the table {@link #shift} reads: last positions in the pattern without its last character
+     */
+    public static BadCharacterTable buildShiftTable(String pattern) {
+        return BadCharacterTable.of(pattern, Math.max(0, pattern.length() - 1));
+    }
+
+    /**
+     * @param c Text character under the last pattern position
+     * @return Distance to move the pattern, from 1 to m
+     */
+    public static int shift(String pattern, BadCharacterTable shiftTable, char c) {
+        return pattern.length() - 1 - shiftTable.lastIndexOf(c);
+    }
+}
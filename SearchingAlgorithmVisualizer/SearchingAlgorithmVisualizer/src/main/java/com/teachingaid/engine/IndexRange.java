@@ -0,0 +1,59 @@
+package com.teachingaid.engine;
+
+/**
+ * Half-open range [from, to) of sorted positions, e.g. all occurrences of a key
+ */
+public final class IndexRange {
+
+    private final int from;
+    private final int to;
+
+    public IndexRange(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return First position in the range; for an empty range, where the key would be inserted
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * @return Position just past the range
+     */
+    public int getTo() {
+        return to;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return from == to;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof IndexRange)) {
+            return false;
+        }
+        IndexRange range = (IndexRange) other;
+        return from == range.from && to == range.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * from + to;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + from + ", " + to + ")";
+    }
+}
@@ -0,0 +1,264 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from int keys to their first position in an array.
+ * Keys and positions live in two parallel int arrays, so nothing is boxed. A key's home slot
+ * comes from Fibonacci hashing and collisions move on to the next slot (linear probing).
+ * With Robin Hood probing an entry that is further from its home than the one in its way takes
+ * that slot, which evens out probe lengths and lets a miss stop as soon as it meets an entry
+ * closer to home than the probe itself.
+ */
+public final class IntHashIndex {
+
+    /**
+     * How collisions are resolved
+     */
+    public enum Probing { LINEAR, ROBIN_HOOD }
+
+    /**
+     * Highest load factor before the table is made larger; capacities are powers of two
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /**
+     * Largest number of slots, which bounds the keys to MAX_CAPACITY × MAX_LOAD_FACTOR
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int FIBONACCI = 0x9E3779B9;
+
+    private final Probing probing;
+    private final int[] keys;
+    // Position of the key in the source array, -1 for an empty slot
+    private final int[] positions;
+    private final int mask;
+    private final int shift;
+    private int size = 0;
+    private long buildNanos;
+
+    private IntHashIndex(int elements, Probing probing) {
+        if (elements > MAX_CAPACITY * MAX_LOAD_FACTOR) {
+            throw new IllegalArgumentException("Too many elements for a hash index: " + elements);
+        }
+        int capacity = 2;
+        while (capacity < elements / MAX_LOAD_FACTOR) {
+            capacity <<= 1;
+        }
+        this.probing = probing;
+        this.keys = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.mask = capacity - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Builds a Robin Hood table over the values of an array, which need not be sorted
+     */
+    public static IntHashIndex build(int[] array) {
+        return build(array, Probing.ROBIN_HOOD);
+    }
+
+    /**
+     * Builds a table over the values of an array; duplicates keep their first position
+     */
+    public static IntHashIndex build(int[] array, Probing probing) {
+        long start = System.nanoTime();
+        IntHashIndex index = new IntHashIndex(array.length, probing);
+        for (int i = 0; i < array.length; i++) {
+            index.insert(array[i], i, null);
+        }
+        index.buildNanos = System.nanoTime() - start;
+        return index;
+    }
+
+    /**
+     * Builds a table over any element type, keyed by {@link #hashKey(double)} of
+     * {@link ArrayProbe#keyAt(int)}. Elements with equal keys share an entry, so long elements
+     * above 2^53 that round to the same key keep only the first; entries whose hash keys merely
+     * collide are told apart by comparing with the target during the lookup.
+     */
+    static IntHashIndex build(ArrayProbe probe, Probing probing) {
+        long start = System.nanoTime();
+        IntHashIndex index = new IntHashIndex(probe.length(), probing);
+        for (int i = 0; i < probe.length(); i++) {
+            index.insert(hashKey(probe.keyAt(i)), i, probe);
+        }
+        index.buildNanos = System.nanoTime() - start;
+        return index;
+    }
+
+    /**
+     * Int key of a numeric element: the value itself when it is an int, its folded bits otherwise
+     */
+    static int hashKey(double key) {
+        int value = (int) key;
+        if (value == key) {
+            return value;
+        }
+        long bits = Double.doubleToLongBits(key);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    // With a probe, equal int keys are only duplicates if the elements' numeric keys are equal too
+    private void insert(int key, int position, ArrayProbe probe) {
+        int slot = homeSlot(key);
+        int distance = 0;
+        boolean checkDuplicates = true;
+        while (positions[slot] >= 0) {
+            if (checkDuplicates && keys[slot] == key && (probe == null
+                    || Double.compare(probe.keyAt(positions[slot]), probe.keyAt(position)) == 0)) {
+                return;
+            }
+            if (probing == Probing.ROBIN_HOOD) {
+                int residentDistance = distance(slot);
+                if (residentDistance < distance) {
+                    // Take from the rich: the entry closer to home moves on instead
+                    int residentKey = keys[slot];
+                    int residentPosition = positions[slot];
+                    keys[slot] = key;
+                    positions[slot] = position;
+                    key = residentKey;
+                    position = residentPosition;
+                    distance = residentDistance;
+                    // The displaced entry is already known to be unique
+                    checkDuplicates = false;
+                }
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+        keys[slot] = key;
+        positions[slot] = position;
+        size++;
+    }
+
+    /**
+     * @return First position of the key in the array the table was built from, or -1 if it is absent
+     */
+    public int indexOf(int key) {
+        int slot = homeSlot(key);
+        int distance = 0;
+        while (true) {
+            int position = positions[slot];
+            if (position < 0) {
+                return -1;
+            }
+            if (keys[slot] == key) {
+                return position;
+            }
+            if (probing == Probing.ROBIN_HOOD && distance(slot) < distance) {
+                // The key would have taken this slot had it been inserted
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+    }
+
+    /**
+     * Looks up many keys
+     * @param results Receives the first position of every key, or -1
+     */
+    public void indexOf(int[] keys, int[] results) {
+        if (results.length < keys.length) {
+            throw new IllegalArgumentException("Need room for " + keys.length + " results, got " + results.length);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            results[i] = indexOf(keys[i]);
+        }
+    }
+
+    /**
+     * @return Slot a key is placed in when nothing is in its way
+     */
+    public int homeSlot(int key) {
+        return (key * FIBONACCI) >>> shift;
+    }
+
+    /**
+     * @return How many slots an entry sits after its home slot
+     */
+    public int distance(int slot) {
+        return (slot - homeSlot(keys[slot])) & mask;
+    }
+
+    /**
+     * @return Position stored in a slot, or -1 if it is empty
+     */
+    public int positionAt(int slot) {
+        return positions[slot];
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * @return Number of distinct keys
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return positions.length;
+    }
+
+    public double loadFactor() {
+        return (double) size / positions.length;
+    }
+
+    public Probing getProbing() {
+        return probing;
+    }
+
+    /**
+     * @return Nanoseconds spent building the table
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Probes a successful lookup of each key takes
+     * @return Element k is the number of keys found with k + 1 probes
+     */
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[maxProbeLength()];
+        for (int slot = 0; slot < positions.length; slot++) {
+            if (positions[slot] >= 0) {
+                histogram[distance(slot)]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @return Most probes a successful lookup takes, 0 for an empty table
+     */
+    public int maxProbeLength() {
+        int longest = 0;
+        for (int slot = 0; slot < positions.length; slot++) {
+            if (positions[slot] >= 0) {
+                longest = Math.max(longest, distance(slot) + 1);
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * @return Average probes of a successful lookup
+     */
+    public double averageProbeLength() {
+        long total = 0;
+        for (int slot = 0; slot < positions.length; slot++) {
+            if (positions[slot] >= 0) {
+                total += distance(slot) + 1;
+            }
+        }
+        return size == 0 ? 0 : (double) total / size;
+    }
+}
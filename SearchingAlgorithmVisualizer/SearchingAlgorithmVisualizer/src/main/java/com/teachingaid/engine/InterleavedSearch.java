@@ -0,0 +1,410 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Batched binary, exponential and jump search that keep a group of independent searches in
+ * flight, so the cache misses of one overlap those of the others instead of stalling the
+ * core one search at a time.
+ * Binary searches over the same array all take the same number of halvings and advance in
+ * lockstep (group prefetching, see {@link BatchBinarySearch}). Exponential and jump searches
+ * take a different number of probes per target, so every slot of the group runs its own small
+ * state machine and takes the next target as soon as its search ends (asynchronous memory
+ * access chaining, AMAC). Each pass over the group makes one probe per slot.
+ * The best group size depends on how many misses the core keeps outstanding and on how
+ * much the hardware prefetcher already hides; {@link #calibratedGroupSize(Kernel)} measures
+ * it once per kernel on this machine, and may settle on 1 where interleaving does not pay.
+ * Lookups never calibrate by themselves: until a kernel has been calibrated, the overloads
+ * without a group size use {@link #DEFAULT_GROUP_SIZE}.
+ */
+public final class InterleavedSearch {
+
+    /**
+     * The search kernels that can be interleaved
+     */
+    public enum Kernel { BINARY, EXPONENTIAL, JUMP }
+
+    /**
+     * Largest group size accepted; beyond this the per-slot state no longer fits in L1
+     */
+    public static final int MAX_GROUP_SIZE = 64;
+
+    /**
+     * Group size of the overloads without one until the kernel is calibrated
+     */
+    public static final int DEFAULT_GROUP_SIZE = BatchBinarySearch.GROUP_SIZE;
+
+    /**
+     * Keys of the calibration array: 16 MB, larger than most last-level caches
+     */
+    public static final int CALIBRATION_SIZE = 1 << 22;
+
+    // Group sizes tried by the calibration
+    private static final int[] CANDIDATE_GROUP_SIZES = {1, 2, 4, 8, 12, 16, 24, 32, 48, 64};
+
+    // Calibrated group size per kernel, 0 until measured; read by lookups without taking the
+    // lock a running calibration holds
+    private static final AtomicIntegerArray calibratedGroupSizes = new AtomicIntegerArray(Kernel.values().length);
+
+    private InterleavedSearch() {
+    }
+
+    /**
+     * Binary search with the group size of {@link #groupSize(Kernel)}; this never starts a calibration
+     * @param sortedArray Keys in ascending order
+     * @param targets Values to look up, in any order
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void binarySearch(int[] sortedArray, int[] targets, int[] results) {
+        binarySearch(sortedArray, targets, results, groupSize(Kernel.BINARY));
+    }
+
+    /**
+     * Binary search with groupSize searches advancing in lockstep
+     * @param groupSize Searches in flight, from 1 to {@link #MAX_GROUP_SIZE}
+     */
+    public static void binarySearch(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        BatchBinarySearch.interleaved(sortedArray, targets, results, groupSize);
+    }
+
+    /**
+     * Exponential search with the group size of {@link #groupSize(Kernel)}; this never starts a calibration
+     * @param sortedArray Keys in ascending order
+     * @param targets Values to look up, in any order
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void exponentialSearch(int[] sortedArray, int[] targets, int[] results) {
+        exponentialSearch(sortedArray, targets, results, groupSize(Kernel.EXPONENTIAL));
+    }
+
+    /**
+     * Exponential search with groupSize searches in flight
+     * @param groupSize Searches in flight, from 1 to {@link #MAX_GROUP_SIZE}
+     */
+    public static void exponentialSearch(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        BatchBinarySearch.checkResults(targets, results);
+        checkGroupSize(groupSize);
+        exponentialBounds(sortedArray, targets, results, groupSize);
+        BatchBinarySearch.toIndices(sortedArray, targets, results);
+    }
+
+    /**
+     * Jump search with the group size of {@link #groupSize(Kernel)}; this never starts a calibration
+     * @param sortedArray Keys in ascending order
+     * @param targets Values to look up, in any order
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void jumpSearch(int[] sortedArray, int[] targets, int[] results) {
+        jumpSearch(sortedArray, targets, results, groupSize(Kernel.JUMP));
+    }
+
+    /**
+     * Jump search with groupSize searches in flight
+     * @param groupSize Searches in flight, from 1 to {@link #MAX_GROUP_SIZE}
+     */
+    public static void jumpSearch(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        BatchBinarySearch.checkResults(targets, results);
+        checkGroupSize(groupSize);
+        jumpBounds(sortedArray, targets, results, groupSize);
+        BatchBinarySearch.toIndices(sortedArray, targets, results);
+    }
+
+    /**
+     * Lower bounds by exponential search. A slot gallops from the start while the probed key
+     * sorts before its target, probing positions 0, 2, 6, 14, ..., then bisects the last step.
+     */
+    private static void exponentialBounds(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        int n = sortedArray.length;
+        int slots = Math.min(groupSize, targets.length);
+        // Per slot: the target it works on (-1 once idle), the last position known to sort
+        // before it, the gallop step (0 once bisecting) and the bisection range [low, high)
+        int[] slotTarget = new int[slots];
+        int[] below = new int[slots];
+        int[] step = new int[slots];
+        int[] low = new int[slots];
+        int[] high = new int[slots];
+        int next = 0;
+        for (int j = 0; j < slots; j++) {
+            slotTarget[j] = next++;
+            below[j] = -1;
+            step[j] = 1;
+        }
+        int active = slots;
+        while (active > 0) {
+            for (int j = 0; j < slots; j++) {
+                int t = slotTarget[j];
+                if (t < 0) {
+                    continue;
+                }
+                int target = targets[t];
+                int s = step[j];
+                // The loaded key only feeds conditional moves: a branch on it would be
+                // mispredicted half the time and hold back the loads of the following slots
+                if (s > 0) {
+                    int b = below[j];
+                    if (s < n - b) {
+                        boolean before = sortedArray[b + s] < target;
+                        below[j] = before ? b + s : b;
+                        step[j] = before ? s << 1 : 0;
+                        // Used once the step is 0: the target lies after b and no later than b + s
+                        low[j] = b + 1;
+                        high[j] = b + s;
+                    } else {
+                        low[j] = b + 1;
+                        high[j] = n;
+                        step[j] = 0;
+                    }
+                } else {
+                    int lo = low[j];
+                    int hi = high[j];
+                    int mid = (lo + hi) >>> 1;
+                    boolean before = sortedArray[mid] < target;
+                    low[j] = before ? mid + 1 : lo;
+                    high[j] = before ? hi : mid;
+                }
+                if (step[j] > 0 || low[j] < high[j]) {
+                    continue;
+                }
+                results[t] = low[j];
+                if (next < targets.length) {
+                    slotTarget[j] = next++;
+                    below[j] = -1;
+                    step[j] = 1;
+                } else {
+                    slotTarget[j] = -1;
+                    active--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lower bounds by jump search. A slot jumps a block of sqrt(n) keys at a time while the
+     * last key of the block sorts before its target, then scans that block key by key.
+     */
+    private static void jumpBounds(int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        int n = sortedArray.length;
+        int block = Math.max(1, (int) Math.sqrt(n));
+        int slots = Math.min(groupSize, targets.length);
+        // Per slot: the target it works on (-1 once idle), the first position not known to
+        // sort before it, and whether it is still jumping
+        int[] slotTarget = new int[slots];
+        int[] position = new int[slots];
+        boolean[] jumping = new boolean[slots];
+        int next = 0;
+        for (int j = 0; j < slots; j++) {
+            slotTarget[j] = next++;
+            jumping[j] = true;
+        }
+        int active = slots;
+        while (active > 0) {
+            for (int j = 0; j < slots; j++) {
+                int t = slotTarget[j];
+                if (t < 0) {
+                    continue;
+                }
+                int target = targets[t];
+                int p = position[j];
+                boolean done;
+                if (p >= n) {
+                    done = true;
+                } else if (jumping[j]) {
+                    int end = Math.min(p + block, n);
+                    if (sortedArray[end - 1] < target) {
+                        position[j] = end;
+                        done = end == n;
+                    } else {
+                        jumping[j] = false;
+                        done = false;
+                    }
+                } else if (sortedArray[p] < target) {
+                    position[j] = p + 1;
+                    done = false;
+                } else {
+                    done = true;
+                }
+                if (!done) {
+                    continue;
+                }
+                results[t] = position[j];
+                if (next < targets.length) {
+                    slotTarget[j] = next++;
+                    position[j] = 0;
+                    jumping[j] = true;
+                } else {
+                    slotTarget[j] = -1;
+                    active--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one kernel with groupSize searches in flight
+     * @param results Receives, for every target, the index of its first occurrence or -1
+     */
+    public static void search(Kernel kernel, int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        switch (kernel) {
+            case BINARY:
+                binarySearch(sortedArray, targets, results, groupSize);
+                break;
+            case EXPONENTIAL:
+                exponentialSearch(sortedArray, targets, results, groupSize);
+                break;
+            default:
+                jumpSearch(sortedArray, targets, results, groupSize);
+                break;
+        }
+    }
+
+    /**
+     * @return The group size calibrated for the kernel, or {@link #DEFAULT_GROUP_SIZE} if
+     *         {@link #calibratedGroupSize(Kernel)} has not run for it yet
+     */
+    public static int groupSize(Kernel kernel) {
+        int calibrated = calibratedGroupSizes.get(kernel.ordinal());
+        return calibrated == 0 ? DEFAULT_GROUP_SIZE : calibrated;
+    }
+
+    /**
+     * Calibrates the kernel ahead of the lookups that should use the result.
+     * The first call per kernel allocates a {@link #CALIBRATION_SIZE}-key array (16 MB) and
+     * times the kernel for every candidate group size on the calling thread, which takes
+     * a noticeable fraction of a second: call it at startup or on a background thread, never
+     * on the JavaFX application thread. Later calls return the stored result at once.
+     * @return The group size measured fastest for the kernel on this machine
+     */
+    public static synchronized int calibratedGroupSize(Kernel kernel) {
+        int calibrated = calibratedGroupSizes.get(kernel.ordinal());
+        if (calibrated == 0) {
+            calibrated = calibrateGroupSize(kernel, CALIBRATION_SIZE);
+            calibratedGroupSizes.set(kernel.ordinal(), calibrated);
+        }
+        return calibrated;
+    }
+
+    /**
+     * Times the kernel for every candidate group size on an array of the given size and
+     * random targets
+     * @param size Number of keys; should exceed the last-level cache for a meaningful answer
+     * @return The fastest group size
+     */
+    public static int calibrateGroupSize(Kernel kernel, int size) {
+        int n = Math.max(1024, size);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 3 * i;
+        }
+        // A jump search reads about sqrt(n) keys, so it gets fewer targets for a similar running time
+        int lookups = kernel == Kernel.JUMP ? 256 : 1 << 14;
+        int[] targets = randomTargets(keys, lookups);
+        int[] results = new int[lookups];
+        int bestSize = 1;
+        double bestNanos = Double.MAX_VALUE;
+        for (int groupSize : CANDIDATE_GROUP_SIZES) {
+            double nanos = timeSearch(kernel, keys, targets, results, groupSize);
+            if (nanos < bestNanos) {
+                bestNanos = nanos;
+                bestSize = groupSize;
+            }
+        }
+        return bestSize;
+    }
+
+    /**
+     * Times a kernel one search at a time (group size 1) and interleaved
+     * @param sortedArray The sorted array to search in
+     * @param lookups Number of lookups timed per variant; targets are drawn from the array
+     * @param groupSize Group size of the interleaved run
+     * @return Average nanoseconds per lookup of both runs
+     */
+    public static Throughput measureThroughput(Kernel kernel, int[] sortedArray, int lookups, int groupSize) {
+        checkGroupSize(groupSize);
+        double single = 0;
+        double interleaved = 0;
+        if (sortedArray.length > 0 && lookups > 0) {
+            int[] targets = randomTargets(sortedArray, lookups);
+            int[] results = new int[lookups];
+            single = timeSearch(kernel, sortedArray, targets, results, 1) / lookups;
+            interleaved = timeSearch(kernel, sortedArray, targets, results, groupSize) / lookups;
+        }
+        return new Throughput(kernel, groupSize, single, interleaved);
+    }
+
+    // Nanoseconds of the fastest run of the kernel over all targets
+    private static double timeSearch(Kernel kernel, int[] sortedArray, int[] targets, int[] results, int groupSize) {
+        return MicroTimer.bestOf(MicroTimer.DEFAULT_ROUNDS, () -> {
+            search(kernel, sortedArray, targets, results, groupSize);
+            return results[0];
+        });
+    }
+
+    private static int[] randomTargets(int[] sortedArray, int lookups) {
+        Random random = new Random(42);
+        int[] targets = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            targets[i] = sortedArray[random.nextInt(sortedArray.length)];
+        }
+        return targets;
+    }
+
+    static void checkGroupSize(int groupSize) {
+        if (groupSize < 1 || groupSize > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Group size must be between 1 and " + MAX_GROUP_SIZE + ": " + groupSize);
+        }
+    }
+
+    /**
+     * Result of {@link #measureThroughput(Kernel, int[], int, int)}, in nanoseconds per lookup
+     */
+    public static final class Throughput {
+        private final Kernel kernel;
+        private final int groupSize;
+        private final double singleNanos;
+        private final double interleavedNanos;
+
+        Throughput(Kernel kernel, int groupSize, double singleNanos, double interleavedNanos) {
+            this.kernel = kernel;
+            this.groupSize = groupSize;
+            this.singleNanos = singleNanos;
+            this.interleavedNanos = interleavedNanos;
+        }
+
+        public Kernel getKernel() {
+            return kernel;
+        }
+
+        public int getGroupSize() {
+            return groupSize;
+        }
+
+        /**
+         * @return Nanoseconds per lookup with one search at a time
+         */
+        public double getSingleNanos() {
+            return singleNanos;
+        }
+
+        /**
+         * @return Nanoseconds per lookup with the group interleaved
+         */
+        public double getInterleavedNanos() {
+            return interleavedNanos;
+        }
+
+        /**
+         * @return How many times more lookups per second the interleaved run answers
+         */
+        public double getSpeedup() {
+            return interleavedNanos > 0 ? singleNanos / interleavedNanos : 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, group of %d: %.1f ns per lookup one at a time, %.1f interleaved (%.2fx)",
+                                 kernel, groupSize, singleNanos, interleavedNanos, getSpeedup());
+        }
+    }
+}
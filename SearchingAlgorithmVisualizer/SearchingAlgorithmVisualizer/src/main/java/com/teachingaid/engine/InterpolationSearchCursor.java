@@ -0,0 +1,146 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for adaptive interpolation search.
+ * Every range [low, high] is announced with a NARROW_RANGE, then probed with a COMPARE whose aux
+ * tells how the position was chosen: {@link #INTERPOLATION} from the keys at the range ends,
+ * {@link #BINARY} in the middle, or {@link #SEQUENTIAL} once the range is short enough to scan.
+ * An interpolation probe that does not at least halve the range is followed by a binary one,
+ * so two steps always halve it and the worst case stays O(log n). After {@link #SKEW_LIMIT} such
+ * probes the keys are taken to be skewed and only binary steps are used from then on.
+ */
+public class InterpolationSearchCursor extends SearchCursor {
+
+    /**
+     * Probe kinds reported as aux of a COMPARE
+     */
+    public static final int INTERPOLATION = 0;
+    public static final int BINARY = 1;
+    public static final int SEQUENTIAL = 2;
+
+    /**
+     * Ranges this short are scanned from the left instead of probed
+     */
+    public static final int SEQUENTIAL_THRESHOLD = 4;
+
+    /**
+     * Interpolation probes that fail to halve the range before the search gives up on interpolating
+     */
+    public static final int SKEW_LIMIT = 3;
+
+    private final ArrayProbe probe;
+    private int low;
+    private int high;
+    private boolean rangePending = true;
+    private int match = -1;
+    private boolean exhausted = false;
+    private boolean binaryNext = false;
+    private int poorProbes = 0;
+    private final int[] probeCounts = new int[3];
+
+    public InterpolationSearchCursor(ArrayProbe probe) {
+        this.probe = probe;
+        this.low = 0;
+        this.high = probe.length() - 1;
+    }
+
+    @Override
+    protected void advance() {
+        if (match >= 0) {
+            found(match);
+            return;
+        }
+        if (exhausted || low > high) {
+            notFound();
+            return;
+        }
+        if (rangePending) {
+            emit(StepType.NARROW_RANGE, low, high, 0);
+            rangePending = false;
+            return;
+        }
+
+        int size = high - low + 1;
+        if (size <= SEQUENTIAL_THRESHOLD) {
+            int comparison = probe.compareAt(low);
+            probeCounts[SEQUENTIAL]++;
+            emit(StepType.COMPARE, low, SEQUENTIAL, comparison);
+            if (comparison == 0) {
+                match = low;
+            } else if (comparison > 0) {
+                // Every later key is larger still
+                exhausted = true;
+            } else {
+                low++;
+            }
+            return;
+        }
+
+        int kind = binaryNext || isSkewed() ? BINARY : INTERPOLATION;
+        int position = kind == BINARY ? low + (high - low) / 2 : interpolate();
+        int comparison = probe.compareAt(position);
+        probeCounts[kind]++;
+        emit(StepType.COMPARE, position, kind, comparison);
+        if (comparison == 0) {
+            match = position;
+            return;
+        }
+        if (comparison > 0) {
+            high = position - 1;
+        } else {
+            low = position + 1;
+        }
+        rangePending = true;
+        // A probe that left more than half of the range is a sign of skewed keys
+        binaryNext = kind == INTERPOLATION && high - low + 1 > size / 2;
+        if (binaryNext) {
+            poorProbes++;
+        }
+    }
+
+    /**
+     * Position the target would have if the keys between the range ends were evenly spaced
+     */
+    private int interpolate() {
+        double lowKey = probe.keyAt(low);
+        double highKey = probe.keyAt(high);
+        double target = probe.targetKey();
+        if (!(target > lowKey)) {
+            return low;
+        }
+        if (!(target < highKey)) {
+            return high;
+        }
+        double offset = (target - lowKey) / (highKey - lowKey) * (high - low);
+        return low + (int) Math.min(high - low, Math.max(0, offset));
+    }
+
+    /**
+     * @return true once the search has fallen back to binary steps for good
+     */
+    public boolean isSkewed() {
+        return poorProbes >= SKEW_LIMIT;
+    }
+
+    /**
+     * @return Probes of one kind made so far: {@link #INTERPOLATION}, {@link #BINARY} or {@link #SEQUENTIAL}
+     */
+    public int getProbeCount(int kind) {
+        return probeCounts[kind];
+    }
+
+    /**
+     * @return Interpolation probes that failed to halve the range
+     */
+    public int getPoorProbes() {
+        return poorProbes;
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    public int getHigh() {
+        return high;
+    }
+}
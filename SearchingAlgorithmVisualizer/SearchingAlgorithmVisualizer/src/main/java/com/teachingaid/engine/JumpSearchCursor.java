@@ -0,0 +1,84 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for jump search.
+ * Jumps of size sqrt(n) emit a COMPARE on the last element of each block; once a block
+ * whose last element is not smaller than the target is found, a NARROW_RANGE announces
+ * that block and the linear scan inside it emits one COMPARE per element.
+ */
+public class JumpSearchCursor extends SearchCursor {
+
+    private enum Phase { JUMP, BLOCK, SCAN, MATCHED, EXHAUSTED }
+
+    private final ArrayProbe probe;
+    private final int jumpSize;
+    private int blockStart = 0;
+    private int blockEnd;
+    private Phase phase = Phase.JUMP;
+
+    public JumpSearchCursor(ArrayProbe probe) {
+        this.probe = probe;
+        this.jumpSize = Math.max(1, (int) Math.sqrt(probe.length()));
+        this.blockEnd = jumpSize;
+        if (probe.length() == 0) {
+            phase = Phase.EXHAUSTED;
+        }
+    }
+
+    @Override
+    protected void advance() {
+        int n = probe.length();
+        switch (phase) {
+            case JUMP: {
+                int index = Math.min(blockEnd, n) - 1;
+                int comparison = probe.compareAt(index);
+                emit(StepType.COMPARE, index, -1, comparison);
+                if (comparison < 0) {
+                    blockStart = blockEnd;
+                    blockEnd += jumpSize;
+                    if (blockStart >= n) {
+                        phase = Phase.EXHAUSTED;
+                    }
+                } else {
+                    phase = Phase.BLOCK;
+                }
+                break;
+            }
+            case BLOCK:
+                emit(StepType.NARROW_RANGE, blockStart, Math.min(blockEnd, n) - 1, 0);
+                phase = Phase.SCAN;
+                break;
+            case SCAN: {
+                int comparison = probe.compareAt(blockStart);
+                emit(StepType.COMPARE, blockStart, -1, comparison);
+                if (comparison == 0) {
+                    phase = Phase.MATCHED;
+                } else if (comparison > 0 || ++blockStart == Math.min(blockEnd, n)) {
+                    phase = Phase.EXHAUSTED;
+                }
+                break;
+            }
+            case MATCHED:
+                found(blockStart);
+                break;
+            default:
+                notFound();
+                break;
+        }
+    }
+
+    public int getJumpSize() {
+        return jumpSize;
+    }
+
+    /**
+     * @return First index of the block that is currently being jumped over or scanned
+     */
+    public int getBlockStart() {
+        return blockStart;
+    }
+
+    public boolean isScanning() {
+        return phase == Phase.SCAN || phase == Phase.MATCHED;
+    }
+}
@@ -0,0 +1,111 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Knuth-Morris-Pratt.
+ * A SHIFT follows every mismatch; its index is the new alignment of the pattern and its aux
+ * value the distance moved. {@link #getPatternIndex()} tells where matching resumes.
+ * When every occurrence is wanted, each one is reported as a MATCH followed by a SHIFT that keeps
+ * the longest border of the pattern matched (overlapping) or none of it, and the text is never reread.
+ */
+public class KMPSearchCursor extends SearchCursor {
+
+    private final String text;
+    private final String pattern;
+    private final int[] failure;
+    private final MatchMode mode;
+    private int textIndex = 0;
+    private int patternIndex = 0;
+    private int shift = 0;
+
+    public KMPSearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public KMPSearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.failure = buildFailureFunction(pattern);
+        this.mode = mode;
+    }
+
+    @Override
+    protected void advance() {
+        if (patternIndex == pattern.length()) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(textIndex - pattern.length());
+                return;
+            }
+            match(textIndex - pattern.length(), 0);
+            // The failure state carries over: a border of the pattern is already matched
+            int resumeAt = mode == MatchMode.OVERLAPPING ? failure[pattern.length() - 1] : 0;
+            shift = pattern.length() - resumeAt;
+            patternIndex = resumeAt;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, textIndex - patternIndex, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (textIndex >= text.length()) {
+            finishMatches();
+            return;
+        }
+
+        boolean match = text.charAt(textIndex) == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            textIndex++;
+            patternIndex++;
+        } else if (patternIndex != 0) {
+            int resumeAt = failure[patternIndex - 1];
+            shift = patternIndex - resumeAt;
+            patternIndex = resumeAt;
+        } else {
+            textIndex++;
+            shift = 1;
+        }
+    }
+
+    /**
+     * @return Pattern index the next comparison will use
+     */
+    public int getPatternIndex() {
+        return patternIndex;
+    }
+
+    public int[] getFailureFunction() {
+        return failure.clone();
+    }
+
+    /**
+     * Builds the failure function (partial match table) of a pattern
+     * @param pattern The pattern to preprocess
+     * @return failure[i] = length of the longest proper prefix of pattern[0..i] that is also its suffix
+     */
+    public static int[] buildFailureFunction(String pattern) {
+        int[] failure = new int[pattern.length()];
+        if (pattern.length() == 0) return failure;
+
+        failure[0] = 0;
+        int i = 1;
+        int j = 0;
+
+        while (i < pattern.length()) {
+            if (pattern.charAt(i) == pattern.charAt(j)) {
+                failure[i] = j + 1;
+                i++;
+                j++;
+            } else {
+                if (j != 0) {
+                    j = failure[j - 1];
+                } else {
+                    failure[i] = 0;
+                    i++;
+                }
+            }
+        }
+
+        return failure;
+    }
+}
@@ -0,0 +1,148 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for a learned-index lookup.
+ * The first step is a NARROW_RANGE to the error window around the model's prediction
+ * (see {@link #getPredicted()}). Both edges of the window are then compared; if the target
+ * lies outside, which only happens for keys the model could not represent exactly, the window
+ * gallops outwards with doubling steps. The remaining range is finished by a binary search.
+ */
+public class LearnedIndexSearchCursor extends SearchCursor {
+
+    private enum Phase { PREDICT, LEFT_EDGE, RIGHT_EDGE, SEARCH }
+
+    private final ArrayProbe probe;
+    private final PiecewiseLinearModel model;
+    private Phase phase = Phase.PREDICT;
+    private int predicted = -1;
+    private int segment = -1;
+    private int low;
+    private int high;
+    private int step;
+    private int match = -1;
+    // Set once the window galloped left: the right edge is then known to be larger than the target
+    private boolean rightEdgeChecked = false;
+    private BinarySearchCursor window;
+
+    public LearnedIndexSearchCursor(ArrayProbe probe) {
+        this(probe, PiecewiseLinearModel.train(probe, PiecewiseLinearModel.DEFAULT_EPSILON));
+    }
+
+    /**
+     * @param model Model trained on the same keys as the probe
+     */
+    public LearnedIndexSearchCursor(ArrayProbe probe, PiecewiseLinearModel model) {
+        this.probe = probe;
+        this.model = model;
+    }
+
+    @Override
+    protected void advance() {
+        if (match >= 0) {
+            found(match);
+            return;
+        }
+
+        int n = probe.length();
+        switch (phase) {
+            case PREDICT:
+                if (n == 0) {
+                    notFound();
+                    return;
+                }
+                double key = probe.targetKey();
+                segment = model.segmentOf(key);
+                predicted = model.predict(key);
+                low = model.windowLow(predicted);
+                high = model.windowHigh(predicted);
+                step = high - low + 1;
+                emit(StepType.NARROW_RANGE, low, high, 0);
+                phase = Phase.LEFT_EDGE;
+                return;
+            case LEFT_EDGE:
+                if (low > 0) {
+                    int comparison = probe.compareAt(low);
+                    emit(StepType.COMPARE, low, -1, comparison);
+                    if (comparison == 0) {
+                        match = low;
+                    } else if (comparison > 0) {
+                        // Target is left of the window: gallop left
+                        high = low - 1;
+                        low = Math.max(0, low - step);
+                        step = (int) Math.min(2L * step, n);
+                        rightEdgeChecked = true;
+                    } else {
+                        phase = rightEdgeChecked ? Phase.SEARCH : Phase.RIGHT_EDGE;
+                    }
+                    return;
+                }
+                phase = rightEdgeChecked ? Phase.SEARCH : Phase.RIGHT_EDGE;
+                advance();
+                return;
+            case RIGHT_EDGE:
+                if (high < n - 1) {
+                    int comparison = probe.compareAt(high);
+                    emit(StepType.COMPARE, high, -1, comparison);
+                    if (comparison == 0) {
+                        match = high;
+                    } else if (comparison < 0) {
+                        // Target is right of the window: gallop right
+                        low = high + 1;
+                        high = (int) Math.min(n - 1L, (long) high + step);
+                        step = (int) Math.min(2L * step, n);
+                    } else {
+                        phase = Phase.SEARCH;
+                    }
+                    return;
+                }
+                phase = Phase.SEARCH;
+                advance();
+                return;
+            default:
+                if (window == null) {
+                    window = new BinarySearchCursor(probe, low, high);
+                }
+                window.next();
+                if (window.getType() == StepType.FOUND) {
+                    found(window.getResult());
+                } else if (window.getType() == StepType.NOT_FOUND) {
+                    notFound();
+                } else {
+                    emit(window.getType(), window.getIndex(), window.getAux(), window.getComparison());
+                }
+        }
+    }
+
+    /**
+     * @return Position predicted by the model, or -1 before the first step
+     */
+    public int getPredicted() {
+        return predicted;
+    }
+
+    /**
+     * @return Model segment used for the prediction, or -1 before the first step
+     */
+    public int getSegment() {
+        return segment;
+    }
+
+    /**
+     * @return true once the edges are settled and the binary search inside the window has started
+     */
+    public boolean isSearchingWindow() {
+        return window != null;
+    }
+
+    public int getLow() {
+        return window != null ? window.getLow() : low;
+    }
+
+    public int getHigh() {
+        return window != null ? window.getHigh() : high;
+    }
+
+    public PiecewiseLinearModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,35 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for linear search: one COMPARE per element until a match is found
+ */
+public class LinearSearchCursor extends SearchCursor {
+
+    private final ArrayProbe probe;
+    private int current = 0;
+    private boolean matched = false;
+
+    public LinearSearchCursor(ArrayProbe probe) {
+        this.probe = probe;
+    }
+
+    @Override
+    protected void advance() {
+        if (matched) {
+            found(current);
+            return;
+        }
+        if (current >= probe.length()) {
+            notFound();
+            return;
+        }
+
+        int comparison = probe.compareAt(current);
+        emit(StepType.COMPARE, current, -1, comparison);
+        if (comparison == 0) {
+            matched = true;
+        } else {
+            current++;
+        }
+    }
+}
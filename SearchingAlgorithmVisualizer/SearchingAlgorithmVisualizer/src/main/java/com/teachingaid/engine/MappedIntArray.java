@@ -0,0 +1,231 @@
+package com.teachingaid.engine;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file of sorted 32-bit keys mapped into memory with the Foreign Function &amp; Memory API.
+ * The keys are read straight from the page cache through a {@link MemorySegment}: nothing is
+ * copied onto the heap, opening a multi-GB file only maps it, and the operating system pages
+ * in just the parts a search touches. Positions are longs, so files may hold more keys than
+ * an {@code int[]} can.
+ * Binary, jump and exponential search run directly on the segment; each one can report its
+ * probes to a {@link ProbeListener}.
+ */
+public final class MappedIntArray implements AutoCloseable {
+
+    /**
+     * Byte order written by {@link java.io.DataOutputStream}, used when none is given
+     */
+    public static final ByteOrder DEFAULT_ORDER = ByteOrder.BIG_ENDIAN;
+
+    private final Path file;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final ValueLayout.OfInt layout;
+    private final long length;
+
+    private MappedIntArray(Path file, Arena arena, MemorySegment segment, ByteOrder order) {
+        this.file = file;
+        this.arena = arena;
+        this.segment = segment;
+        this.layout = ValueLayout.JAVA_INT.withOrder(order);
+        this.length = segment.byteSize() / Integer.BYTES;
+    }
+
+    /**
+     * Maps a file of big-endian keys read-only
+     */
+    public static MappedIntArray map(Path file) throws IOException {
+        return map(file, DEFAULT_ORDER);
+    }
+
+    /**
+     * Maps a file of keys read-only; the mapping stays valid until {@link #close()}
+     * @param order Byte order the keys were written in
+     */
+    public static MappedIntArray map(Path file, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException(file + " is " + size + " bytes long, not a whole number of 32-bit keys");
+            }
+            // Shared so that the keys can be searched from the UI thread and from background tasks
+            Arena arena = Arena.ofShared();
+            try {
+                return new MappedIntArray(file, arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena), order);
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes keys in the format {@link #map(Path, ByteOrder)} reads, replacing the file
+     */
+    public static void write(Path file, int[] keys, ByteOrder order) throws IOException {
+        ValueLayout.OfInt layout = ValueLayout.JAVA_INT.withOrder(order);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) keys.length * Integer.BYTES, arena);
+            for (int i = 0; i < keys.length; i++) {
+                out.setAtIndex(layout, i, keys[i]);
+            }
+            out.force();
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        return segment.getAtIndex(layout, index);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Copies the keys in [from, from + count) onto the heap, e.g. to display them
+     */
+    public int[] copy(long from, int count) {
+        int[] values = new int[count];
+        MemorySegment.copy(segment, layout, from * Integer.BYTES, values, 0, count);
+        return values;
+    }
+
+    public long binarySearch(int target) {
+        return binarySearch(target, null);
+    }
+
+    /**
+     * Binary search over the mapped keys
+     * @param listener Told about every probe, may be null
+     * @return Position of a key equal to the target, or -1 if there is none
+     */
+    public long binarySearch(int target, ProbeListener listener) {
+        return binarySearch(target, 0, length - 1, listener);
+    }
+
+    private long binarySearch(int target, long left, long right, ProbeListener listener) {
+        while (left <= right) {
+            long mid = (left + right) >>> 1;
+            int value = get(mid);
+            if (listener != null) {
+                listener.onProbe(mid, left, right);
+            }
+
+            if (value == target) {
+                return mid;
+            } else if (value > target) {
+                right = mid - 1;
+            } else {
+                left = mid + 1;
+            }
+        }
+        return -1;
+    }
+
+    public long jumpSearch(int target) {
+        return jumpSearch(target, null);
+    }
+
+    /**
+     * Jump search over the mapped keys: blocks of sqrt(n), then a scan of one block
+     * @param listener Told about every probe, may be null
+     * @return Position of the first key equal to the target, or -1 if there is none
+     */
+    public long jumpSearch(int target, ProbeListener listener) {
+        long n = length;
+        if (n == 0) {
+            return -1;
+        }
+        long step = Math.max(1, (long) Math.sqrt(n));
+        long prev = 0;
+        long jump = Math.min(step, n);
+
+        // Jump through blocks
+        while (true) {
+            int value = get(jump - 1);
+            if (listener != null) {
+                listener.onProbe(jump - 1, prev, n - 1);
+            }
+            if (value >= target) {
+                break;
+            }
+            prev = jump;
+            if (prev >= n) {
+                return -1;
+            }
+            jump = Math.min(jump + step, n);
+        }
+
+        // Linear search in the identified block
+        for (long i = prev; i < jump; i++) {
+            int value = get(i);
+            if (listener != null) {
+                listener.onProbe(i, i, jump - 1);
+            }
+            if (value >= target) {
+                return value == target ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    public long exponentialSearch(int target) {
+        return exponentialSearch(target, null);
+    }
+
+    /**
+     * Exponential search over the mapped keys: doubling bounds, then binary search in the last range
+     * @param listener Told about every probe, may be null
+     * @return Position of a key equal to the target, or -1 if there is none
+     */
+    public long exponentialSearch(int target, ProbeListener listener) {
+        long n = length;
+        if (n == 0) {
+            return -1;
+        }
+        int first = get(0);
+        if (listener != null) {
+            listener.onProbe(0, 0, n - 1);
+        }
+        if (first == target) {
+            return 0;
+        }
+
+        // Find range for binary search
+        long bound = 1;
+        while (bound < n) {
+            int value = get(bound);
+            if (listener != null) {
+                listener.onProbe(bound, bound / 2, n - 1);
+            }
+            if (value >= target) {
+                break;
+            }
+            bound *= 2;
+        }
+
+        return binarySearch(target, bound / 2, Math.min(bound, n - 1), listener);
+    }
+
+    /**
+     * Unmaps the file; the keys must not be read afterwards
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
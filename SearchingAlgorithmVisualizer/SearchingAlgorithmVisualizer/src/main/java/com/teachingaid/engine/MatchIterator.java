@@ -0,0 +1,91 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily yields the start of every occurrence of a pattern, in ascending order.
+ * Implementations keep the state of their algorithm between occurrences, so finding all k
+ * occurrences costs one search over the text rather than k searches restarted on substrings,
+ * and nothing is allocated per occurrence.
+ */
+public abstract class MatchIterator implements PrimitiveIterator.OfInt {
+
+    // Occurrence looked up but not returned yet; NONE when the next one has to be searched for
+    private static final int NONE = -2;
+    private int next = NONE;
+
+    /**
+     * Searches on from where the previous call stopped
+     * @return Start of the next occurrence, or -1 once there are no more
+     */
+    protected abstract int findNext();
+
+    @Override
+    public final boolean hasNext() {
+        if (next == NONE) {
+            next = findNext();
+        }
+        return next >= 0;
+    }
+
+    @Override
+    public final int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more occurrences");
+        }
+        int start = next;
+        next = NONE;
+        return start;
+    }
+
+    /**
+     * @return The remaining occurrences as a sequential stream, consuming this iterator
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(this,
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return The remaining occurrences, consuming this iterator
+     */
+    public int[] toArray() {
+        int[] starts = new int[16];
+        int count = 0;
+        while (hasNext()) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = nextInt();
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Adapts a string cursor: with {@link MatchMode#FIRST} it yields the occurrence it finds,
+     * otherwise the index of every MATCH step
+     */
+    public static MatchIterator of(SearchCursor cursor) {
+        return new MatchIterator() {
+            private boolean reported = false;
+
+            @Override
+            protected int findNext() {
+                while (cursor.hasNext()) {
+                    StepType type = cursor.next();
+                    if (type == StepType.MATCH || (type == StepType.FOUND && !reported)) {
+                        reported = true;
+                        return cursor.getIndex();
+                    }
+                }
+                return -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.teachingaid.engine;
+
+/**
+ * Receives every occurrence a multi-pattern search finds, in the order the occurrences end
+ */
+@FunctionalInterface
+public interface MatchListener {
+
+    /**
+     * @param patternIndex Position of the pattern in the array the search was built from
+     * @param start Text position the occurrence starts at
+     */
+    void onMatch(int patternIndex, int start);
+}
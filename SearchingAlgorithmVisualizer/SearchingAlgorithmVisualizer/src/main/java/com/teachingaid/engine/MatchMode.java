@@ -0,0 +1,20 @@
+package com.teachingaid.engine;
+
+/**
+ * How many occurrences a string search reports
+ */
+public enum MatchMode {
+    /** Stop at the first occurrence */
+    FIRST,
+    /** Report every occurrence, resuming after the end of each one */
+    NON_OVERLAPPING,
+    /** Report every occurrence, including those that start inside the previous one */
+    OVERLAPPING;
+
+    /**
+     * @return True if the search goes on after an occurrence
+     */
+    public boolean isAll() {
+        return this != FIRST;
+    }
+}
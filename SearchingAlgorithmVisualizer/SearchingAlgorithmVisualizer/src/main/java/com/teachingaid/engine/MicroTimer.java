@@ -0,0 +1,72 @@
+package com.teachingaid.engine;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The timing loop behind every measure helper: a task runs a few rounds in a row, the first
+ * ones only warm up the JIT, and the fastest round is reported in nanoseconds. Tasks return a
+ * value derived from their work, which is handed to a volatile sink so that the JIT cannot
+ * drop the work as dead code.
+ */
+public final class MicroTimer {
+
+    /**
+     * Rounds the measure helpers run when they have no reason to pick another number
+     */
+    public static final int DEFAULT_ROUNDS = 3;
+
+    // Receives the results of the timed tasks so that the JIT keeps them
+    private static volatile long sink;
+
+    private MicroTimer() {
+    }
+
+    /**
+     * @return Nanoseconds of the fastest of {@code rounds} runs of the task
+     */
+    public static double bestOf(int rounds, LongSupplier task) {
+        return bestOf(rounds, () -> null, ignored -> task.getAsLong());
+    }
+
+    /**
+     * For tasks that leave their results in memory the caller keeps, such as a results array
+     * @return Nanoseconds of the fastest of {@code rounds} runs of the task
+     */
+    public static double bestOf(int rounds, Runnable task) {
+        return bestOf(rounds, () -> null, ignored -> {
+            task.run();
+            return 0;
+        });
+    }
+
+    /**
+     * Runs an untimed setup before every round, for tasks that consume their input, e.g. a
+     * sort that needs a fresh unsorted copy each time
+     * @return Nanoseconds of the fastest of {@code rounds} timed runs of the task
+     */
+    public static <T> double bestOf(int rounds, Supplier<T> setup, ToLongFunction<? super T> task) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("At least one round is needed: " + rounds);
+        }
+        double best = Double.MAX_VALUE;
+        long result = 0;
+        for (int round = 0; round < rounds; round++) {
+            T input = setup.get();
+            long start = System.nanoTime();
+            result += task.applyAsLong(input);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        sink = result;
+        return best;
+    }
+
+    /**
+     * @return Nanoseconds per operation of the fastest of {@code rounds} runs of a task that
+     *         performs {@code operations} operations, 0 if there are none
+     */
+    public static double perOperation(int rounds, int operations, LongSupplier task) {
+        return operations > 0 ? bestOf(rounds, task) / operations : 0;
+    }
+}
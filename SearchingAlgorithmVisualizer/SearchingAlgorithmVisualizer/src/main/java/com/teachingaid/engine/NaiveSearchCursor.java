@@ -0,0 +1,62 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for the naive (brute force) string search.
+ * Emits a COMPARE per character pair and a SHIFT of one position after every mismatch.
+ * When every occurrence is wanted, each one is reported as a MATCH followed by a SHIFT of one
+ * position (overlapping) or of the pattern length.
+ */
+public class NaiveSearchCursor extends SearchCursor {
+
+    private final String text;
+    private final String pattern;
+    private final MatchMode mode;
+    private int position = 0;
+    private int patternIndex = 0;
+    private int shift = 0;
+
+    public NaiveSearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public NaiveSearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.mode = mode;
+    }
+
+    @Override
+    protected void advance() {
+        if (patternIndex == pattern.length()) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(position);
+                return;
+            }
+            match(position, 0);
+            shift = mode == MatchMode.OVERLAPPING ? 1 : pattern.length();
+            position += shift;
+            patternIndex = 0;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, position, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (position > text.length() - pattern.length()) {
+            finishMatches();
+            return;
+        }
+
+        int textIndex = position + patternIndex;
+        boolean match = text.charAt(textIndex) == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            patternIndex++;
+        } else {
+            position++;
+            patternIndex = 0;
+            shift = 1;
+        }
+    }
+}
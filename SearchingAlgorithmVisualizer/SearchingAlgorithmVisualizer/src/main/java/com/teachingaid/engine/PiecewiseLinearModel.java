@@ -0,0 +1,236 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Learned index over sorted keys: a piecewise-linear approximation of the key to position mapping.
+ * Training walks the keys once and greedily grows each segment while a single line through its
+ * first key still predicts the position of every key in the segment within +/- epsilon
+ * (the "shrinking cone" of the PGM index and FITing-tree). A lookup picks the segment by
+ * binary search over the few segment start keys, evaluates the line and then only has to
+ * search the small error window around the prediction.
+ * Duplicate keys are modelled by their first position, so a present key is always found in its window.
+ */
+public final class PiecewiseLinearModel {
+
+    /**
+     * Window of 2 * 32 + 3 ints, about four cache lines, searched after each prediction
+     */
+    public static final int DEFAULT_EPSILON = 32;
+
+    private final int size;
+    private final int epsilon;
+    private final int segmentCount;
+    private final double[] firstKeys;
+    private final int[] starts;
+    private final double[] slopes;
+    private final long buildNanos;
+
+    private PiecewiseLinearModel(int size, IntToDoubleFunction keys, int epsilon) {
+        if (epsilon < 0) {
+            throw new IllegalArgumentException("Epsilon must not be negative: " + epsilon);
+        }
+        long startTime = System.nanoTime();
+        this.size = size;
+        this.epsilon = epsilon;
+
+        double[] segmentKeys = new double[16];
+        int[] segmentStarts = new int[16];
+        double[] segmentSlopes = new double[16];
+        int count = 0;
+
+        if (size > 0) {
+            double x0 = keys.applyAsDouble(0);
+            int y0 = 0;
+            double lastKey = x0;
+            double slopeLow = Double.NEGATIVE_INFINITY;
+            double slopeHigh = Double.POSITIVE_INFINITY;
+            for (int i = 1; i <= size; i++) {
+                double x = i < size ? keys.applyAsDouble(i) : Double.NaN;
+                if (i < size && !(x > lastKey)) {
+                    // Duplicate (or unordered) key: its first position is already modelled
+                    continue;
+                }
+                if (i < size) {
+                    lastKey = x;
+                    double dx = x - x0;
+                    double low = Math.max(slopeLow, (i - epsilon - y0) / dx);
+                    double high = Math.min(slopeHigh, (i + epsilon - y0) / dx);
+                    if (low <= high) {
+                        slopeLow = low;
+                        slopeHigh = high;
+                        continue;
+                    }
+                }
+
+                // The cone is empty (or the keys ran out): close the segment and start the next one at x
+                if (count == segmentKeys.length) {
+                    segmentKeys = Arrays.copyOf(segmentKeys, 2 * count);
+                    segmentStarts = Arrays.copyOf(segmentStarts, 2 * count);
+                    segmentSlopes = Arrays.copyOf(segmentSlopes, 2 * count);
+                }
+                segmentKeys[count] = x0;
+                segmentStarts[count] = y0;
+                segmentSlopes[count] = Double.isInfinite(slopeLow) || Double.isInfinite(slopeHigh)
+                                       ? 0 : (slopeLow + slopeHigh) / 2;
+                count++;
+                x0 = x;
+                y0 = i;
+                slopeLow = Double.NEGATIVE_INFINITY;
+                slopeHigh = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        this.segmentCount = count;
+        this.firstKeys = Arrays.copyOf(segmentKeys, count);
+        this.starts = Arrays.copyOf(segmentStarts, count);
+        this.slopes = Arrays.copyOf(segmentSlopes, count);
+        this.buildNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Trains a model over sorted int keys in O(n)
+     * @param epsilon Largest distance allowed between a predicted and a real position
+     */
+    public static PiecewiseLinearModel train(int[] sortedArray, int epsilon) {
+        return new PiecewiseLinearModel(sortedArray.length, i -> sortedArray[i], epsilon);
+    }
+
+    /**
+     * Trains a model over the numeric keys of any sorted sequence
+     */
+    public static PiecewiseLinearModel train(ArrayProbe probe, int epsilon) {
+        return new PiecewiseLinearModel(probe.length(), probe::keyAt, epsilon);
+    }
+
+    /**
+     * @return Segment responsible for the key: the last one starting at or below it, 0 below the first key
+     */
+    public int segmentOf(double key) {
+        int low = 0;
+        int high = segmentCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstKeys[mid] <= key) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Predicted position of the key, clamped to the keys; 0 for an empty model
+     */
+    public int predict(double key) {
+        if (segmentCount == 0) {
+            return 0;
+        }
+        int segment = segmentOf(key);
+        double position = starts[segment] + slopes[segment] * (key - firstKeys[segment]);
+        if (!(position > 0)) {
+            return 0;
+        }
+        return (int) Math.min(size - 1, Math.round(position));
+    }
+
+    /**
+     * @return First position of the error window around a prediction
+     */
+    public int windowLow(int predicted) {
+        // One extra position covers the rounding of the prediction
+        return Math.max(0, predicted - epsilon - 1);
+    }
+
+    /**
+     * @return Last position of the error window around a prediction
+     */
+    public int windowHigh(int predicted) {
+        return Math.min(size - 1, predicted + epsilon + 1);
+    }
+
+    /**
+     * Looks up a key in the sorted array the model was trained on
+     * @return Index of an element equal to the target, or -1 if there is none
+     */
+    public int indexOf(int[] sortedArray, int target) {
+        int predicted = predict(target);
+        int low = windowLow(predicted);
+        int high = windowHigh(predicted);
+        // Bounded binary search inside the error window
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = sortedArray[mid];
+            if (value == target) {
+                return mid;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lower bound in the sorted array the model was trained on. Keys absent from the array can
+     * fall just outside the error window; the window edges are checked and the search widens if so.
+     * @return Position of the first key not less than the target, or the array length if there is none
+     */
+    public int lowerBound(int[] sortedArray, int target) {
+        int n = sortedArray.length;
+        if (n == 0) {
+            return 0;
+        }
+        int predicted = predict(target);
+        int low = windowLow(predicted);
+        int high = windowHigh(predicted) + 1;
+        if (low > 0 && sortedArray[low - 1] >= target) {
+            return BoundSearch.lowerBound(sortedArray, 0, low, target);
+        }
+        if (high < n && sortedArray[high - 1] < target) {
+            return BatchBinarySearch.gallop(sortedArray, target, high, n, false);
+        }
+        return BoundSearch.lowerBound(sortedArray, low, high, target);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEpsilon() {
+        return epsilon;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public double getSegmentFirstKey(int segment) {
+        return firstKeys[segment];
+    }
+
+    public int getSegmentStart(int segment) {
+        return starts[segment];
+    }
+
+    public double getSegmentSlope(int segment) {
+        return slopes[segment];
+    }
+
+    /**
+     * @return Time spent training, in nanoseconds
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return Approximate memory used by the segments, in bytes
+     */
+    public long sizeInBytes() {
+        return (long) segmentCount * (Double.BYTES + Integer.BYTES + Double.BYTES);
+    }
+}
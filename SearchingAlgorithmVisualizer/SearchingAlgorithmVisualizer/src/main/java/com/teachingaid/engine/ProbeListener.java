@@ -0,0 +1,16 @@
+package com.teachingaid.engine;
+
+/**
+ * Receives every element a search reads, with the range that was still in play at that moment.
+ * Indices are longs so that searches over memory-mapped files larger than an array can report them.
+ */
+@FunctionalInterface
+public interface ProbeListener {
+
+    /**
+     * @param index Position that was compared with the target
+     * @param low First position still in play
+     * @param high Last position still in play
+     */
+    void onProbe(long index, long low, long high);
+}
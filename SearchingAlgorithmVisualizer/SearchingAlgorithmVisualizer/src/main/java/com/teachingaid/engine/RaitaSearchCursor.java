@@ -0,0 +1,102 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Raita's variant of Horspool.
+ * Each window is checked at the last, the first and the middle pattern character before the
+ * rest is compared left to right, since those three rule out most windows of natural text.
+ * Shifts are Horspool's. A SHIFT carries the new alignment and the skip distance.
+ * When every occurrence is wanted, each one is reported as a MATCH followed by Horspool's shift
+ * (overlapping) or by a shift of the pattern length.
+ */
+public class RaitaSearchCursor extends SearchCursor {
+
+    private final String text;
+    private final String pattern;
+    private final BadCharacterTable shiftTable;
+    // Pattern positions in the order they are compared
+    private final int[] order;
+    private final MatchMode mode;
+    private int position = 0;
+    private int step = 0;
+    private int shift = 0;
+
+    public RaitaSearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public RaitaSearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.shiftTable = HorspoolSearchCursor.buildShiftTable(pattern);
+        this.order = comparisonOrder(pattern.length());
+        this.mode = mode;
+    }
+
+    @Override
+    protected void advance() {
+        if (step == order.length) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(position);
+                return;
+            }
+            match(position, 0);
+            shift = mode == MatchMode.OVERLAPPING
+                ? HorspoolSearchCursor.shift(pattern, shiftTable, text.charAt(position + pattern.length() - 1))
+                : pattern.length();
+            position += shift;
+            step = 0;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, position, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (position + pattern.length() > text.length()) {
+            finishMatches();
+            return;
+        }
+
+        int patternIndex = order[step];
+        int textIndex = position + patternIndex;
+        boolean match = text.charAt(textIndex) == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            step++;
+        } else {
+            shift = HorspoolSearchCursor.shift(pattern, shiftTable, text.charAt(position + pattern.length() - 1));
+            position += shift;
+            step = 0;
+        }
+    }
+
+    public BadCharacterTable getShiftTable() {
+        return shiftTable;
+    }
+
+    /**
+     * @return Pattern positions of a pattern of length m in Raita's order: last, first, middle,
+     *         then the remaining ones left to right
+     */
+    public static int[] comparisonOrder(int m) {
+        int[] order = new int[m];
+        if (m == 0) {
+            return order;
+        }
+        int count = 0;
+        int middle = m / 2;
+        order[count++] = m - 1;
+        if (m > 1) {
+            order[count++] = 0;
+        }
+        if (middle != 0 && middle != m - 1) {
+            order[count++] = middle;
+        }
+        for (int i = 1; i < m - 1; i++) {
+            if (i != middle) {
+                order[count++] = i;
+            }
+        }
+        return order;
+    }
+}
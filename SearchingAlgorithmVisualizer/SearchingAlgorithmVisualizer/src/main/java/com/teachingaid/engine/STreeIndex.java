@@ -0,0 +1,202 @@
+package com.teachingaid.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Static B+ tree (S+ tree) over sorted int keys with 16 keys, one 64-byte cache line, per node.
+ * The leaves are the sorted keys themselves, padded to whole nodes; every internal node stores,
+ * for each child but the first, the smallest key of that child's subtree. Children are found by
+ * arithmetic (node q has children q * 17 .. q * 17 + 16), so the tree has no pointers at all.
+ * A lookup reads one cache line per level and ranks the target inside it with 16 branch-free
+ * compares, so a 16M key array needs 6 cache misses instead of the 24 of binary search.
+ * With {@code --add-modules jdk.incubator.vector} the compares of a node run as SIMD lane
+ * compares and a mask popcount; without it the scalar branch-free loop is used.
+ */
+public final class STreeIndex implements SortedIntSearch {
+
+    /**
+     * Keys per node: 16 ints fill one cache line
+     */
+    public static final int NODE_KEYS = 16;
+
+    /**
+     * Largest supported length, leaving room for padding and the internal layers
+     */
+    public static final int MAX_LENGTH = 1 << 30;
+
+    private static final int FANOUT = NODE_KEYS + 1;
+    // Pads the last leaf and stands in for children that do not exist
+    private static final int PADDING = Integer.MAX_VALUE;
+    private static final boolean VECTORIZED = detect();
+
+    // Layer 0 holds the padded leaves, the root is the single node of the last layer
+    private final int[] tree;
+    private final int[] offsets;
+    private final int size;
+
+    /**
+     * Builds the tree in O(n)
+     * @param sortedArray Keys in ascending order; the array is not kept
+     */
+    public STreeIndex(int[] sortedArray) {
+        int n = sortedArray.length;
+        if (n > MAX_LENGTH) {
+            throw new IllegalArgumentException("Unsupported length for an S-tree: " + n);
+        }
+        this.size = n;
+        this.offsets = layerOffsets(n, NODE_KEYS);
+        int height = offsets.length - 1;
+        this.tree = new int[offsets[height]];
+
+        System.arraycopy(sortedArray, 0, tree, 0, n);
+        for (int i = n; i < offsets[1]; i++) {
+            tree[i] = PADDING;
+        }
+        for (int h = 1; h < height; h++) {
+            int keys = offsets[h + 1] - offsets[h];
+            for (int i = 0; i < keys; i++) {
+                long position = separatorPosition(i / NODE_KEYS, i % NODE_KEYS, h, NODE_KEYS);
+                tree[offsets[h] + i] = position < n ? sortedArray[(int) position] : PADDING;
+            }
+        }
+    }
+
+    /**
+     * Start of every layer in the flattened tree, from the leaves (layer 0) up to the root,
+     * followed by the total length
+     * @param keysPerNode Keys stored in every node
+     */
+    static int[] layerOffsets(int n, int keysPerNode) {
+        int nodes = Math.max(1, (n + keysPerNode - 1) / keysPerNode);
+        int height = 1;
+        for (int count = nodes; count > 1; count = (count + keysPerNode) / (keysPerNode + 1)) {
+            height++;
+        }
+        int[] offsets = new int[height + 1];
+        for (int h = 0; h < height; h++) {
+            offsets[h + 1] = offsets[h] + nodes * keysPerNode;
+            nodes = (nodes + keysPerNode) / (keysPerNode + 1);
+        }
+        return offsets;
+    }
+
+    /**
+     * Sorted position of the key stored in slot j of node q on layer h: the first key of
+     * child j + 1, found by always descending to the leftmost child below it
+     * @return The position, which is at or past the end of the keys for children that do not exist
+     */
+    static long separatorPosition(int node, int slot, int layer, int keysPerNode) {
+        long leaf = (long) node * (keysPerNode + 1) + slot + 1;
+        for (int l = 1; l < layer; l++) {
+            leaf *= keysPerNode + 1;
+            if (leaf > Integer.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return leaf * keysPerNode;
+    }
+
+    /**
+     * @return Sorted position of the first key that is not less than the target, or size() if there is none
+     */
+    @Override
+    public int lowerBound(int target) {
+        int[] tree = this.tree;
+        int[] offsets = this.offsets;
+        int k = 0;
+        if (VECTORIZED) {
+            for (int h = offsets.length - 2; h > 0; h--) {
+                k = k * FANOUT + Kernel.rank(tree, offsets[h] + k, target) * NODE_KEYS;
+            }
+            return Math.min(size, k + Kernel.rank(tree, k, target));
+        }
+        for (int h = offsets.length - 2; h > 0; h--) {
+            k = k * FANOUT + rank(tree, offsets[h] + k, target) * NODE_KEYS;
+        }
+        return Math.min(size, k + rank(tree, k, target));
+    }
+
+    /**
+     * @return Sorted position of the target (its first occurrence), or -1 if it is absent
+     */
+    public int indexOf(int target) {
+        int position = lowerBound(target);
+        return position < size && tree[position] == target ? position : -1;
+    }
+
+    /**
+     * Number of the 16 keys in the node at base that are less than the target, without branches
+     */
+    private static int rank(int[] tree, int base, int target) {
+        int count = 0;
+        for (int j = 0; j < NODE_KEYS; j++) {
+            count += tree[base + j] < target ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static boolean detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            // Loading the kernel links the Vector API classes; a node must be whole vectors
+            return NODE_KEYS % Kernel.lanes() == 0 && Kernel.rank(new int[NODE_KEYS], 0, 1) == NODE_KEYS;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true when node ranks run on the Vector API
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Only loaded once the module is known to be present
+     */
+    private static final class Kernel {
+
+        static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+        static int lanes() {
+            return SPECIES.length();
+        }
+
+        static int rank(int[] tree, int base, int target) {
+            IntVector needle = IntVector.broadcast(SPECIES, target);
+            int count = 0;
+            for (int j = 0; j < NODE_KEYS; j += SPECIES.length()) {
+                count += IntVector.fromArray(SPECIES, tree, base + j).compare(VectorOperators.LT, needle).trueCount();
+            }
+            return count;
+        }
+    }
+
+    public boolean contains(int target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of node layers, leaves included
+     */
+    public int getHeight() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return Memory used by the leaves and the internal layers, in bytes
+     */
+    public long sizeInBytes() {
+        return (long) tree.length * Integer.BYTES;
+    }
+}
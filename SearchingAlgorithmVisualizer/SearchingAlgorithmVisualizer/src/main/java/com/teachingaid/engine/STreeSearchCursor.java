@@ -0,0 +1,159 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Step engine for the S-tree descent, run on the sorted positions of the keys so the
+ * tree never has to be built. Every key of the current node is compared (COMPARE, with
+ * the node slot as aux) because the real lookup ranks a whole node at once; the descent
+ * into the chosen child is reported as a NARROW_RANGE over the sorted positions that child
+ * covers. In the leaf the lower bound is the number of smaller keys, as in {@link STreeIndex}.
+ */
+public class STreeSearchCursor extends SearchCursor {
+
+    private final ArrayProbe probe;
+    private final int keysPerNode;
+    private final int height;
+    // Layer of the node being ranked, the root is on height - 1 and the leaves on 0; -1 once the leaf is done
+    private int layer;
+    private int node = 0;
+    private int slot = 0;
+    private int rank = 0;
+    private int boundComparison = 1;
+    private boolean boundCompared = false;
+
+    public STreeSearchCursor(ArrayProbe probe) {
+        this(probe, STreeIndex.NODE_KEYS);
+    }
+
+    /**
+     * @param keysPerNode Keys per node; smaller nodes give deeper trees that are easier to follow
+     */
+    public STreeSearchCursor(ArrayProbe probe, int keysPerNode) {
+        if (keysPerNode < 1) {
+            throw new IllegalArgumentException("A node needs at least one key: " + keysPerNode);
+        }
+        this.probe = probe;
+        this.keysPerNode = keysPerNode;
+        this.height = STreeIndex.layerOffsets(probe.length(), keysPerNode).length - 1;
+        this.layer = height - 1;
+    }
+
+    @Override
+    protected void advance() {
+        int n = probe.length();
+        if (layer >= 0) {
+            long position = keyPosition(slot);
+            if (slot < keysPerNode && position < n) {
+                int comparison = probe.compareAt((int) position);
+                emit(StepType.COMPARE, (int) position, slot, comparison);
+                if (comparison < 0) {
+                    rank++;
+                } else if (slot == rank && layer == 0) {
+                    // First leaf key that is not smaller: the lower bound
+                    boundComparison = comparison;
+                    boundCompared = true;
+                }
+                slot++;
+                return;
+            }
+
+            if (layer > 0) {
+                // Descend into child `rank`, covering the sorted positions of all leaves below it
+                int child = node * (keysPerNode + 1) + rank;
+                long low = firstPosition(child, layer - 1);
+                long high = Math.min(n, firstPosition(child + 1, layer - 1)) - 1;
+                layer--;
+                node = child;
+                slot = 0;
+                rank = 0;
+                emit(StepType.NARROW_RANGE, (int) low, (int) high, 0);
+                return;
+            }
+            layer = -1;
+        }
+
+        long lowerBound = getLowerBound();
+        if (lowerBound >= n) {
+            notFound();
+        } else if (!boundCompared) {
+            // Every key in the leaf was smaller: the bound is the first key of the next leaf
+            boundComparison = probe.compareAt((int) lowerBound);
+            boundCompared = true;
+            emit(StepType.COMPARE, (int) lowerBound, -1, boundComparison);
+        } else if (boundComparison == 0) {
+            found((int) lowerBound);
+        } else {
+            notFound();
+        }
+    }
+
+    private long keyPosition(int slot) {
+        if (layer <= 0) {
+            return (long) node * keysPerNode + slot;
+        }
+        return STreeIndex.separatorPosition(node, slot, layer, keysPerNode);
+    }
+
+    private long firstPosition(long node, int layer) {
+        long leaf = node;
+        for (int l = 0; l < layer; l++) {
+            leaf *= keysPerNode + 1;
+            if (leaf > Integer.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return leaf * keysPerNode;
+    }
+
+    /**
+     * @return Sorted position of the first key not less than the target, valid once the leaf has been ranked
+     */
+    public long getLowerBound() {
+        return (long) node * keysPerNode + rank;
+    }
+
+    /**
+     * @return Depth of the node being ranked, 0 for the root; the leaves are on getHeight() - 1
+     */
+    public int getLevel() {
+        return height - 1 - Math.max(layer, 0);
+    }
+
+    /**
+     * @return Index of the node being ranked within its level
+     */
+    public int getNode() {
+        return node;
+    }
+
+    /**
+     * @return Keys of the current node found smaller than the target so far
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * @return Sorted positions of the keys stored in the current node; slots without a key are left out
+     */
+    public int[] getNodePositions() {
+        int count = 0;
+        int[] positions = new int[keysPerNode];
+        for (int j = 0; j < keysPerNode; j++) {
+            long position = keyPosition(j);
+            if (position < probe.length()) {
+                positions[count++] = (int) position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    public int getKeysPerNode() {
+        return keysPerNode;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,19 @@
+package com.teachingaid.engine;
+
+/**
+ * Common description of a search algorithm that can be executed step by step
+ */
+public interface SearchAlgorithm {
+
+    /**
+     * @return Display name, matching the entries of the algorithm selectors
+     */
+    String getName();
+
+    /**
+     * @return true if the input must be sorted in ascending order
+     */
+    default boolean requiresSortedInput() {
+        return false;
+    }
+}
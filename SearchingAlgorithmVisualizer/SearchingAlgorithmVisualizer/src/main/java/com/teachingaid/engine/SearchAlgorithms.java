@@ -0,0 +1,154 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Registry of the step engines, keyed by the names shown in the algorithm selectors
+ */
+public final class SearchAlgorithms {
+
+    public static final ArraySearchAlgorithm LINEAR = array("Linear Search", false, LinearSearchCursor::new);
+    public static final ArraySearchAlgorithm HASH_INDEX = array("Hash Index Search", false, HashIndexSearchCursor::new);
+    public static final ArraySearchAlgorithm CRACKING = intArray("Cracking Search", false, CrackingSearchCursor::new);
+    public static final ArraySearchAlgorithm BINARY = array("Binary Search", true, BinarySearchCursor::new);
+    public static final ArraySearchAlgorithm EQUAL_RANGE = array("Equal Range Search", true, EqualRangeSearchCursor::new);
+    public static final ArraySearchAlgorithm INTERPOLATION = array("Interpolation Search", true, InterpolationSearchCursor::new);
+    public static final ArraySearchAlgorithm EYTZINGER = array("Eytzinger Search", true, EytzingerSearchCursor::new);
+    public static final ArraySearchAlgorithm S_TREE = array("S-Tree Search", true, STreeSearchCursor::new);
+    public static final ArraySearchAlgorithm JUMP = array("Jump Search", true, JumpSearchCursor::new);
+    public static final ArraySearchAlgorithm EXPONENTIAL = array("Exponential Search", true, ExponentialSearchCursor::new);
+    public static final ArraySearchAlgorithm LEARNED_INDEX = array("Learned Index Search", true, LearnedIndexSearchCursor::new);
+
+    public static final StringSearchAlgorithm KMP = string("KMP Search", KMPSearchCursor::new);
+    public static final StringSearchAlgorithm NAIVE = string("Naive Search", NaiveSearchCursor::new);
+    public static final StringSearchAlgorithm BOYER_MOORE = string("Boyer-Moore Search", BoyerMooreSearchCursor::new);
+    public static final StringSearchAlgorithm HORSPOOL = string("Horspool Search", HorspoolSearchCursor::new);
+    public static final StringSearchAlgorithm SUNDAY = string("Sunday Search", SundaySearchCursor::new);
+    public static final StringSearchAlgorithm RAITA = string("Raita Search", RaitaSearchCursor::new);
+
+    private static final List<ArraySearchAlgorithm> ARRAY_ALGORITHMS =
+        Collections.unmodifiableList(Arrays.asList(LINEAR, HASH_INDEX, CRACKING, BINARY, EQUAL_RANGE, INTERPOLATION, EYTZINGER,
+                                                  S_TREE, JUMP, EXPONENTIAL, LEARNED_INDEX));
+    private static final List<StringSearchAlgorithm> STRING_ALGORITHMS =
+        Collections.unmodifiableList(Arrays.asList(KMP, NAIVE, BOYER_MOORE, HORSPOOL, SUNDAY, RAITA));
+
+    private SearchAlgorithms() {
+    }
+
+    public static List<ArraySearchAlgorithm> arrayAlgorithms() {
+        return ARRAY_ALGORITHMS;
+    }
+
+    public static List<StringSearchAlgorithm> stringAlgorithms() {
+        return STRING_ALGORITHMS;
+    }
+
+    /**
+     * @return The array algorithm with the given display name, or null if there is none
+     */
+    public static ArraySearchAlgorithm arrayAlgorithm(String name) {
+        for (ArraySearchAlgorithm algorithm : ARRAY_ALGORITHMS) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The string algorithm with the given display name, or null if there is none
+     */
+    public static StringSearchAlgorithm stringAlgorithm(String name) {
+        for (StringSearchAlgorithm algorithm : STRING_ALGORITHMS) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    private static ArraySearchAlgorithm array(String name, boolean sorted, Function<ArrayProbe, SearchCursor> factory) {
+        return new ArraySearchAlgorithm() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean requiresSortedInput() {
+                return sorted;
+            }
+
+            @Override
+            public SearchCursor open(ArrayProbe probe) {
+                return factory.apply(probe);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Algorithm over int keys only; short and char arrays widen to int, long and double arrays are refused
+     */
+    private static ArraySearchAlgorithm intArray(String name, boolean sorted, Function<ArrayProbe, SearchCursor> factory) {
+        return new ArraySearchAlgorithm() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean requiresSortedInput() {
+                return sorted;
+            }
+
+            @Override
+            public boolean requiresIntKeys() {
+                return true;
+            }
+
+            @Override
+            public SearchCursor open(ArrayProbe probe) {
+                return factory.apply(probe);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    private static StringSearchAlgorithm string(String name, StringCursorFactory factory) {
+        return new StringSearchAlgorithm() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public SearchCursor open(String text, String pattern, MatchMode mode) {
+                return factory.open(text, pattern, mode);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Constructor of a string cursor
+     */
+    private interface StringCursorFactory {
+        SearchCursor open(String text, String pattern, MatchMode mode);
+    }
+}
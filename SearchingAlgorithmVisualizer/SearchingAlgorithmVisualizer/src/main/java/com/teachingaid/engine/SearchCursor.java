@@ -0,0 +1,147 @@
+package com.teachingaid.engine;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-based, step-at-a-time execution of a search algorithm.
+ * Every call to {@link #next()} performs exactly one step and exposes it through the getters,
+ * so the same cursor can be run to completion at full speed or advanced frame by frame by a UI.
+ */
+public abstract class SearchCursor {
+
+    private StepType type;
+    private int index = -1;
+    private int aux = -1;
+    private int comparison;
+    private int result = -1;
+    private int stepCount = 0;
+    private int comparisonCount = 0;
+    private int firstMatch = -1;
+    private int matchCount = 0;
+    private boolean finished = false;
+
+    /**
+     * Performs one step of the algorithm. Implementations must call exactly one of
+     * {@link #emit}, {@link #found} or {@link #notFound}.
+     */
+    protected abstract void advance();
+
+    public final boolean hasNext() {
+        return !finished;
+    }
+
+    /**
+     * Advances the search by one step
+     * @return The type of the step that was just performed
+     */
+    public final StepType next() {
+        if (finished) {
+            throw new NoSuchElementException("Search already finished");
+        }
+        type = null;
+        advance();
+        if (type == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " advanced without emitting a step");
+        }
+        stepCount++;
+        return type;
+    }
+
+    protected final void emit(StepType type, int index, int aux, int comparison) {
+        this.type = type;
+        this.index = index;
+        this.aux = aux;
+        this.comparison = comparison;
+        if (type == StepType.COMPARE) {
+            comparisonCount++;
+        }
+    }
+
+    protected final void found(int index) {
+        emit(StepType.FOUND, index, -1, 0);
+        result = index;
+        finished = true;
+    }
+
+    protected final void notFound() {
+        emit(StepType.NOT_FOUND, -1, -1, 0);
+        result = -1;
+        finished = true;
+    }
+
+    /**
+     * Reports an occurrence starting at index without finishing the search
+     * @param aux Pattern the occurrence belongs to, 0 for single-pattern searches
+     */
+    protected final void match(int index, int aux) {
+        emit(StepType.MATCH, index, aux, 0);
+        if (firstMatch < 0) {
+            firstMatch = index;
+        }
+        matchCount++;
+    }
+
+    /**
+     * Ends a search that reports its occurrences through {@link #match}: found at the first
+     * occurrence reported, or not found if there was none
+     */
+    protected final void finishMatches() {
+        if (matchCount > 0) {
+            found(firstMatch);
+        } else {
+            notFound();
+        }
+    }
+
+    public StepType getType() {
+        return type;
+    }
+
+    /**
+     * Primary position of the current step (array index, text index or range start)
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Secondary value of the current step (pattern index, range end or shift data)
+     */
+    public int getAux() {
+        return aux;
+    }
+
+    /**
+     * For COMPARE steps: negative, zero or positive as the probed element is less than,
+     * equal to or greater than the target. String searches report 0 for a match and 1 otherwise.
+     */
+    public int getComparison() {
+        return comparison;
+    }
+
+    /**
+     * @return The index found, or -1 while running or when the target is absent
+     */
+    public int getResult() {
+        return result;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public int getComparisonCount() {
+        return comparisonCount;
+    }
+
+    /**
+     * @return MATCH steps so far
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+}
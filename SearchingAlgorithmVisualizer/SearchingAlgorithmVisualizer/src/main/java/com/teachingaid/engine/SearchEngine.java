@@ -0,0 +1,45 @@
+package com.teachingaid.engine;
+
+/**
+ * Runs search cursors to completion without any UI, e.g. for timing or batch runs
+ */
+public final class SearchEngine {
+
+    private SearchEngine() {
+    }
+
+    /**
+     * Runs the cursor until it finishes
+     * @return The index found, or -1
+     */
+    public static int run(SearchCursor cursor) {
+        while (cursor.hasNext()) {
+            cursor.next();
+        }
+        return cursor.getResult();
+    }
+
+    /**
+     * Runs the cursor until it finishes, reporting every step to the listener
+     * @return The index found, or -1
+     */
+    public static int run(SearchCursor cursor, StepListener listener) {
+        while (cursor.hasNext()) {
+            cursor.next();
+            listener.onStep(cursor);
+        }
+        return cursor.getResult();
+    }
+
+    /**
+     * Runs one search per target at full speed
+     * @return Total elapsed time in nanoseconds
+     */
+    public static long time(ArraySearchAlgorithm algorithm, int[] array, int[] targets) {
+        long start = System.nanoTime();
+        for (int target : targets) {
+            run(algorithm.open(array, target));
+        }
+        return System.nanoTime() - start;
+    }
+}
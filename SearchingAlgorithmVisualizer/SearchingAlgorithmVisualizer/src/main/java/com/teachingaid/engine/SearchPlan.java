@@ -0,0 +1,147 @@
+package com.teachingaid.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of {@link SearchPlanner#plan}: the estimated cost of every candidate algorithm for
+ * a number of searches, cheapest first, together with the inputs the estimates came from
+ */
+public final class SearchPlan {
+
+    private final ArrayStatistics statistics;
+    private final CostModel model;
+    private final int queries;
+    private final double hitRate;
+    private final List<Estimate> estimates;
+
+    SearchPlan(ArrayStatistics statistics, CostModel model, int queries, double hitRate, List<Estimate> estimates) {
+        this.statistics = statistics;
+        this.model = model;
+        this.queries = queries;
+        this.hitRate = hitRate;
+        List<Estimate> sorted = new ArrayList<>(estimates);
+        sorted.sort(Comparator.comparingDouble(Estimate::getTotalNanos));
+        this.estimates = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * @return The cheapest estimate
+     */
+    public Estimate getChoice() {
+        return estimates.get(0);
+    }
+
+    /**
+     * @return Every estimate, cheapest first
+     */
+    public List<Estimate> getEstimates() {
+        return estimates;
+    }
+
+    public ArrayStatistics getStatistics() {
+        return statistics;
+    }
+
+    public CostModel getModel() {
+        return model;
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    /**
+     * Explains the choice: the statistics and constants used, then every candidate with
+     * its one-time and per-search cost, cheapest first
+     */
+    public String explain() {
+        StringBuilder text = new StringBuilder();
+        text.append("Plan for ").append(queries).append(" search(es), ")
+            .append(Math.round(hitRate * 100)).append("% expected to find their value\n\n");
+        text.append("Statistics: ").append(statistics).append("\n\n");
+        text.append("Cost model: ").append(model).append("\n\n");
+        for (int k = 0; k < estimates.size(); k++) {
+            Estimate estimate = estimates.get(k);
+            text.append(k == 0 ? "✓ " : "  ").append(k + 1).append(". ").append(estimate.getAlgorithm())
+                .append(": ").append(formatNanos(estimate.getTotalNanos()))
+                .append(" = ").append(formatNanos(estimate.getSetupNanos())).append(" once + ")
+                .append(queries).append(" × ").append(formatNanos(estimate.getQueryNanos())).append('\n')
+                .append("     ").append(estimate.getReason()).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats a duration with a unit that keeps it short, e.g. "850 ns" or "1.2 ms"
+     */
+    public static String formatNanos(double nanos) {
+        if (nanos < 1_000) {
+            return String.format("%.0f ns", nanos);
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1_000);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1f ms", nanos / 1_000_000);
+        }
+        return String.format("%.2f s", nanos / 1_000_000_000);
+    }
+
+    /**
+     * Estimated cost of one algorithm
+     */
+    public static final class Estimate {
+        private final String algorithm;
+        private final double setupNanos;
+        private final double queryNanos;
+        private final double totalNanos;
+        private final String reason;
+
+        Estimate(String algorithm, double setupNanos, double queryNanos, int queries, String reason) {
+            this.algorithm = algorithm;
+            this.setupNanos = setupNanos;
+            this.queryNanos = queryNanos;
+            this.totalNanos = setupNanos + queryNanos * queries;
+            this.reason = reason;
+        }
+
+        /**
+         * @return Display name, matching the entries of the algorithm selector
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * @return One-time cost before the first search: sorting or building an index
+         */
+        public double getSetupNanos() {
+            return setupNanos;
+        }
+
+        /**
+         * @return Average cost of one search
+         */
+        public double getQueryNanos() {
+            return queryNanos;
+        }
+
+        public double getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return How the estimate was put together
+         */
+        public String getReason() {
+            return reason;
+        }
+    }
+}
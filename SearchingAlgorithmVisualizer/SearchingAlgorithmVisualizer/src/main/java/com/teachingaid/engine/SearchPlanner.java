@@ -0,0 +1,150 @@
+package com.teachingaid.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost-based choice of a search algorithm. Every candidate gets an estimate built from the
+ * array's {@link ArrayStatistics} and the per-machine constants of a {@link CostModel}: the
+ * one-time cost of sorting or building an index, plus the cost of one search times the
+ * expected number of searches. The cheapest total wins.
+ */
+public final class SearchPlanner {
+
+    /**
+     * Share of searches assumed to find their value when none is given
+     */
+    public static final double DEFAULT_HIT_RATE = 0.5;
+
+    // Smallest array for which splitting the scan across threads is considered
+    private static final int PARALLEL_MIN_SIZE = 2 * ForkJoinLinearSearch.DEFAULT_THRESHOLD;
+    // Cracking reads about 2.5 n H(q) keys over q random searches, H being the harmonic number
+    private static final double CRACKING_FACTOR = 2.5;
+    // An interpolation probe also divides to predict the position
+    private static final double INTERPOLATION_PROBE_FACTOR = 1.5;
+
+    private final CostModel model;
+
+    /**
+     * Plans with constants measured on this machine
+     */
+    public SearchPlanner() {
+        this(CostModel.calibrated());
+    }
+
+    public SearchPlanner(CostModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Plans searches on an array with constants measured on this machine
+     * @param array The array that will be searched, in any order
+     * @param expectedQueries Number of searches it will answer
+     */
+    public static SearchPlan planFor(int[] array, int expectedQueries) {
+        return new SearchPlanner().plan(ArrayStatistics.of(array), expectedQueries);
+    }
+
+    public SearchPlan plan(ArrayStatistics statistics, int expectedQueries) {
+        return plan(statistics, expectedQueries, DEFAULT_HIT_RATE);
+    }
+
+    /**
+     * @param statistics Statistics of the array that will be searched
+     * @param expectedQueries Number of searches, at least 1
+     * @param hitRate Share of the searches expected to find their value, from 0 to 1
+     */
+    public SearchPlan plan(ArrayStatistics statistics, int expectedQueries, double hitRate) {
+        if (expectedQueries < 1) {
+            throw new IllegalArgumentException("Expected at least one search: " + expectedQueries);
+        }
+        if (!(hitRate >= 0 && hitRate <= 1)) {
+            throw new IllegalArgumentException("Hit rate must be between 0 and 1: " + hitRate);
+        }
+        int q = expectedQueries;
+        double n = Math.max(1, statistics.getSize());
+        double log2n = Math.max(1, Math.log(n) / Math.log(2));
+        // A hit stops half way on average, a miss reads everything
+        double scanned = n * (1 - hitRate / 2);
+        List<SearchPlan.Estimate> estimates = new ArrayList<>();
+
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.LINEAR.getName(), 0,
+            model.getScanPerElement() * scanned, q,
+            String.format("No setup; reads %.0f element(s) per search", scanned)));
+
+        if (statistics.getSize() >= PARALLEL_MIN_SIZE) {
+            estimates.add(new SearchPlan.Estimate("Parallel Linear Search", 0,
+                model.getParallelScanPerElement() * scanned, q,
+                String.format("No setup; the %.0f element(s) per search are split across %d core(s)",
+                              scanned, Runtime.getRuntime().availableProcessors())));
+        }
+
+        String duplicates = statistics.getDuplicateRatio() >= 0.25
+            ? String.format("; about %.0f%% duplicates shrink the table", statistics.getDuplicateRatio() * 100) : "";
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.HASH_INDEX.getName(),
+            model.getHashBuildPerElement() * n, model.getHashLookup(), q,
+            "Builds a hash table once, then about one probe per search" + duplicates));
+
+        // Once every key has a piece of its own, searches only look up the two piece boundaries
+        double crackingSearches = Math.min(q, n);
+        double harmonic = Math.log(crackingSearches) + 0.5772 + 1.0 / (2 * crackingSearches);
+        double cracked = CRACKING_FACTOR * n * harmonic;
+        double boundaryProbes = 2 * Math.max(1, Math.log(crackingSearches + 1) / Math.log(2));
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.CRACKING.getName(), 0,
+            model.getCrackPerElement() * cracked / q + model.getProbe() * boundaryProbes, q,
+            String.format("No setup; partitions about %.0f element(s) over all searches, the first ones the most, " +
+                          "and looks up %.0f piece boundaries per search", cracked, boundaryProbes)));
+
+        double sortNanos;
+        String sortReason;
+        if (statistics.isSorted()) {
+            sortNanos = 0;
+            sortReason = "Already sorted";
+        } else if (statistics.getRunCount() <= SortedIntArray.MAX_MERGED_RUNS) {
+            double passes = Math.ceil(Math.log(statistics.getRunCount()) / Math.log(2));
+            sortNanos = model.getSortPerComparison() * n * passes;
+            sortReason = String.format("Merges %d ascending runs first", statistics.getRunCount());
+        } else {
+            sortNanos = model.getSortPerComparison() * n * log2n;
+            sortReason = "Sorts first";
+        }
+
+        double binaryProbes = Math.floor(log2n) + 1;
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.BINARY.getName(), sortNanos,
+            model.getProbe() * binaryProbes, q,
+            String.format("%s; %.0f probe(s) per search", sortReason, binaryProbes)));
+
+        double maxProbes = 2 * Math.ceil(log2n) + 4;
+        double uniformProbes = Math.log(log2n) / Math.log(2) + 1;
+        // Skew pushes interpolation towards its binary-search fallback
+        double skew = Math.max(0, statistics.getNonUniformity() - statistics.getSamplingError());
+        double interpolationProbes = Math.min(maxProbes, uniformProbes + 20 * skew * log2n);
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.INTERPOLATION.getName(), sortNanos,
+            model.getProbe() * INTERPOLATION_PROBE_FACTOR * interpolationProbes, q,
+            String.format("%s; about %.1f probe(s) per search at non-uniformity %.2f", sortReason,
+                          interpolationProbes, statistics.getNonUniformity())));
+
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.EYTZINGER.getName(),
+            sortNanos + model.getLayoutPerElement() * n, model.getEytzingerProbe() * binaryProbes, q,
+            String.format("%s, then lays the keys out breadth-first; %.0f prefetched level(s) per search",
+                          sortReason, binaryProbes)));
+
+        double exponentialProbes = 2 * log2n;
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.EXPONENTIAL.getName(), sortNanos,
+            model.getProbe() * exponentialProbes, q,
+            String.format("%s; about %.0f probe(s) per search, fewer for values near the start",
+                          sortReason, exponentialProbes)));
+
+        double block = Math.sqrt(n);
+        estimates.add(new SearchPlan.Estimate(SearchAlgorithms.JUMP.getName(), sortNanos,
+            model.getProbe() * block / 2 + model.getScanPerElement() * block / 2, q,
+            String.format("%s; about %.0f jump(s) and %.0f scanned element(s) per search",
+                          sortReason, block / 2, block / 2)));
+
+        return new SearchPlan(statistics, model, q, hitRate, estimates);
+    }
+
+    public CostModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,223 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+
+/**
+ * Compact record of every step of a search run.
+ * Steps are stored column-wise in primitive chunks (opcode, index, aux, comparison) that
+ * grow 4096 steps at a time, so long traces never allocate one object or string per step.
+ * Human readable text is only produced by {@link #describe(int)} for the steps that are shown.
+ */
+public class SearchTrace implements StepListener {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final StepType[] TYPES = StepType.values();
+
+    private final String algorithmName;
+    private final ArrayProbe probe;
+    private final String text;
+    private final String pattern;
+
+    // Columns: opcode and comparison sign fit in a byte, positions need a full int
+    private byte[][] opcodes = new byte[4][];
+    private int[][] indices = new int[4][];
+    private int[][] auxValues = new int[4][];
+    private byte[][] comparisons = new byte[4][];
+    private int size = 0;
+    private int comparisonCount = 0;
+    private int result = -1;
+
+    private SearchTrace(String algorithmName, ArrayProbe probe, String text, String pattern) {
+        this.algorithmName = algorithmName;
+        this.probe = probe;
+        this.text = text;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Runs an array search to completion and records every step
+     */
+    public static SearchTrace of(ArraySearchAlgorithm algorithm, ArrayProbe probe) {
+        SearchTrace trace = new SearchTrace(algorithm.getName(), probe, null, null);
+        SearchEngine.run(algorithm.open(probe), trace);
+        return trace;
+    }
+
+    public static SearchTrace of(ArraySearchAlgorithm algorithm, int[] array, int target) {
+        return of(algorithm, ArrayProbe.of(array, target));
+    }
+
+    /**
+     * Runs a string search to completion and records every step
+     */
+    public static SearchTrace of(StringSearchAlgorithm algorithm, String text, String pattern) {
+        SearchTrace trace = new SearchTrace(algorithm.getName(), null, text, pattern);
+        SearchEngine.run(algorithm.open(text, pattern), trace);
+        return trace;
+    }
+
+    @Override
+    public void onStep(SearchCursor cursor) {
+        add(cursor.getType(), cursor.getIndex(), cursor.getAux(), cursor.getComparison());
+        if (cursor.isFinished()) {
+            result = cursor.getResult();
+        }
+    }
+
+    private void add(StepType type, int index, int aux, int comparison) {
+        int chunk = size >>> CHUNK_SHIFT;
+        int offset = size & CHUNK_MASK;
+        if (offset == 0) {
+            allocateChunk(chunk);
+        }
+        opcodes[chunk][offset] = (byte) type.ordinal();
+        indices[chunk][offset] = index;
+        auxValues[chunk][offset] = aux;
+        comparisons[chunk][offset] = (byte) Integer.signum(comparison);
+        if (type == StepType.COMPARE) {
+            comparisonCount++;
+        }
+        size++;
+    }
+
+    private void allocateChunk(int chunk) {
+        if (chunk == opcodes.length) {
+            int capacity = chunk * 2;
+            opcodes = Arrays.copyOf(opcodes, capacity);
+            indices = Arrays.copyOf(indices, capacity);
+            auxValues = Arrays.copyOf(auxValues, capacity);
+            comparisons = Arrays.copyOf(comparisons, capacity);
+        }
+        opcodes[chunk] = new byte[CHUNK_SIZE];
+        indices[chunk] = new int[CHUNK_SIZE];
+        auxValues[chunk] = new int[CHUNK_SIZE];
+        comparisons[chunk] = new byte[CHUNK_SIZE];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    /**
+     * @return The index found, or -1 if the target was not found
+     */
+    public int getResult() {
+        return result;
+    }
+
+    public int getComparisonCount() {
+        return comparisonCount;
+    }
+
+    public StepType typeAt(int step) {
+        checkStep(step);
+        return TYPES[opcodes[step >>> CHUNK_SHIFT][step & CHUNK_MASK]];
+    }
+
+    public int indexAt(int step) {
+        checkStep(step);
+        return indices[step >>> CHUNK_SHIFT][step & CHUNK_MASK];
+    }
+
+    public int auxAt(int step) {
+        checkStep(step);
+        return auxValues[step >>> CHUNK_SHIFT][step & CHUNK_MASK];
+    }
+
+    /**
+     * @return -1, 0 or 1 for COMPARE steps (see {@link SearchCursor#getComparison()}), 0 otherwise
+     */
+    public int comparisonAt(int step) {
+        checkStep(step);
+        return comparisons[step >>> CHUNK_SHIFT][step & CHUNK_MASK];
+    }
+
+    /**
+     * Approximate heap footprint of the recorded columns
+     */
+    public long getMemoryBytes() {
+        long chunks = (size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        return chunks * CHUNK_SIZE * (1L + 4L + 4L + 1L);
+    }
+
+    /**
+     * Renders one step as text
+     * @param step Step number, starting at 0
+     * @return Human readable description of the step
+     */
+    public String describe(int step) {
+        StepType type = typeAt(step);
+        int index = indexAt(step);
+        int aux = auxAt(step);
+        int comparison = comparisonAt(step);
+
+        if (probe != null) {
+            switch (type) {
+                case COMPARE:
+                    return String.format("Step %d: Compare array[%d] = %s with target %s: %s",
+                            step + 1, index, probe.valueAt(index), probe.target(),
+                            comparison == 0 ? "match" : comparison < 0 ? "smaller" : "larger");
+                case NARROW_RANGE:
+                    return String.format("Step %d: Search range is now [%d, %d]", step + 1, index, aux);
+                case SHIFT:
+                    return String.format("Step %d: Move to position %d", step + 1, index);
+                case SWAP:
+                    return String.format("Step %d: Swap positions %d and %d", step + 1, index, aux);
+                case FOUND:
+                    return String.format("Found! Target %s found at index %d", probe.target(), index);
+                default:
+                    return "Search completed. Target not found in array.";
+            }
+        }
+
+        switch (type) {
+            case COMPARE:
+                return String.format("Step %d: Compare text[%d]='%c' with pattern[%d]='%c': %s",
+                        step + 1, index, text.charAt(index), aux, pattern.charAt(aux),
+                        comparison == 0 ? "match" : "mismatch");
+            case NARROW_RANGE:
+                return String.format("Step %d: Candidate positions are now [%d, %d]", step + 1, index, aux);
+            case SHIFT:
+                return String.format("Step %d: Shift pattern by %d to position %d", step + 1, aux, index);
+            case MATCH:
+                return String.format("Step %d: Occurrence at index %d, searching on", step + 1, index);
+            case FOUND:
+                return String.format("Pattern found at index %d!", index);
+            default:
+                return "Pattern not found in text";
+        }
+    }
+
+    /**
+     * Renders a window of steps, e.g. the page currently displayed or exported
+     * @param from First step to render
+     * @param count Maximum number of steps to render
+     */
+    public String[] describe(int from, int count) {
+        int end = (int) Math.min((long) from + count, size);
+        String[] lines = new String[Math.max(0, end - from)];
+        for (int i = from; i < end; i++) {
+            lines[i - from] = describe(i);
+        }
+        return lines;
+    }
+
+    /**
+     * Renders every step. Only intended for short traces.
+     */
+    public String[] toStrings() {
+        return describe(0, size);
+    }
+
+    private void checkStep(int step) {
+        if (step < 0 || step >= size) {
+            throw new IndexOutOfBoundsException("Step " + step + " out of range for trace of " + size + " steps");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.teachingaid.engine;
+
+/**
+ * Distances the pattern moved during one or more string search runs.
+ * Fed either by the static kernels through {@link #record(int)} or, as a {@link StepListener},
+ * by the SHIFT steps of any string cursor. Only counters are kept, so recording
+ * allocates nothing and one instance can be reused after {@link #reset()}.
+ */
+public final class ShiftStatistics implements StepListener {
+
+    private long shiftCount;
+    private long totalDistance;
+    private int minShift = Integer.MAX_VALUE;
+    private int maxShift;
+
+    /**
+     * Records one shift of the pattern
+     */
+    public void record(int distance) {
+        shiftCount++;
+        totalDistance += distance;
+        minShift = Math.min(minShift, distance);
+        maxShift = Math.max(maxShift, distance);
+    }
+
+    @Override
+    public void onStep(SearchCursor cursor) {
+        if (cursor.getType() == StepType.SHIFT) {
+            record(cursor.getAux());
+        }
+    }
+
+    public void reset() {
+        shiftCount = 0;
+        totalDistance = 0;
+        minShift = Integer.MAX_VALUE;
+        maxShift = 0;
+    }
+
+    public long getShiftCount() {
+        return shiftCount;
+    }
+
+    public long getTotalDistance() {
+        return totalDistance;
+    }
+
+    /**
+     * @return Shortest shift, 0 before the first one
+     */
+    public int getMinShift() {
+        return shiftCount == 0 ? 0 : minShift;
+    }
+
+    public int getMaxShift() {
+        return maxShift;
+    }
+
+    /**
+     * @return Average shift, 0 before the first one
+     */
+    public double getMeanShift() {
+        return shiftCount == 0 ? 0 : (double) totalDistance / shiftCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d shift(s) of %d to %d, mean %.2f, %d position(s) in total",
+                             shiftCount, getMinShift(), maxShift, getMeanShift(), totalDistance);
+    }
+}
@@ -0,0 +1,210 @@
+package com.teachingaid.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Int array that keeps track of its own order. The boundaries of its ascending runs are found
+ * once while the values are loaded and updated in O(1) on every edit, so whether the array is
+ * sorted is known without a scan. Sorting uses the runs: a nearly sorted array is fixed by
+ * merging its few runs, anything else goes to {@link Arrays#sort} or, for large arrays,
+ * {@link Arrays#parallelSort}. Every change bumps a version stamp, which lets callers
+ * cache structures built from the values.
+ */
+public final class SortedIntArray {
+
+    /**
+     * Length from which sorting is split across the common fork/join pool
+     */
+    public static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    /**
+     * Most runs fixed by merging (at most 4 merge passes); arrays with more runs are fully sorted
+     */
+    public static final int MAX_MERGED_RUNS = 16;
+
+    /**
+     * How {@link #sort()} put the values in order
+     */
+    public enum SortMethod { ALREADY_SORTED, RUN_MERGE, SORT, PARALLEL_SORT }
+
+    private int[] values;
+    private int size;
+    // Bit i is set when values[i] < values[i - 1], i.e. a new ascending run starts at i
+    private final BitSet runStarts = new BitSet();
+    private long version = 0;
+
+    /**
+     * @param values The values, copied
+     */
+    public SortedIntArray(int[] values) {
+        this.values = values.clone();
+        this.size = values.length;
+        for (int i = 1; i < size; i++) {
+            if (this.values[i] < this.values[i - 1]) {
+                runStarts.set(i);
+            }
+        }
+    }
+
+    /**
+     * Parses comma separated integers, e.g. "5, 3, 8"
+     * @throws NumberFormatException If any part is not an integer
+     */
+    public static SortedIntArray parse(String text) {
+        String[] parts = text.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return new SortedIntArray(values);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Replaces one value; only the two run boundaries around it are re-checked
+     */
+    public void set(int index, int value) {
+        checkIndex(index);
+        values[index] = value;
+        updateRunStart(index);
+        updateRunStart(index + 1);
+        version++;
+    }
+
+    /**
+     * Adds a value at the end
+     */
+    public void append(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(8, 2 * size));
+        }
+        values[size++] = value;
+        updateRunStart(size - 1);
+        version++;
+    }
+
+    private void updateRunStart(int i) {
+        if (i > 0 && i < size) {
+            runStarts.set(i, values[i] < values[i - 1]);
+        }
+    }
+
+    /**
+     * @return true when the values are in ascending order, without scanning them
+     */
+    public boolean isSorted() {
+        return runStarts.isEmpty();
+    }
+
+    /**
+     * @return Number of maximal ascending runs, 1 for a sorted array and 0 for an empty one
+     */
+    public int runCount() {
+        return size == 0 ? 0 : runStarts.cardinality() + 1;
+    }
+
+    /**
+     * @return First position of every ascending run, starting with 0
+     */
+    public int[] getRunStarts() {
+        int[] starts = new int[runCount()];
+        int r = 1;
+        for (int i = runStarts.nextSetBit(0); i >= 0; i = runStarts.nextSetBit(i + 1)) {
+            starts[r++] = i;
+        }
+        return starts;
+    }
+
+    /**
+     * @return Stamp that changes whenever a value changes
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return A copy of the values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Puts the values in ascending order: nothing to do for a sorted array, a merge of the
+     * ascending runs for a nearly sorted one, a full (parallel, for large arrays) sort otherwise
+     * @return The method that was used
+     */
+    public SortMethod sort() {
+        if (isSorted()) {
+            return SortMethod.ALREADY_SORTED;
+        }
+        SortMethod method;
+        int runs = runCount();
+        if (runs <= MAX_MERGED_RUNS) {
+            int[] bounds = Arrays.copyOf(getRunStarts(), runs + 1);
+            bounds[runs] = size;
+            mergeRuns(bounds, runs);
+            method = SortMethod.RUN_MERGE;
+        } else if (size >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(values, 0, size);
+            method = SortMethod.PARALLEL_SORT;
+        } else {
+            Arrays.sort(values, 0, size);
+            method = SortMethod.SORT;
+        }
+        runStarts.clear();
+        version++;
+        return method;
+    }
+
+    /**
+     * Bottom-up merge of neighbouring runs, halving their number on every pass
+     * @param bounds Start of every run followed by the end of the last one; overwritten
+     */
+    private void mergeRuns(int[] bounds, int runs) {
+        int[] source = values;
+        int[] target = new int[values.length];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int low = bounds[r];
+                int mid = bounds[Math.min(r + 1, runs)];
+                int high = bounds[Math.min(r + 2, runs)];
+                merge(source, low, mid, high, target);
+                bounds[merged++] = low;
+            }
+            bounds[merged] = bounds[runs];
+            runs = merged;
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        values = source;
+    }
+
+    private static void merge(int[] source, int low, int mid, int high, int[] target) {
+        int i = low;
+        int j = mid;
+        int k = low;
+        while (i < mid && j < high) {
+            target[k++] = source[j] < source[i] ? source[j++] : source[i++];
+        }
+        System.arraycopy(source, i, target, k, mid - i);
+        System.arraycopy(source, j, target, k + mid - i, high - j);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+}
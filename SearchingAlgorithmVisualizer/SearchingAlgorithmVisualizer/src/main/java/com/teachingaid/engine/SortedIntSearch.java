@@ -0,0 +1,91 @@
+package com.teachingaid.engine;
+
+/**
+ * Boundary searches over sorted int keys, the building blocks for counting and range queries
+ * on data with many duplicates: every answer costs a bounded search instead of a scan outwards
+ * from an arbitrary match. Implementations only have to provide {@link #lowerBound(int)};
+ * upper bounds of int keys are lower bounds of the next value.
+ * The batched forms fill caller-provided arrays and may be overridden by faster kernels.
+ */
+public interface SortedIntSearch {
+
+    /**
+     * @return Number of keys searched
+     */
+    int size();
+
+    /**
+     * @return Position of the first key not less than the target, or size() if there is none
+     */
+    int lowerBound(int target);
+
+    /**
+     * @return Position of the first key greater than the target, or size() if there is none
+     */
+    default int upperBound(int target) {
+        return target == Integer.MAX_VALUE ? size() : lowerBound(target + 1);
+    }
+
+    /**
+     * @return Positions of all keys equal to the target; empty, at its insertion point, if there are none
+     */
+    default IndexRange equalRange(int target) {
+        return new IndexRange(lowerBound(target), upperBound(target));
+    }
+
+    /**
+     * @return Number of keys k with low &lt;= k &lt;= high, 0 when low &gt; high
+     */
+    default int countInRange(int low, int high) {
+        return low > high ? 0 : upperBound(high) - lowerBound(low);
+    }
+
+    /**
+     * @param results Receives the lower bound of every target
+     */
+    default void lowerBound(int[] targets, int[] results) {
+        checkLength(targets, results);
+        for (int t = 0; t < targets.length; t++) {
+            results[t] = lowerBound(targets[t]);
+        }
+    }
+
+    /**
+     * @param results Receives the upper bound of every target
+     */
+    default void upperBound(int[] targets, int[] results) {
+        checkLength(targets, results);
+        for (int t = 0; t < targets.length; t++) {
+            results[t] = upperBound(targets[t]);
+        }
+    }
+
+    /**
+     * Equal ranges of many targets, as [firsts[t], ends[t])
+     */
+    default void equalRange(int[] targets, int[] firsts, int[] ends) {
+        lowerBound(targets, firsts);
+        upperBound(targets, ends);
+    }
+
+    /**
+     * Counts of many inclusive ranges [lows[q], highs[q]]
+     * @param counts Receives the number of keys in every range
+     */
+    default void countInRange(int[] lows, int[] highs, int[] counts) {
+        checkLength(lows, highs);
+        int[] firsts = new int[lows.length];
+        lowerBound(lows, firsts);
+        upperBound(highs, counts);
+        for (int q = 0; q < lows.length; q++) {
+            counts[q] = lows[q] > highs[q] ? 0 : counts[q] - firsts[q];
+        }
+    }
+
+    private static void checkLength(int[] targets, int[] results) {
+        if (results.length < targets.length) {
+            throw new IllegalArgumentException("Results array holds " + results.length
+                                               + " entries but there are " + targets.length + " targets");
+        }
+    }
+}
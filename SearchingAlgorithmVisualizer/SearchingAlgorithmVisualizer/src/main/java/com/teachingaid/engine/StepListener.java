@@ -0,0 +1,10 @@
+package com.teachingaid.engine;
+
+/**
+ * Receives every step of a search run. The cursor is passed in its current state,
+ * so listeners read the step fields instead of receiving a new object per step.
+ */
+@FunctionalInterface
+public interface StepListener {
+    void onStep(SearchCursor cursor);
+}
@@ -0,0 +1,21 @@
+package com.teachingaid.engine;
+
+/**
+ * Kinds of events emitted by a search cursor
+ */
+public enum StepType {
+    /** An element (or text character) was compared; see {@link SearchCursor#getComparison()} */
+    COMPARE,
+    /** The candidate range changed to [index, aux] */
+    NARROW_RANGE,
+    /** The pattern alignment moved to index, aux carries the algorithm specific shift data */
+    SHIFT,
+    /** The elements at positions index and aux were exchanged */
+    SWAP,
+    /** The search finished successfully at index */
+    FOUND,
+    /** The search finished without a match */
+    NOT_FOUND,
+    /** An occurrence starting at index was reported and the search goes on; aux identifies the pattern */
+    MATCH
+}
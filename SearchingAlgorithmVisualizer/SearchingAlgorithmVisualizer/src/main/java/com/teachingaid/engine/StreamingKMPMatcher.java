@@ -0,0 +1,258 @@
+package com.teachingaid.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+
+/**
+ * Knuth-Morris-Pratt over input that never has to be held in memory at once.
+ * Text is consumed in chunks, either handed in through the feed methods or read from a
+ * {@link Reader}, {@link InputStream} or {@link ReadableByteChannel} into one reused buffer, so
+ * memory stays at the buffer plus the pattern's tables however long the input is. The number of
+ * pattern characters matched so far is kept between chunks: an occurrence that spans a chunk
+ * boundary is found without rereading anything. Occurrences are reported by their absolute
+ * offset from the start of the input: in chars for char input, in bytes for byte input, which
+ * is matched against the pattern encoded in the matcher's charset. This is exact for UTF-8 and
+ * single-byte charsets; the charset must not write a byte order mark.
+ * Instances are not thread-safe.
+ */
+public final class StreamingKMPMatcher {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final String pattern;
+    private final char[] patternChars;
+    private final int[] charFailure;
+    private final byte[] patternBytes;
+    private final int[] byteFailure;
+    private final boolean overlapping;
+    private final int bufferSize;
+
+    // Pattern characters (or bytes) matched at the end of the input consumed so far
+    private int matched = 0;
+    // Chars or bytes consumed since the last reset
+    private long offset = 0;
+    private long matchCount = 0;
+
+    // Read buffers, allocated on first use and reused by every search
+    private char[] charBuffer;
+    private byte[] byteBuffer;
+    private ByteBuffer channelBuffer;
+
+    /**
+     * Matcher for non-overlapping occurrences, byte input in UTF-8, with the default buffer size
+     */
+    public StreamingKMPMatcher(String pattern) {
+        this(pattern, StandardCharsets.UTF_8, false, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param charset Encoding of byte input
+     * @param overlapping Whether an occurrence may start inside the previous one
+     * @param bufferSize Chars or bytes read from a source at a time
+     */
+    public StreamingKMPMatcher(String pattern, Charset charset, boolean overlapping, int bufferSize) {
+        if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("Pattern must not be empty");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.pattern = pattern;
+        this.patternChars = pattern.toCharArray();
+        this.charFailure = KMPSearchCursor.buildFailureFunction(pattern);
+        this.patternBytes = pattern.getBytes(charset);
+        // Latin-1 maps every byte to its own char, so the char failure function serves bytes too
+        this.byteFailure = KMPSearchCursor.buildFailureFunction(new String(patternBytes, StandardCharsets.ISO_8859_1));
+        this.overlapping = overlapping;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Consumes the next chunk of char input
+     * @param listener Receives the absolute start offset of every occurrence that ends in the chunk
+     * @return Number of occurrences that end in the chunk
+     */
+    public int feed(char[] chunk, int from, int to, LongConsumer listener) {
+        char[] p = patternChars;
+        int[] failure = charFailure;
+        int m = p.length;
+        int j = matched;
+        int count = 0;
+        // Absolute offset of chunk[0]
+        long base = offset - from;
+        for (int i = from; i < to; i++) {
+            char c = chunk[i];
+            while (j > 0 && c != p[j]) {
+                j = failure[j - 1];
+            }
+            if (c == p[j] && ++j == m) {
+                count++;
+                listener.accept(base + i + 1 - m);
+                j = overlapping ? failure[m - 1] : 0;
+            }
+        }
+        matched = j;
+        offset += to - from;
+        matchCount += count;
+        return count;
+    }
+
+    /**
+     * Consumes the next chunk of byte input
+     * @param listener Receives the absolute start offset of every occurrence that ends in the chunk
+     * @return Number of occurrences that end in the chunk
+     */
+    public int feed(byte[] chunk, int from, int to, LongConsumer listener) {
+        byte[] p = patternBytes;
+        int[] failure = byteFailure;
+        int m = p.length;
+        int j = matched;
+        int count = 0;
+        long base = offset - from;
+        for (int i = from; i < to; i++) {
+            byte b = chunk[i];
+            while (j > 0 && b != p[j]) {
+                j = failure[j - 1];
+            }
+            if (b == p[j] && ++j == m) {
+                count++;
+                listener.accept(base + i + 1 - m);
+                j = overlapping ? failure[m - 1] : 0;
+            }
+        }
+        matched = j;
+        offset += to - from;
+        matchCount += count;
+        return count;
+    }
+
+    /**
+     * Consumes the remaining bytes of a buffer, leaving its position at its limit
+     * @return Number of occurrences that end in those bytes
+     */
+    public int feed(ByteBuffer chunk, LongConsumer listener) {
+        if (!chunk.hasArray()) {
+            // Direct and read-only buffers are copied out, one read buffer length at a time
+            byte[] copy = byteBuffer();
+            int count = 0;
+            while (chunk.hasRemaining()) {
+                int length = Math.min(copy.length, chunk.remaining());
+                chunk.get(copy, 0, length);
+                count += feed(copy, 0, length, listener);
+            }
+            return count;
+        }
+        int from = chunk.arrayOffset() + chunk.position();
+        int count = feed(chunk.array(), from, from + chunk.remaining(), listener);
+        chunk.position(chunk.limit());
+        return count;
+    }
+
+    /**
+     * Resets the matcher and searches a whole Reader, which is not closed
+     * @return Number of occurrences
+     */
+    public long search(Reader reader, LongConsumer listener) throws IOException {
+        reset();
+        char[] buffer = charBuffer();
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+            feed(buffer, 0, read, listener);
+        }
+        return matchCount;
+    }
+
+    /**
+     * Resets the matcher and searches a whole InputStream, which is not closed
+     * @return Number of occurrences
+     */
+    public long search(InputStream in, LongConsumer listener) throws IOException {
+        reset();
+        byte[] buffer = byteBuffer();
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) >= 0) {
+            feed(buffer, 0, read, listener);
+        }
+        return matchCount;
+    }
+
+    /**
+     * Resets the matcher and searches a blocking channel to its end; the channel is not closed
+     * @return Number of occurrences
+     */
+    public long search(ReadableByteChannel channel, LongConsumer listener) throws IOException {
+        reset();
+        if (channelBuffer == null) {
+            channelBuffer = ByteBuffer.wrap(byteBuffer());
+        }
+        ByteBuffer buffer = channelBuffer;
+        while (true) {
+            buffer.clear();
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+            buffer.flip();
+            feed(buffer, listener);
+        }
+        return matchCount;
+    }
+
+    /**
+     * Forgets the input consumed so far; the next chunk starts at offset 0
+     */
+    public void reset() {
+        matched = 0;
+        offset = 0;
+        matchCount = 0;
+    }
+
+    private char[] charBuffer() {
+        if (charBuffer == null) {
+            charBuffer = new char[bufferSize];
+        }
+        return charBuffer;
+    }
+
+    private byte[] byteBuffer() {
+        if (byteBuffer == null) {
+            byteBuffer = new byte[bufferSize];
+        }
+        return byteBuffer;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public boolean isOverlapping() {
+        return overlapping;
+    }
+
+    /**
+     * @return Chars or bytes consumed since the last reset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return Length of the pattern prefix that ends the input consumed so far, the state
+     *         carried into the next chunk
+     */
+    public int getMatchedLength() {
+        return matched;
+    }
+
+    /**
+     * @return Occurrences found since the last reset
+     */
+    public long getMatchCount() {
+        return matchCount;
+    }
+}
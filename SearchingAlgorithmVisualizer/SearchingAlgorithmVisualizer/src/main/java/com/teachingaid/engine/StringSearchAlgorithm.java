@@ -0,0 +1,24 @@
+package com.teachingaid.engine;
+
+/**
+ * A search algorithm that looks for a pattern inside a text
+ */
+public interface StringSearchAlgorithm extends SearchAlgorithm {
+
+    /**
+     * Opens a cursor that reports the occurrences the mode asks for: with {@link MatchMode#FIRST}
+     * the search finishes at the first one, otherwise every one is a MATCH step
+     */
+    SearchCursor open(String text, String pattern, MatchMode mode);
+
+    default SearchCursor open(String text, String pattern) {
+        return open(text, pattern, MatchMode.FIRST);
+    }
+
+    /**
+     * @return Every occurrence, found by running a cursor of this algorithm at full speed
+     */
+    default MatchIterator matches(String text, String pattern, boolean overlapping) {
+        return MatchIterator.of(open(text, pattern, overlapping ? MatchMode.OVERLAPPING : MatchMode.NON_OVERLAPPING));
+    }
+}
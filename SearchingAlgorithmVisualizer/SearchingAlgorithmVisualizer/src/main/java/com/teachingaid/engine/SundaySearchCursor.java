@@ -0,0 +1,88 @@
+package com.teachingaid.engine;
+
+/**
+ * Step engine for Sunday's Quick Search.
+ * Characters are compared left to right; after a mismatch the pattern moves so that the text
+ * character just past the window lines up with its last occurrence in the pattern, or moves
+ * past it by m + 1 when there is none. A SHIFT carries the new alignment and the skip distance.
+ * When every occurrence is wanted, each one is reported as a MATCH followed by the usual shift
+ * (overlapping), which can never skip an occurrence, or by a shift of the pattern length.
+ */
+public class SundaySearchCursor extends SearchCursor {
+
+    private final String text;
+    private final String pattern;
+    private final BadCharacterTable shiftTable;
+    private final MatchMode mode;
+    private int position = 0;
+    private int patternIndex = 0;
+    private int shift = 0;
+
+    public SundaySearchCursor(String text, String pattern) {
+        this(text, pattern, MatchMode.FIRST);
+    }
+
+    public SundaySearchCursor(String text, String pattern, MatchMode mode) {
+        this.text = text;
+        this.pattern = pattern;
+        this.shiftTable = BadCharacterTable.of(pattern);
+        this.mode = mode;
+    }
+
+    @Override
+    protected void advance() {
+        if (patternIndex == pattern.length()) {
+            if (!mode.isAll() || pattern.isEmpty()) {
+                found(position);
+                return;
+            }
+            match(position, 0);
+            if (mode == MatchMode.NON_OVERLAPPING) {
+                shift = pattern.length();
+            } else if (position + pattern.length() < text.length()) {
+                shift = shift(pattern, shiftTable, text.charAt(position + pattern.length()));
+            } else {
+                shift = 1;
+            }
+            position += shift;
+            patternIndex = 0;
+            return;
+        }
+        if (shift > 0) {
+            emit(StepType.SHIFT, position, shift, 0);
+            shift = 0;
+            return;
+        }
+        if (position + pattern.length() > text.length()) {
+            finishMatches();
+            return;
+        }
+
+        int textIndex = position + patternIndex;
+        boolean match = text.charAt(textIndex) == pattern.charAt(patternIndex);
+        emit(StepType.COMPARE, textIndex, patternIndex, match ? 0 : 1);
+        if (match) {
+            patternIndex++;
+        } else if (position + pattern.length() < text.length()) {
+            shift = shift(pattern, shiftTable, text.charAt(position + pattern.length()));
+            position += shift;
+            patternIndex = 0;
+        } else {
+            // The window ends at the end of the text: there is no next character to shift by
+            position = text.length();
+            patternIndex = 0;
+        }
+    }
+
+    public BadCharacterTable getShiftTable() {
+        return shiftTable;
+    }
+
+    /**
+     * @param c Text character just past the window
+     * @return Distance to move the pattern, from 1 to m + 1
+     */
+    public static int shift(String pattern, BadCharacterTable shiftTable, char c) {
+        return pattern.length() - shiftTable.lastIndexOf(c);
+    }
+}
@@ -0,0 +1,120 @@
+package com.teachingaid.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD linear search over int arrays built on the incubating Vector API.
+ * Each step compares a full vector of lanes against the target and reduces the lane mask;
+ * the elements left over after the last full vector are checked one at a time.
+ * When the JVM was started without {@code --add-modules jdk.incubator.vector} every call
+ * falls back to the scalar loop, so callers never have to check.
+ */
+public final class VectorizedLinearSearch {
+
+    private static final boolean VECTORIZED = detect();
+
+    private VectorizedLinearSearch() {
+    }
+
+    /**
+     * @return Index of the first element equal to the target, or -1 if there is none
+     */
+    public static int indexOf(int[] array, int target) {
+        return indexOf(array, target, 0, array.length);
+    }
+
+    /**
+     * Searches the elements in [from, to)
+     * @return Index of the first element in the range equal to the target, or -1 if there is none
+     */
+    public static int indexOf(int[] array, int target, int from, int to) {
+        if (from < 0 || to > array.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + array.length);
+        }
+        return VECTORIZED ? Kernel.indexOf(array, target, from, to) : scalarIndexOf(array, target, from, to);
+    }
+
+    /**
+     * @return true when the Vector API is available and calls run the SIMD kernel
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * @return Number of ints compared per vector step, 1 when running the scalar fallback
+     */
+    public static int laneCount() {
+        return VECTORIZED ? Kernel.SPECIES.length() : 1;
+    }
+
+    private static int scalarIndexOf(int[] array, int target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            // Loading the kernel links the Vector API classes
+            return Kernel.indexOf(new int[] {1}, 1, 0, 1) == 0;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Only loaded once the module is known to be present
+     */
+    private static final class Kernel {
+
+        static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+        static int indexOf(int[] array, int target, int from, int to) {
+            int lanes = SPECIES.length();
+            IntVector needle = IntVector.broadcast(SPECIES, target);
+            int i = from;
+
+            // Four vectors per iteration keep several loads in flight; one mask test covers all of them
+            int unrolledBound = to - 4 * lanes + 1;
+            for (; i < unrolledBound; i += 4 * lanes) {
+                VectorMask<Integer> m0 = IntVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, needle);
+                VectorMask<Integer> m1 = IntVector.fromArray(SPECIES, array, i + lanes).compare(VectorOperators.EQ, needle);
+                VectorMask<Integer> m2 = IntVector.fromArray(SPECIES, array, i + 2 * lanes).compare(VectorOperators.EQ, needle);
+                VectorMask<Integer> m3 = IntVector.fromArray(SPECIES, array, i + 3 * lanes).compare(VectorOperators.EQ, needle);
+                if (m0.or(m1).or(m2).or(m3).anyTrue()) {
+                    if (m0.anyTrue()) {
+                        return i + m0.firstTrue();
+                    }
+                    if (m1.anyTrue()) {
+                        return i + lanes + m1.firstTrue();
+                    }
+                    if (m2.anyTrue()) {
+                        return i + 2 * lanes + m2.firstTrue();
+                    }
+                    return i + 3 * lanes + m3.firstTrue();
+                }
+            }
+
+            int bound = to - lanes + 1;
+            for (; i < bound; i += lanes) {
+                VectorMask<Integer> mask = IntVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, needle);
+                if (mask.anyTrue()) {
+                    return i + mask.firstTrue();
+                }
+            }
+
+            // Scalar tail for the last partial vector
+            return scalarIndexOf(array, target, i, to);
+        }
+    }
+}
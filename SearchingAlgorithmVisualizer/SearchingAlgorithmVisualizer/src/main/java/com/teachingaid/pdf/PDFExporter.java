@@ -13,6 +13,8 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.teachingaid.ui.ArrayVisualizationPane;
 import com.teachingaid.algorithms.LinearSearch;
 import com.teachingaid.algorithms.BinarySearch;
+import com.teachingaid.algorithms.InterpolationSearch;
+import com.teachingaid.engine.SearchTrace;
 
 import java.io.File;
 import java.io.IOException;
@@ -30,6 +32,9 @@ public class PDFExporter {
     private static final DeviceRgb SECTION_COLOR = new DeviceRgb(68, 68, 68);
     private static final DeviceRgb TABLE_HEADER_COLOR = new DeviceRgb(240, 248, 255);
 
+    // Upper bound on the steps written out in the step-by-step section
+    private static final int MAX_TRACE_STEPS = 200;
+
     /**
      * Exports the current visualization state to a PDF report
      */
@@ -200,21 +205,31 @@ public class PDFExporter {
                 .setMarginBottom(10);
         document.add(header);
 
-        String[] steps;
+        SearchTrace trace;
         if ("Linear Search".equals(algorithmName)) {
-            steps = LinearSearch.getSearchTrace(array, searchValue);
+            trace = LinearSearch.traceSearch(array, searchValue);
         } else {
-            steps = BinarySearch.getSearchTrace(array, searchValue);
+            trace = BinarySearch.traceSearch(array, searchValue);
         }
 
-        for (String step : steps) {
-            Paragraph stepPara = new Paragraph("• " + step)
+        // Only the steps that end up on the page are rendered to text
+        int shownSteps = Math.min(trace.size(), MAX_TRACE_STEPS);
+        for (int step = 0; step < shownSteps; step++) {
+            Paragraph stepPara = new Paragraph("• " + trace.describe(step))
                     .setFont(normalFont)
                     .setFontSize(10)
                     .setMarginBottom(5)
                     .setMarginLeft(15);
             document.add(stepPara);
         }
+        if (trace.size() > shownSteps) {
+            Paragraph morePara = new Paragraph(String.format("• ... %d more steps omitted", trace.size() - shownSteps))
+                    .setFont(normalFont)
+                    .setFontSize(10)
+                    .setMarginBottom(5)
+                    .setMarginLeft(15);
+            document.add(morePara);
+        }
         document.add(new Paragraph("\n"));
 
         Paragraph summaryHeader = new Paragraph("Execution Summary")
@@ -224,12 +239,7 @@ public class PDFExporter {
                 .setMarginBottom(5);
         document.add(summaryHeader);
 
-        int result;
-        if ("Linear Search".equals(algorithmName)) {
-            result = LinearSearch.linearSearch(array, searchValue);
-        } else {
-            result = BinarySearch.binarySearch(array, searchValue);
-        }
+        int result = trace.getResult();
 
         String resultText = result != -1 ?
                 String.format("✓ Search successful! Value %d found at index %d.", searchValue, result) :
@@ -241,10 +251,10 @@ public class PDFExporter {
                 .setMarginBottom(10);
         document.add(resultPara);
 
-        int comparisons = steps.length - 2;
+        int comparisons = trace.getComparisonCount();
         if (comparisons > 0) {
             Paragraph comparisonsPara = new Paragraph(
-                    String.format("Total comparisons made: %d", Math.max(0, comparisons / 2))
+                    String.format("Total comparisons made: %d", comparisons)
             )
                     .setFont(normalFont)
                     .setFontSize(12);
@@ -278,6 +288,21 @@ public class PDFExporter {
         perfTable.addCell(createTableCell("O(log n)", normalFont, null, false));
         perfTable.addCell(createTableCell("O(log n)", normalFont, null, false));
 
+        perfTable.addCell(createTableCell("Hash Index Search", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(1)", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(1) after an O(n) build", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(n) if all keys collide", normalFont, null, false));
+
+        perfTable.addCell(createTableCell("Cracking Search", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(log p) for a key already cracked", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(n) first, shrinking pieces after", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(n)", normalFont, null, false));
+
+        perfTable.addCell(createTableCell("Interpolation Search", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(1)", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(log log n) on uniform keys", normalFont, null, false));
+        perfTable.addCell(createTableCell("O(log n) with binary fallback", normalFont, null, false));
+
         document.add(perfTable);
 
         if (arraySize > 0) {
@@ -294,6 +319,8 @@ public class PDFExporter {
             Paragraph practicalInfo = new Paragraph(
                     String.format("• Linear Search: Maximum %d comparisons needed\n", maxLinearComparisons) +
                             String.format("• Binary Search: Maximum %d comparisons needed\n", maxBinaryComparisons) +
+                            String.format("• Interpolation Search: About %d probes on evenly spaced keys, at most %d on skewed keys\n",
+                                    InterpolationSearch.getExpectedProbes(arraySize), InterpolationSearch.getMaxProbes(arraySize)) +
                             String.format("• Binary search is up to %.1fx faster for this array size",
                                     (double) maxLinearComparisons / maxBinaryComparisons)
             )
@@ -17,6 +17,7 @@ import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 /**
 * Visual representation of the array with animated search visualization
@@ -27,6 +28,8 @@ public class ArrayVisualizationPane extends VBox {
     private List<ArrayElement> arrayElements;
     private HBox arrayContainer;
     private Label instructionLabel;
+    // Position of the first shown element in the whole array; non-zero while a window of a larger file is shown
+    private long windowStart = 0;
 
     // Modern Color Scheme
     private final Color DEFAULT_COLOR = Color.web("#f8fafc");
@@ -36,6 +39,11 @@ public class ArrayVisualizationPane extends VBox {
     private final Color BINARY_LEFT_COLOR = Color.web("#8b5cf6");
     private final Color BINARY_RIGHT_COLOR = Color.web("#f97316");
     private final Color BINARY_MID_COLOR = Color.web("#3b82f6");
+    private final Color PREDICTED_COLOR = Color.web("#ec4899");
+    private final Color ERROR_BAND_COLOR = Color.web("#fce7f3");
+    private final Color PIECE_COLOR = Color.web("#bbf7d0");
+    private final Color PIECE_EVEN_COLOR = Color.web("#e0e7ff");
+    private final Color PIECE_ODD_COLOR = Color.web("#fef3c7");
 
     public ArrayVisualizationPane() {
         setSpacing(20);
@@ -64,26 +72,89 @@ public class ArrayVisualizationPane extends VBox {
 
     public void setArray(int[] newArray) {
         this.array = newArray.clone();
-        updateVisualization();
+        updateVisualization(0, array.length, i -> String.valueOf(array[i]));
     }
 
-    private void updateVisualization() {
+    /**
+     * Shows a long array; {@link #getArray()} returns null while it is displayed
+     */
+    public void setArray(long[] newArray) {
+        long[] values = newArray.clone();
+        this.array = null;
+        updateVisualization(0, values.length, i -> String.valueOf(values[i]));
+    }
+
+    /**
+     * Shows a double array; {@link #getArray()} returns null while it is displayed
+     */
+    public void setArray(double[] newArray) {
+        double[] values = newArray.clone();
+        this.array = null;
+        updateVisualization(0, values.length, i -> String.valueOf(values[i]));
+    }
+
+    /**
+     * Shows a short array; {@link #getArray()} returns null while it is displayed
+     */
+    public void setArray(short[] newArray) {
+        short[] values = newArray.clone();
+        this.array = null;
+        updateVisualization(0, values.length, i -> String.valueOf(values[i]));
+    }
+
+    /**
+     * Shows a char array; {@link #getArray()} returns null while it is displayed
+     */
+    public void setArray(char[] newArray) {
+        char[] values = newArray.clone();
+        this.array = null;
+        updateVisualization(0, values.length, i -> String.valueOf(values[i]));
+    }
+
+    /**
+     * Shows a window of a larger array, e.g. the keys around a probe in a memory-mapped file;
+     * elements are still addressed from 0, only their index labels start at firstIndex
+     * @param firstIndex Position of values[0] in the whole array
+     */
+    public void showWindow(long firstIndex, int[] values) {
+        this.array = null;
+        updateVisualization(firstIndex, values.length, i -> String.valueOf(values[i]));
+    }
+
+    /**
+     * Shows elements that are not ints, e.g. words; {@link #getArray()} returns null while they are displayed
+     * @param label Display text of every element
+     */
+    protected void showLabels(int length, IntFunction<String> label) {
+        this.array = null;
+        updateVisualization(0, length, label);
+    }
+
+    /**
+     * Width of one element box when length elements are shown
+     */
+    protected double elementWidth(int length) {
+        return Math.min(80, 600.0 / length);
+    }
+
+    private void updateVisualization(long firstIndex, int length, IntFunction<String> label) {
+        windowStart = firstIndex;
         arrayElements.clear();
         arrayContainer.getChildren().clear();
 
-        if (array == null || array.length == 0) {
+        if (length == 0) {
             instructionLabel.setText("Enter array values and click Start to begin visualization");
             return;
         }
 
-        instructionLabel.setText("Array loaded with " + array.length + " elements");
+        instructionLabel.setText("Array loaded with " + length + " elements");
 
         // Calculate element size based on array length
-        double maxWidth = Math.min(80, 600.0 / array.length);
+        double maxWidth = elementWidth(length);
         double elementHeight = 60;
 
-        for (int i = 0; i < array.length; i++) {
-            ArrayElement element = new ArrayElement(array[i], i, maxWidth, elementHeight);
+        for (int i = 0; i < length; i++) {
+            ArrayElement element = new ArrayElement(label.apply(i), i, maxWidth, elementHeight);
             arrayElements.add(element);
             arrayContainer.getChildren().add(element.getContainer());
         }
@@ -120,6 +191,107 @@ public class ArrayVisualizationPane extends VBox {
         instructionLabel.setText(description);
     }
 
+    /**
+     * Colours the elements in [from, to) as one band, e.g. the chunk a parallel worker scanned
+     */
+    public void highlightBand(int from, int to, Color color, String description) {
+        for (int i = Math.max(0, from); i < Math.min(to, arrayElements.size()); i++) {
+            arrayElements.get(i).highlight(color, description);
+        }
+        instructionLabel.setText(description);
+    }
+
+    /**
+     * Greys out the elements in [from, to), e.g. a chunk that was cancelled before it was scanned
+     */
+    public void dimBand(int from, int to, String description) {
+        for (int i = Math.max(0, from); i < Math.min(to, arrayElements.size()); i++) {
+            arrayElements.get(i).setInactive();
+        }
+        instructionLabel.setText(description);
+    }
+
+    /**
+     * Overlays a model's prediction: the predicted element and its error band [low, high],
+     * with everything outside the band greyed out
+     */
+    public void highlightPrediction(int predicted, int low, int high, String description) {
+        for (int i = 0; i < arrayElements.size(); i++) {
+            if (i == predicted) {
+                arrayElements.get(i).highlight(PREDICTED_COLOR, "Predicted position");
+            } else if (i >= low && i <= high) {
+                arrayElements.get(i).highlight(ERROR_BAND_COLOR, "Inside the error band");
+            } else {
+                arrayElements.get(i).setInactive();
+            }
+        }
+        instructionLabel.setText(description);
+    }
+
+    /**
+     * Shows one node of a search tree: the keys it stores, split into the ones smaller than
+     * the target and the rest, inside the range [low, high] of the subtree it is the root of
+     */
+    public void highlightNode(int low, int high, int[] keys, int smaller, String description) {
+        for (int i = 0; i < arrayElements.size(); i++) {
+            if (i >= low && i <= high) {
+                arrayElements.get(i).highlight(Color.web("#E8F5E8"), "Below this node");
+            } else {
+                arrayElements.get(i).setInactive();
+            }
+        }
+        for (int k = 0; k < keys.length; k++) {
+            if (keys[k] >= 0 && keys[k] < arrayElements.size()) {
+                arrayElements.get(keys[k]).highlight(k < smaller ? BINARY_LEFT_COLOR : BINARY_RIGHT_COLOR,
+                                                     k < smaller ? "Node key, smaller than the target" : "Node key");
+            }
+        }
+        instructionLabel.setText(description);
+    }
+
+    /**
+     * Shows how an array is split into pieces: a bar marks the start of every piece, pieces
+     * alternate between two tints and the piece being worked on, [from, to), stands out
+     * @param boundaries Positions where a piece starts, ascending
+     */
+    public void showPieces(int[] boundaries, int from, int to, String description) {
+        int next = 0;
+        boolean odd = false;
+        for (int i = 0; i < arrayElements.size(); i++) {
+            ArrayElement element = arrayElements.get(i);
+            boolean pieceStart = next < boundaries.length && boundaries[next] == i;
+            if (pieceStart) {
+                next++;
+                odd = !odd;
+            }
+            element.reset();
+            element.markPieceStart(pieceStart);
+            if (i >= from && i < to) {
+                element.tint(PIECE_COLOR);
+            } else {
+                element.tint(odd ? PIECE_ODD_COLOR : PIECE_EVEN_COLOR);
+            }
+        }
+        instructionLabel.setText(description);
+    }
+
+    /**
+     * Exchanges the values shown at two positions, e.g. when a partitioning step swaps them
+     */
+    public void swapElements(int i, int j) {
+        if (i < 0 || j < 0 || i >= arrayElements.size() || j >= arrayElements.size()) {
+            return;
+        }
+        String value = arrayElements.get(i).getValue();
+        arrayElements.get(i).setValue(arrayElements.get(j).getValue());
+        arrayElements.get(j).setValue(value);
+        if (array != null) {
+            int key = array[i];
+            array[i] = array[j];
+            array[j] = key;
+        }
+    }
+
     public void resetHighlights() {
         for (ArrayElement element : arrayElements) {
             element.reset();
@@ -146,10 +318,10 @@ public class ArrayVisualizationPane extends VBox {
         private Rectangle rectangle;
         private Label valueLabel;
         private Label indexLabel;
-        private int value;
+        private String value;
         private int index;
 
-        public ArrayElement(int value, int index, double width, double height) {
+        public ArrayElement(String value, int index, double width, double height) {
             this.value = value;
             this.index = index;
 
@@ -177,14 +349,14 @@ public class ArrayVisualizationPane extends VBox {
             ));
 
             // Value label with modern typography
-            valueLabel = new Label(String.valueOf(value));
+            valueLabel = new Label(value);
             valueLabel.setFont(Font.font("SF Pro Display", FontWeight.BOLD,
                 Math.min(18, Math.max(12, width / 2.5))));
             valueLabel.setTextFill(Color.web("#1f2937"));
             valueLabel.setStyle("-fx-effect: dropshadow(one-pass-box, rgba(0,0,0,0.1), 1, 0, 0, 1);");
 
             // Index label with modern styling
-            indexLabel = new Label("[" + index + "]");
+            indexLabel = new Label("[" + (windowStart + index) + "]");
             indexLabel.setFont(Font.font("SF Pro Display", FontWeight.MEDIUM,
                 Math.min(14, Math.max(10, width / 4))));
             indexLabel.setTextFill(Color.web("#6b7280"));
@@ -272,6 +444,7 @@ public class ArrayVisualizationPane extends VBox {
             rectangle.setFill(gradient);
             rectangle.setOpacity(1.0);
             valueLabel.setTextFill(Color.web("#1f2937"));
+            container.setStyle("");
             
             // Reset scales
             rectangle.setScaleX(1.0);
@@ -287,6 +460,25 @@ public class ArrayVisualizationPane extends VBox {
             ));
         }
 
+        /**
+         * Fills the element without the highlight animation
+         */
+        public void tint(Color color) {
+            rectangle.setFill(color);
+        }
+
+        public void markPieceStart(boolean start) {
+            container.setStyle(start
+                ? "-fx-border-color: transparent transparent transparent #7c3aed; " +
+                  "-fx-border-width: 0 0 0 3; -fx-padding: 0 0 0 4;"
+                : "");
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+            valueLabel.setText(value);
+        }
+
         public void setInactive() {
             rectangle.setOpacity(0.3);
             valueLabel.setTextFill(Color.web("#999"));
@@ -334,7 +526,7 @@ public class ArrayVisualizationPane extends VBox {
             return container;
         }
 
-        public int getValue() {
+        public String getValue() {
             return value;
         }
 
@@ -0,0 +1,40 @@
+package com.teachingaid.ui;
+
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Runs slow work such as timing comparisons and calibrations on a daemon thread, so the
+ * JavaFX application thread keeps animating, and hands the result back to that thread
+ */
+public final class BackgroundTask {
+
+    private BackgroundTask() {
+    }
+
+    /**
+     * Starts the work on a new daemon thread
+     * @param name Thread name, shown in thread dumps
+     * @param work Runs off the JavaFX application thread; must not touch the scene graph
+     * @param onSucceeded Receives the result on the JavaFX application thread
+     * @param onFailed Receives the exception thrown by the work on the JavaFX application thread
+     * @return The running task
+     */
+    public static <T> Task<T> start(String name, Callable<T> work, Consumer<? super T> onSucceeded,
+                                    Consumer<? super Throwable> onFailed) {
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> onSucceeded.accept(task.getValue()));
+        task.setOnFailed(e -> onFailed.accept(task.getException()));
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+}
@@ -0,0 +1,77 @@
+package com.teachingaid.ui;
+
+import javafx.geometry.Pos;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Line chart of the total cost of a series of searches under several strategies,
+ * e.g. cracking against scanning every time and sorting before the first search
+ */
+public final class CumulativeCostChart extends VBox {
+
+    private final LineChart<Number, Number> chart;
+    private final Label summaryLabel;
+
+    public CumulativeCostChart(String title) {
+        setSpacing(6);
+        setAlignment(Pos.TOP_CENTER);
+
+        Label titleLabel = new Label(title);
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+        titleLabel.setTextFill(Color.web("#333"));
+
+        NumberAxis searchAxis = new NumberAxis();
+        searchAxis.setLabel("Searches");
+        searchAxis.setForceZeroInRange(false);
+        NumberAxis costAxis = new NumberAxis();
+        costAxis.setLabel("Keys read");
+
+        chart = new LineChart<>(searchAxis, costAxis);
+        chart.setAnimated(false);
+        chart.setCreateSymbols(true);
+        chart.setPrefHeight(240);
+        chart.setMinHeight(200);
+
+        summaryLabel = new Label("Run a search to start the chart");
+        summaryLabel.setFont(Font.font("Arial", 11));
+        summaryLabel.setTextFill(Color.web("#555"));
+        summaryLabel.setWrapText(true);
+
+        getChildren().addAll(titleLabel, chart, summaryLabel);
+    }
+
+    /**
+     * Replaces the plotted series
+     * @param names Name of each strategy
+     * @param totals For each strategy, its total cost after every search
+     */
+    public void setCosts(String[] names, long[][] totals) {
+        chart.getData().clear();
+        StringBuilder summary = new StringBuilder();
+        for (int s = 0; s < names.length; s++) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(names[s]);
+            for (int q = 0; q < totals[s].length; q++) {
+                series.getData().add(new XYChart.Data<>(q + 1, totals[s][q]));
+            }
+            chart.getData().add(series);
+            if (totals[s].length > 0) {
+                summary.append(summary.length() == 0 ? "" : "  •  ")
+                       .append(names[s]).append(": ").append(totals[s][totals[s].length - 1]);
+            }
+        }
+        summaryLabel.setText(summary.length() == 0 ? "Run a search to start the chart" : summary.toString());
+    }
+
+    public void clear() {
+        chart.getData().clear();
+        summaryLabel.setText("Run a search to start the chart");
+    }
+}
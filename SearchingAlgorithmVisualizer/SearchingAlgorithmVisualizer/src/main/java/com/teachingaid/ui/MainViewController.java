@@ -12,45 +12,97 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import com.teachingaid.algorithms.LinearSearch;
+import com.teachingaid.algorithms.HashIndexSearch;
+import com.teachingaid.algorithms.CrackingSearch;
+import com.teachingaid.algorithms.ParallelLinearSearch;
 import com.teachingaid.algorithms.BinarySearch;
+import com.teachingaid.algorithms.EqualRangeSearch;
+import com.teachingaid.algorithms.InterpolationSearch;
+import com.teachingaid.algorithms.EytzingerSearch;
+import com.teachingaid.algorithms.STreeSearch;
 import com.teachingaid.algorithms.JumpSearch;
 import com.teachingaid.algorithms.ExponentialSearch;
+import com.teachingaid.algorithms.LearnedIndexSearch;
+import com.teachingaid.algorithms.MappedFileSearch;
 import com.teachingaid.algorithms.KMPStringSearch;
 import com.teachingaid.algorithms.NaiveStringSearch;
 import com.teachingaid.algorithms.BoyerMooreStringSearch;
+import com.teachingaid.algorithms.HorspoolStringSearch;
+import com.teachingaid.algorithms.SundayStringSearch;
+import com.teachingaid.algorithms.RaitaStringSearch;
+import com.teachingaid.algorithms.AhoCorasickStringSearch;
+import com.teachingaid.engine.ArrayProbe;
+import com.teachingaid.engine.ArraySearchAlgorithm;
+import com.teachingaid.engine.ArrayStatistics;
+import com.teachingaid.engine.BlockedBloomFilter;
+import com.teachingaid.engine.CostModel;
+import com.teachingaid.engine.EliasFanoIntArray;
+import com.teachingaid.engine.FrontCodedStringDictionary;
+import com.teachingaid.engine.InterleavedSearch;
+import com.teachingaid.engine.MappedIntArray;
+import com.teachingaid.engine.MatchMode;
+import com.teachingaid.engine.SearchAlgorithms;
+import com.teachingaid.engine.SearchPlan;
+import com.teachingaid.engine.SearchPlanner;
+import com.teachingaid.engine.SortedIntArray;
 import com.teachingaid.pdf.PDFExporter;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
 * Main View Controller for the Searching Algorithm Visualizer
 */
 public class MainViewController {
 
+    private static final String MAPPED_FILE_SEARCH = "Mapped File Search";
+    // Searches that only compare elements, and so run on words as well as numbers
+    private static final List<String> WORD_LIST_ALGORITHMS = Arrays.asList("Binary Search", "Exponential Search", "Jump Search");
+    private static final String[] SAMPLE_WORDS = {
+        "apple", "apply", "apricot", "banana", "band", "bandit", "cherry", "chess", "chest", "date",
+        "delta", "dell", "eagle", "earn", "earth", "fig", "figure", "grape", "graph", "graphic",
+        "kiwi", "lemon", "lemonade", "mango", "melon", "orange", "peach", "pear", "pearl", "plum"
+    };
+
     private BorderPane mainLayout;
     private Stage primaryStage;
     private TabPane tabPane;
     private ScrollPane scrollPane;
 
     // Array Search Tab Components
-    private ArrayVisualizationPane arrayVisualizationPane;
+    private WordListVisualizationPane arrayVisualizationPane;
     private TextField arrayInputField;
     private TextField searchValueField;
     private ComboBox<String> algorithmSelector;
-    private Button startButton, pauseButton, playButton, resetButton, stepButton, randomArrayButton, arrayClearButton, exportPdfButton, backToMainButton;
+    private Button startButton, pauseButton, playButton, resetButton, stepButton, randomArrayButton, arrayClearButton, openKeyFileButton, exportPdfButton, backToMainButton;
     private Slider speedSlider;
     private Label statusLabel;
     private Label complexityLabel;
     private TextArea algorithmInfoArea;
+    private CumulativeCostChart crackingCostChart;
+    private CheckBox bloomFilterCheckBox;
+    private ComboBox<String> bloomFalsePositiveSelector;
+    private Label bloomFilterLabel;
+    private CheckBox eliasFanoCheckBox;
+    private Label eliasFanoLabel;
+    private TextField expectedSearchesField;
+    private Button planButton;
+    private TextArea planArea;
+    private CheckBox wordListCheckBox;
+    private CheckBox frontCodingCheckBox;
 
     // String Search Tab Components
     private StringVisualizationPane stringVisualizationPane;
     private TextField textInputField;
     private TextField patternInputField;
     private ComboBox<String> stringAlgorithmSelector;
+    private ComboBox<String> stringOccurrenceSelector;
     private Button stringStartButton, stringPauseButton, stringPlayButton, stringResetButton, stringStepButton, stringRandomButton, stringClearButton, stringExportPdfButton;
     private Slider stringSpeedSlider;
     private Label stringStatusLabel;
@@ -59,25 +111,83 @@ public class MainViewController {
 
     // Algorithm instances
     private LinearSearch linearSearch;
+    private HashIndexSearch hashIndexSearch;
+    private CrackingSearch crackingSearch;
+    private ParallelLinearSearch parallelLinearSearch;
     private BinarySearch binarySearch;
+    private EqualRangeSearch equalRangeSearch;
+    private InterpolationSearch interpolationSearch;
+    private EytzingerSearch eytzingerSearch;
+    private STreeSearch sTreeSearch;
     private JumpSearch jumpSearch;
     private ExponentialSearch exponentialSearch;
+    private LearnedIndexSearch learnedIndexSearch;
+    private MappedFileSearch mappedFileSearch;
     private KMPStringSearch kmpStringSearch;
     private NaiveStringSearch naiveStringSearch;
     private BoyerMooreStringSearch boyerMooreStringSearch;
+    private HorspoolStringSearch horspoolStringSearch;
+    private SundayStringSearch sundayStringSearch;
+    private RaitaStringSearch raitaStringSearch;
+    private AhoCorasickStringSearch ahoCorasickStringSearch;
 
     // Current state
     private int[] currentArray;
+    // Tracks the order of currentArray, and the input text it was parsed from so that an unchanged array is not parsed again
+    private SortedIntArray arrayKeys;
+    private String parsedInput;
+    // Sorted key file searched in place of currentArray while it is open
+    private MappedIntArray mappedKeys;
+    // Screens out certain misses before any search runs; rebuilt when other keys are loaded
+    private BlockedBloomFilter bloomFilter;
+    private SortedIntArray bloomFilterKeys;
+    // Compressed copy of the sorted array that Binary and Exponential Search can run on instead
+    private EliasFanoIntArray compressedKeys;
+    private int[] compressedKeysSource;
+    // Sorted words searched in place of currentArray while the word list is ticked, and their front-coded copy
+    private String[] currentWords;
+    private FrontCodedStringDictionary wordDictionary;
     private int searchValue;
     private String currentText;
     private String currentPattern;
     private boolean isArraySearchRunning = false;
     private boolean isStringSearchRunning = false;
+    // Cost constants of this machine, null until the background calibration is done
+    private CostModel costModel;
 
     public MainViewController() {
         initializeComponents();
         setupLayout();
         setupEventHandlers();
+        calibrateInBackground();
+    }
+
+    /**
+     * Measures the planner's cost constants on a background thread; Auto-pick stays disabled
+     * until they are known, so planning never runs the benchmarks on the JavaFX thread.
+     * The group sizes of the batched searches are calibrated next, on their own so that the
+     * two benchmarks do not compete for the cores they measure.
+     */
+    private void calibrateInBackground() {
+        planButton.setDisable(true);
+        planButton.setTooltip(new Tooltip("Measuring this machine's cost constants..."));
+        BackgroundTask.start("cost-model-calibration", CostModel::calibrated,
+            model -> enablePlanning(model, "Pick the algorithm with the lowest estimated total cost for that many searches"),
+            error -> enablePlanning(CostModel.DEFAULTS, "Calibration failed, estimates use typical desktop costs"));
+    }
+
+    private void enablePlanning(CostModel model, String tooltip) {
+        costModel = model;
+        planButton.setTooltip(new Tooltip(tooltip));
+        planButton.setDisable(false);
+        BackgroundTask.start("group-size-calibration", () -> {
+            for (InterleavedSearch.Kernel kernel : InterleavedSearch.Kernel.values()) {
+                InterleavedSearch.calibratedGroupSize(kernel);
+            }
+            return null;
+        }, ignored -> { }, error -> {
+            // Without a calibration the batched searches keep using InterleavedSearch.DEFAULT_GROUP_SIZE
+        });
     }
 
     private void initializeComponents() {
@@ -99,12 +209,25 @@ public class MainViewController {
 
         // Initialize algorithms
         linearSearch = new LinearSearch();
+        hashIndexSearch = new HashIndexSearch();
+        crackingSearch = new CrackingSearch();
+        parallelLinearSearch = new ParallelLinearSearch();
         binarySearch = new BinarySearch();
+        equalRangeSearch = new EqualRangeSearch();
+        interpolationSearch = new InterpolationSearch();
+        eytzingerSearch = new EytzingerSearch();
+        sTreeSearch = new STreeSearch();
         jumpSearch = new JumpSearch();
         exponentialSearch = new ExponentialSearch();
+        learnedIndexSearch = new LearnedIndexSearch();
+        mappedFileSearch = new MappedFileSearch();
         kmpStringSearch = new KMPStringSearch();
         naiveStringSearch = new NaiveStringSearch();
         boyerMooreStringSearch = new BoyerMooreStringSearch();
+        horspoolStringSearch = new HorspoolStringSearch();
+        sundayStringSearch = new SundayStringSearch();
+        raitaStringSearch = new RaitaStringSearch();
+        ahoCorasickStringSearch = new AhoCorasickStringSearch();
 
         // Initialize animation delays to match current slider values
         updateAlgorithmSpeed(speedSlider.getValue());
@@ -113,7 +236,7 @@ public class MainViewController {
 
     private void initializeArraySearchComponents() {
         // Array visualization pane
-        arrayVisualizationPane = new ArrayVisualizationPane();
+        arrayVisualizationPane = new WordListVisualizationPane();
         arrayVisualizationPane.setMinHeight(600);
         arrayVisualizationPane.setPrefHeight(700);
         arrayVisualizationPane.setMaxHeight(800);
@@ -128,7 +251,7 @@ public class MainViewController {
         searchValueField.setPrefWidth(100);
 
         algorithmSelector = new ComboBox<>();
-        algorithmSelector.getItems().addAll("Linear Search", "Binary Search", "Jump Search", "Exponential Search");
+        algorithmSelector.getItems().addAll("Linear Search", "Hash Index Search", "Cracking Search", "Parallel Linear Search", "Binary Search", "Equal Range Search", "Interpolation Search", "Eytzinger Search", "S-Tree Search", "Jump Search", "Exponential Search", "Learned Index Search");
         algorithmSelector.setPromptText("Select Algorithm");
         algorithmSelector.setPrefWidth(150);
 
@@ -139,6 +262,18 @@ public class MainViewController {
         arrayClearButton = new Button("🧹 Clear");
         arrayClearButton.getStyleClass().addAll("button", "reset-button");
 
+        openKeyFileButton = new Button("📂 Key File");
+        openKeyFileButton.getStyleClass().addAll("button", "reset-button");
+        openKeyFileButton.setTooltip(new Tooltip("Search a sorted file of 32-bit big-endian keys without loading it"));
+
+        // Cost-based choice of the algorithm for a number of searches
+        expectedSearchesField = new TextField("1");
+        expectedSearchesField.setPrefWidth(80);
+        expectedSearchesField.setTooltip(new Tooltip("How many searches the array will answer"));
+
+        planButton = new Button("🧭 Auto-pick");
+        planButton.getStyleClass().addAll("button", "reset-button");
+
         // Back to main menu button (shown in export section)
         backToMainButton = new Button("⬅ Back to Home");
         backToMainButton.getStyleClass().addAll("button", "reset-button");
@@ -176,6 +311,55 @@ public class MainViewController {
             updateAlgorithmSpeed(newVal.doubleValue());
         });
 
+        // Optional Bloom filter in front of every array search
+        bloomFilterCheckBox = new CheckBox("⚡ Bloom filter");
+        bloomFilterCheckBox.setTooltip(new Tooltip("Skip searches for values the filter proves are not in the array"));
+
+        bloomFalsePositiveSelector = new ComboBox<>();
+        bloomFalsePositiveSelector.getItems().addAll("10%", "5%", "1%", "0.1%", "0.01%");
+        bloomFalsePositiveSelector.setValue("1%");
+        bloomFalsePositiveSelector.setEditable(true);
+        bloomFalsePositiveSelector.setPrefWidth(90);
+        bloomFalsePositiveSelector.setDisable(true);
+        bloomFilterCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            bloomFalsePositiveSelector.setDisable(!newVal);
+            bloomFilterLabel.setVisible(newVal);
+        });
+
+        bloomFilterLabel = new Label();
+        bloomFilterLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        bloomFilterLabel.setVisible(false);
+        bloomFilterLabel.managedProperty().bind(bloomFilterLabel.visibleProperty());
+
+        // Optional Elias-Fano compressed keys behind Binary and Exponential Search
+        eliasFanoCheckBox = new CheckBox("🗜 Elias-Fano keys");
+        eliasFanoCheckBox.setTooltip(new Tooltip("Run Binary and Exponential Search on a compressed copy of the sorted array"));
+        eliasFanoCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            eliasFanoLabel.setVisible(newVal);
+        });
+
+        eliasFanoLabel = new Label();
+        eliasFanoLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        eliasFanoLabel.setTextFill(Color.web("#666"));
+        eliasFanoLabel.setVisible(false);
+        eliasFanoLabel.managedProperty().bind(eliasFanoLabel.visibleProperty());
+
+        // Word-list mode: the array elements are words, searched in dictionary order
+        wordListCheckBox = new CheckBox("🔤 Word list");
+        wordListCheckBox.setTooltip(new Tooltip("Treat the array elements as words and search them with Binary, Exponential or Jump Search"));
+        frontCodingCheckBox = new CheckBox("🗜 Front coding");
+        frontCodingCheckBox.setTooltip(new Tooltip("Search a prefix-compressed copy of the sorted words"));
+        frontCodingCheckBox.setDisable(true);
+        wordListCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            frontCodingCheckBox.setDisable(!newVal);
+            switchWordListMode(newVal);
+        });
+        frontCodingCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (currentWords != null) {
+                showWords();
+            }
+        });
+
         // Status and info labels
         statusLabel = new Label("Select algorithm and input data to begin");
         statusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
@@ -192,6 +376,19 @@ public class MainViewController {
         algorithmInfoArea.setPrefRowCount(8);
         algorithmInfoArea.setWrapText(true);
         algorithmInfoArea.setPromptText("Select an algorithm to view detailed information...");
+
+        // Keys read by cracking against scanning and sorting, only shown for Cracking Search
+        crackingCostChart = new CumulativeCostChart("📈 Cumulative cost of the searches");
+        crackingCostChart.setVisible(false);
+        crackingCostChart.managedProperty().bind(crackingCostChart.visibleProperty());
+
+        // Estimates behind the last auto-pick
+        planArea = new TextArea();
+        planArea.setEditable(false);
+        planArea.setPrefRowCount(10);
+        planArea.setWrapText(true);
+        planArea.setVisible(false);
+        planArea.managedProperty().bind(planArea.visibleProperty());
     }
 
     private void initializeStringSearchComponents() {
@@ -212,10 +409,19 @@ public class MainViewController {
 
         // String algorithm selector
         stringAlgorithmSelector = new ComboBox<>();
-        stringAlgorithmSelector.getItems().addAll("KMP Search", "Naive Search", "Boyer-Moore Search");
+        stringAlgorithmSelector.getItems().addAll("KMP Search", "Naive Search", "Boyer-Moore Search",
+                                                 "Horspool Search", "Sunday Search", "Raita Search",
+                                                 "Aho-Corasick Search");
         stringAlgorithmSelector.setPromptText("Select String Algorithm");
         stringAlgorithmSelector.setPrefWidth(150);
 
+        // Single-pattern searches can go on after the first occurrence
+        stringOccurrenceSelector = new ComboBox<>();
+        stringOccurrenceSelector.getItems().addAll("First occurrence", "All occurrences", "All, overlapping");
+        stringOccurrenceSelector.setValue("First occurrence");
+        stringOccurrenceSelector.setPrefWidth(150);
+        stringOccurrenceSelector.setTooltip(new Tooltip("Keep searching after each occurrence and highlight every one"));
+
         // Modern styled buttons with CSS classes for string search
         stringStartButton = new Button("▶ Start");
         stringStartButton.getStyleClass().addAll("button", "start-button");
@@ -439,15 +645,28 @@ public class MainViewController {
 
         VBox inputBox = new VBox(8);
         HBox arrayInputRow = new HBox(8);
-        arrayInputRow.getChildren().addAll(arrayInputField, randomArrayButton, arrayClearButton);
+        arrayInputRow.getChildren().addAll(arrayInputField, randomArrayButton, arrayClearButton, openKeyFileButton);
         HBox.setHgrow(arrayInputField, Priority.ALWAYS);
+        HBox bloomRow = new HBox(8);
+        bloomRow.setAlignment(Pos.CENTER_LEFT);
+        bloomRow.getChildren().addAll(bloomFilterCheckBox, new Label("False positives:"), bloomFalsePositiveSelector,
+            eliasFanoCheckBox);
+        HBox planRow = new HBox(8);
+        planRow.setAlignment(Pos.CENTER_LEFT);
+        planRow.getChildren().addAll(new Label("Expected searches:"), expectedSearchesField, planButton);
+        HBox wordRow = new HBox(8);
+        wordRow.setAlignment(Pos.CENTER_LEFT);
+        wordRow.getChildren().addAll(wordListCheckBox, frontCodingCheckBox);
         inputBox.getChildren().addAll(
             new Label("Array Elements:"),
             arrayInputRow,
             new Label("Search Value:"),
             searchValueField,
             new Label("Algorithm:"),
-            algorithmSelector
+            algorithmSelector,
+            bloomRow,
+            planRow,
+            wordRow
         );
 
         // Control buttons section
@@ -548,7 +767,9 @@ public class MainViewController {
             new Label("Pattern:"),
             patternRow,
             new Label("Algorithm:"),
-            stringAlgorithmSelector
+            stringAlgorithmSelector,
+            new Label("Occurrences:"),
+            stringOccurrenceSelector
         );
 
         // Control buttons section
@@ -619,6 +840,8 @@ public class MainViewController {
 
         statusBar.getChildren().addAll(
             new Label("Status:"), statusLabel,
+            bloomFilterLabel,
+            eliasFanoLabel,
             new Separator(),
             complexityLabel
         );
@@ -671,7 +894,7 @@ public class MainViewController {
         infoLabel.setTextFill(Color.web("#333"));
 
         VBox.setVgrow(algorithmInfoArea, Priority.ALWAYS);
-        infoPanel.getChildren().addAll(infoLabel, algorithmInfoArea);
+        infoPanel.getChildren().addAll(infoLabel, algorithmInfoArea, crackingCostChart, planArea);
 
         return infoPanel;
     }
@@ -715,10 +938,26 @@ public class MainViewController {
         exportPdfButton.setOnAction(e -> exportToPDF());
         randomArrayButton.setOnAction(e -> generateRandomArray());
         arrayClearButton.setOnAction(e -> clearArrayInputs());
+        openKeyFileButton.setOnAction(e -> openKeyFile());
+        planButton.setOnAction(e -> planSearches());
         backToMainButton.setOnAction(e -> navigateBackToMain());
         
-        arrayInputField.setOnAction(e -> parseAndUpdateArray());
-        searchValueField.setOnAction(e -> parseSearchValue());
+        arrayInputField.setOnAction(e -> {
+            if (wordListCheckBox.isSelected()) {
+                parseWords();
+                showWords();
+                return;
+            }
+            closeKeyFile();
+            parseAndUpdateArray();
+        });
+        searchValueField.setOnAction(e -> {
+            if (wordListCheckBox.isSelected()) {
+                statusLabel.setText("Search word set to: " + searchValueField.getText().trim());
+            } else {
+                parseSearchValue();
+            }
+        });
 
         // String search event handlers
         stringAlgorithmSelector.setOnAction(e -> updateStringAlgorithmInfo());
@@ -745,15 +984,42 @@ public class MainViewController {
         if (linearSearch != null) {
             linearSearch.setAnimationDelay(delay);
         }
+        if (hashIndexSearch != null) {
+            hashIndexSearch.setAnimationDelay(delay);
+        }
+        if (crackingSearch != null) {
+            crackingSearch.setAnimationDelay(delay);
+        }
+        if (parallelLinearSearch != null) {
+            parallelLinearSearch.setAnimationDelay(delay);
+        }
         if (binarySearch != null) {
             binarySearch.setAnimationDelay(delay);
         }
+        if (equalRangeSearch != null) {
+            equalRangeSearch.setAnimationDelay(delay);
+        }
+        if (interpolationSearch != null) {
+            interpolationSearch.setAnimationDelay(delay);
+        }
+        if (eytzingerSearch != null) {
+            eytzingerSearch.setAnimationDelay(delay);
+        }
+        if (sTreeSearch != null) {
+            sTreeSearch.setAnimationDelay(delay);
+        }
         if (jumpSearch != null) {
             jumpSearch.setAnimationDelay(delay);
         }
         if (exponentialSearch != null) {
             exponentialSearch.setAnimationDelay(delay);
         }
+        if (learnedIndexSearch != null) {
+            learnedIndexSearch.setAnimationDelay(delay);
+        }
+        if (mappedFileSearch != null) {
+            mappedFileSearch.setAnimationDelay(delay);
+        }
         
         System.out.println(String.format("Array Search animation speed changed to: %.2fx (delay: %dms)", speed, delay));
     }
@@ -773,12 +1039,25 @@ public class MainViewController {
         if (boyerMooreStringSearch != null) {
             boyerMooreStringSearch.setAnimationDelay(delay);
         }
+        if (horspoolStringSearch != null) {
+            horspoolStringSearch.setAnimationDelay(delay);
+        }
+        if (sundayStringSearch != null) {
+            sundayStringSearch.setAnimationDelay(delay);
+        }
+        if (raitaStringSearch != null) {
+            raitaStringSearch.setAnimationDelay(delay);
+        }
+        if (ahoCorasickStringSearch != null) {
+            ahoCorasickStringSearch.setAnimationDelay(delay);
+        }
         
         System.out.println(String.format("String Search animation speed changed to: %.2fx (delay: %dms)", speed, delay));
     }
 
     private void updateAlgorithmInfo() {
         String selectedAlgorithm = algorithmSelector.getValue();
+        crackingCostChart.setVisible("Cracking Search".equals(selectedAlgorithm));
         
         if (selectedAlgorithm == null) {
             complexityLabel.setText("Complexity info will appear here");
@@ -814,6 +1093,81 @@ public class MainViewController {
                     "5. Repeat until found or end of array"
                 );
                 break;
+            case "Hash Index Search":
+                complexityLabel.setText("⏱️ Time: O(n) build, O(1) expected per lookup | 💾 Space: O(n) | #️⃣ No sorting needed");
+                algorithmInfoArea.setText(
+                    "#️⃣ Hash Index Search Algorithm\n" +
+                    "══════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Works on UNSORTED arrays\n" +
+                    "• Builds an open-addressing hash table: value → first index\n" +
+                    "• Plain int arrays for keys and positions - no boxing\n" +
+                    "• Robin Hood probing keeps every probe sequence short\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Build: O(n) expected, timed and shown when the search starts\n" +
+                    "• Lookup: O(1) expected - usually one or two probes\n" +
+                    "• Space Complexity: O(n), load factor at most 0.75\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Many lookups in data that is not sorted\n" +
+                    "• Once the build costs less than scanning or sorting would\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Build: hash every value to a home slot, moving on past occupied slots\n" +
+                    "2. Lookup: hash the target to its home slot\n" +
+                    "3. Compare the element each occupied slot points to\n" +
+                    "4. Stop at a match, an empty slot, or an entry closer to home than the probe"
+                );
+                break;
+            case "Cracking Search":
+                complexityLabel.setText("⏱️ Time: O(n) first search, shrinking pieces after | 💾 Space: O(n) | 🔨 No sorting needed");
+                algorithmInfoArea.setText(
+                    "🔨 Cracking Search Algorithm\n" +
+                    "══════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Works on UNSORTED arrays, which it reorders as it searches\n" +
+                    "• Each search partitions only the piece that can hold its value\n" +
+                    "• A cracker index remembers where every piece starts\n" +
+                    "• Searching the same array again reads ever smaller pieces\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• First search: O(n), the cost of one scan\n" +
+                    "• Later searches: O(size of the piece), shrinking towards O(log n)\n" +
+                    "• Space Complexity: O(n) for the copy and the original positions\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Many searches on data that was never sorted\n" +
+                    "• When sorting up front would cost more than the searches save\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Look up the piece holding the target in the cracker index\n" +
+                    "2. Partition that piece into keys below the target and the rest\n" +
+                    "3. Partition the right part into keys equal to the target and larger ones\n" +
+                    "4. Found if the keys equal to the target form a non-empty piece\n\n" +
+                    "📈 The chart below adds up the keys each strategy has read"
+                );
+                break;
+            case "Parallel Linear Search":
+                complexityLabel.setText("⏱️ Time: O(n/p) | 💾 Space: O(log n) | 🧵 Workers: p | ✂️ Cancels right of a match");
+                algorithmInfoArea.setText(
+                    "⚡ Parallel Linear Search (Fork/Join)\n" +
+                    "═════════════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Works on both sorted and unsorted arrays\n" +
+                    "• Splits the array into cache-sized chunks scanned by worker threads\n" +
+                    "• The lowest matching index wins; chunks right of a match are cancelled\n" +
+                    "• Each coloured band is one chunk, one colour per worker\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Time Complexity:\n" +
+                    "  - Work: O(n) comparisons in total\n" +
+                    "  - Elapsed: about O(n / p) with p workers\n" +
+                    "• Space Complexity: O(log n) - split tasks\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Unsorted arrays too big to sort first\n" +
+                    "• Machines with several idle cores\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Split the range in halves until a chunk is small enough\n" +
+                    "2. Workers scan their chunks in parallel\n" +
+                    "3. A match records the lowest index found so far\n" +
+                    "4. Chunks that start right of that index are skipped\n" +
+                    "5. Return the lowest matching index"
+                );
+                break;
             case "Binary Search":
                 complexityLabel.setText("⏱️ Time: O(log n) | 💾 Space: O(1) | 🎯 Best Case: O(1) | 📊 Average: O(log n)");
                 algorithmInfoArea.setText(
@@ -844,6 +1198,108 @@ public class MainViewController {
                     "6. Repeat until found or search space is empty"
                 );
                 break;
+            case "Equal Range Search":
+                complexityLabel.setText("⏱️ Time: O(log n) for any number of duplicates | 💾 Space: O(1) | 📏 Two boundary searches");
+                algorithmInfoArea.setText(
+                    "📏 Equal Range Search Algorithm\n" +
+                    "══════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Requires a SORTED array\n" +
+                    "• Finds ALL occurrences of the target, not just one\n" +
+                    "• Lower bound: first element not less than the target\n" +
+                    "• Upper bound: first element greater than the target\n" +
+                    "• The occurrences are exactly [lower bound, upper bound)\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Time Complexity: O(log n) - two binary searches, never a scan over the duplicates\n" +
+                    "• Space Complexity: O(1)\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Counting occurrences in data with many duplicates\n" +
+                    "• Range counts: upperBound(high) - lowerBound(low)\n" +
+                    "• Finding the insertion point of an absent value\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Binary search for the lower bound, moving left on elements >= target\n" +
+                    "2. Binary search for the upper bound, starting from the lower bound\n" +
+                    "3. Moving right on elements <= target\n" +
+                    "4. Report the elements between the two bounds"
+                );
+                break;
+            case "Interpolation Search":
+                complexityLabel.setText("⏱️ Time: O(log log n) on uniform keys, O(log n) worst case | 💾 Space: O(1) | 📐 Probes by value");
+                algorithmInfoArea.setText(
+                    "📐 Interpolation Search Algorithm\n" +
+                    "══════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Requires a SORTED array of numbers\n" +
+                    "• Guesses the position from the values at the range ends\n" +
+                    "• Like opening a phone book near the right letter\n" +
+                    "• Falls back to binary steps when the keys are skewed\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Average Case: O(log log n) on uniformly distributed keys\n" +
+                    "• Worst Case: O(log n) - a probe that does not halve the range is followed by a binary one\n" +
+                    "• Space Complexity: O(1)\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Evenly spaced keys: IDs, timestamps, sequence numbers\n" +
+                    "• Large tables where every probe is expensive\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. pos = low + (target - a[low]) × (high - low) / (a[high] - a[low])\n" +
+                    "2. Compare a[pos] with the target and keep the side that can hold it\n" +
+                    "3. If that side is more than half the range, take a binary step next\n" +
+                    "4. After 3 such misses use binary steps only; scan the last 4 elements"
+                );
+                break;
+            case "Eytzinger Search":
+                complexityLabel.setText("⏱️ Time: O(log n) | 💾 Space: O(n) | 🏗️ Build: O(n) | 🔀 Branch-free");
+                algorithmInfoArea.setText(
+                    "🌳 Eytzinger Search Algorithm\n" +
+                    "═════════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Requires a SORTED array, rearranged once into breadth-first (Eytzinger) order\n" +
+                    "• Node k has its children at 2k and 2k+1 - an implicit binary search tree\n" +
+                    "• Branch-free descent: no mispredicted branches, no early exit\n" +
+                    "• Results are reported at their original sorted positions\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Time Complexity:\n" +
+                    "  - Build: O(n) once\n" +
+                    "  - Every lookup: O(log n) - always walks down to a leaf\n" +
+                    "• Space Complexity: O(n) - only the rearranged copy of the keys\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Many lookups against the same large sorted array\n" +
+                    "• When cache misses and branch mispredictions dominate binary search\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Start at the root, node 1\n" +
+                    "2. If the node is smaller than the target go right (2k+1), otherwise go left (2k)\n" +
+                    "3. Repeat until the walk falls off the tree\n" +
+                    "4. Undo the trailing right turns to reach the lower bound\n" +
+                    "5. The target is found if the lower bound equals it"
+                );
+                break;
+            case "S-Tree Search":
+                complexityLabel.setText("⏱️ Time: O(log₁₇ n) nodes | 💾 Space: O(n/16) extra | 🏗️ Build: O(n) | 🧱 One cache line per node");
+                algorithmInfoArea.setText(
+                    "🧱 S-Tree Search Algorithm\n" +
+                    "═════════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Requires a SORTED array; a static B+ tree is built over it once\n" +
+                    "• Every node holds 16 keys - exactly one 64-byte cache line\n" +
+                    "• The leaves are the sorted array, the nodes above store the first key of each child\n" +
+                    "• Children are found by arithmetic: no pointers at all\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Time Complexity:\n" +
+                    "  - Build: O(n) once\n" +
+                    "  - Every lookup: O(log₁₇ n) nodes - 6 cache misses for 16 million keys\n" +
+                    "• Space Complexity: O(n/16) internal nodes on top of the keys\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Many lookups against the same large sorted array\n" +
+                    "• When cache misses dominate binary and Eytzinger search\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Start at the root node\n" +
+                    "2. Count the node's keys that are smaller than the target (branch-free or SIMD)\n" +
+                    "3. Descend into the child with that number\n" +
+                    "4. In the leaf, the count is the position of the first key not smaller\n" +
+                    "5. The target is found if that key equals it\n\n" +
+                    "🎨 The animation uses 4 keys per node so that small arrays still have several levels"
+                );
+                break;
             case "Jump Search":
                 complexityLabel.setText("⏱️ Time: O(√n) | 💾 Space: O(1) | 🎯 Best Case: O(1) | 📊 Average: O(√n)");
                 algorithmInfoArea.setText(
@@ -903,10 +1359,41 @@ public class MainViewController {
                     "5. Return result from binary search"
                 );
                 break;
+            case "Learned Index Search":
+                complexityLabel.setText("⏱️ Time: O(log s + log ε) | 💾 Space: O(s) segments | 🏗️ Build: O(n) | 📏 Error: ±ε");
+                algorithmInfoArea.setText(
+                    "🧠 Learned Index Search\n" +
+                    "═══════════════════════\n\n" +
+                    "📋 Overview:\n" +
+                    "• Requires a SORTED array\n" +
+                    "• Trains a piecewise-linear model of key → position once\n" +
+                    "• The pink element is the predicted position, the shaded band its error bound ±ε\n" +
+                    "• Only the band is searched, after checking its two edges\n\n" +
+                    "⚡ Complexity Analysis:\n" +
+                    "• Time Complexity:\n" +
+                    "  - Training: O(n), one pass over the keys\n" +
+                    "  - Lookup: O(log s) to pick one of s segments + O(log ε) in the band\n" +
+                    "• Space Complexity: O(s) - one line per segment\n\n" +
+                    "🎯 When to Use:\n" +
+                    "• Large, read-mostly sorted key sets\n" +
+                    "• Keys with a smooth distribution (IDs, timestamps)\n\n" +
+                    "🔄 Algorithm Steps:\n" +
+                    "1. Find the segment whose first key is the last one ≤ target\n" +
+                    "2. Evaluate its line to predict a position\n" +
+                    "3. Check the edges of the error band around the prediction\n" +
+                    "4. Binary search inside the band\n" +
+                    "5. Compare lookup time with Binary and Exponential Search at the end"
+                );
+                break;
         }
     }
 
     private void generateRandomArray() {
+        if (wordListCheckBox.isSelected()) {
+            generateRandomWords();
+            return;
+        }
+        closeKeyFile();
         int length = 10;
         int minValue = 0;
         int maxValue = 99;
@@ -940,12 +1427,13 @@ public class MainViewController {
     private void parseAndUpdateArray() {
         try {
             String input = arrayInputField.getText().trim();
-            String[] parts = input.split(",");
-            currentArray = new int[parts.length];
-
-            for (int i = 0; i < parts.length; i++) {
-                currentArray[i] = Integer.parseInt(parts[i].trim());
+            if (currentArray != null && input.equals(parsedInput)) {
+                arrayVisualizationPane.setArray(currentArray);
+                return;
             }
+            arrayKeys = SortedIntArray.parse(input);
+            currentArray = arrayKeys.toArray();
+            parsedInput = input;
 
             arrayVisualizationPane.setArray(currentArray);
             statusLabel.setText("Array loaded: " + Arrays.toString(currentArray));
@@ -955,6 +1443,45 @@ public class MainViewController {
         }
     }
 
+    /**
+     * Estimates the total cost of every algorithm for the expected number of searches on the
+     * current array, selects the cheapest and shows how the estimates were made. The cost
+     * constants come from the calibration started with the view.
+     */
+    private void planSearches() {
+        if (wordListCheckBox.isSelected()) {
+            showAlert("Word List", "Auto-pick plans searches on numbers; untick the word list first.");
+            return;
+        }
+        if (mappedKeys != null) {
+            showAlert("Key File Open", "Auto-pick plans searches on an array in memory; clear the key file first.");
+            return;
+        }
+        int expectedSearches;
+        try {
+            expectedSearches = Integer.parseInt(expectedSearchesField.getText().trim());
+        } catch (NumberFormatException ex) {
+            expectedSearches = 0;
+        }
+        if (expectedSearches < 1) {
+            showAlert("Invalid Input", "Please enter the number of searches as a positive integer.");
+            return;
+        }
+        parseAndUpdateArray();
+        if (currentArray == null || currentArray.length == 0) {
+            showAlert("Empty Array", "Please enter array elements first.");
+            return;
+        }
+
+        SearchPlan plan = new SearchPlanner(costModel).plan(ArrayStatistics.of(currentArray), expectedSearches);
+        SearchPlan.Estimate choice = plan.getChoice();
+        algorithmSelector.setValue(choice.getAlgorithm());
+        planArea.setText(plan.explain());
+        planArea.setVisible(true);
+        statusLabel.setText("🧭 " + choice.getAlgorithm() + " is estimated cheapest for " + expectedSearches +
+            " search(es): " + SearchPlan.formatNanos(choice.getTotalNanos()));
+    }
+
     private void parseSearchValue() {
         try {
             searchValue = Integer.parseInt(searchValueField.getText().trim());
@@ -965,6 +1492,14 @@ public class MainViewController {
     }
 
     private void startVisualization() {
+        if (wordListCheckBox.isSelected()) {
+            startWordVisualization();
+            return;
+        }
+        if (mappedKeys != null) {
+            startMappedVisualization();
+            return;
+        }
         parseAndUpdateArray();
         parseSearchValue();
 
@@ -975,34 +1510,42 @@ public class MainViewController {
 
         String selectedAlgorithm = algorithmSelector.getValue();
 
-        // Check if selected algorithm requires sorted data
-        if ("Binary Search".equals(selectedAlgorithm) || "Jump Search".equals(selectedAlgorithm) || "Exponential Search".equals(selectedAlgorithm)) {
-            // Check if array is sorted for binary search
-            boolean isSorted = true;
-            for (int i = 1; i < currentArray.length; i++) {
-                if (currentArray[i] < currentArray[i-1]) {
-                    isSorted = false;
-                    break;
-                }
-            }
+        // A certain miss needs neither sorting nor a search
+        if (bloomFilterCheckBox.isSelected() && !screenWithBloomFilter()) {
+            return;
+        }
 
-            if (!isSorted) {
+        // Check if selected algorithm requires sorted data
+        ArraySearchAlgorithm engine = SearchAlgorithms.arrayAlgorithm(selectedAlgorithm);
+        if (engine != null && engine.requiresSortedInput()) {
+            // Sortedness is tracked while the array is loaded, no scan needed
+            if (!arrayKeys.isSorted()) {
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
                 alert.setTitle("Array Not Sorted");
                 alert.setHeaderText(selectedAlgorithm + " requires a sorted array.");
-                alert.setContentText("Would you like to sort the array automatically?");
+                alert.setContentText(String.format("Would you like to sort the array automatically? It has %d ascending runs%s.",
+                    arrayKeys.runCount(), arrayKeys.runCount() <= SortedIntArray.MAX_MERGED_RUNS ? ", which can simply be merged" : ""));
 
                 Optional<ButtonType> result = alert.showAndWait();
                 if (result.isPresent() && result.get() == ButtonType.OK) {
-                    Arrays.sort(currentArray);
-                    arrayInputField.setText(Arrays.toString(currentArray).replaceAll("[\\[\\]]", ""));
+                    SortedIntArray.SortMethod method = arrayKeys.sort();
+                    currentArray = arrayKeys.toArray();
+                    parsedInput = Arrays.toString(currentArray).replaceAll("[\\[\\]]", "");
+                    arrayInputField.setText(parsedInput);
                     arrayVisualizationPane.setArray(currentArray);
+                    statusLabel.setText("Array sorted by " + (method == SortedIntArray.SortMethod.RUN_MERGE
+                        ? "merging its runs" : "a full sort") + ": " + Arrays.toString(currentArray));
                 } else {
                     return;
                 }
             }
         }
 
+        // Cracking Search leaves its cracked order on screen; the other searches run on the array as entered
+        if (!"Cracking Search".equals(selectedAlgorithm) && !Arrays.equals(arrayVisualizationPane.getArray(), currentArray)) {
+            arrayVisualizationPane.setArray(currentArray);
+        }
+
         isArraySearchRunning = true;
         startButton.setDisable(true);
         pauseButton.setDisable(false);
@@ -1012,14 +1555,46 @@ public class MainViewController {
             case "Linear Search":
                 linearSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
                 break;
+            case "Hash Index Search":
+                hashIndexSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
+            case "Cracking Search":
+                crackingSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
+            case "Parallel Linear Search":
+                parallelLinearSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
             case "Binary Search":
-                binarySearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                if (eliasFanoCheckBox.isSelected()) {
+                    binarySearch.visualizeSearch(compressedKeys().probe(searchValue), arrayVisualizationPane, this::onSearchComplete);
+                } else {
+                    binarySearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                }
+                break;
+            case "Equal Range Search":
+                equalRangeSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
+            case "Interpolation Search":
+                interpolationSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
+            case "Eytzinger Search":
+                eytzingerSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                break;
+            case "S-Tree Search":
+                sTreeSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
                 break;
             case "Jump Search":
                 jumpSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
                 break;
             case "Exponential Search":
-                exponentialSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                if (eliasFanoCheckBox.isSelected()) {
+                    exponentialSearch.visualizeSearch(compressedKeys().probe(searchValue), arrayVisualizationPane, this::onSearchComplete);
+                } else {
+                    exponentialSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
+                }
+                break;
+            case "Learned Index Search":
+                learnedIndexSearch.visualizeSearch(currentArray, searchValue, arrayVisualizationPane, this::onSearchComplete);
                 break;
         }
 
@@ -1030,20 +1605,47 @@ public class MainViewController {
         isArraySearchRunning = false;
 
         // Pause the current algorithm
-        String selectedAlgorithm = algorithmSelector.getValue();
+        String selectedAlgorithm = activeArrayAlgorithm();
         switch (selectedAlgorithm) {
             case "Linear Search":
                 linearSearch.pause();
                 break;
+            case "Hash Index Search":
+                hashIndexSearch.pause();
+                break;
+            case "Cracking Search":
+                crackingSearch.pause();
+                break;
+            case "Parallel Linear Search":
+                parallelLinearSearch.pause();
+                break;
             case "Binary Search":
                 binarySearch.pause();
                 break;
+            case "Equal Range Search":
+                equalRangeSearch.pause();
+                break;
+            case "Interpolation Search":
+                interpolationSearch.pause();
+                break;
+            case "Eytzinger Search":
+                eytzingerSearch.pause();
+                break;
+            case "S-Tree Search":
+                sTreeSearch.pause();
+                break;
             case "Jump Search":
                 jumpSearch.pause();
                 break;
             case "Exponential Search":
                 exponentialSearch.pause();
                 break;
+            case "Learned Index Search":
+                learnedIndexSearch.pause();
+                break;
+            case MAPPED_FILE_SEARCH:
+                mappedFileSearch.pause();
+                break;
         }
 
         startButton.setDisable(false);
@@ -1056,14 +1658,30 @@ public class MainViewController {
 
         // Stop and reset current algorithm
         linearSearch.stop();
+        hashIndexSearch.stop();
+        crackingSearch.stop();
+        parallelLinearSearch.stop();
         binarySearch.stop();
+        equalRangeSearch.stop();
+        interpolationSearch.stop();
+        eytzingerSearch.stop();
+        sTreeSearch.stop();
         jumpSearch.stop();
         exponentialSearch.stop();
+        learnedIndexSearch.stop();
+        mappedFileSearch.stop();
+        // Back to the array as entered, which the next Cracking Search starts cracking afresh
+        crackingSearch.clearIndex();
+        crackingCostChart.clear();
 
         startButton.setDisable(false);
         pauseButton.setDisable(true);
 
-        if (currentArray != null) {
+        if (currentWords != null) {
+            showWords();
+        } else if (mappedKeys != null) {
+            showKeyFileStart();
+        } else if (currentArray != null) {
             arrayVisualizationPane.setArray(currentArray);
         }
 
@@ -1071,7 +1689,7 @@ public class MainViewController {
     }
 
     private void stepVisualization() {
-        String selectedAlgorithm = algorithmSelector.getValue();
+        String selectedAlgorithm = activeArrayAlgorithm();
         if (selectedAlgorithm == null) {
             showAlert("No Algorithm Selected", "Please select an array search algorithm first.");
             return;
@@ -1083,15 +1701,42 @@ public class MainViewController {
             case "Linear Search":
                 paused = linearSearch.isPaused();
                 break;
+            case "Hash Index Search":
+                paused = hashIndexSearch.isPaused();
+                break;
+            case "Cracking Search":
+                paused = crackingSearch.isPaused();
+                break;
+            case "Parallel Linear Search":
+                paused = parallelLinearSearch.isPaused();
+                break;
             case "Binary Search":
                 paused = binarySearch.isPaused();
                 break;
+            case "Equal Range Search":
+                paused = equalRangeSearch.isPaused();
+                break;
+            case "Interpolation Search":
+                paused = interpolationSearch.isPaused();
+                break;
+            case "Eytzinger Search":
+                paused = eytzingerSearch.isPaused();
+                break;
+            case "S-Tree Search":
+                paused = sTreeSearch.isPaused();
+                break;
             case "Jump Search":
                 paused = jumpSearch.isPaused();
                 break;
             case "Exponential Search":
                 paused = exponentialSearch.isPaused();
                 break;
+            case "Learned Index Search":
+                paused = learnedIndexSearch.isPaused();
+                break;
+            case MAPPED_FILE_SEARCH:
+                paused = mappedFileSearch.isPaused();
+                break;
         }
 
         if (!paused) {
@@ -1106,24 +1751,125 @@ public class MainViewController {
             case "Linear Search":
                 linearSearch.resume();
                 break;
+            case "Hash Index Search":
+                hashIndexSearch.resume();
+                break;
+            case "Cracking Search":
+                crackingSearch.resume();
+                break;
+            case "Parallel Linear Search":
+                parallelLinearSearch.resume();
+                break;
             case "Binary Search":
                 binarySearch.resume();
                 break;
+            case "Equal Range Search":
+                equalRangeSearch.resume();
+                break;
+            case "Interpolation Search":
+                interpolationSearch.resume();
+                break;
+            case "Eytzinger Search":
+                eytzingerSearch.resume();
+                break;
+            case "S-Tree Search":
+                sTreeSearch.resume();
+                break;
             case "Jump Search":
                 jumpSearch.resume();
                 break;
             case "Exponential Search":
                 exponentialSearch.resume();
                 break;
+            case "Learned Index Search":
+                learnedIndexSearch.resume();
+                break;
+            case MAPPED_FILE_SEARCH:
+                mappedFileSearch.resume();
+                break;
         }
     }
 
+    /**
+     * Runs the search value through the Bloom filter, building the filter first if the array
+     * or the false-positive rate changed
+     * @return false if the value is certainly absent and the search was skipped
+     */
+    private boolean screenWithBloomFilter() {
+        double falsePositiveRate;
+        try {
+            falsePositiveRate = Double.parseDouble(bloomFalsePositiveSelector.getValue().replace("%", "").trim()) / 100;
+        } catch (NumberFormatException | NullPointerException ex) {
+            showAlert("Invalid Input", "Please enter a false-positive rate such as 1%.");
+            return false;
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            showAlert("Invalid Input", "The false-positive rate must be between 0% and 100%.");
+            return false;
+        }
+        // Sorting keeps the same keys, so only newly loaded arrays need a new filter
+        if (bloomFilter == null || bloomFilterKeys != arrayKeys || bloomFilter.getFalsePositiveRate() != falsePositiveRate) {
+            bloomFilter = BlockedBloomFilter.of(currentArray, falsePositiveRate);
+            bloomFilterKeys = arrayKeys;
+        }
+
+        boolean mayContain = bloomFilter.screen(searchValue);
+        bloomFilterLabel.setText(String.format("%s  (%d skipped, %d passed, %.1f bits/key)",
+            mayContain ? "⚡ Passed Bloom filter" : "⚡ Skipped by Bloom filter",
+            bloomFilter.getFilteredCount(), bloomFilter.getPassedCount(), bloomFilter.getBitsPerKey()));
+        bloomFilterLabel.setTextFill(Color.web(mayContain ? "#666" : "#2E7D32"));
+        if (!mayContain) {
+            arrayVisualizationPane.resetHighlights();
+            arrayVisualizationPane.markAsNotFound();
+            arrayVisualizationPane.setInstructionText("⚡ The Bloom filter rules out " + searchValue +
+                                                      ", so the search was skipped: 0 comparisons");
+            statusLabel.setText("✗ Value " + searchValue + " not found - skipped by the Bloom filter");
+        }
+        return mayContain;
+    }
+
+    /**
+     * Compresses the sorted array, unless it was already compressed. Building takes one pass
+     * and is needed right away; the comparison of lookup times runs in the background and
+     * fills in the label when it is done.
+     */
+    private EliasFanoIntArray compressedKeys() {
+        if (compressedKeys == null || compressedKeysSource != currentArray) {
+            int[] source = currentArray;
+            compressedKeys = new EliasFanoIntArray(source);
+            compressedKeysSource = source;
+            String size = String.format("🗜 %.1f bits/key vs 32", compressedKeys.bitsPerElement());
+            eliasFanoLabel.setText(size + "  (timing lookups...)");
+            BackgroundTask.start("elias-fano-timing",
+                () -> BinarySearch.measureCompressedLookupTimes(source, 10000),
+                times -> {
+                    if (compressedKeysSource == source) {
+                        eliasFanoLabel.setText(String.format("%s  (binary %.1f vs %.1f ns, exponential %.1f vs %.1f ns, successor %.1f ns)",
+                            size, times.getCompressedBinaryNanos(), times.getRawBinaryNanos(),
+                            times.getCompressedExponentialNanos(), times.getRawExponentialNanos(), times.getSuccessorNanos()));
+                    }
+                },
+                error -> {
+                    if (compressedKeysSource == source) {
+                        eliasFanoLabel.setText(size + "  (timing failed: " + error.getMessage() + ")");
+                    }
+                });
+        }
+        return compressedKeys;
+    }
+
     private void onSearchComplete(int foundIndex) {
         Platform.runLater(() -> {
             isArraySearchRunning = false;
             startButton.setDisable(false);
             pauseButton.setDisable(true);
 
+            if ("Cracking Search".equals(activeArrayAlgorithm()) && crackingSearch.getCosts() != null) {
+                CrackingSearch.CumulativeCosts costs = crackingSearch.getCosts();
+                crackingCostChart.setCosts(new String[]{"Cracking", "Always scan", "Sort first"},
+                    new long[][]{costs.getCracking(), costs.getScanning(), costs.getSortFirst()});
+            }
+
             if (foundIndex >= 0) {
                 statusLabel.setText("✓ Value " + searchValue + " found at index " + foundIndex);
             } else {
@@ -1132,9 +1878,214 @@ public class MainViewController {
         });
     }
 
+    /**
+     * Enters or leaves word-list mode; numbers and words do not carry over between the two
+     */
+    private void switchWordListMode(boolean words) {
+        resetVisualization();
+        clearArrayInputs();
+        statusLabel.setText(words
+            ? "Word list: enter words separated by commas and a word to search for"
+            : "Back to numbers: enter array elements to begin");
+    }
+
+    /**
+     * Reads the words from the array input and sorts them into dictionary order
+     */
+    private void parseWords() {
+        String[] words = Arrays.stream(arrayInputField.getText().split(","))
+            .map(String::trim)
+            .filter(word -> !word.isEmpty())
+            .toArray(String[]::new);
+        boolean sorted = BinarySearch.isSorted(words, Comparator.naturalOrder());
+        if (!sorted) {
+            Arrays.sort(words);
+        }
+        if (currentWords == null || !Arrays.equals(words, currentWords)) {
+            currentWords = words;
+            wordDictionary = null;
+        }
+        statusLabel.setText((sorted ? "Word list loaded: " : "Words sorted into dictionary order: ")
+            + String.join(", ", currentWords));
+    }
+
+    /**
+     * Shows the words as entered or, with front coding ticked, as the dictionary stores them
+     */
+    private void showWords() {
+        if (frontCodingCheckBox.isSelected()) {
+            arrayVisualizationPane.showDictionary(wordDictionary());
+        } else {
+            arrayVisualizationPane.setWords(currentWords);
+        }
+    }
+
+    private FrontCodedStringDictionary wordDictionary() {
+        if (wordDictionary == null) {
+            // Small buckets so that a short list still shows several of them
+            wordDictionary = new FrontCodedStringDictionary(currentWords, 4);
+        }
+        return wordDictionary;
+    }
+
+    private void generateRandomWords() {
+        Random random = new Random();
+        String[] words = new String[10];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = SAMPLE_WORDS[random.nextInt(SAMPLE_WORDS.length)];
+        }
+        arrayInputField.setText(String.join(", ", words));
+        parseWords();
+        showWords();
+        String target = currentWords[random.nextInt(currentWords.length)];
+        searchValueField.setText(target);
+        statusLabel.setText("Random words generated: " + String.join(", ", currentWords) + " | Random search word: " + target);
+    }
+
+    private void startWordVisualization() {
+        parseWords();
+        String target = searchValueField.getText().trim();
+        if (currentWords.length == 0) {
+            showAlert("No Data", "Please enter words separated by commas first.");
+            return;
+        }
+        if (target.isEmpty()) {
+            showAlert("Invalid Input", "Please enter a word to search for.");
+            return;
+        }
+        String selectedAlgorithm = algorithmSelector.getValue();
+        if (!WORD_LIST_ALGORITHMS.contains(selectedAlgorithm)) {
+            showAlert("Not Available for Words", selectedAlgorithm + " needs numeric keys; word lists are searched with "
+                + String.join(", ", WORD_LIST_ALGORITHMS) + ".");
+            return;
+        }
+
+        showWords();
+        ArrayProbe probe = frontCodingCheckBox.isSelected()
+            ? wordDictionary().probe(target)
+            : ArrayProbe.of(currentWords, target, Comparator.naturalOrder());
+
+        isArraySearchRunning = true;
+        startButton.setDisable(true);
+        pauseButton.setDisable(false);
+        statusLabel.setText("Searching for \"" + target + "\" using " + selectedAlgorithm + "...");
+
+        Consumer<Integer> onComplete = foundIndex -> Platform.runLater(() -> {
+            isArraySearchRunning = false;
+            startButton.setDisable(false);
+            pauseButton.setDisable(true);
+            statusLabel.setText(foundIndex >= 0
+                ? "✓ Word \"" + target + "\" found at index " + foundIndex
+                : "✗ Word \"" + target + "\" not found in the list");
+        });
+        switch (selectedAlgorithm) {
+            case "Binary Search":
+                binarySearch.visualizeSearch(probe, arrayVisualizationPane, onComplete);
+                break;
+            case "Exponential Search":
+                exponentialSearch.visualizeSearch(probe, arrayVisualizationPane, onComplete);
+                break;
+            default:
+                jumpSearch.visualizeSearch(probe, arrayVisualizationPane, onComplete);
+                break;
+        }
+    }
+
+    /**
+     * Name of the visualizer driving the array tab: the mapped file search while a key file is open
+     */
+    private String activeArrayAlgorithm() {
+        String selectedAlgorithm = algorithmSelector.getValue();
+        return mappedKeys != null && MappedFileSearch.supports(selectedAlgorithm) ? MAPPED_FILE_SEARCH : selectedAlgorithm;
+    }
+
+    private void openKeyFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Open Sorted Key File");
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Key Files", "*.bin", "*.keys", "*.dat"),
+            new FileChooser.ExtensionFilter("All Files", "*.*")
+        );
+        File file = fileChooser.showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+
+        resetVisualization();
+        closeKeyFile();
+        try {
+            mappedKeys = MappedIntArray.map(file.toPath());
+        } catch (IOException ex) {
+            showAlert("Open Failed", "Failed to map key file: " + ex.getMessage());
+            return;
+        } catch (LinkageError ex) {
+            // MappedIntArray is compiled against a preview API and only loads with --enable-preview
+            showAlert("Open Failed", "Memory-mapped key files need the JVM option --enable-preview.");
+            return;
+        }
+
+        currentArray = null;
+        arrayKeys = null;
+        arrayInputField.clear();
+        arrayInputField.setPromptText("Searching " + file.getName() + " - type values here to go back to an array");
+        showKeyFileStart();
+        statusLabel.setText("Key file mapped: " + file.getName() + " (" + mappedKeys.length() + " keys)");
+    }
+
+    private void showKeyFileStart() {
+        arrayVisualizationPane.showWindow(0, mappedKeys.copy(0, (int) Math.min(MappedFileSearch.WINDOW_SIZE, mappedKeys.length())));
+        arrayVisualizationPane.setInstructionText("Key file " + mappedKeys.getFile().getFileName() + " mapped with "
+            + mappedKeys.length() + " keys; Binary, Jump and Exponential Search run on it in place");
+    }
+
+    private void closeKeyFile() {
+        if (mappedKeys != null) {
+            mappedFileSearch.stop();
+            mappedKeys.close();
+            mappedKeys = null;
+            arrayInputField.setPromptText("Enter array values separated by commas (e.g., 64, 34, 25, 12, 22)");
+        }
+    }
+
+    private void startMappedVisualization() {
+        parseSearchValue();
+
+        String selectedAlgorithm = algorithmSelector.getValue();
+        if (!MappedFileSearch.supports(selectedAlgorithm)) {
+            showAlert("Unsupported Algorithm", "Key files can be searched with Binary, Jump or Exponential Search.");
+            return;
+        }
+
+        isArraySearchRunning = true;
+        startButton.setDisable(true);
+        pauseButton.setDisable(false);
+
+        mappedFileSearch.visualizeSearch(mappedKeys, selectedAlgorithm, searchValue, arrayVisualizationPane, foundIndex ->
+            Platform.runLater(() -> {
+                isArraySearchRunning = false;
+                startButton.setDisable(false);
+                pauseButton.setDisable(true);
+
+                if (foundIndex >= 0) {
+                    statusLabel.setText("✓ Value " + searchValue + " found at index " + foundIndex);
+                } else {
+                    statusLabel.setText("✗ Value " + searchValue + " not found in the key file");
+                }
+            }));
+
+        statusLabel.setText("Searching for " + searchValue + " in " + mappedKeys.getFile().getFileName()
+            + " using " + selectedAlgorithm + "...");
+    }
+
     private void updateStringAlgorithmInfo() {
         String selectedAlgorithm = stringAlgorithmSelector.getValue();
         
+        // Aho-Corasick searches several patterns at once, and always reports every occurrence
+        patternInputField.setPromptText("Aho-Corasick Search".equals(selectedAlgorithm)
+            ? "Enter patterns separated by commas (e.g., he, she, his, hers)"
+            : "Enter pattern to search for (e.g., ABCAB)");
+        stringOccurrenceSelector.setDisable("Aho-Corasick Search".equals(selectedAlgorithm));
+        
         if (selectedAlgorithm == null) {
             stringComplexityLabel.setText("Complexity info will appear here");
             stringAlgorithmInfoArea.clear();
@@ -1150,6 +2101,18 @@ public class MainViewController {
         } else if ("Boyer-Moore Search".equals(selectedAlgorithm)) {
             stringComplexityLabel.setText("Time Complexity: O(n/m) avg | Space Complexity: O(σ)");
             stringAlgorithmInfoArea.setText(BoyerMooreStringSearch.getAlgorithmInfo());
+        } else if ("Horspool Search".equals(selectedAlgorithm)) {
+            stringComplexityLabel.setText("Time Complexity: O(n/m) best, O(n × m) worst | Space Complexity: O(m)");
+            stringAlgorithmInfoArea.setText(HorspoolStringSearch.getAlgorithmInfo());
+        } else if ("Sunday Search".equals(selectedAlgorithm)) {
+            stringComplexityLabel.setText("Time Complexity: O(n/(m+1)) best, O(n × m) worst | Space Complexity: O(m)");
+            stringAlgorithmInfoArea.setText(SundayStringSearch.getAlgorithmInfo());
+        } else if ("Raita Search".equals(selectedAlgorithm)) {
+            stringComplexityLabel.setText("Time Complexity: O(n/m) best, O(n × m) worst | Space Complexity: O(m)");
+            stringAlgorithmInfoArea.setText(RaitaStringSearch.getAlgorithmInfo());
+        } else if ("Aho-Corasick Search".equals(selectedAlgorithm)) {
+            stringComplexityLabel.setText("Time Complexity: O(n + occurrences) for all patterns | Space Complexity: O(total pattern length × σ)");
+            stringAlgorithmInfoArea.setText(AhoCorasickStringSearch.getAlgorithmInfo());
         }
     }
 
@@ -1214,18 +2177,33 @@ public class MainViewController {
             return;
         }
 
+        String selectedAlgorithm = stringAlgorithmSelector.getValue();
+        String[] patterns = splitPatterns(currentPattern);
+        if ("Aho-Corasick Search".equals(selectedAlgorithm) && patterns.length == 0) {
+            showAlert("No Data", "Please enter patterns separated by commas.");
+            return;
+        }
+
         isStringSearchRunning = true;
         stringStartButton.setDisable(true);
         stringPauseButton.setDisable(false);
 
         // Start string search based on selected algorithm
-        String selectedAlgorithm = stringAlgorithmSelector.getValue();
+        MatchMode matchMode = getStringMatchMode();
         if ("KMP Search".equals(selectedAlgorithm)) {
-            kmpStringSearch.visualizeSearch(currentText, currentPattern, stringVisualizationPane, this::onStringSearchComplete);
+            kmpStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
         } else if ("Naive Search".equals(selectedAlgorithm)) {
-            naiveStringSearch.visualizeSearch(currentText, currentPattern, stringVisualizationPane, this::onStringSearchComplete);
+            naiveStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
         } else if ("Boyer-Moore Search".equals(selectedAlgorithm)) {
-            boyerMooreStringSearch.visualizeSearch(currentText, currentPattern, stringVisualizationPane, this::onStringSearchComplete);
+            boyerMooreStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
+        } else if ("Horspool Search".equals(selectedAlgorithm)) {
+            horspoolStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
+        } else if ("Sunday Search".equals(selectedAlgorithm)) {
+            sundayStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
+        } else if ("Raita Search".equals(selectedAlgorithm)) {
+            raitaStringSearch.visualizeSearch(currentText, currentPattern, matchMode, stringVisualizationPane, this::onStringSearchComplete);
+        } else if ("Aho-Corasick Search".equals(selectedAlgorithm)) {
+            ahoCorasickStringSearch.visualizeSearch(currentText, patterns, stringVisualizationPane, this::onStringSearchComplete);
         }
 
         stringStatusLabel.setText("Searching for pattern \"" + currentPattern + "\" in text using " + selectedAlgorithm + "...");
@@ -1241,6 +2219,14 @@ public class MainViewController {
             naiveStringSearch.pause();
         } else if ("Boyer-Moore Search".equals(selectedAlgorithm)) {
             boyerMooreStringSearch.pause();
+        } else if ("Horspool Search".equals(selectedAlgorithm)) {
+            horspoolStringSearch.pause();
+        } else if ("Sunday Search".equals(selectedAlgorithm)) {
+            sundayStringSearch.pause();
+        } else if ("Raita Search".equals(selectedAlgorithm)) {
+            raitaStringSearch.pause();
+        } else if ("Aho-Corasick Search".equals(selectedAlgorithm)) {
+            ahoCorasickStringSearch.pause();
         }
 
         stringStartButton.setDisable(false);
@@ -1255,6 +2241,10 @@ public class MainViewController {
         kmpStringSearch.stop();
         naiveStringSearch.stop();
         boyerMooreStringSearch.stop();
+        horspoolStringSearch.stop();
+        sundayStringSearch.stop();
+        raitaStringSearch.stop();
+        ahoCorasickStringSearch.stop();
 
         stringStartButton.setDisable(false);
         stringPauseButton.setDisable(true);
@@ -1284,6 +2274,18 @@ public class MainViewController {
             case "Boyer-Moore Search":
                 paused = boyerMooreStringSearch.isPaused();
                 break;
+            case "Horspool Search":
+                paused = horspoolStringSearch.isPaused();
+                break;
+            case "Sunday Search":
+                paused = sundayStringSearch.isPaused();
+                break;
+            case "Raita Search":
+                paused = raitaStringSearch.isPaused();
+                break;
+            case "Aho-Corasick Search":
+                paused = ahoCorasickStringSearch.isPaused();
+                break;
         }
 
         if (!paused) {
@@ -1304,16 +2306,55 @@ public class MainViewController {
             case "Boyer-Moore Search":
                 boyerMooreStringSearch.resume();
                 break;
+            case "Horspool Search":
+                horspoolStringSearch.resume();
+                break;
+            case "Sunday Search":
+                sundayStringSearch.resume();
+                break;
+            case "Raita Search":
+                raitaStringSearch.resume();
+                break;
+            case "Aho-Corasick Search":
+                ahoCorasickStringSearch.resume();
+                break;
+        }
+    }
+
+    private MatchMode getStringMatchMode() {
+        if ("Aho-Corasick Search".equals(stringAlgorithmSelector.getValue())) {
+            return MatchMode.OVERLAPPING;
+        }
+        switch (stringOccurrenceSelector.getValue()) {
+            case "All occurrences":
+                return MatchMode.NON_OVERLAPPING;
+            case "All, overlapping":
+                return MatchMode.OVERLAPPING;
+            default:
+                return MatchMode.FIRST;
         }
     }
 
+    /**
+     * Splits the pattern field of a multi-pattern search at commas, dropping empty entries
+     */
+    private static String[] splitPatterns(String input) {
+        return Arrays.stream(input.split(","))
+            .map(String::trim)
+            .filter(p -> !p.isEmpty())
+            .toArray(String[]::new);
+    }
+
     private void onStringSearchComplete(int foundIndex) {
         Platform.runLater(() -> {
             isStringSearchRunning = false;
             stringStartButton.setDisable(false);
             stringPauseButton.setDisable(true);
 
-            if (foundIndex >= 0) {
+            if (foundIndex >= 0 && getStringMatchMode().isAll()) {
+                stringStatusLabel.setText("✓ Pattern \"" + currentPattern + "\" first found at index " + foundIndex
+                    + ", every occurrence is highlighted");
+            } else if (foundIndex >= 0) {
                 stringStatusLabel.setText("✓ Pattern \"" + currentPattern + "\" found at index " + foundIndex);
             } else {
                 stringStatusLabel.setText("✗ Pattern \"" + currentPattern + "\" not found in text");
@@ -1342,7 +2383,7 @@ public class MainViewController {
     }
 
     private void resumeArrayVisualization() {
-        String selectedAlgorithm = algorithmSelector.getValue();
+        String selectedAlgorithm = activeArrayAlgorithm();
         if (selectedAlgorithm == null) {
             showAlert("No Algorithm Selected", "Please select an array search algorithm first.");
             return;
@@ -1356,15 +2397,42 @@ public class MainViewController {
             case "Linear Search":
                 if (linearSearch.isPaused()) linearSearch.resume();
                 break;
+            case "Hash Index Search":
+                if (hashIndexSearch.isPaused()) hashIndexSearch.resume();
+                break;
+            case "Cracking Search":
+                if (crackingSearch.isPaused()) crackingSearch.resume();
+                break;
+            case "Parallel Linear Search":
+                if (parallelLinearSearch.isPaused()) parallelLinearSearch.resume();
+                break;
             case "Binary Search":
                 if (binarySearch.isPaused()) binarySearch.resume();
                 break;
+            case "Equal Range Search":
+                if (equalRangeSearch.isPaused()) equalRangeSearch.resume();
+                break;
+            case "Interpolation Search":
+                if (interpolationSearch.isPaused()) interpolationSearch.resume();
+                break;
+            case "Eytzinger Search":
+                if (eytzingerSearch.isPaused()) eytzingerSearch.resume();
+                break;
+            case "S-Tree Search":
+                if (sTreeSearch.isPaused()) sTreeSearch.resume();
+                break;
             case "Jump Search":
                 if (jumpSearch.isPaused()) jumpSearch.resume();
                 break;
             case "Exponential Search":
                 if (exponentialSearch.isPaused()) exponentialSearch.resume();
                 break;
+            case "Learned Index Search":
+                if (learnedIndexSearch.isPaused()) learnedIndexSearch.resume();
+                break;
+            case MAPPED_FILE_SEARCH:
+                if (mappedFileSearch.isPaused()) mappedFileSearch.resume();
+                break;
         }
 
         statusLabel.setText("Visualization resumed");
@@ -1403,9 +2471,16 @@ public class MainViewController {
     }
 
     private void clearArrayInputs() {
+        closeKeyFile();
         arrayInputField.clear();
         searchValueField.clear();
         currentArray = null;
+        arrayKeys = null;
+        currentWords = null;
+        wordDictionary = null;
+        crackingSearch.clearIndex();
+        crackingCostChart.clear();
+        planArea.setVisible(false);
         arrayVisualizationPane.setArray(new int[0]);
         statusLabel.setText("Array and search value cleared");
     }
@@ -1438,6 +2513,18 @@ public class MainViewController {
             case "Boyer-Moore Search":
                 if (boyerMooreStringSearch.isPaused()) boyerMooreStringSearch.resume();
                 break;
+            case "Horspool Search":
+                if (horspoolStringSearch.isPaused()) horspoolStringSearch.resume();
+                break;
+            case "Sunday Search":
+                if (sundayStringSearch.isPaused()) sundayStringSearch.resume();
+                break;
+            case "Raita Search":
+                if (raitaStringSearch.isPaused()) raitaStringSearch.resume();
+                break;
+            case "Aho-Corasick Search":
+                if (ahoCorasickStringSearch.isPaused()) ahoCorasickStringSearch.resume();
+                break;
         }
 
         stringStatusLabel.setText("String search resumed");
@@ -1,18 +1,25 @@
 package com.teachingaid.ui;
 
+import com.teachingaid.engine.AhoCorasickAutomaton;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
+import java.util.Arrays;
+
 /**
 * Visualization pane for string search algorithms
 * Displays text, pattern, and failure function with highlighting
@@ -41,6 +48,13 @@ public class StringVisualizationPane extends VBox {
     private ScrollPane patternScrollPane;
     private ScrollPane failureScrollPane;
 
+    // Largest automaton drawn as a tree; bigger ones are only summarized
+    private static final int MAX_DRAWN_STATES = 150;
+    private Circle[] stateCircles;
+    private Line[] failureLines;
+    // Text positions inside an occurrence reported so far, kept across comparisons
+    private boolean[] matchedText;
+
     public StringVisualizationPane() {
         super();
         setSpacing(20);
@@ -222,10 +236,20 @@ public class StringVisualizationPane extends VBox {
     }
 
     public void showFailureFunction(int[] failure, String pattern) {
+        showPatternTable("Failure Function (Partial Match Table):", "Failure:", failure, pattern);
+    }
+
+    /**
+     * Shows one value per pattern position under the pattern, e.g. a shift table
+     * @param title Heading of the table
+     * @param rowLabel Label of the value row
+     * @param values At least one value per pattern character
+     */
+    public void showPatternTable(String title, String rowLabel, int[] values, String pattern) {
         failureFunctionBox.getChildren().clear();
         failureFunctionBox.setVisible(true);
 
-        Label failureTitle = new Label("Failure Function (Partial Match Table):");
+        Label failureTitle = new Label(title);
         failureTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         failureTitle.setTextFill(Color.web("#2C3E50"));
 
@@ -237,7 +261,7 @@ public class StringVisualizationPane extends VBox {
         HBox failureRow = new HBox(5);
         failureRow.setAlignment(Pos.CENTER);
 
-        failureLabels = new Label[failure.length];
+        failureLabels = new Label[pattern.length()];
 
         for (int i = 0; i < pattern.length(); i++) {
             // Pattern character
@@ -257,7 +281,7 @@ public class StringVisualizationPane extends VBox {
             patternRow.getChildren().add(patternPane);
 
             // Failure function value
-            Label failureValue = new Label(String.valueOf(failure[i]));
+            Label failureValue = new Label(String.valueOf(values[i]));
             failureValue.setFont(Font.font("Courier New", FontWeight.BOLD, 16));
             failureValue.setTextFill(FAILURE_COLOR);
             failureValue.setPrefSize(35, 35);
@@ -301,7 +325,7 @@ public class StringVisualizationPane extends VBox {
             patternLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
             patternLabel.setTextFill(Color.web("#2C3E50"));
 
-            Label failureRowLabel = new Label("Failure:");
+            Label failureRowLabel = new Label(rowLabel);
             failureRowLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
             failureRowLabel.setTextFill(Color.web("#2C3E50"));
 
@@ -379,7 +403,7 @@ public class StringVisualizationPane extends VBox {
             textScrollPane.setHvalue(scrollPosition);
         }
 
-        if (patternIndex < patternLabels.length) {
+        if (patternIndex >= 0 && patternIndex < patternLabels.length) {
             ((StackPane)patternLabels[patternIndex].getParent()).getChildren().get(0).setStyle("-fx-fill: #F7DC6F;");
             patternLabels[patternIndex].setTextFill(CURRENT_COLOR);
             
@@ -402,7 +426,7 @@ public class StringVisualizationPane extends VBox {
             textScale.play();
         }
 
-        if (patternIndex < patternLabels.length) {
+        if (patternIndex >= 0 && patternIndex < patternLabels.length) {
             ScaleTransition patternScale = new ScaleTransition(Duration.millis(400), patternLabels[patternIndex].getParent());
             patternScale.setFromX(1.0);
             patternScale.setFromY(1.0);
@@ -415,6 +439,13 @@ public class StringVisualizationPane extends VBox {
     }
 
     public void highlightFailureUse(int failureIndex, int failureValue) {
+        highlightTableEntry(failureIndex);
+    }
+
+    /**
+     * Highlights the entry of the table shown by {@link #showPatternTable} that is being used
+     */
+    public void highlightTableEntry(int failureIndex) {
         if (failureIndex < failureLabels.length) {
             failureLabels[failureIndex].getParent().setStyle("-fx-background-color: #FAD7A0;");
 
@@ -472,6 +503,7 @@ public class StringVisualizationPane extends VBox {
     }
 
     public void resetHighlights() {
+        matchedText = null;
         resetCharacterColors();
 
         if (failureFunctionBox != null) {
@@ -492,6 +524,14 @@ public class StringVisualizationPane extends VBox {
                 textLabels[i].setTextFill(TEXT_COLOR);
                 ((StackPane)textLabels[i].getParent()).getChildren().get(0).setStyle("-fx-fill: #ECF0F1;");
             }
+            if (matchedText != null) {
+                for (int i = 0; i < textLabels.length; i++) {
+                    if (matchedText[i]) {
+                        ((StackPane)textLabels[i].getParent()).getChildren().get(0).setStyle("-fx-fill: #ABEBC6;");
+                        textLabels[i].setTextFill(FOUND_COLOR);
+                    }
+                }
+            }
         }
 
         // Reset pattern colors
@@ -510,6 +550,211 @@ public class StringVisualizationPane extends VBox {
         }
     }
 
+    /**
+     * Marks one occurrence in the text; unlike {@link #markAsFound(int)} it stays marked while the
+     * search goes on, until the highlights are reset
+     */
+    public void markMatch(int start, int length) {
+        if (textLabels == null) return;
+        if (matchedText == null) {
+            matchedText = new boolean[textLabels.length];
+        }
+        for (int i = Math.max(0, start); i < Math.min(textLabels.length, start + length); i++) {
+            matchedText[i] = true;
+            ((StackPane)textLabels[i].getParent()).getChildren().get(0).setStyle("-fx-fill: #ABEBC6;");
+            textLabels[i].setTextFill(FOUND_COLOR);
+
+            ScaleTransition matchScale = new ScaleTransition(Duration.millis(400), textLabels[i].getParent());
+            matchScale.setFromX(1.0);
+            matchScale.setFromY(1.0);
+            matchScale.setToX(1.2);
+            matchScale.setToY(1.2);
+            matchScale.setAutoReverse(true);
+            matchScale.setCycleCount(2);
+            matchScale.play();
+        }
+    }
+
+    /**
+     * Draws the trie of an Aho-Corasick automaton in the table area: solid edges are trie edges,
+     * dashed ones failure links to states other than the root, green states end a pattern
+     */
+    public void showAutomaton(AhoCorasickAutomaton automaton) {
+        failureFunctionBox.getChildren().clear();
+        failureFunctionBox.setVisible(true);
+        failureLabels = null;
+        stateCircles = null;
+        failureLines = null;
+
+        Label automatonTitle = new Label(String.format("Aho-Corasick Trie: %d states over %d characters (dashed: failure links)",
+                                                      automaton.stateCount(), automaton.alphabetSize()));
+        automatonTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        automatonTitle.setTextFill(Color.web("#2C3E50"));
+
+        int states = automaton.stateCount();
+        if (states > MAX_DRAWN_STATES) {
+            Label tooLarge = new Label("Too many states to draw; the text below shows each step");
+            tooLarge.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
+            failureFunctionBox.getChildren().addAll(automatonTitle, tooLarge);
+            return;
+        }
+
+        // Leaves take the next free column, inner states sit above the middle of their children
+        double[] column = new double[states];
+        int leaves = 0;
+        int maxDepth = 0;
+        for (int state = 0; state < states; state++) {
+            maxDepth = Math.max(maxDepth, automaton.depth(state));
+        }
+        // States are numbered in insertion order, so a parent always comes before its children
+        int[] firstChild = new int[states];
+        int[] lastChild = new int[states];
+        Arrays.fill(firstChild, -1);
+        for (int state = 1; state < states; state++) {
+            int parent = automaton.parent(state);
+            if (firstChild[parent] < 0) {
+                firstChild[parent] = state;
+            }
+            lastChild[parent] = state;
+        }
+        int[] order = depthFirstOrder(automaton);
+        for (int state : order) {
+            if (firstChild[state] < 0) {
+                column[state] = leaves++;
+            }
+        }
+        for (int k = order.length - 1; k >= 0; k--) {
+            int state = order[k];
+            if (firstChild[state] >= 0) {
+                column[state] = (column[firstChild[state]] + column[lastChild[state]]) / 2;
+            }
+        }
+
+        Pane treePane = new Pane();
+        treePane.setPrefSize(Math.max(1, leaves) * 50 + 40, (maxDepth + 1) * 60 + 20);
+        double[] x = new double[states];
+        double[] y = new double[states];
+        for (int state = 0; state < states; state++) {
+            x[state] = 40 + column[state] * 50;
+            y[state] = 30 + automaton.depth(state) * 60;
+        }
+
+        failureLines = new Line[states];
+        for (int state = 1; state < states; state++) {
+            int failure = automaton.failure(state);
+            if (failure != 0) {
+                Line failureLine = new Line(x[state], y[state], x[failure], y[failure]);
+                failureLine.setStroke(FAILURE_COLOR);
+                failureLine.setOpacity(0.5);
+                failureLine.getStrokeDashArray().addAll(4.0, 4.0);
+                failureLines[state] = failureLine;
+                treePane.getChildren().add(failureLine);
+            }
+        }
+        for (int state = 1; state < states; state++) {
+            int parent = automaton.parent(state);
+            Line edge = new Line(x[parent], y[parent], x[state], y[state]);
+            edge.setStroke(Color.web("#85C1E9"));
+            edge.setStrokeWidth(2);
+            Label edgeLabel = new Label(String.valueOf(automaton.edgeChar(state)));
+            edgeLabel.setFont(Font.font("Courier New", FontWeight.BOLD, 14));
+            edgeLabel.setTextFill(PATTERN_COLOR);
+            edgeLabel.setLayoutX((x[parent] + x[state]) / 2 + 4);
+            edgeLabel.setLayoutY((y[parent] + y[state]) / 2 - 12);
+            treePane.getChildren().addAll(edge, edgeLabel);
+        }
+
+        stateCircles = new Circle[states];
+        for (int state = 0; state < states; state++) {
+            boolean output = automaton.patternAt(state) >= 0;
+            Circle circle = new Circle(x[state], y[state], 14);
+            circle.setFill(output ? Color.web("#ABEBC6") : Color.web("#EBF3FD"));
+            circle.setStroke(output ? FOUND_COLOR : Color.web("#85C1E9"));
+            circle.setStrokeWidth(output ? 3 : 1.5);
+            Tooltip.install(circle, new Tooltip(state == 0 ? "root" : "\"" + automaton.stateString(state) + "\""
+                + (output ? " - pattern " + automaton.patternAt(state) : "")));
+
+            Label stateLabel = new Label(String.valueOf(state));
+            stateLabel.setFont(Font.font("Arial", FontWeight.BOLD, 10));
+            stateLabel.setTextFill(Color.web("#2C3E50"));
+            stateLabel.setMouseTransparent(true);
+            stateLabel.setLayoutX(x[state] - 4 - 3 * (stateLabel.getText().length() - 1));
+            stateLabel.setLayoutY(y[state] - 7);
+
+            stateCircles[state] = circle;
+            treePane.getChildren().addAll(circle, stateLabel);
+        }
+
+        ScrollPane treeScrollPane = new ScrollPane(treePane);
+        treeScrollPane.setPrefViewportWidth(Math.min(600, treePane.getPrefWidth()));
+        treeScrollPane.setPrefViewportHeight(Math.min(300, treePane.getPrefHeight()));
+        treeScrollPane.setStyle("-fx-background: #F8F9FA; -fx-border-color: #DEE2E6; -fx-border-width: 1;");
+
+        failureFunctionBox.getChildren().addAll(automatonTitle, treeScrollPane);
+
+        FadeTransition fadeIn = new FadeTransition(Duration.millis(500), failureFunctionBox);
+        fadeIn.setFromValue(0.0);
+        fadeIn.setToValue(1.0);
+        fadeIn.play();
+    }
+
+    private static int[] depthFirstOrder(AhoCorasickAutomaton automaton) {
+        int states = automaton.stateCount();
+        int[] order = new int[states];
+        int[] stack = new int[states];
+        int count = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int state = stack[--top];
+            order[count++] = state;
+            // Push the children last first, so that they come out in order
+            for (int child = states - 1; child > state; child--) {
+                if (automaton.parent(child) == state) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Marks the automaton state the search is in
+     */
+    public void highlightState(int state) {
+        if (stateCircles == null) return;
+        for (Circle circle : stateCircles) {
+            circle.setEffect(null);
+            circle.setScaleX(1.0);
+            circle.setScaleY(1.0);
+        }
+        if (failureLines != null) {
+            for (Line line : failureLines) {
+                if (line != null) {
+                    line.setStroke(FAILURE_COLOR);
+                    line.setOpacity(0.5);
+                    line.setStrokeWidth(1);
+                }
+            }
+        }
+        if (state < stateCircles.length) {
+            stateCircles[state].setScaleX(1.3);
+            stateCircles[state].setScaleY(1.3);
+            stateCircles[state].setEffect(new DropShadow(10, CURRENT_COLOR));
+        }
+    }
+
+    /**
+     * Marks the failure link the search is following from a state
+     */
+    public void highlightFailureLink(int state) {
+        if (failureLines == null || state >= failureLines.length || failureLines[state] == null) return;
+        Line line = failureLines[state];
+        line.setStroke(CURRENT_COLOR);
+        line.setOpacity(1.0);
+        line.setStrokeWidth(3);
+    }
+
     public void setInstructionText(String text) {
         instructionLabel.setText(text);
 
@@ -0,0 +1,64 @@
+package com.teachingaid.ui;
+
+import com.teachingaid.engine.FrontCodedStringDictionary;
+
+/**
+ * Array view for sorted words: the same boxes, highlights and animations as for numbers,
+ * with boxes wide enough for a word. A front-coded dictionary is shown the way it is
+ * stored, bucket headers in full and every other word as the length of the prefix it
+ * shares with the word before it plus its suffix, e.g. "+3 le" after "app" for "apple".
+ */
+public class WordListVisualizationPane extends ArrayVisualizationPane {
+
+    private String[] words;
+
+    public void setWords(String[] newWords) {
+        String[] shown = newWords.clone();
+        this.words = shown;
+        showLabels(shown.length, i -> shown[i]);
+        if (shown.length > 0) {
+            setInstructionText("Word list loaded with " + shown.length + " words");
+        }
+    }
+
+    /**
+     * Shows the words of a dictionary as front coding stores them
+     */
+    public void showDictionary(FrontCodedStringDictionary dictionary) {
+        String[] shown = dictionary.toArray();
+        this.words = shown;
+        showLabels(shown.length, i -> {
+            int shared = dictionary.sharedPrefixLength(i);
+            return shared == 0 ? shown[i] : "+" + shared + " " + shown[i].substring(shared);
+        });
+        if (shown.length > 0) {
+            setInstructionText(String.format("Front-coded: %d words in %d buckets of %d, %d chars stored for %d chars of words",
+                shown.length, dictionary.bucketCount(), dictionary.getBucketSize(),
+                dictionary.getStoredChars(), dictionary.getRawChars()));
+        }
+    }
+
+    /**
+     * @return The words on display, or null while numbers are shown
+     */
+    public String[] getWords() {
+        return words != null ? words.clone() : null;
+    }
+
+    @Override
+    public void setArray(int[] newArray) {
+        words = null;
+        super.setArray(newArray);
+    }
+
+    @Override
+    public void showWindow(long firstIndex, int[] values) {
+        words = null;
+        super.showWindow(firstIndex, values);
+    }
+
+    @Override
+    protected double elementWidth(int length) {
+        return Math.max(48, Math.min(120, 900.0 / length));
+    }
+}